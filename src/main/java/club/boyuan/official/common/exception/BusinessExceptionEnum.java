@@ -127,6 +127,7 @@ public enum BusinessExceptionEnum {
     FEISHU_IMPORT_FAILED(3506, "飞书导入失败", HttpStatus.BAD_REQUEST),
     FEISHU_SYNC_TASK_NOT_FOUND(3507, "飞书同步任务不存在", HttpStatus.BAD_REQUEST),
     FEISHU_TABLE_EMPTY(3508, "飞书表格无数据", HttpStatus.BAD_REQUEST),
+    FEISHU_SYNC_TASK_NOT_RESUMABLE(3509, "飞书同步任务不可续跑", HttpStatus.BAD_REQUEST),
 
     // 面试志愿/场次分配相关异常 (3600-3699)
     INTERVIEW_TIME_SLOT_NOT_FOUND(3601, "面试时间窗不存在", HttpStatus.BAD_REQUEST),
@@ -142,6 +143,8 @@ public enum BusinessExceptionEnum {
     INTERVIEW_PREFERENCE_TIME_INVALID(3611, "所选时间窗无效或不属于该周期", HttpStatus.BAD_REQUEST),
     INTERVIEW_SCHEDULE_NOT_FOUND(3612, "面试安排不存在", HttpStatus.BAD_REQUEST),
     INTERVIEW_PREFERENCE_LOCKED_BY_SCHEDULE(3613, "面试已安排，志愿与可面试时间不可再修改；如需调整请在申请中心提交改期申请", HttpStatus.CONFLICT),
+    RESULT_NOTIFICATION_JOB_NOT_FOUND(3614, "结果通知任务不存在", HttpStatus.BAD_REQUEST),
+    INTERVIEW_ASSIGNMENT_ENGINE_UNKNOWN(3615, "未知的场次分配算法", HttpStatus.BAD_REQUEST),
 
     // 面试评价与协同相关异常 (3700-3799)
     EVALUATION_BOARD_NOT_OPENED(3701, "该周期的评价表尚未开启", HttpStatus.BAD_REQUEST),
@@ -1,6 +1,8 @@
 package club.boyuan.official.common.utils;
 
 import club.boyuan.official.domain.interview.dto.InterviewAssignmentResultDTO;
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
+import club.boyuan.official.persistence.entity.Resume;
 import club.boyuan.official.persistence.entity.User;
 import club.boyuan.official.common.exception.BusinessException;
 import club.boyuan.official.common.exception.BusinessExceptionEnum;
@@ -8,144 +10,129 @@ import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import club.boyuan.official.persistence.entity.Role;
 
 /**
  * Excel导出工具类
- * 用于将用户数据导出为Excel格式
+ * 用户、简历导出走 {@link StreamingExcelWriter}：按页读、按行刷盘、直接写响应流；
+ * 面试安排结果本身已在内存里，仍用 XSSFWorkbook 生成字节数组。
  */
 public class ExcelExportUtil {
     
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     /**
-     * 将用户列表导出为Excel格式
-     * @param users 用户列表
-     * @return Excel字节数组
+     * 将用户流式导出为Excel，直接写入输出流
+     * @param pages 按页惰性读取的用户（见 {@link KeysetPageIterator}），同一时刻只持有一页
+     * @param out 输出流（一般是 HTTP 响应流）
+     * @return 导出的用户数
      * @throws BusinessException 导出失败时抛出业务异常
      */
-    public static byte[] exportUsersToExcel(List<User> users) throws BusinessException {
-        try {
-            System.out.println("开始导出Excel，用户数量: " + (users != null ? users.size() : 0));
-            
-            Workbook workbook = new XSSFWorkbook();
-            Sheet sheet = workbook.createSheet("用户列表");
-            
-            // 创建标题行样式
-            CellStyle headerStyle = workbook.createCellStyle();
-            Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-            headerFont.setCharSet(Font.ANSI_CHARSET); // 设置字符集支持
-            headerStyle.setFont(headerFont);
-            headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-            headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-            
-            // 创建数据行样式
-            CellStyle dataStyle = workbook.createCellStyle();
-            Font dataFont = workbook.createFont();
-            dataFont.setCharSet(Font.ANSI_CHARSET); // 设置字符集支持
-            dataStyle.setFont(dataFont);
-            
-            try {
-                // 创建标题行
-                Row headerRow = sheet.createRow(0);
-                String[] headers = {"用户ID", "用户名", "姓名", "邮箱", "手机号", "专业", "GitHub", "部门", "角色", "状态", "会员状态", "创建时间"};
-                
-                for (int i = 0; i < headers.length; i++) {
-                    Cell cell = headerRow.createCell(i);
-                    cell.setCellValue(headers[i]);
-                    cell.setCellStyle(headerStyle);
-                }
-                
-                // 填充数据
-                int rowNum = 1;
-                for (User user : users) {
-                    Row row = sheet.createRow(rowNum++);
-                    
-                    // 使用dataStyle并确保中文显示正确
-                    Cell cell0 = row.createCell(0);
-                    cell0.setCellValue(user.getUserId() != null ? user.getUserId() : 0);
-                    cell0.setCellStyle(dataStyle);
-                    
-                    Cell cell1 = row.createCell(1);
-                    cell1.setCellValue(user.getUsername() != null ? user.getUsername() : "");
-                    cell1.setCellStyle(dataStyle);
-                    
-                    Cell cell2 = row.createCell(2);
-                    cell2.setCellValue(user.getName() != null ? user.getName() : "");
-                    cell2.setCellStyle(dataStyle);
-                    
-                    Cell cell3 = row.createCell(3);
-                    cell3.setCellValue(user.getEmail() != null ? user.getEmail() : "");
-                    cell3.setCellStyle(dataStyle);
-                    
-                    Cell cell4 = row.createCell(4);
-                    cell4.setCellValue(user.getPhone() != null ? user.getPhone() : "");
-                    cell4.setCellStyle(dataStyle);
-                    
-                    Cell cell5 = row.createCell(5);
-                    cell5.setCellValue(user.getMajor() != null ? user.getMajor() : "");
-                    cell5.setCellStyle(dataStyle);
-                    
-                    Cell cell6 = row.createCell(6);
-                    cell6.setCellValue(user.getGithub() != null ? user.getGithub() : "");
-                    cell6.setCellStyle(dataStyle);
-                    
-                    Cell cell7 = row.createCell(7);
-                    // user.getDept() 改为 user.getDeptId()，并转换为字符串
-                    cell7.setCellValue(user.getDeptId() != null ? String.valueOf(user.getDeptId()) : "");
-                    cell7.setCellStyle(dataStyle);
-                    
-                    Cell cell8 = row.createCell(8);
+    public static int exportUsersToExcel(Iterator<List<User>> pages, OutputStream out) throws BusinessException {
+        String[] headers = {"用户ID", "用户名", "姓名", "邮箱", "手机号", "专业", "GitHub", "部门", "角色", "状态", "会员状态", "创建时间"};
+        int[] widths = {8, 16, 10, 28, 14, 20, 20, 8, 16, 8, 10, 20};
+        try (StreamingExcelWriter writer = new StreamingExcelWriter()) {
+            writer.sheet("用户列表", headers, widths);
+            while (pages.hasNext()) {
+                for (User user : pages.next()) {
                     // User类已经没有getRole()方法，获取用户角色列表
-                    String roles = user.getRoles() != null ? 
-                        user.getRoles().stream().map(Role::getRoleName).collect(Collectors.joining(", ")) : 
+                    String roles = user.getRoles() != null ?
+                        user.getRoles().stream().map(Role::getRoleName).collect(Collectors.joining(", ")) :
                         "";
-                    cell8.setCellValue(roles);
-                    cell8.setCellStyle(dataStyle);
-                    
-                    Cell cell9 = row.createCell(9);
-                    // user.getStatus() 返回Integer类型，1表示激活，其他表示冻结
-                    cell9.setCellValue(user.getStatus() != null ? (user.getStatus() == 1 ? "激活" : "冻结") : "未知");
-                    cell9.setCellStyle(dataStyle);
-                    
-                    Cell cell10 = row.createCell(10);
-                    // User类已经没有isMember字段，移除相关代码
-                    cell10.setCellValue("未知");
-                    cell10.setCellStyle(dataStyle);
-                    
-                    Cell cell11 = row.createCell(11);
-                    cell11.setCellValue(user.getCreateTime() != null ? 
-                        user.getCreateTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) : "");
-                    cell11.setCellStyle(dataStyle);
+                    writer.row(
+                            user.getUserId() != null ? user.getUserId() : 0,
+                            user.getUsername(),
+                            user.getName(),
+                            user.getEmail(),
+                            user.getPhone(),
+                            user.getMajor(),
+                            user.getGithub(),
+                            // user.getDept() 改为 user.getDeptId()，并转换为字符串
+                            user.getDeptId() != null ? String.valueOf(user.getDeptId()) : "",
+                            roles,
+                            // user.getStatus() 返回Integer类型，1表示激活，其他表示冻结
+                            user.getStatus() != null ? (user.getStatus() == 1 ? "激活" : "冻结") : "未知",
+                            "未知",
+                            user.getCreateTime() != null ? user.getCreateTime().format(DATE_TIME_FORMAT) : "");
                 }
-                
-                // 自动调整列宽
-                for (int i = 0; i < headers.length; i++) {
-                    sheet.autoSizeColumn(i);
-                }
-                
-                // 将工作簿写入字节数组
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                workbook.write(baos);
-                return baos.toByteArray();
-                
-            } finally {
-                workbook.close();
             }
+            int count = writer.dataRowCount();
+            writer.writeTo(out);
+            return count;
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("Excel导出失败: " + e.getClass().getSimpleName() + " - " + e.getMessage());
-            e.printStackTrace();
-            throw new BusinessException(BusinessExceptionEnum.EXPORT_EXCEL_FAILED, 
+            throw new BusinessException(BusinessExceptionEnum.EXPORT_EXCEL_FAILED,
                 "Excel导出失败: " + e.getMessage());
         }
     }
 
+    /**
+     * 将一个招新周期的简历流式导出为Excel，直接写入输出流
+     * @param pages 按页惰性读取的简历
+     * @param projector 每页一次批量投影（姓名、邮箱、专业、志愿等）
+     * @param out 输出流
+     * @return 导出的简历数
+     * @throws BusinessException 导出失败时抛出业务异常
+     */
+    public static int exportResumesToExcel(Iterator<List<Resume>> pages,
+                                           Function<List<Resume>, Map<Integer, ResumeProjection>> projector,
+                                           OutputStream out) throws BusinessException {
+        String[] headers = {"简历ID", "用户ID", "姓名", "邮箱", "专业", "年级", "期望部门", "期望时间", "状态", "提交时间"};
+        int[] widths = {8, 8, 10, 28, 20, 8, 24, 36, 8, 20};
+        try (StreamingExcelWriter writer = new StreamingExcelWriter()) {
+            writer.sheet("简历列表", headers, widths);
+            while (pages.hasNext()) {
+                List<Resume> page = pages.next();
+                Map<Integer, ResumeProjection> projections = projector.apply(page);
+                for (Resume resume : page) {
+                    ResumeProjection projection = projections.get(resume.getResumeId());
+                    writer.row(
+                            resume.getResumeId(),
+                            resume.getUserId(),
+                            projection != null ? projection.name() : "",
+                            projection != null ? projection.email() : "",
+                            projection != null ? projection.major() : "",
+                            projection != null ? projection.grade() : "",
+                            projection != null ? String.join(", ", projection.expectedDepartments()) : "",
+                            projection != null ? String.join(", ", projection.preferredTimes()) : "",
+                            resumeStatusText(resume.getStatus()),
+                            resume.getSubmittedAt() != null ? resume.getSubmittedAt().format(DATE_TIME_FORMAT) : "");
+                }
+            }
+            int count = writer.dataRowCount();
+            writer.writeTo(out);
+            return count;
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException(BusinessExceptionEnum.EXPORT_EXCEL_FAILED,
+                "简历Excel导出失败: " + e.getMessage());
+        }
+    }
+
+    /** 简历状态：1 草稿，2 已提交 */
+    private static String resumeStatusText(Integer status) {
+        if (status == null) {
+            return "未知";
+        }
+        return switch (status) {
+            case 1 -> "草稿";
+            case 2 -> "已提交";
+            default -> String.valueOf(status);
+        };
+    }
+
     /**
      * 将面试安排结果导出为Excel，按教室分布显示
      * @param result 面试安排结果
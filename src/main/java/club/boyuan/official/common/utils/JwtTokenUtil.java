@@ -2,19 +2,23 @@ package club.boyuan.official.common.utils;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import club.boyuan.official.infra.security.JwtRevocationRegistry;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
@@ -26,15 +30,52 @@ public class JwtTokenUtil {
     @Value("${jwt.secret}")
     private String secretKey;
 
-   private final RedisTemplate<String, Object> redisTemplate;
+    private final JwtRevocationRegistry revocationRegistry;
 
-   public JwtTokenUtil(RedisTemplate<String, Object> redisTemplate) {
-       this.redisTemplate = redisTemplate;
-   }
+    /** 密钥和解析器只构建一次；secret 由 @Value 在构造之后注入，所以首次使用时再建 */
+    private volatile Key signingKey;
+    private volatile JwtParser parser;
+
+    public JwtTokenUtil(JwtRevocationRegistry revocationRegistry) {
+        this.revocationRegistry = revocationRegistry;
+    }
 
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+        Key key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secretKey.getBytes());
+            signingKey = key;
+        }
+        return key;
     }
+
+    private JwtParser getParser() {
+        JwtParser p = parser;
+        if (p == null) {
+            // JwtParser 不可变、线程安全，可以全局复用
+            p = Jwts.parserBuilder().setSigningKey(getSigningKey()).build();
+            parser = p;
+        }
+        return p;
+    }
+
+    /**
+     * 校验签名并解析声明。签名不符、格式非法或已过期时抛 {@link JwtException}。
+     */
+    public Claims parseVerifiedClaims(String token) {
+        return getParser().parseClaimsJws(token).getBody();
+    }
+
+    /** 令牌的 SHA-256 摘要（十六进制），用作缓存与黑名单的键，避免把原始令牌当键保存 */
+    public static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
     // 从令牌中提取用户名
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -78,11 +119,7 @@ public class JwtTokenUtil {
 
     // 从令牌中提取所有声明
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseVerifiedClaims(token);
     }
 
     // 检查令牌是否过期
@@ -129,14 +166,13 @@ public class JwtTokenUtil {
         }
     }
 
-    // 吊销令牌
+    // 吊销令牌：黑名单只需保留到令牌自然过期
     public void revokeToken(String token) {
-        long timeToLive = extractExpiration(token).getTime() - System.currentTimeMillis();
-        redisTemplate.opsForValue().set("blacklist:" + token, "revoked", timeToLive, TimeUnit.MILLISECONDS);
+        revocationRegistry.revoke(hashToken(token), extractExpiration(token).getTime());
     }
 
-    // 检查令牌是否已吊销
+    // 检查令牌是否已吊销（只查本机吊销集合，不访问 Redis）
     public boolean isTokenRevoked(String token) {
-        return redisTemplate.hasKey("blacklist:" + token);
+        return revocationRegistry.isRevoked(hashToken(token));
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package club.boyuan.official.common.utils;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 按自增主键做 keyset 分页的惰性迭代器，用于大批量导出。
+ *
+ * 每次 {@link #next()} 才查下一页（id &gt; 上一页末行 id，按 id 升序，LIMIT pageSize），
+ * 不用 OFFSET，翻到多深都只扫一页；调用方同一时刻只持有一页数据。
+ *
+ * 非线程安全，一次导出使用一个实例。
+ */
+public final class KeysetPageIterator<T> implements Iterator<List<T>> {
+
+    private final int pageSize;
+    /** (afterId, limit) → 下一页，需按 id 升序 */
+    private final BiFunction<Integer, Integer, List<T>> pageLoader;
+    private final Function<T, Integer> idOf;
+
+    private int lastId;
+    private boolean exhausted;
+    private List<T> buffered;
+
+    public KeysetPageIterator(int pageSize,
+                              BiFunction<Integer, Integer, List<T>> pageLoader,
+                              Function<T, Integer> idOf) {
+        this.pageSize = pageSize;
+        this.pageLoader = pageLoader;
+        this.idOf = idOf;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (buffered == null && !exhausted) {
+            List<T> page = pageLoader.apply(lastId, pageSize);
+            // 不满一页说明已到末尾，省掉最后一次空查询
+            exhausted = page.size() < pageSize;
+            if (!page.isEmpty()) {
+                lastId = idOf.apply(page.get(page.size() - 1));
+                buffered = page;
+            }
+        }
+        return buffered != null;
+    }
+
+    @Override
+    public List<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<T> page = buffered;
+        buffered = null;
+        return page;
+    }
+}
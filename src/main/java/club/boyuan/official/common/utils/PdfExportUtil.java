@@ -9,23 +9,73 @@ import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.BaseFont;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfStream;
 import com.itextpdf.text.pdf.PdfWriter;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Objects;
 import java.util.Base64;
-import java.io.ByteArrayInputStream;
-import java.util.List;
 import java.util.ArrayList;
+import java.util.Set;
 
 /**
  * PDF导出工具类
  * 用于将简历数据导出为PDF格式
+ *
+ * 中文字体、各样式 Font、配色与页脚事件都是 JVM 级常量：原先每导出一份、甚至每建一个 Font
+ * 都要把候选字体路径挨个探测一遍再新建 BaseFont，现在首次导出时解析一次，之后所有文档共用。
+ * 这些对象创建后只读，多线程并发导出共享是安全的；字形子集仍由 PdfWriter 按文档各自生成。
  */
 public class PdfExportUtil {
-    
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfExportUtil.class);
+
+    private static final BaseColor BRAND = new BaseColor(31, 58, 96);       // 深蓝
+    private static final BaseColor ACCENT = new BaseColor(31, 118, 204);    // 品牌蓝
+    private static final BaseColor LIGHT_LINE = new BaseColor(225, 232, 240);
+    private static final BaseColor CHIP_BG = new BaseColor(234, 239, 247);
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** 已在固定版块里展示的字段，其余字段归入「其他信息」 */
+    private static final Set<String> KNOWN_KEYS = Set.of(
+            "name", "student_id", "email", "phone", "grade", "gender", "major", "github",
+            "expected_departments", "tech_stack", "self_introduction", "introduction",
+            "project_experience", "reason", "personal_photo");
+
+    /** 页脚事件无状态，所有文档共用一个实例 */
+    private static final FooterPageEvent FOOTER_EVENT = new FooterPageEvent();
+
+    /**
+     * 字体常量：类加载时不碰文件系统，首次导出才解析（持有者惰性初始化）。
+     * Font 是可变对象，这里的实例只读，任何地方都不要再 setColor/setSize。
+     */
+    private static final class Fonts {
+        static final BaseFont CHINESE = resolveChineseBaseFont();
+
+        static final Font BANNER_CN = font(20, Font.BOLD, BaseColor.WHITE);
+        static final Font BANNER_SUB = font(9, Font.NORMAL, new BaseColor(200, 215, 235));
+        static final Font SECTION = font(12, Font.BOLD, ACCENT);
+        static final Font LABEL = font(9, Font.NORMAL, new BaseColor(110, 120, 135));
+        static final Font VALUE = font(11, Font.NORMAL, new BaseColor(35, 40, 48));
+        static final Font BODY = font(10, Font.NORMAL, new BaseColor(55, 62, 72));
+        static final Font FOOT = font(8, Font.NORMAL, new BaseColor(110, 120, 135));
+        static final Font CHIP = font(9, Font.NORMAL, new BaseColor(31, 58, 96));
+        static final Font PAGE_FOOTER = font(8, Font.NORMAL, new BaseColor(150, 158, 170));
+
+        private static Font font(int size, int style, BaseColor color) {
+            // 无法创建中文字体时退回默认字体
+            Font f = CHINESE != null ? new Font(CHINESE, size, style) : new Font(Font.FontFamily.HELVETICA, size, style);
+            f.setColor(color);
+            return f;
+        }
+    }
+
     /**
      * 将简历数据导出为PDF格式
      * @param resumeDTO 简历数据传输对象
@@ -33,47 +83,37 @@ public class PdfExportUtil {
      * @throws BusinessException 导出失败时抛出业务异常
      */
     public static byte[] exportResumeToPdf(ResumeDTO resumeDTO) throws BusinessException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        exportResumeToPdf(resumeDTO, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * 将简历数据导出为PDF，边排版边写入输出流（一般是 HTTP 响应流），不经过整份 byte[]
+     * @param resumeDTO 简历数据传输对象
+     * @param out 输出流，导出结束后不关闭
+     * @throws BusinessException 导出失败时抛出业务异常
+     */
+    public static void exportResumeToPdf(ResumeDTO resumeDTO, OutputStream out) throws BusinessException {
         try {
-            // 在开始之前检查字体可用性
-            System.out.println("开始初始化PDF字体...");
-            BaseFont testFont = getChineseBaseFont();
-            
             // 检查简历数据是否为空
             if (resumeDTO == null) {
                 throw new BusinessException(BusinessExceptionEnum.EXPORT_PDF_FAILED, "PDF导出失败: 简历数据为空");
             }
-            
-            System.out.println("开始导出PDF，用户ID: " + resumeDTO.getUserId());
-            if (resumeDTO.getSimpleFields() != null) {
-                System.out.println("简历字段数量: " + resumeDTO.getSimpleFields().size());
-            } else {
-                System.out.println("警告: 简历字段为null");
-            }
-            
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            logger.debug("开始导出PDF，用户ID: {}，字段数量: {}", resumeDTO.getUserId(),
+                    resumeDTO.getSimpleFields() != null ? resumeDTO.getSimpleFields().size() : 0);
 
             Document document = new Document(PageSize.A4, 48, 48, 44, 52);
-            PdfWriter writer = PdfWriter.getInstance(document, baos);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            // 响应流由容器负责关闭
+            writer.setCloseStream(false);
+            // 简历内容流只有几 KB，最快压缩档体积几乎不变
+            writer.setCompressionLevel(PdfStream.BEST_SPEED);
             // 页码画在每页底部：项目经验写得长时简历会有两三页，没页码的多页文档在
             // 打印出来传阅时很容易乱序
-            writer.setPageEvent(new FooterPageEvent());
+            writer.setPageEvent(FOOTER_EVENT);
             document.open();
 
-            BaseColor brand = new BaseColor(31, 58, 96);      // 深蓝
-            BaseColor accent = new BaseColor(31, 118, 204);   // 品牌蓝
-            BaseColor lightLine = new BaseColor(225, 232, 240);
-            BaseColor subText = new BaseColor(110, 120, 135);
-
-            Font bannerCn = getFont(20, Font.BOLD, BaseColor.WHITE);
-            Font bannerSub = getFont(9, Font.NORMAL, new BaseColor(200, 215, 235));
-            Font sectionFont = getFont(12, Font.BOLD, accent);
-            Font labelFont = getFont(9, Font.NORMAL, subText);
-            Font valueFont = getFont(11, Font.NORMAL, new BaseColor(35, 40, 48));
-            Font bodyFont = getFont(10, Font.NORMAL, new BaseColor(55, 62, 72));
-            Font footFont = getFont(8, Font.NORMAL, subText);
-            Font chipFont = getFont(9, Font.NORMAL, new BaseColor(31, 58, 96));
-            BaseColor chipBg = new BaseColor(234, 239, 247);
-
             try {
                 java.util.Map<String, String> byKey = new java.util.LinkedHashMap<>();
                 java.util.List<SimpleResumeFieldDTO> fields = resumeDTO.getSimpleFields() != null
@@ -92,11 +132,11 @@ public class PdfExportUtil {
                 PdfPTable banner = new PdfPTable(1);
                 banner.setWidthPercentage(100);
                 PdfPCell bc = new PdfPCell();
-                bc.setBackgroundColor(brand);
+                bc.setBackgroundColor(BRAND);
                 bc.setBorder(Rectangle.NO_BORDER);
                 bc.setPadding(16f);
-                Paragraph bt = new Paragraph(name, bannerCn);
-                Paragraph bs = new Paragraph("博远信息技术社 · 招新申请简历", bannerSub);
+                Paragraph bt = new Paragraph(name, Fonts.BANNER_CN);
+                Paragraph bs = new Paragraph("博远信息技术社 · 招新申请简历", Fonts.BANNER_SUB);
                 bs.setSpacingBefore(4);
                 bc.addElement(bt);
                 bc.addElement(bs);
@@ -118,15 +158,15 @@ public class PdfExportUtil {
                 addBasic(basics, "GitHub", byKey.get("github"));
 
                 int perCol = (int) Math.ceil(basics.size() / 2.0);
-                PdfPCell colA = basicColumn(basics.subList(0, Math.min(perCol, basics.size())), labelFont, valueFont);
-                PdfPCell colB = basicColumn(basics.size() > perCol ? basics.subList(perCol, basics.size()) : new ArrayList<>(), labelFont, valueFont);
+                PdfPCell colA = basicColumn(basics.subList(0, Math.min(perCol, basics.size())), Fonts.LABEL, Fonts.VALUE);
+                PdfPCell colB = basicColumn(basics.size() > perCol ? basics.subList(perCol, basics.size()) : new ArrayList<>(), Fonts.LABEL, Fonts.VALUE);
                 info.addCell(colA);
                 info.addCell(colB);
                 if (photoImage != null) {
                     PdfPCell pc = new PdfPCell(photoImage, true);
                     // 证件照直接贴白底会没有边界感，给一圈浅边把它框住
                     pc.setBorder(Rectangle.BOX);
-                    pc.setBorderColor(lightLine);
+                    pc.setBorderColor(LIGHT_LINE);
                     pc.setBorderWidth(0.8f);
                     pc.setHorizontalAlignment(Element.ALIGN_RIGHT);
                     pc.setPadding(3f);
@@ -136,21 +176,17 @@ public class PdfExportUtil {
 
                 // ── 长文本小节 ──────────────────────────────
                 addChipSection(document, "技术栈", byKey.get("tech_stack"),
-                        sectionFont, chipFont, accent, chipBg);
-                addSection(document, "个人简介", firstNonBlank(byKey.get("self_introduction"), byKey.get("introduction")), sectionFont, bodyFont, accent);
-                addSection(document, "项目经验", byKey.get("project_experience"), sectionFont, bodyFont, accent);
-                addSection(document, "加入原因", byKey.get("reason"), sectionFont, bodyFont, accent);
+                        Fonts.SECTION, Fonts.CHIP, ACCENT, CHIP_BG);
+                addSection(document, "个人简介", firstNonBlank(byKey.get("self_introduction"), byKey.get("introduction")), Fonts.SECTION, Fonts.BODY, ACCENT);
+                addSection(document, "项目经验", byKey.get("project_experience"), Fonts.SECTION, Fonts.BODY, ACCENT);
+                addSection(document, "加入原因", byKey.get("reason"), Fonts.SECTION, Fonts.BODY, ACCENT);
                 addChipSection(document, "期望部门", byKey.get("expected_departments"),
-                        sectionFont, chipFont, accent, chipBg);
+                        Fonts.SECTION, Fonts.CHIP, ACCENT, CHIP_BG);
 
                 // 其余未归类字段（模板可扩展，逐条列出）
-                java.util.Set<String> known = new java.util.HashSet<>(java.util.Arrays.asList(
-                        "name", "student_id", "email", "phone", "grade", "gender", "major", "github",
-                        "expected_departments", "tech_stack", "self_introduction", "introduction",
-                        "project_experience", "reason", "personal_photo"));
                 StringBuilder extras = new StringBuilder();
                 for (SimpleResumeFieldDTO f : fields) {
-                    if (f.getFieldKey() == null || known.contains(f.getFieldKey())) continue;
+                    if (f.getFieldKey() == null || KNOWN_KEYS.contains(f.getFieldKey())) continue;
                     if (f.getFieldValue() == null || f.getFieldValue().trim().isEmpty()) continue;
                     if (isBase64Image(f.getFieldValue())) continue;
                     if (extras.length() > 0) extras.append("\n");
@@ -158,7 +194,7 @@ public class PdfExportUtil {
                           .append("：").append(joinIfJsonArray(f.getFieldValue()));
                 }
                 if (extras.length() > 0) {
-                    addSection(document, "其他信息", extras.toString(), sectionFont, bodyFont, accent);
+                    addSection(document, "其他信息", extras.toString(), Fonts.SECTION, Fonts.BODY, ACCENT);
                 }
 
                 // 提交/导出信息放在正文末尾；页码由 PageEvent 画在每页底部
@@ -167,7 +203,7 @@ public class PdfExportUtil {
                                 + (resumeDTO.getSubmittedAt() != null
                                         ? "    提交时间：" + formatDateTime(resumeDTO.getSubmittedAt()) : "")
                                 + "    导出时间：" + formatDateTime(LocalDateTime.now()),
-                        footFont);
+                        Fonts.FOOT);
                 foot.setAlignment(Element.ALIGN_RIGHT);
                 foot.setSpacingBefore(22);
                 document.add(foot);
@@ -175,14 +211,11 @@ public class PdfExportUtil {
             } finally {
                 document.close();
             }
-            
-            byte[] pdfBytes = baos.toByteArray();
-            System.out.println("PDF导出成功，文件大小: " + pdfBytes.length + " bytes");
-            return pdfBytes;
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("PDF导出失败: " + e.getClass().getSimpleName() + " - " + e.getMessage());
-            e.printStackTrace();
-            
+            logger.error("PDF导出失败", e);
+
             // 提供更详细的错误信息
             if (e.getMessage() != null && e.getMessage().contains("FontManager")) {
                 throw new BusinessException(BusinessExceptionEnum.EXPORT_PDF_FAILED, 
@@ -363,7 +396,7 @@ public class PdfExportUtil {
         @Override
         public void onEndPage(PdfWriter writer, Document document) {
             try {
-                Font f = getFont(8, Font.NORMAL, new BaseColor(150, 158, 170));
+                Font f = Fonts.PAGE_FOOTER;
                 com.itextpdf.text.pdf.PdfContentByte cb = writer.getDirectContent();
                 float y = document.bottom() - 18f;
 
@@ -382,34 +415,12 @@ public class PdfExportUtil {
         }
     }
 
-    private static Font getFont(int size, int style, BaseColor color) {
-        Font f = getFont(size, style);
-        f.setColor(color);
-        return f;
-    }
-
     /**
-     * 获取字体，支持中文显示
-     * @param size 字体大小
-     * @param style 字体样式
-     * @return 字体对象
-     */
-    private static Font getFont(int size, int style) {
-        // 首先尝试创建支持中文的字体
-        BaseFont baseFont = getChineseBaseFont();
-        if (baseFont != null) {
-            return new Font(baseFont, size, style);
-        }
-        
-        // 如果无法创建中文字体，则使用默认字体
-        return new Font(Font.FontFamily.HELVETICA, size, style);
-    }
-    
-    /**
-     * 获取支持中文的BaseFont
+     * 按候选顺序解析支持中文的BaseFont，只在 {@link Fonts} 初始化时调用一次
+     * Identity-H 的字体以嵌入方式创建，写出时只嵌入文档用到的字形子集
      * @return BaseFont对象，如果无法创建则返回null
      */
-    private static BaseFont getChineseBaseFont() {
+    private static BaseFont resolveChineseBaseFont() {
         // 优先尝试Docker容器中常见的字体路径
         String[][] fontConfigs = {
             // 容器中的Noto字体 - 按实际存在的路径优先排序
@@ -448,18 +459,22 @@ public class PdfExportUtil {
         
         for (String[] fontConfig : fontConfigs) {
             try {
-                BaseFont baseFont = BaseFont.createFont(fontConfig[0], fontConfig[1], BaseFont.NOT_EMBEDDED);
-                // 成功创建字体，记录日志并返回
-                System.out.println("PDF字体初始化成功: " + fontConfig[0]);
+                boolean embedded = BaseFont.IDENTITY_H.equals(fontConfig[1]);
+                BaseFont baseFont = BaseFont.createFont(fontConfig[0], fontConfig[1], embedded);
+                // iText 默认按文档子集化，这里显式打开，避免嵌入整个 CJK 字库
+                baseFont.setSubset(true);
+                // 字形子集每份文档都要重新压缩，默认压缩档占了单份导出一大半耗时；最快档体积只大几 KB
+                baseFont.setCompressionLevel(PdfStream.BEST_SPEED);
+                logger.info("PDF字体初始化成功: {}，嵌入: {}", fontConfig[0], embedded);
                 return baseFont;
             } catch (Exception e) {
                 // 忽略异常，尝试下一个字体配置
-                System.out.println("PDF字体初始化失败: " + fontConfig[0] + ", 错误: " + e.getMessage());
+                logger.debug("PDF字体初始化失败: {}, 错误: {}", fontConfig[0], e.getMessage());
             }
         }
-        
+
         // 所有字体都失败，记录警告并返回null
-        System.err.println("警告: 所有PDF字体初始化尝试都失败，将使用默认字体");
+        logger.warn("所有PDF字体初始化尝试都失败，将使用默认字体");
         return null;
     }
     
@@ -535,6 +550,6 @@ public class PdfExportUtil {
      */
     private static String formatDateTime(LocalDateTime dateTime) {
         if (dateTime == null) return "";
-        return dateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        return dateTime.format(DATE_TIME_FORMAT);
     }
 }
\ No newline at end of file
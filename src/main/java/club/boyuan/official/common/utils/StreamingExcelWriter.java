@@ -0,0 +1,103 @@
+package club.boyuan.official.common.utils;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 流式 xlsx 写入器。
+ *
+ * SXSSFWorkbook 只在堆里保留最近 {@value #ROW_ACCESS_WINDOW} 行，更早的行刷进（压缩的）临时文件，
+ * 最后直接写到调用方给的输出流，不经过 byte[]。导出 1k 行和 10 万行占用的堆基本一样。
+ *
+ * SXSSF 下 autoSizeColumn 只能看到窗口内的行，所以列宽由调用方按字符数给定。
+ * 非线程安全；用 try-with-resources，close 时删除临时文件。
+ */
+public final class StreamingExcelWriter implements AutoCloseable {
+
+    static final int ROW_ACCESS_WINDOW = 200;
+
+    private final SXSSFWorkbook workbook;
+    private final CellStyle headerStyle;
+    private final CellStyle dataStyle;
+
+    private Sheet sheet;
+    private int nextRowIndex;
+
+    public StreamingExcelWriter() {
+        workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        workbook.setCompressTempFiles(true);
+
+        headerStyle = workbook.createCellStyle();
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        headerFont.setCharSet(Font.ANSI_CHARSET);
+        headerStyle.setFont(headerFont);
+        headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+
+        dataStyle = workbook.createCellStyle();
+        Font dataFont = workbook.createFont();
+        dataFont.setCharSet(Font.ANSI_CHARSET);
+        dataStyle.setFont(dataFont);
+    }
+
+    /**
+     * 新建工作表并写表头，之后的 {@link #row} 都写到这张表。
+     *
+     * @param columnWidths 各列宽度（字符数），与 headers 一一对应
+     */
+    public StreamingExcelWriter sheet(String name, String[] headers, int[] columnWidths) {
+        sheet = workbook.createSheet(name);
+        nextRowIndex = 0;
+        Row header = sheet.createRow(nextRowIndex++);
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = header.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+            sheet.setColumnWidth(i, Math.min(255, columnWidths[i]) * 256);
+        }
+        return this;
+    }
+
+    /**
+     * 追加一行：数字写数值单元格，null 写空串，其余写 toString。
+     */
+    public void row(Object... values) {
+        Row row = sheet.createRow(nextRowIndex++);
+        for (int i = 0; i < values.length; i++) {
+            Cell cell = row.createCell(i);
+            Object value = values[i];
+            if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+            } else {
+                cell.setCellValue(value != null ? value.toString() : "");
+            }
+            cell.setCellStyle(dataStyle);
+        }
+    }
+
+    /** 当前工作表已写的数据行数（不含表头） */
+    public int dataRowCount() {
+        return Math.max(0, nextRowIndex - 1);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        workbook.write(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+}
@@ -7,6 +7,7 @@ import club.boyuan.official.common.utils.GitHubAccountUtil;
 import club.boyuan.official.domain.evaluation.dto.CandidateRow;
 import club.boyuan.official.persistence.entity.EvaluationSubmission;
 import club.boyuan.official.persistence.entity.User;
+import club.boyuan.official.persistence.mapper.EvaluationCandidateSummaryMapper;
 import club.boyuan.official.persistence.mapper.EvaluationSubmissionMapper;
 import club.boyuan.official.persistence.mapper.UserMapper;
 import lombok.AllArgsConstructor;
@@ -27,6 +28,8 @@ public class EvaluationAdminServiceImpl implements IEvaluationAdminService {
 
     private final EvaluationSubmissionMapper submissionMapper;
     private final UserMapper userMapper;
+    private final EvaluationCandidateSummaryMapper summaryMapper;
+    private final EvaluationCandidateSummaryUpdater summaryUpdater;
 
     @Override
     public PageResultDTO<CandidateRow> candidates(Integer cycleId, Integer deptId,
@@ -36,9 +39,10 @@ public class EvaluationAdminServiceImpl implements IEvaluationAdminService {
         String sort = SORT_MAX.equals(sortBy) || SORT_COUNT.equals(sortBy) ? sortBy : SORT_LATEST;
         int offset = page * size;
 
-        List<CandidateRow> rows = submissionMapper.selectCandidates(
+        // 读汇总表：按 (范围周期, 排序列) 索引范围扫描，不再每页聚合全部提交
+        List<CandidateRow> rows = summaryMapper.selectCandidates(
                 cycleId, deptId, minScore, maxScore, c, sort, offset, size);
-        long total = submissionMapper.countCandidates(cycleId, deptId, minScore, maxScore, c);
+        long total = summaryMapper.countCandidates(cycleId, deptId, minScore, maxScore, c);
         int totalPages = (int) Math.ceil((double) total / size);
         return new PageResultDTO<>(rows, total, totalPages, page, size,
                 page == 0, page >= totalPages - 1);
@@ -90,7 +94,13 @@ public class EvaluationAdminServiceImpl implements IEvaluationAdminService {
         }
         submission.setUserId(userId);
         submissionMapper.updateById(submission);
+        summaryUpdater.refresh(submission.getGithubUsername());
         log.info("评测提交 {}(github={}) 已认领到用户 {}", id, submission.getGithubUsername(), userId);
         return submission;
     }
+
+    @Override
+    public int rebuildCandidateSummary() {
+        return summaryUpdater.rebuildAll();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package club.boyuan.official.domain.evaluation;
+
+import club.boyuan.official.persistence.entity.EvaluationSubmission;
+import club.boyuan.official.persistence.mapper.EvaluationCandidateSummaryMapper;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 维护评测候选人汇总（排行榜读模型）。
+ * 入库只追加，逐行原子 upsert 即可；认领会把提交从「未认领」行挪到用户行，按 github 整体重算。
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class EvaluationCandidateSummaryUpdater {
+
+    /** 「全部周期」范围 */
+    static final int ALL_CYCLES = 0;
+
+    private final EvaluationCandidateSummaryMapper summaryMapper;
+
+    /** 新提交计入所属周期行与全部周期行，须与提交写入在同一事务内 */
+    public void onIngested(EvaluationSubmission submission) {
+        if (submission.getCycleId() != null) {
+            summaryMapper.upsertSubmission(submission.getCycleId(), submission);
+        }
+        summaryMapper.upsertSubmission(ALL_CYCLES, submission);
+    }
+
+    /** 某 github 的提交归属变化后重算它的汇总行 */
+    public void refresh(String githubUsername) {
+        summaryMapper.deleteByGithub(githubUsername);
+        summaryMapper.rebuild(githubUsername);
+    }
+
+    /**
+     * 从提交表全量重建汇总，用于上线回填后校正或手工修数后对齐。
+     *
+     * @return 重建后的汇总行数
+     */
+    @Transactional
+    public int rebuildAll() {
+        summaryMapper.deleteByGithub(null);
+        int rows = summaryMapper.rebuild(null);
+        log.info("评测候选人汇总已重建: rows={}", rows);
+        return rows;
+    }
+}
@@ -38,6 +38,7 @@ public class EvaluationIntakeServiceImpl implements IEvaluationIntakeService {
     static final int MAX_REPORT_BASE64_LENGTH = 256 * 1024;
 
     private final RecruitmentCycleMapper cycleMapper;
+    private final EvaluationCandidateSummaryUpdater summaryUpdater;
 
 
     @Override
@@ -122,6 +123,7 @@ public class EvaluationIntakeServiceImpl implements IEvaluationIntakeService {
             }
             throw e;
         }
+        summaryUpdater.onIngested(submission);
         log.info("评测提交入库: report_sha={}, github={}, userId={}, cycleId={}, total={}",
                 sha, submission.getGithubUsername(), userId, cycleId, report.getTotalScore());
         return submission;
@@ -20,4 +20,7 @@ public interface IEvaluationAdminService {
     EvaluationSubmission detail(Long id);
 
     EvaluationSubmission claim(Long id, Integer userId);
+
+    /** 从提交表全量重建候选人汇总，返回重建后的行数 */
+    int rebuildCandidateSummary();
 }
\ No newline at end of file
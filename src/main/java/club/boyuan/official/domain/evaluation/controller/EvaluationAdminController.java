@@ -12,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -48,6 +49,14 @@ public class EvaluationAdminController {
         return ResponseEntity.ok(new ResponseMessage<>(200, "评测候选人列表获取成功", result));
     }
 
+    /** 候选人汇总（排行榜读模型）全量重建 */
+    @PostMapping("/candidates/summary/rebuild")
+    @PreAuthorize("hasAuthority('evaluation:view')")
+    public ResponseEntity<ResponseMessage<Integer>> rebuildCandidateSummary() {
+        int rows = adminService.rebuildCandidateSummary();
+        return ResponseEntity.ok(new ResponseMessage<>(200, "评测候选人汇总重建完成", rows));
+    }
+
     @GetMapping("/candidates/{key}/submissions")
     @PreAuthorize("hasAuthority('evaluation:view')")
     public ResponseEntity<ResponseMessage<List<EvaluationSubmission>>> submissions(@PathVariable String key) {
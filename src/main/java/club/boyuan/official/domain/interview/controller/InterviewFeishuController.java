@@ -44,6 +44,7 @@ import org.springframework.web.bind.annotation.RestController;
  *
  * <pre>
  * POST /import              → InterviewFeishuImportService.submitImportTask
+ * POST /import/tasks/{id}/resume → 中途失败的拉回任务从检查点续跑
  * GET  /import/tasks/{id}        → 轮询任务状态（兜底）
  * GET  /import/tasks/{id}/stream → SSE 推送任务状态（推荐）
  * </pre>
@@ -140,12 +141,22 @@ public class InterviewFeishuController {
     @PreAuthorize("hasAnyAuthority('feishu:sync', 'resume:audit')")
     public ResponseEntity<ResponseMessage<FeishuSyncTaskSubmitDTO>> submitImport(
             @Valid @RequestBody ImportFeishuRequestDTO request) {
-        log.info("提交飞书导入任务 cycleId={}, slotId={}, forceUpdate={}",
-                request.getCycleId(), request.getSlotId(), request.getForceUpdate());
+        log.info("提交飞书导入任务 cycleId={}, slotId={}, forceUpdate={}, deltaSync={}",
+                request.getCycleId(), request.getSlotId(), request.getForceUpdate(), request.getDeltaSync());
         FeishuSyncTaskSubmitDTO result = feishuImportService.submitImportTask(request);
         return ResponseEntity.ok(ResponseMessage.success(result));
     }
 
+    /**
+     * 中途失败的拉回任务从最后提交的那页之后续跑，taskId 不变，轮询/SSE 照旧。
+     */
+    @PostMapping("/import/tasks/{taskId}/resume")
+    @PreAuthorize("hasAnyAuthority('feishu:sync', 'resume:audit')")
+    public ResponseEntity<ResponseMessage<FeishuSyncTaskSubmitDTO>> resumePullTask(@PathVariable Long taskId) {
+        log.info("续跑飞书拉回任务 taskId={}", taskId);
+        return ResponseEntity.ok(ResponseMessage.success(feishuImportService.resumePullTask(taskId)));
+    }
+
     /**
      * 查询飞书导入任务进度与结果（轮询）。
      */
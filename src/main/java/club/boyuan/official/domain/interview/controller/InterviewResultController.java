@@ -3,15 +3,22 @@ package club.boyuan.official.domain.interview.controller;
 
 import java.util.Map;
 import club.boyuan.official.common.dto.*;
+import club.boyuan.official.common.exception.BusinessException;
 import club.boyuan.official.domain.interview.dto.*;
 import club.boyuan.official.persistence.entity.InterviewResult;
 import club.boyuan.official.domain.interview.service.IInterviewResultService;
+import club.boyuan.official.domain.interview.service.impl.ResultNotificationJobStatus;
+import club.boyuan.official.infra.sse.AsyncTaskChannel;
+import club.boyuan.official.infra.sse.AsyncTaskSseHub;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -34,6 +41,12 @@ import java.util.List;
 public class InterviewResultController {
 
     private final IInterviewResultService interviewResultService;
+    private final AsyncTaskSseHub asyncTaskSseHub;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 提交批量结果通知任务，返回 jobId；进度用下方轮询或 SSE 接口查看。
+     */
     @PostMapping("/send-notifications")
     public ResponseEntity<ResponseMessage<SendNotificationsResponseDTO>> sendNotifications(
             @Valid @RequestBody SendNotificationsRequestDTO requestDTO
@@ -42,6 +55,9 @@ public class InterviewResultController {
             log.info("发送面试结果通知,通知类型{},结果id数量{}", requestDTO.getNotificationType(), requestDTO.getResultIds().size());
             SendNotificationsResponseDTO responseDTO = interviewResultService.sendNotifications(requestDTO);
             return ResponseEntity.ok(ResponseMessage.success(responseDTO));
+        } catch (BusinessException e) {
+            // 任务排队已满等业务错误交给全局处理器，保留原状态码
+            throw e;
         } catch (Exception e) {
             log.error("发送面试结果通知失败", e);
             return ResponseEntity.badRequest()
@@ -49,6 +65,28 @@ public class InterviewResultController {
         }
     }
 
+    /**
+     * 查询批量结果通知任务进度与结果（轮询）。
+     */
+    @GetMapping("/send-notifications/{jobId}")
+    public ResponseEntity<ResponseMessage<SendNotificationsResponseDTO>> getNotificationJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(ResponseMessage.success(interviewResultService.getNotificationJob(jobId)));
+    }
+
+    /**
+     * SSE 订阅批量结果通知任务进度（终态后连接自动关闭）。
+     */
+    @GetMapping(value = "/send-notifications/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotificationJob(@PathVariable Long jobId) throws Exception {
+        SendNotificationsResponseDTO current = interviewResultService.getNotificationJob(jobId);
+        SseEmitter emitter = asyncTaskSseHub.register(AsyncTaskChannel.RESULT_NOTIFICATION, String.valueOf(jobId));
+        emitter.send(SseEmitter.event().name("status").data(objectMapper.writeValueAsString(current)));
+        if (ResultNotificationJobStatus.valueOf(current.getStatus()).isTerminal()) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
     /**
      * 批量录取 / 批量标记未通过：先勾选候选人，再一次性写入决定与录取部门。
      * 逐条录入在几十上百人时不现实，这是管理端「结果与通知」的主要入口。
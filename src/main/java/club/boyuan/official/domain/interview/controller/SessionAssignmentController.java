@@ -76,11 +76,15 @@ public class SessionAssignmentController {
 
     /**
      * 为某周期一键分配面试场次（可重复执行，仅处理尚未分配的候选人）。
+     * {@code dryRun=true} 只返回方案不落库；{@code engine} 可选 min-cost-flow / greedy。
      */
     @PostMapping("/cycles/{cycleId}/assign")
-    public ResponseEntity<ResponseMessage<SessionAssignmentResultDTO>> assign(@PathVariable Integer cycleId) {
-        log.info("管理员触发场次分配，cycleId={}", cycleId);
-        SessionAssignmentResultDTO result = sessionAssignmentService.assign(cycleId);
+    public ResponseEntity<ResponseMessage<SessionAssignmentResultDTO>> assign(
+            @PathVariable Integer cycleId,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @RequestParam(required = false) String engine) {
+        log.info("管理员触发场次分配，cycleId={}, dryRun={}, engine={}", cycleId, dryRun, engine);
+        SessionAssignmentResultDTO result = sessionAssignmentService.assign(cycleId, dryRun, engine);
         return ResponseEntity.ok(ResponseMessage.success(result));
     }
 
@@ -2,11 +2,22 @@ package club.boyuan.official.domain.interview.dto;
 
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 
+/**
+ * 批量发送结果通知的任务快照：提交时返回 PENDING，执行中逐批累加计数，终态后计数即最终结果。
+ */
 @Data
 public class SendNotificationsResponseDTO {
+    private Long jobId;           // 任务ID，用于轮询 / SSE 订阅
+    private String status;        // ResultNotificationJobStatus 名称
+    private Integer totalCount;   // 待处理的结果数量
+    private Integer processedCount; // 已处理数量
     private Integer sentCount;    // 发送数量
     private Integer failedCount;  // 失败数量
     private ArrayList<Integer> failedId;//失败resultId
+    private String errorMessage;  // 任务整体失败原因
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
 }
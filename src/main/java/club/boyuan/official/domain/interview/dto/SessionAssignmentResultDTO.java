@@ -15,6 +15,11 @@ public class SessionAssignmentResultDTO {
     private Integer cycleId;
     private LocalDateTime assignedAt;
 
+    /** 是否为试算：试算结果未落库 */
+    private boolean dryRun;
+    /** 本次使用的求解器 */
+    private String engine;
+
     private int assignedCount;
     private int unassignedCount;
 
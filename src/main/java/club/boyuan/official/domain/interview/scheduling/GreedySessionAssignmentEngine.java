@@ -0,0 +1,71 @@
+package club.boyuan.official.domain.interview.scheduling;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 贪心求解：按候选人优先级逐个放，先试第一志愿、再试第二志愿，
+ * 每次取剩余名额最多的场次（负载均衡），并列取时间最早者。
+ * <p>
+ * 单遍、结果直观，但前面的人占掉后面的人唯一能去的场次时不会回头调整，可能留下本可避免的待调剂。
+ */
+@Component
+public class GreedySessionAssignmentEngine implements SessionAssignmentEngine {
+
+    public static final String NAME = "greedy";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Map<Integer, Placement> solve(List<Candidate> candidates, List<SessionCapacity> sessions) {
+        Map<Integer, List<Integer>> byDept = new HashMap<>();
+        List<SessionCapacity> indexed = new ArrayList<>(sessions);
+        int[] remaining = new int[indexed.size()];
+        for (int i = 0; i < indexed.size(); i++) {
+            SessionCapacity session = indexed.get(i);
+            remaining[i] = session.remaining();
+            byDept.computeIfAbsent(session.deptId(), k -> new ArrayList<>()).add(i);
+        }
+
+        Map<Integer, Placement> placements = new HashMap<>();
+        for (Candidate candidate : candidates) {
+            int matchedChoice = 1;
+            int chosen = pick(byDept.get(candidate.firstDeptId()), indexed, remaining, candidate);
+            if (chosen < 0 && candidate.secondDeptId() != null) {
+                matchedChoice = 2;
+                chosen = pick(byDept.get(candidate.secondDeptId()), indexed, remaining, candidate);
+            }
+            if (chosen < 0) {
+                continue;
+            }
+            remaining[chosen]--;
+            placements.put(candidate.resumeId(), new Placement(indexed.get(chosen).sessionId(), matchedChoice));
+        }
+        return placements;
+    }
+
+    /** 场次已按时间排好，严格大于才替换即得「剩余最多、并列取最早」 */
+    private static int pick(List<Integer> deptSessions, List<SessionCapacity> indexed, int[] remaining,
+                            Candidate candidate) {
+        if (deptSessions == null) {
+            return -1;
+        }
+        int best = -1;
+        for (int i : deptSessions) {
+            if (remaining[i] <= 0 || !candidate.acceptedTimeSlotIds().contains(indexed.get(i).timeSlotId())) {
+                continue;
+            }
+            if (best < 0 || remaining[i] > remaining[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,342 @@
+package club.boyuan.official.domain.interview.scheduling;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 最小费用最大流求解：先保证分配人数最多，再在人数最多的方案里让第二志愿最少、各场次负载最均衡。
+ * <p>
+ * 建图：源点 → 候选人类 → 部门时间窗 → 场次 → 汇点。
+ * <ul>
+ *   <li>志愿与可接受时间窗完全相同的候选人合并成一类；同部门同时间窗的多个场次（不同教室）合并成一个部门时间窗节点，
+ *       候选人侧的边数按「类 × 部门时间窗」而不是「人 × 场次」增长；</li>
+ *   <li>类 → 第一志愿部门时间窗费用 0，→ 第二志愿费用 {@link #SECOND_CHOICE_COST}；</li>
+ *   <li>场次 → 汇点按剩余名额切成若干档，越靠后的档越贵，先填满的场次会让后来者流向更空的场次。</li>
+ * </ul>
+ * 用带势能的 Dijkstra 做逐次最短路增广，每次沿瓶颈容量整段推流。流量分解回个人时，
+ * 同类成员按优先级依次取部门时间窗，部门时间窗内的座位按场次时间顺序发放。
+ */
+@Component
+public class MinCostFlowSessionAssignmentEngine implements SessionAssignmentEngine {
+
+    public static final String NAME = "min-cost-flow";
+
+    /** 第二志愿的代价，需大于任意负载档差，保证「能进第一志愿就不降级」 */
+    static final long SECOND_CHOICE_COST = 1_000L;
+    /** 每个场次的负载档数 */
+    static final int LOAD_TIERS = 4;
+    /** 相邻负载档的代价差 */
+    static final long LOAD_TIER_COST = 10L;
+
+    private static final int SOURCE = 0;
+    private static final int SINK = 1;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Map<Integer, Placement> solve(List<Candidate> candidates, List<SessionCapacity> sessions) {
+        Map<Integer, Placement> placements = new HashMap<>();
+        if (candidates.isEmpty() || sessions.isEmpty()) {
+            return placements;
+        }
+
+        List<CandidateClass> classes = groupCandidates(candidates);
+        // 部门 → 时间窗 → 该部门该时间窗下的场次（保持传入的时间顺序）
+        Map<Integer, Map<Integer, SessionGroup>> groupsByDept = new HashMap<>();
+        List<SessionGroup> groups = new ArrayList<>();
+        for (int s = 0; s < sessions.size(); s++) {
+            SessionCapacity session = sessions.get(s);
+            if (session.remaining() <= 0) {
+                continue;
+            }
+            Map<Integer, SessionGroup> byTimeSlot = groupsByDept.computeIfAbsent(session.deptId(), k -> new HashMap<>());
+            SessionGroup group = byTimeSlot.get(session.timeSlotId());
+            if (group == null) {
+                group = new SessionGroup(groups.size());
+                byTimeSlot.put(session.timeSlotId(), group);
+                groups.add(group);
+            }
+            group.sessionIndexes.add(s);
+        }
+
+        int classBase = 2;
+        int groupBase = classBase + classes.size();
+        int sessionBase = groupBase + groups.size();
+        FlowNetwork network = new FlowNetwork(sessionBase + sessions.size());
+
+        for (int c = 0; c < classes.size(); c++) {
+            CandidateClass cls = classes.get(c);
+            int node = classBase + c;
+            network.addEdge(SOURCE, node, cls.members.size(), 0L);
+            linkGroups(network, node, cls, cls.firstDeptId, 1, 0L, groupsByDept, groupBase);
+            if (cls.secondDeptId != null && !cls.secondDeptId.equals(cls.firstDeptId)) {
+                linkGroups(network, node, cls, cls.secondDeptId, 2, SECOND_CHOICE_COST, groupsByDept, groupBase);
+            }
+        }
+        for (SessionGroup group : groups) {
+            for (int s : group.sessionIndexes) {
+                int remaining = sessions.get(s).remaining();
+                group.sessionEdges.add(network.addEdge(groupBase + group.index, sessionBase + s, remaining, 0L));
+                addLoadTiers(network, sessionBase + s, remaining);
+            }
+        }
+
+        network.minCostMaxFlow(SOURCE, SINK);
+
+        for (SessionGroup group : groups) {
+            for (int i = 0; i < group.sessionIndexes.size(); i++) {
+                int flow = network.flowOf(group.sessionEdges.get(i));
+                Integer sessionId = sessions.get(group.sessionIndexes.get(i)).sessionId();
+                for (int k = 0; k < flow; k++) {
+                    group.seats.add(sessionId);
+                }
+            }
+        }
+        for (CandidateClass cls : classes) {
+            int cursor = 0;
+            for (GroupEdge edge : cls.groupEdges) {
+                int flow = network.flowOf(edge.edge);
+                for (int k = 0; k < flow && cursor < cls.members.size(); k++) {
+                    placements.put(cls.members.get(cursor++).resumeId(),
+                            new Placement(edge.group.seats.poll(), edge.matchedChoice));
+                }
+            }
+        }
+        return placements;
+    }
+
+    /** 志愿部门 + 可接受时间窗完全相同的候选人归为一类，类与成员都保持传入的优先级顺序 */
+    private static List<CandidateClass> groupCandidates(List<Candidate> candidates) {
+        Map<String, CandidateClass> byKey = new LinkedHashMap<>();
+        for (Candidate candidate : candidates) {
+            String key = candidate.firstDeptId() + "|" + candidate.secondDeptId() + "|"
+                    + new TreeSet<>(candidate.acceptedTimeSlotIds());
+            byKey.computeIfAbsent(key, k -> new CandidateClass(candidate)).members.add(candidate);
+        }
+        return new ArrayList<>(byKey.values());
+    }
+
+    private static void linkGroups(FlowNetwork network, int classNode, CandidateClass cls, Integer deptId,
+                                   int matchedChoice, long cost, Map<Integer, Map<Integer, SessionGroup>> groupsByDept,
+                                   int groupBase) {
+        Map<Integer, SessionGroup> byTimeSlot = deptId == null ? null : groupsByDept.get(deptId);
+        if (byTimeSlot == null) {
+            return;
+        }
+        // 按组编号（即最早场次的时间顺序）连边，分解时同类成员先拿到更早的时段
+        byTimeSlot.entrySet().stream()
+                .filter(entry -> cls.acceptedTimeSlotIds.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .sorted(Comparator.comparingInt(group -> group.index))
+                .forEach(group -> cls.groupEdges.add(new GroupEdge(group, matchedChoice,
+                        network.addEdge(classNode, groupBase + group.index, cls.members.size(), cost))));
+    }
+
+    /** 剩余名额按档均分，第 k 档代价 k × {@link #LOAD_TIER_COST} */
+    private static void addLoadTiers(FlowNetwork network, int sessionNode, int remaining) {
+        int tiers = Math.min(LOAD_TIERS, remaining);
+        for (int k = 0; k < tiers; k++) {
+            int size = remaining / tiers + (k < remaining % tiers ? 1 : 0);
+            network.addEdge(sessionNode, SINK, size, k * LOAD_TIER_COST);
+        }
+    }
+
+    private static final class CandidateClass {
+        private final Integer firstDeptId;
+        private final Integer secondDeptId;
+        private final Set<Integer> acceptedTimeSlotIds;
+        private final List<Candidate> members = new ArrayList<>();
+        /** 第一志愿的边在前，分解时先满足第一志愿 */
+        private final List<GroupEdge> groupEdges = new ArrayList<>();
+
+        private CandidateClass(Candidate representative) {
+            this.firstDeptId = representative.firstDeptId();
+            this.secondDeptId = representative.secondDeptId();
+            this.acceptedTimeSlotIds = representative.acceptedTimeSlotIds();
+        }
+    }
+
+    /** 同部门同时间窗的场次 */
+    private static final class SessionGroup {
+        private final int index;
+        private final List<Integer> sessionIndexes = new ArrayList<>();
+        private final List<Integer> sessionEdges = new ArrayList<>();
+        /** 流量分解后的座位（场次 ID），按场次时间顺序排队 */
+        private final Deque<Integer> seats = new ArrayDeque<>();
+
+        private SessionGroup(int index) {
+            this.index = index;
+        }
+    }
+
+    private record GroupEdge(SessionGroup group, int matchedChoice, int edge) {
+    }
+
+    /**
+     * 数组实现的残量网络。边 e 与其反向边 e^1 成对存放。
+     */
+    private static final class FlowNetwork {
+
+        private static final long INF = Long.MAX_VALUE / 4;
+
+        private final int nodeCount;
+        private final int[] head;
+        private int[] next = new int[64];
+        private int[] to = new int[64];
+        private int[] cap = new int[64];
+        private int[] originalCap = new int[64];
+        private long[] cost = new long[64];
+        private int edgeCount;
+
+        private FlowNetwork(int nodeCount) {
+            this.nodeCount = nodeCount;
+            this.head = new int[nodeCount];
+            Arrays.fill(head, -1);
+        }
+
+        /** @return 正向边编号 */
+        private int addEdge(int from, int target, int capacity, long edgeCost) {
+            ensureCapacity(edgeCount + 2);
+            int id = edgeCount;
+            link(from, target, capacity, edgeCost);
+            link(target, from, 0, -edgeCost);
+            return id;
+        }
+
+        private int flowOf(int edge) {
+            return originalCap[edge] - cap[edge];
+        }
+
+        private void link(int from, int target, int capacity, long edgeCost) {
+            to[edgeCount] = target;
+            cap[edgeCount] = capacity;
+            originalCap[edgeCount] = capacity;
+            cost[edgeCount] = edgeCost;
+            next[edgeCount] = head[from];
+            head[from] = edgeCount++;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= to.length) {
+                return;
+            }
+            int size = Math.max(required, to.length * 2);
+            next = Arrays.copyOf(next, size);
+            to = Arrays.copyOf(to, size);
+            cap = Arrays.copyOf(cap, size);
+            originalCap = Arrays.copyOf(originalCap, size);
+            cost = Arrays.copyOf(cost, size);
+        }
+
+        /**
+         * 原始-对偶：Dijkstra 求最短距离并更新势能，再在约化费用为 0 的边上做 Dinic 阻塞流，
+         * 同一最短距离的增广路一轮推完。费用只有少数几种取值，Dijkstra 轮数远小于增广路条数。
+         * 初始边费用均非负，势能从 0 开始即可保证约化费用非负。
+         */
+        private void minCostMaxFlow(int source, int sink) {
+            long[] potential = new long[nodeCount];
+            long[] dist = new long[nodeCount];
+            int[] level = new int[nodeCount];
+            int[] iter = new int[nodeCount];
+            int[] bfsQueue = new int[nodeCount];
+            while (true) {
+                shortestPaths(source, potential, dist);
+                if (dist[sink] >= INF) {
+                    return;
+                }
+                for (int v = 0; v < nodeCount; v++) {
+                    if (dist[v] < INF) {
+                        potential[v] += dist[v];
+                    }
+                }
+                while (levelAdmissible(source, sink, potential, level, bfsQueue)) {
+                    System.arraycopy(head, 0, iter, 0, nodeCount);
+                    while (push(source, sink, Integer.MAX_VALUE, potential, level, iter) > 0) {
+                        // 阻塞流推满为止
+                    }
+                }
+            }
+        }
+
+        /** dist 为约化费用下的最短距离，不可达为 INF */
+        private void shortestPaths(int source, long[] potential, long[] dist) {
+            Arrays.fill(dist, INF);
+            dist[source] = 0;
+            PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+            queue.add(new long[]{0, source});
+            while (!queue.isEmpty()) {
+                long[] top = queue.poll();
+                int u = (int) top[1];
+                if (top[0] > dist[u]) {
+                    continue;
+                }
+                for (int e = head[u]; e != -1; e = next[e]) {
+                    if (cap[e] <= 0) {
+                        continue;
+                    }
+                    int v = to[e];
+                    long candidate = dist[u] + cost[e] + potential[u] - potential[v];
+                    if (candidate < dist[v]) {
+                        dist[v] = candidate;
+                        queue.add(new long[]{candidate, v});
+                    }
+                }
+            }
+        }
+
+        /** 只沿约化费用为 0 的残量边做 BFS 分层 */
+        private boolean levelAdmissible(int source, int sink, long[] potential, int[] level, int[] bfsQueue) {
+            Arrays.fill(level, -1);
+            level[source] = 0;
+            int headIdx = 0;
+            int tailIdx = 0;
+            bfsQueue[tailIdx++] = source;
+            while (headIdx < tailIdx) {
+                int u = bfsQueue[headIdx++];
+                for (int e = head[u]; e != -1; e = next[e]) {
+                    int v = to[e];
+                    if (cap[e] > 0 && level[v] < 0 && cost[e] + potential[u] - potential[v] == 0) {
+                        level[v] = level[u] + 1;
+                        bfsQueue[tailIdx++] = v;
+                    }
+                }
+            }
+            return level[sink] >= 0;
+        }
+
+        private int push(int u, int sink, int limit, long[] potential, int[] level, int[] iter) {
+            if (u == sink) {
+                return limit;
+            }
+            for (; iter[u] != -1; iter[u] = next[iter[u]]) {
+                int e = iter[u];
+                int v = to[e];
+                if (cap[e] <= 0 || level[v] != level[u] + 1 || cost[e] + potential[u] - potential[v] != 0) {
+                    continue;
+                }
+                int pushed = push(v, sink, Math.min(limit, cap[e]), potential, level, iter);
+                if (pushed > 0) {
+                    cap[e] -= pushed;
+                    cap[e ^ 1] += pushed;
+                    return pushed;
+                }
+            }
+            return 0;
+        }
+    }
+}
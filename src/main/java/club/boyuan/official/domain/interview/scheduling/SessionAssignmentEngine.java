@@ -0,0 +1,34 @@
+package club.boyuan.official.domain.interview.scheduling;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 场次分配求解器：只负责「谁进哪个场次」，不读库、不落库，也不细分面试时刻。
+ * <p>
+ * 每人只面一场，只能进第一 / 第二志愿部门、且时间窗在本人可接受范围内的场次，
+ * 每个场次最多再放 {@link SessionCapacity#remaining()} 人。不同实现在「放不下时牺牲谁」上取舍不同。
+ */
+public interface SessionAssignmentEngine {
+
+    /** 求解器名称，对应配置 {@code interview.assignment.engine} 与接口参数 {@code engine} */
+    String name();
+
+    /**
+     * @param candidates 待分配候选人，按优先级排列（约束越紧越靠前）；可接受时间窗非空
+     * @param sessions   可用场次，按日期 / 开始时间 / 场次 ID 排列
+     * @return resumeId → 分配结果；未出现在结果里的候选人即未分配
+     */
+    Map<Integer, Placement> solve(List<Candidate> candidates, List<SessionCapacity> sessions);
+
+    record Candidate(Integer resumeId, Integer firstDeptId, Integer secondDeptId, Set<Integer> acceptedTimeSlotIds) {
+    }
+
+    record SessionCapacity(Integer sessionId, Integer deptId, Integer timeSlotId, int remaining) {
+    }
+
+    /** @param matchedChoice 1 第一志愿 / 2 第二志愿 */
+    record Placement(Integer sessionId, int matchedChoice) {
+    }
+}
@@ -22,8 +22,16 @@ import java.util.List;
  */
 public interface IInterviewResultService extends IService<InterviewResult> {
 
+    /**
+     * 提交批量结果通知任务，立即返回带 jobId 的 PENDING 快照；发送在后台分批进行。
+     */
     SendNotificationsResponseDTO sendNotifications(@Valid SendNotificationsRequestDTO requestDTO);
 
+    /**
+     * 查询批量结果通知任务的进度与结果。
+     */
+    SendNotificationsResponseDTO getNotificationJob(Long jobId);
+
     InterviewResultResponseDTO list(Integer cycleId, String name, String decision, String department, Integer page, Integer size);
 
     InterviewResult update(Integer resultId, @Valid InterviewResultSaveDTO interviewResult);
@@ -14,6 +14,14 @@ public interface ISessionAssignmentService {
      */
     SessionAssignmentResultDTO assign(Integer cycleId);
 
+    /**
+     * 同 {@link #assign(Integer)}，可指定求解器并只试算。
+     *
+     * @param dryRun 为 true 时只返回分配方案（scheduleId 为空），不写安排、不占场次名额
+     * @param engine 求解器名称（min-cost-flow / greedy），为空用配置默认值
+     */
+    SessionAssignmentResultDTO assign(Integer cycleId, boolean dryRun, String engine);
+
     /**
      * 待人工调剂名单：已填志愿但算法未能分配到场次的候选人。
      */
@@ -20,6 +20,9 @@ public interface InterviewFeishuImportService {
     /** POST /import-from-table：飞书 → 平台异步拉回 */
     FeishuSyncTaskSubmitDTO submitPullFromTableTask(ImportFromFeishuTableRequestDTO request, Integer operatorUserId);
 
+    /** POST /import/tasks/{id}/resume：中途失败的拉回任务从检查点续跑，重新投递 MQ */
+    FeishuSyncTaskSubmitDTO resumePullTask(Long taskId);
+
     /** GET /import/tasks/{id}：读 Redis，前端轮询直到终态 */
     FeishuSyncTaskStatusDTO getImportTaskStatus(Long taskId);
 
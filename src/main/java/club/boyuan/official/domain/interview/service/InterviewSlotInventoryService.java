@@ -20,17 +20,33 @@ public interface InterviewSlotInventoryService {
      */
     boolean transferOccupancy(Integer fromSlotId, Integer toSlotId);
 
-    /** 将周期下各 slot 剩余名额预热到 Redis，供高并发快速拒绝 */
-    void warmRemainCacheForCycle(Iterable<Integer> slotIds);
+    /**
+     * 周期开放时一次性预热该周期全部 slot 的 Redis 剩余名额：一条按周期的 SELECT + 一次 pipeline 写入。
+     * 之后由 slot 的增改删和占坑/释放事件维护，列表页不再逐个回源。
+     * @param overwrite true 时覆盖已有值（周期刚开放）；false 时只补缺失的 key（SET NX），
+     *                  不动预约窗口里尚未落库的 Redis 预扣
+     * @return 参与写入的 key 数量
+     */
+    int warmRemainCacheForCycle(Integer cycleId, boolean overwrite);
 
     /** 从 DB 刷新单个 slot 的 Redis 剩余名额 */
     void syncRemainCacheFromDb(Integer slotId);
 
+    /** slot 删除后清掉其 Redis 剩余名额 */
+    void evictRemainCache(Integer slotId);
+
     /**
      * 仅 DB 原子占坑（不修改 Redis）。用于秒杀消费者：Redis 已在 Lua 中预扣。
      */
     boolean tryOccupyDbOnly(Integer slotId);
 
+    /**
+     * 仅 DB 批量占坑（不修改 Redis），用于秒杀批量落库。名额不够 {@code count} 个时占满剩余的。
+     *
+     * @return 实际占到的名额数，0 表示已满或时段已关闭
+     */
+    int occupyDbOnly(Integer slotId, int count);
+
     /**
      * 仅 DB 释放名额（不修改 Redis）。取消预约等同步路径仍用 {@link #release(Integer)}。
      */
@@ -0,0 +1,12 @@
+package club.boyuan.official.domain.interview.service;
+
+import java.util.Collection;
+
+/**
+ * 绕过库存服务直接改了 slot 占用数（如一键分配的批量回写）时发布，
+ * 事务提交后按 DB 刷新这些 slot 的 Redis 剩余名额。
+ *
+ * @param slotIds 占用数有变化的时段ID
+ */
+public record InterviewSlotOccupancyChangedEvent(Collection<Integer> slotIds) {
+}
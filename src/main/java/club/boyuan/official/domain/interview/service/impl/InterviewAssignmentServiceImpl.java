@@ -4,7 +4,6 @@ import club.boyuan.official.domain.interview.dto.InterviewAssignmentResultDTO;
 import club.boyuan.official.persistence.entity.RecruitmentCycle;
 import club.boyuan.official.persistence.entity.Resume;
 import club.boyuan.official.persistence.entity.ResumeFieldDefinition;
-import club.boyuan.official.persistence.entity.ResumeFieldValue;
 import club.boyuan.official.persistence.entity.User;
 import club.boyuan.official.domain.interview.scheduling.ClassroomAssigner;
 import club.boyuan.official.domain.interview.scheduling.InterviewSlotTimeCalculator;
@@ -13,10 +12,9 @@ import club.boyuan.official.domain.interview.service.IInterviewAssignmentService
 import club.boyuan.official.domain.resume.service.IRecruitmentCycleService;
 import club.boyuan.official.domain.resume.service.IResumeFieldDefinitionService;
 import club.boyuan.official.domain.resume.service.IResumeService;
+import club.boyuan.official.domain.resume.service.ResumeProjectionService;
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
 import club.boyuan.official.domain.user.service.IUserService;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.JsonNode;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,7 +38,7 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
     private final IRecruitmentCycleService recruitmentCycleService;
     private final IResumeFieldDefinitionService resumeFieldDefinitionService;
     private final IUserService userService;
-    private final ObjectMapper objectMapper;
+    private final ResumeProjectionService resumeProjectionService;
 
     @Override
     public InterviewAssignmentResultDTO   assignInterviews(Integer cycleId) {
@@ -71,9 +69,18 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
             throw new IllegalStateException("未找到'期望部门'字段定义");
         }
 
-        // 获取所有用户的期望面试时间和期望部门
-        Map<Integer, List<String>> userPreferredTimes = getUserPreferredTimes(resumes, interviewTimeField.getFieldId());
-        Map<Integer, List<String>> userPreferredDepartments = getUserPreferredDepartments(resumes, expectedDepartmentsField.getFieldId());
+        // 一次批量投影取回姓名/邮箱/专业/年级/志愿，后续不再逐人查 EAV
+        Map<Integer, ResumeProjection> projections = resumeProjectionService.project(cycleId, resumes);
+        Map<Integer, List<String>> userPreferredTimes = new HashMap<>();
+        Map<Integer, List<String>> userPreferredDepartments = new HashMap<>();
+        for (ResumeProjection projection : projections.values()) {
+            if (!projection.preferredTimes().isEmpty()) {
+                userPreferredTimes.put(projection.userId(), projection.preferredTimes());
+            }
+            if (!projection.expectedDepartments().isEmpty()) {
+                userPreferredDepartments.put(projection.userId(), projection.expectedDepartments());
+            }
+        }
 
         // 初始化各部门面试时间槽 (将Day1设置为9月27日，仅有一天面试)
         LocalDate day1 = LocalDate.of(2025, 9, 27);
@@ -81,7 +88,7 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
         Map<String, Map<LocalDateTime, Boolean>> departmentSlotAvailability = initializeDepartmentSlotAvailability(timeSlots, userPreferredDepartments);
 
         // 使用优化的分配策略分配面试时间
-        return assignInterviewsWithOptimization(resumes, userPreferredTimes, userPreferredDepartments, departmentSlotAvailability);
+        return assignInterviewsWithOptimization(resumes, userPreferredTimes, userPreferredDepartments, projections, departmentSlotAvailability);
     }
 
     /**
@@ -91,6 +98,7 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
             List<Resume> resumes,
             Map<Integer, List<String>> userPreferredTimes,
             Map<Integer, List<String>> userPreferredDepartments,
+            Map<Integer, ResumeProjection> projections,
             Map<String, Map<LocalDateTime, Boolean>> departmentSlotAvailability) {
 
         // 创建候选人列表，包含他们的偏好信息
@@ -98,8 +106,13 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
         List<InterviewAssignmentResultDTO.UnassignedUserDTO> unassignedUsers = new ArrayList<>();
         List<InterviewAssignmentResultDTO.NoPreferenceUserDTO> noPreferenceUsers = new ArrayList<>();
 
+        List<Integer> userIds = resumes.stream()
+                .map(Resume::getUserId).filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        Map<Integer, User> userById = userIds.isEmpty() ? new HashMap<>() : userService.listByIds(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, u -> u, (a, b) -> a));
+
         for (Resume resume : resumes) {
-            User user = userService.getUserById(resume.getUserId());
+            User user = userById.get(resume.getUserId());
             if (user == null) {
                 logger.warn("简历 {} 对应的用户 {} 不存在", resume.getResumeId(), resume.getUserId());
                 continue;
@@ -107,6 +120,7 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
 
             List<String> preferredTimes = userPreferredTimes.getOrDefault(resume.getUserId(), new ArrayList<>());
             List<String> preferredDepartments = userPreferredDepartments.getOrDefault(resume.getUserId(), new ArrayList<>());
+            ResumeProjection projection = projections.get(resume.getResumeId());
 
             // 添加调试日志
             logger.info("用户 {} 的期望面试时间: {}", user.getUsername(), preferredTimes);
@@ -115,35 +129,23 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
             // 如果用户没有填写期望面试时间，则加入未填写期望面试时间列表
             if (preferredTimes.isEmpty()) {
                 logger.info("用户 {} 没有填写期望面试时间，加入未填写期望面试时间列表", user.getUsername());
-                // 从简历中获取姓名而不是从用户表中获取
-                String name = getResumeName(resume);
-                // 从简历中获取邮箱而不是从用户表中获取
-                String email = getResumeEmail(resume);
-                // 从简历中获取专业和年级
-                String major = getResumeMajor(resume);
-                String grade = getResumeGrade(resume);
                 noPreferenceUsers.add(new InterviewAssignmentResultDTO.NoPreferenceUserDTO(
-                        user.getUserId(), user.getUsername(), name, email, major, grade));
+                        user.getUserId(), user.getUsername(), projection.name(), projection.email(),
+                        projection.major(), projection.grade()));
                 continue;
             }
 
             // 如果用户没有填写期望部门，则加入未填写期望面试时间列表
             if (preferredDepartments.isEmpty()) {
                 logger.info("用户 {} 没有填写期望部门，加入未填写期望面试时间列表", user.getUsername());
-                // 从简历中获取姓名而不是从用户表中获取
-                String name = getResumeName(resume);
-                // 从简历中获取邮箱而不是从用户表中获取
-                String email = getResumeEmail(resume);
-                // 从简历中获取专业和年级
-                String major = getResumeMajor(resume);
-                String grade = getResumeGrade(resume);
                 noPreferenceUsers.add(new InterviewAssignmentResultDTO.NoPreferenceUserDTO(
-                        user.getUserId(), user.getUsername(), name, email, major, grade));
+                        user.getUserId(), user.getUsername(), projection.name(), projection.email(),
+                        projection.major(), projection.grade()));
                 continue;
             }
 
             String firstDepartment = preferredDepartments.get(0);
-            candidates.add(new CandidateInfo(user, preferredTimes, preferredDepartments, firstDepartment, resume));
+            candidates.add(new CandidateInfo(user, preferredTimes, preferredDepartments, firstDepartment, resume, projection));
         }
 
         // 使用改进的三层排序策略：部门-时间段分组排序
@@ -163,22 +165,17 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
 
             // 严格按照用户偏好分配面试时间，不使用降级策略
             boolean assigned = tryAssignInterviewTime(
-                    user, resume, preferredTimes, department, departmentSlotAvailability, assignedInterviews, classroomAssigner, userPreferredDepartments);
+                    user, candidate.projection, preferredTimes, department, departmentSlotAvailability, assignedInterviews, classroomAssigner, userPreferredDepartments);
 
             // 如果无法分配（所有时间段都满了），则加入未分配列表
             if (!assigned) {
                 String preferredTimesStr = String.join(", ", preferredTimes);
                 String preferredDepartmentsStr = String.join(", ", candidate.preferredDepartments);
                 logger.info("用户 {} 未被分配，期望时间: {}，期望部门: {}", user.getUsername(), preferredTimesStr, preferredDepartmentsStr);
-                // 从简历中获取姓名而不是从用户表中获取
-                String name = getResumeName(candidate.resume);
-                // 从简历中获取邮箱而不是从用户表中获取
-                String email = getResumeEmail(candidate.resume);
-                // 从简历中获取专业和年级
-                String major = getResumeMajor(candidate.resume);
-                String grade = getResumeGrade(candidate.resume);
+                ResumeProjection projection = candidate.projection;
                 unassignedUsers.add(new InterviewAssignmentResultDTO.UnassignedUserDTO(
-                        user.getUserId(), user.getUsername(), name, email, major, grade, preferredTimesStr, preferredDepartmentsStr));
+                        user.getUserId(), user.getUsername(), projection.name(), projection.email(),
+                        projection.major(), projection.grade(), preferredTimesStr, preferredDepartmentsStr));
             } else {
                 logger.info("用户 {} 已成功分配面试时间", user.getUsername());
             }
@@ -189,148 +186,6 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
         return new InterviewAssignmentResultDTO(assignedInterviews, unassignedUsers, noPreferenceUsers);
     }
 
-    /**
-     * 从简历中获取姓名字段值
-     * @param resume 简历对象
-     * @return 姓名字段值，如果找不到则返回用户表中的姓名
-     */
-    private String getResumeName(Resume resume) {
-        // 获取简历中的所有字段值
-        List<ResumeFieldValue> fieldValues = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-
-        // 获取当前周期的字段定义
-        List<ResumeFieldDefinition> fieldDefinitions = resumeFieldDefinitionService.getFieldDefinitionsByCycleId(resume.getCycleId());
-
-        // 查找姓名字段定义
-        ResumeFieldDefinition nameFieldDefinition = fieldDefinitions.stream()
-                .filter(field -> "姓名".equals(field.getFieldLabel()))
-                .findFirst()
-                .orElse(null);
-
-        // 如果找到了姓名字段定义，则查找对应的字段值
-        if (nameFieldDefinition != null) {
-            String name = fieldValues.stream()
-                    .filter(value -> nameFieldDefinition.getFieldId().equals(value.getFieldId()))
-                    .map(ResumeFieldValue::getFieldValue)
-                    .findFirst()
-                    .orElse(null);
-
-            if (name != null && !name.isEmpty()) {
-                return name;
-            }
-        }
-
-        // 如果简历中没有姓名字段或为空，则使用用户表中的姓名
-        User user = userService.getUserById(resume.getUserId());
-        return user != null ? user.getName() : "";
-    }
-
-    /**
-     * 从简历中获取邮箱字段值
-     * @param resume 简历对象
-     * @return 邮箱字段值，如果找不到则返回用户表中的邮箱
-     */
-    private String getResumeEmail(Resume resume) {
-        // 获取简历中的所有字段值
-        List<ResumeFieldValue> fieldValues = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-
-        // 获取当前周期的字段定义
-        List<ResumeFieldDefinition> fieldDefinitions = resumeFieldDefinitionService.getFieldDefinitionsByCycleId(resume.getCycleId());
-
-        // 查找邮箱字段定义
-        ResumeFieldDefinition emailFieldDefinition = fieldDefinitions.stream()
-                .filter(field -> "邮箱".equals(field.getFieldLabel()))
-                .findFirst()
-                .orElse(null);
-
-        // 如果找到了邮箱字段定义，则查找对应的字段值
-        if (emailFieldDefinition != null) {
-            String email = fieldValues.stream()
-                    .filter(value -> emailFieldDefinition.getFieldId().equals(value.getFieldId()))
-                    .map(ResumeFieldValue::getFieldValue)
-                    .findFirst()
-                    .orElse(null);
-
-            if (email != null && !email.isEmpty()) {
-                return email;
-            }
-        }
-
-        // 如果简历中没有邮箱字段或为空，则使用用户表中的邮箱
-        User user = userService.getUserById(resume.getUserId());
-        return user != null ? user.getEmail() : "";
-    }
-
-    /**
-     * 从简历中获取专业字段值
-     * @param resume 简历对象
-     * @return 专业字段值，如果找不到则返回空字符串
-     */
-    private String getResumeMajor(Resume resume) {
-        // 获取简历中的所有字段值
-        List<ResumeFieldValue> fieldValues = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-
-        // 获取当前周期的字段定义
-        List<ResumeFieldDefinition> fieldDefinitions = resumeFieldDefinitionService.getFieldDefinitionsByCycleId(resume.getCycleId());
-
-        // 查找专业字段定义
-        ResumeFieldDefinition majorFieldDefinition = fieldDefinitions.stream()
-                .filter(field -> "专业".equals(field.getFieldLabel()))
-                .findFirst()
-                .orElse(null);
-
-        // 如果找到了专业字段定义，则查找对应的字段值
-        if (majorFieldDefinition != null) {
-            String major = fieldValues.stream()
-                    .filter(value -> majorFieldDefinition.getFieldId().equals(value.getFieldId()))
-                    .map(ResumeFieldValue::getFieldValue)
-                    .findFirst()
-                    .orElse(null);
-
-            if (major != null && !major.isEmpty()) {
-                return major;
-            }
-        }
-
-        // 如果简历中没有专业字段或为空，则返回空字符串
-        return "";
-    }
-
-    /**
-     * 从简历中获取专业和年级
-     * @param resume 简历对象
-     * @return 年级字段值，如果找不到则返回空字符串
-     */
-    private String getResumeGrade(Resume resume) {
-        // 获取简历中的所有字段值
-        List<ResumeFieldValue> fieldValues = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-
-        // 获取当前周期的字段定义
-        List<ResumeFieldDefinition> fieldDefinitions = resumeFieldDefinitionService.getFieldDefinitionsByCycleId(resume.getCycleId());
-
-        // 查找年级字段定义（年级或大几）
-        ResumeFieldDefinition gradeFieldDefinition = fieldDefinitions.stream()
-                .filter(field -> "年级".equals(field.getFieldLabel()) || "大几".equals(field.getFieldLabel()))
-                .findFirst()
-                .orElse(null);
-
-        // 如果找到了年级字段定义，则查找对应的字段值
-        if (gradeFieldDefinition != null) {
-            String grade = fieldValues.stream()
-                    .filter(value -> gradeFieldDefinition.getFieldId().equals(value.getFieldId()))
-                    .map(ResumeFieldValue::getFieldValue)
-                    .findFirst()
-                    .orElse(null);
-
-            if (grade != null && !grade.isEmpty()) {
-                return grade;
-            }
-        }
-
-        // 如果简历中没有年级字段或为空，则返回空字符串
-        return "";
-    }
-
     /**
      * 获取格式化的期望部门字符串（第一志愿、第二志愿）
      * @param userId 用户ID
@@ -681,120 +536,14 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
      * 获取"期望的面试时间"字段定义
      */
     private ResumeFieldDefinition getInterviewTimeFieldDefinition(Integer cycleId) {
-        List<ResumeFieldDefinition> fieldDefinitions = resumeFieldDefinitionService.getFieldDefinitionsByCycleId(cycleId);
-        return fieldDefinitions.stream()
-                .filter(field -> "期望的面试时间".equals(field.getFieldLabel()))
-                .findFirst()
-                .orElse(null);
+        return resumeFieldDefinitionService.getFieldDefinitionByLabel(cycleId, "期望的面试时间");
     }
 
     /**
      * 获取"期望部门"字段定义
      */
     private ResumeFieldDefinition getExpectedDepartmentsFieldDefinition(Integer cycleId) {
-        List<ResumeFieldDefinition> fieldDefinitions = resumeFieldDefinitionService.getFieldDefinitionsByCycleId(cycleId);
-        return fieldDefinitions.stream()
-                .filter(field -> "期望部门".equals(field.getFieldLabel()))
-                .findFirst()
-                .orElse(null);
-    }
-
-    /**
-     * 获取用户期望的面试时间
-     */
-    private Map<Integer, List<String>> getUserPreferredTimes(List<Resume> resumes, Integer fieldId) {
-        Map<Integer, List<String>> userPreferredTimes = new HashMap<>();
-
-        for (Resume resume : resumes) {
-            List<ResumeFieldValue> fieldValues = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-            // 获取所有匹配的字段值
-            List<ResumeFieldValue> interviewTimeValues = fieldValues.stream()
-                    .filter(value -> fieldId.equals(value.getFieldId()))
-                    .collect(Collectors.toList());
-
-            logger.info("用户 {} 的期望面试时间字段值数量: {}", resume.getUserId(), interviewTimeValues.size());
-
-            if (!interviewTimeValues.isEmpty()) {
-                List<String> allPreferredTimes = new ArrayList<>();
-                for (ResumeFieldValue interviewTimeValue : interviewTimeValues) {
-                    logger.info("用户 {} 的期望面试时间字段值: {}", resume.getUserId(), interviewTimeValue.getFieldValue());
-                    try {
-                        // 检查是否是包含first和second字段的JSON对象格式
-                        String fieldValue = interviewTimeValue.getFieldValue();
-                        logger.debug("解析用户 {} 的期望面试时间字段值: {}", resume.getUserId(), fieldValue);
-
-                        if (fieldValue != null && fieldValue.contains("\"first\"") && fieldValue.contains("\"second\"")) {
-                            // 解析包含first和second字段的JSON对象
-                            JsonNode jsonNode = objectMapper.readTree(fieldValue);
-                            String first = jsonNode.has("first") ? jsonNode.get("first").asText() : null;
-                            String second = jsonNode.has("second") ? jsonNode.get("second").asText() : null;
-
-                            logger.debug("用户 {} 的first字段: {}, second字段: {}", resume.getUserId(), first, second);
-
-                            // 添加非空的时间选项
-                            if (first != null && !first.isEmpty() && !"null".equals(first)) {
-                                allPreferredTimes.add(first);
-                            }
-                            if (second != null && !second.isEmpty() && !"null".equals(second)) {
-                                allPreferredTimes.add(second);
-                            }
-                        } else {
-                            // 解析普通的JSON数组格式（向后兼容）
-                            List<String> preferredTimes = objectMapper.readValue(fieldValue, new TypeReference<List<String>>() {});
-                            allPreferredTimes.addAll(preferredTimes);
-                        }
-
-                        logger.debug("用户 {} 添加的期望时间: {}", resume.getUserId(), allPreferredTimes);
-                    } catch (Exception e) {
-                        logger.warn("解析用户 {} 的期望面试时间失败: {}", resume.getUserId(),
-                                interviewTimeValue.getFieldValue(), e);
-                    }
-                }
-                logger.info("用户 {} 解析后的所有期望面试时间: {}", resume.getUserId(), allPreferredTimes);
-                userPreferredTimes.put(resume.getUserId(), allPreferredTimes);
-            }
-        }
-
-        logger.info("总共解析了 {} 个用户的期望面试时间", userPreferredTimes.size());
-        return userPreferredTimes;
-    }
-
-    /**
-     * 获取用户期望的部门
-     */
-    private Map<Integer, List<String>> getUserPreferredDepartments(List<Resume> resumes, Integer fieldId) {
-        Map<Integer, List<String>> userPreferredDepartments = new HashMap<>();
-
-        for (Resume resume : resumes) {
-            List<ResumeFieldValue> fieldValues = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-            // 获取所有匹配的字段值
-            List<ResumeFieldValue> expectedDepartmentsValues = fieldValues.stream()
-                    .filter(value -> fieldId.equals(value.getFieldId()))
-                    .collect(Collectors.toList());
-
-            logger.info("用户 {} 的期望部门字段值数量: {}", resume.getUserId(), expectedDepartmentsValues.size());
-
-            if (!expectedDepartmentsValues.isEmpty()) {
-                List<String> allPreferredDepartments = new ArrayList<>();
-                for (ResumeFieldValue expectedDepartmentsValue : expectedDepartmentsValues) {
-                    logger.info("用户 {} 的期望部门字段值: {}", resume.getUserId(), expectedDepartmentsValue.getFieldValue());
-                    try {
-                        // 解析JSON数组
-                        List<String> preferredDepartments = objectMapper.readValue(
-                                expectedDepartmentsValue.getFieldValue(),
-                                new TypeReference<List<String>>() {});
-                        allPreferredDepartments.addAll(preferredDepartments);
-                    } catch (Exception e) {
-                        logger.warn("解析用户 {} 的期望部门失败: {}", resume.getUserId(),
-                                expectedDepartmentsValue.getFieldValue(), e);
-                    }
-                }
-                logger.info("用户 {} 解析后的所有期望部门: {}", resume.getUserId(), allPreferredDepartments);
-                userPreferredDepartments.put(resume.getUserId(), allPreferredDepartments);
-            }
-        }
-
-        return userPreferredDepartments;
+        return resumeFieldDefinitionService.getFieldDefinitionByLabel(cycleId, "期望部门");
     }
 
     /**
@@ -851,7 +600,7 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
     /**
      * 尝试为用户分配面试时间，严格按照用户偏好进行分配
      */
-    private boolean tryAssignInterviewTime(User user, Resume resume, List<String> preferredTimes, String department,
+    private boolean tryAssignInterviewTime(User user, ResumeProjection projection, List<String> preferredTimes, String department,
                                            Map<String, Map<LocalDateTime, Boolean>> departmentSlotAvailability,
                                            List<InterviewAssignmentResultDTO.AssignedInterviewDTO> assignedInterviews,
                                            ClassroomAssigner classroomAssigner,
@@ -878,19 +627,13 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
                         // 成功分配时间和教室
                         String period = InterviewSlotTimeCalculator.periodOf(assignedSlot.toLocalTime());
                         logger.info("成功为用户 {} 分配面试时间: {} 教室: {}", user.getUsername(), assignedSlot, classroom);
-                        // 从简历中获取姓名而不是从用户表中获取
-                        String name = getResumeName(resume);
-                        // 从简历中获取邮箱而不是从用户表中获取
-                        String email = getResumeEmail(resume);
-                        // 从简历中获取专业和年级
-                        String major = getResumeMajor(resume);
-                        String grade = getResumeGrade(resume);
                         // 获取格式化的期望部门信息
                         String preferredDepartments = getFormattedPreferredDepartments(user.getUserId(), userPreferredDepartments);
                         // 获取用户期望的面试时间
                         String preferredTimesStr = String.join(", ", preferredTimes);
                         assignedInterviews.add(new InterviewAssignmentResultDTO.AssignedInterviewDTO(
-                                user.getUserId(), user.getUsername(), name, email, major, grade, preferredDepartments, preferredTimesStr, assignedSlot, period, department, classroom));
+                                user.getUserId(), user.getUsername(), projection.name(), projection.email(), projection.major(),
+                                projection.grade(), preferredDepartments, preferredTimesStr, assignedSlot, period, department, classroom));
                         return true;
                     } else {
                         // 没有可用教室，需要释放时间槽
@@ -1019,14 +762,17 @@ public class InterviewAssignmentServiceImpl implements IInterviewAssignmentServi
         private final List<String> preferredDepartments;
         private final String firstDepartment;
         private final Resume resume; // 添加简历字段
+        private final ResumeProjection projection; // 批量投影出的展示字段
         private double urgencyScore; // 紧迫度分数
 
-        public CandidateInfo(User user, List<String> preferredTimes, List<String> preferredDepartments, String firstDepartment, Resume resume) {
+        public CandidateInfo(User user, List<String> preferredTimes, List<String> preferredDepartments, String firstDepartment,
+                             Resume resume, ResumeProjection projection) {
             this.user = user;
             this.preferredTimes = preferredTimes;
             this.preferredDepartments = preferredDepartments;
             this.firstDepartment = firstDepartment;
             this.resume = resume;
+            this.projection = projection;
             this.urgencyScore = 0.0;
         }
     }
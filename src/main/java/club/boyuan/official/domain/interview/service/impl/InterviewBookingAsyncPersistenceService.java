@@ -1,19 +1,35 @@
 package club.boyuan.official.domain.interview.service.impl;
 
+import club.boyuan.official.common.exception.BusinessException;
+import club.boyuan.official.common.exception.BusinessExceptionEnum;
 import club.boyuan.official.domain.interview.dto.InterviewBookingDTO;
 import club.boyuan.official.persistence.entity.InterviewSchedule;
 import club.boyuan.official.persistence.entity.InterviewSlot;
-import club.boyuan.official.messaging.BookingOperationType;
 import club.boyuan.official.messaging.InterviewBookingMessage;
 import club.boyuan.official.domain.interview.service.IInterviewScheduleService;
 import club.boyuan.official.domain.interview.service.IInterviewSlotService;
 import club.boyuan.official.domain.interview.service.InterviewFineSlotTimeService;
 import club.boyuan.official.domain.interview.service.InterviewSlotInventoryService;
+import club.boyuan.official.infra.seckill.InterviewBookingLuaInventoryService;
+import club.boyuan.official.persistence.mapper.InterviewScheduleMapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
 /**
  * 秒杀消息消费者：将 Redis 预扣结果落库为 interview_schedule。
  */
@@ -23,17 +39,38 @@ import org.springframework.transaction.annotation.Transactional;
 public class InterviewBookingAsyncPersistenceService {
 
     private static final int SCHEDULE_STATUS_ACTIVE = 1;
+    private static final int SCHEDULE_STATUS_CANCELLED = 2;
+    public static final String SLOT_FULL_MESSAGE = "名额已满或落库失败";
 
     private final InterviewSlotInventoryService slotInventoryService;
     private final IInterviewScheduleService interviewScheduleService;
     private final IInterviewSlotService interviewSlotService;
     private final InterviewFineSlotTimeService fineSlotTimeService;
+    private final InterviewBookingLuaInventoryService luaInventoryService;
+    private final InterviewScheduleMapper interviewScheduleMapper;
 
     /**
-     * @return 落库成功后的预约 DTO；失败返回 null
+     * 受理端不再查已有预约，这里在落库事务里按库内状态判定：
+     * 同时段已有有效预约视为重复提交直接成功；别的时段已有有效预约则拒绝；取消过的预约复用原记录。
+     *
+     * @return 落库成功后的预约 DTO；名额不足等失败返回 null
+     * @throws BusinessException 已有其它时段的有效预约
      */
     @Transactional(rollbackFor = Exception.class)
     public InterviewBookingDTO persist(InterviewBookingMessage message) {
+        InterviewSchedule existing = findScheduleByResumeAndCycle(message.getResumeId(), message.getCycleId());
+        if (existing != null && Objects.equals(existing.getStatus(), SCHEDULE_STATUS_ACTIVE)) {
+            if (!Objects.equals(existing.getSlotId(), message.getSlotId())) {
+                throw new BusinessException(BusinessExceptionEnum.INTERVIEW_BOOKING_PROCESSING,
+                        "已有有效预约，请使用改期接口");
+            }
+            // 重复提交同一时段：不占新名额，把受理时的 Redis 预扣还回去
+            luaInventoryService.rollbackPreDeduct(message.getSlotId(), message.getUserId(), message.getCycleId());
+            log.info("秒杀重复预约同一时段 requestId={}, scheduleId={}",
+                    message.getRequestId(), existing.getScheduleId());
+            return InterviewBookingDTO.from(existing, interviewSlotService.getById(existing.getSlotId()));
+        }
+
         if (!slotInventoryService.tryOccupyDbOnly(message.getSlotId())) {
             log.warn("秒杀落库 DB 占坑失败 requestId={}, slotId={}",
                     message.getRequestId(), message.getSlotId());
@@ -48,12 +85,8 @@ public class InterviewBookingAsyncPersistenceService {
         var fineInterviewTime = fineSlotTimeService.resolveForOccupiedSlot(slotAfterOccupy);
 
         InterviewSchedule schedule;
-        if (message.getOperationType() == BookingOperationType.REACTIVATE) {
-            schedule = interviewScheduleService.getById(message.getExistingScheduleId());
-            if (schedule == null) {
-                slotInventoryService.releaseDbOnly(message.getSlotId());
-                return null;
-            }
+        if (existing != null && Objects.equals(existing.getStatus(), SCHEDULE_STATUS_CANCELLED)) {
+            schedule = existing;
             schedule.setSlotId(message.getSlotId())
                     .setInterviewTime(fineInterviewTime)
                     .setStatus(SCHEDULE_STATUS_ACTIVE)
@@ -62,23 +95,125 @@ public class InterviewBookingAsyncPersistenceService {
                     .setNotifStatus(0);
             interviewScheduleService.updateById(schedule);
         } else {
-            schedule = new InterviewSchedule()
-                    .setResumeId(message.getResumeId())
-                    .setUserId(message.getUserId())
-                    .setCycleId(message.getCycleId())
-                    .setSlotId(message.getSlotId())
-                    .setInterviewTime(fineInterviewTime)
-                    .setStatus(SCHEDULE_STATUS_ACTIVE)
-                    .setNotes(message.getNotes())
-                    .setSyncStatus(0)
-                    .setNotifStatus(0);
+            schedule = newSchedule(message, fineInterviewTime);
             interviewScheduleService.save(schedule);
         }
 
-        slotInventoryService.syncRemainCacheFromDb(message.getSlotId());
+        // Redis 名额在受理时已预扣，这里不再用库值覆盖，否则会把还在队列里的预扣抹掉
         InterviewSlot slot = interviewSlotService.getById(schedule.getSlotId());
         log.info("秒杀落库成功 requestId={}, scheduleId={}, slotId={}",
                 message.getRequestId(), schedule.getScheduleId(), message.getSlotId());
         return InterviewBookingDTO.from(schedule, slot);
     }
+
+    /**
+     * 批量落库：同一 slot 的请求一条条件 UPDATE 占坑，全部新预约一条多行 INSERT 写入。
+     * 已有预约记录的简历（重复提交 / 换时段 / 取消后重约）和同批内重复的简历不在这里处理，
+     * 放进 deferred 交给调用方逐条走 {@link #persist}。
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public BatchResult persistBatch(List<InterviewBookingMessage> messages) {
+        Map<String, InterviewBookingDTO> succeeded = new LinkedHashMap<>();
+        Map<String, String> failed = new LinkedHashMap<>();
+        List<InterviewBookingMessage> deferred = new ArrayList<>();
+
+        Set<String> existingKeys = existingScheduleKeys(messages);
+        Set<String> seen = new HashSet<>();
+        // 按 slotId 升序占坑，多个消费者并发时加锁顺序一致，避免死锁
+        Map<Integer, List<InterviewBookingMessage>> bySlot = new TreeMap<>();
+        for (InterviewBookingMessage message : messages) {
+            String key = scheduleKey(message.getResumeId(), message.getCycleId());
+            if (existingKeys.contains(key) || !seen.add(key)) {
+                deferred.add(message);
+                continue;
+            }
+            bySlot.computeIfAbsent(message.getSlotId(), k -> new ArrayList<>()).add(message);
+        }
+
+        List<InterviewSchedule> schedules = new ArrayList<>();
+        List<InterviewBookingMessage> accepted = new ArrayList<>();
+        Map<Integer, InterviewSlot> slots = new HashMap<>();
+        for (Map.Entry<Integer, List<InterviewBookingMessage>> entry : bySlot.entrySet()) {
+            List<InterviewBookingMessage> group = entry.getValue();
+            int granted = slotInventoryService.occupyDbOnly(entry.getKey(), group.size());
+            if (granted > 0) {
+                InterviewSlot slot = interviewSlotService.getById(entry.getKey());
+                slots.put(entry.getKey(), slot);
+                // 占坑后 current_occupied 已含本批，本批依次对应其后 granted 个小时间段
+                int firstIndex = slot.getCurrentOccupied() - granted;
+                for (int i = 0; i < granted; i++) {
+                    InterviewBookingMessage message = group.get(i);
+                    schedules.add(newSchedule(message, fineSlotTimeService.resolveForSlotIndex(slot, firstIndex + i)));
+                    accepted.add(message);
+                }
+            }
+            for (int i = granted; i < group.size(); i++) {
+                failed.put(group.get(i).getRequestId(), SLOT_FULL_MESSAGE);
+            }
+        }
+
+        if (!schedules.isEmpty()) {
+            interviewScheduleMapper.insertBatch(schedules);
+        }
+        for (int i = 0; i < schedules.size(); i++) {
+            InterviewSchedule schedule = schedules.get(i);
+            succeeded.put(accepted.get(i).getRequestId(), InterviewBookingDTO.from(schedule, slots.get(schedule.getSlotId())));
+        }
+        log.info("秒杀批量落库 messages={}, succeeded={}, failed={}, deferred={}",
+                messages.size(), succeeded.size(), failed.size(), deferred.size());
+        return new BatchResult(succeeded, failed, deferred);
+    }
+
+    private Set<String> existingScheduleKeys(List<InterviewBookingMessage> messages) {
+        Set<Integer> resumeIds = messages.stream()
+                .map(InterviewBookingMessage::getResumeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (resumeIds.isEmpty()) {
+            return Set.of();
+        }
+        LambdaQueryWrapper<InterviewSchedule> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(InterviewSchedule::getResumeId, InterviewSchedule::getCycleId)
+                .in(InterviewSchedule::getResumeId, resumeIds);
+        return interviewScheduleService.list(wrapper).stream()
+                .map(s -> scheduleKey(s.getResumeId(), s.getCycleId()))
+                .collect(Collectors.toSet());
+    }
+
+    private static String scheduleKey(Integer resumeId, Integer cycleId) {
+        return resumeId + ":" + cycleId;
+    }
+
+    private static InterviewSchedule newSchedule(InterviewBookingMessage message, LocalDateTime interviewTime) {
+        return new InterviewSchedule()
+                .setResumeId(message.getResumeId())
+                .setUserId(message.getUserId())
+                .setCycleId(message.getCycleId())
+                .setSlotId(message.getSlotId())
+                .setInterviewTime(interviewTime)
+                .setStatus(SCHEDULE_STATUS_ACTIVE)
+                .setNotes(message.getNotes())
+                .setSyncStatus(0)
+                .setNotifStatus(0);
+    }
+
+    /**
+     * 批量落库结果。
+     *
+     * @param succeeded requestId → 落库后的预约
+     * @param failed    requestId → 失败原因（名额不足）
+     * @param deferred  需逐条处理的消息
+     */
+    public record BatchResult(Map<String, InterviewBookingDTO> succeeded,
+                              Map<String, String> failed,
+                              List<InterviewBookingMessage> deferred) {
+    }
+
+    private InterviewSchedule findScheduleByResumeAndCycle(Integer resumeId, Integer cycleId) {
+        LambdaQueryWrapper<InterviewSchedule> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(InterviewSchedule::getResumeId, resumeId)
+                .eq(InterviewSchedule::getCycleId, cycleId)
+                .last("LIMIT 1");
+        return interviewScheduleService.getOne(wrapper);
+    }
 }
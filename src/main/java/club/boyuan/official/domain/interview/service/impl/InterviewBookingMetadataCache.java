@@ -0,0 +1,109 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+import club.boyuan.official.domain.interview.service.IInterviewSlotService;
+import club.boyuan.official.domain.resume.service.IRecruitmentCycleService;
+import club.boyuan.official.domain.resume.service.IResumeService;
+import club.boyuan.official.infra.config.InterviewBookingSeckillProperties;
+import club.boyuan.official.persistence.entity.InterviewSlot;
+import club.boyuan.official.persistence.entity.RecruitmentCycle;
+import club.boyuan.official.persistence.entity.Resume;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 秒杀受理路径用的周期/时段/简历元数据本地快照。
+ *
+ * 开抢那几分钟同一批 slot、同一个周期被几千个请求反复查询；这里按短 TTL 缓存正向结果，
+ * 受理路径不再读库。只缓存「存在」「已提交」这类正向结论，刚提交的简历不会被旧的否定结果挡住。
+ * 快照过期窗口内的变更（比如时段刚关闭）由 Redis 剩余名额和落库时的条件更新兜底。
+ */
+@Component
+@RequiredArgsConstructor
+public class InterviewBookingMetadataCache {
+
+    /** 条目上限，超过就整体清空重建，避免按用户缓存的简历无限增长 */
+    private static final int MAX_ENTRIES = 20_000;
+
+    private final IRecruitmentCycleService recruitmentCycleService;
+    private final IInterviewSlotService interviewSlotService;
+    private final IResumeService resumeService;
+    private final InterviewBookingSeckillProperties seckillProperties;
+
+    private final Map<Integer, Entry<Boolean>> cycles = new ConcurrentHashMap<>();
+    private final Map<Integer, Entry<SlotMeta>> slots = new ConcurrentHashMap<>();
+    private final Map<String, Entry<ResumeMeta>> resumes = new ConcurrentHashMap<>();
+
+    public boolean cycleExists(Integer cycleId) {
+        Boolean exists = cached(cycles, cycleId, () -> {
+            RecruitmentCycle cycle = recruitmentCycleService.getRecruitmentCycleById(cycleId);
+            return cycle != null ? Boolean.TRUE : null;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /** @return 时段元数据；时段不存在返回 null */
+    public SlotMeta slot(Integer slotId) {
+        return cached(slots, slotId, () -> {
+            InterviewSlot slot = interviewSlotService.getById(slotId);
+            return slot == null ? null : new SlotMeta(slot.getSlotId(), slot.getCycleId(), slot.getStatus());
+        });
+    }
+
+    /** @return 用户在该周期的简历；没有简历返回 null。只有已提交的简历会进缓存 */
+    public ResumeMeta resume(Integer userId, Integer cycleId) {
+        String key = userId + ":" + cycleId;
+        Entry<ResumeMeta> entry = resumes.get(key);
+        long now = System.currentTimeMillis();
+        if (entry != null && entry.expiresAt > now) {
+            return entry.value;
+        }
+        Resume resume = resumeService.getResumeByUserIdAndCycleId(userId, cycleId);
+        if (resume == null) {
+            return null;
+        }
+        ResumeMeta meta = new ResumeMeta(resume.getResumeId(), resume.getStatus());
+        if (meta.submitted()) {
+            put(resumes, key, meta, now);
+        }
+        return meta;
+    }
+
+    private <K, V> V cached(Map<K, Entry<V>> map, K key, Supplier<V> loader) {
+        if (key == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Entry<V> entry = map.get(key);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.value;
+        }
+        V value = loader.get();
+        if (value != null) {
+            put(map, key, value, now);
+        }
+        return value;
+    }
+
+    private <K, V> void put(Map<K, Entry<V>> map, K key, V value, long now) {
+        if (map.size() >= MAX_ENTRIES) {
+            map.clear();
+        }
+        map.put(key, new Entry<>(value, now + seckillProperties.getMetadataTtlSeconds() * 1000L));
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    public record SlotMeta(Integer slotId, Integer cycleId, Integer status) {
+    }
+
+    public record ResumeMeta(Integer resumeId, Integer status) {
+        public boolean submitted() {
+            return status != null && status >= 2;
+        }
+    }
+}
@@ -6,9 +6,7 @@ import club.boyuan.official.domain.interview.dto.InterviewBookingAsyncResultDTO;
 import club.boyuan.official.domain.interview.dto.InterviewBookingDTO;
 import club.boyuan.official.persistence.entity.InterviewSchedule;
 import club.boyuan.official.persistence.entity.InterviewSlot;
-import club.boyuan.official.persistence.entity.RecruitmentCycle;
 import club.boyuan.official.persistence.entity.Resume;
-import club.boyuan.official.persistence.entity.User;
 import club.boyuan.official.common.exception.BusinessException;
 import club.boyuan.official.common.exception.BusinessExceptionEnum;
 import club.boyuan.official.messaging.BookingOperationType;
@@ -23,7 +21,6 @@ import club.boyuan.official.domain.resume.service.*;
 import club.boyuan.official.domain.interview.service.*;
 import club.boyuan.official.infra.sse.AsyncTaskChannel;
 import club.boyuan.official.infra.sse.AsyncTaskSseHub;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -44,20 +41,16 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class InterviewBookingSeckillServiceImpl implements InterviewBookingSeckillService {
 
-    private static final int SCHEDULE_STATUS_CANCELLED = 2;
-    private static final int SCHEDULE_STATUS_ACTIVE = 1;
-
     private final InterviewBookingSeckillProperties seckillProperties;
     private final InterviewBookingLuaInventoryService luaInventoryService;
     private final InterviewSlotInventoryService slotInventoryService;
     private final InterviewBookingProducer bookingProducer;
     private final MessageOutboxService messageOutboxService;
     private final AsyncTaskSseHub asyncTaskSseHub;
+    private final InterviewBookingMetadataCache metadataCache;
     private final IResumeService resumeService;
-    private final IRecruitmentCycleService recruitmentCycleService;
     private final IInterviewSlotService interviewSlotService;
     private final IInterviewScheduleService interviewScheduleService;
-    private final IUserService userService;
     private final StringRedisTemplate stringRedisTemplate;
     private final ObjectMapper objectMapper;
 
@@ -68,85 +61,61 @@ public class InterviewBookingSeckillServiceImpl implements InterviewBookingSecki
             throw new BusinessException(BusinessExceptionEnum.INTERVIEW_SECKILL_DISABLED);
         }
 
-        if (StringUtils.hasText(idempotencyKey)) {
-            InterviewBookingAsyncResultDTO cached = getIdempotentResult(idempotencyKey);
-            if (cached != null) {
-                return cached;
-            }
+        // 元数据全部走本地快照，受理路径不读库
+        if (!metadataCache.cycleExists(request.getCycleId())) {
+            throw new BusinessException(BusinessExceptionEnum.RECRUITMENT_CYCLE_NOT_FOUND);
         }
-
-        validateCycleExists(request.getCycleId());
-        Resume resume = requireResume(userId, request.getCycleId());
-        if (resume.getStatus() == null || resume.getStatus() < 2) {
+        InterviewBookingMetadataCache.ResumeMeta resume = metadataCache.resume(userId, request.getCycleId());
+        if (resume == null) {
+            throw new BusinessException(BusinessExceptionEnum.RESUME_NOT_FOUND);
+        }
+        if (!resume.submitted()) {
             throw new BusinessException(BusinessExceptionEnum.RESUME_NOT_SUBMITTED_FOR_BOOKING);
         }
         requireBookableSlotMetadata(request.getSlotId(), request.getCycleId());
 
-        InterviewSchedule existing = findScheduleByResumeAndCycle(resume.getResumeId(), request.getCycleId());
-        if (existing != null
-                && !Objects.equals(existing.getStatus(), SCHEDULE_STATUS_CANCELLED)
-                && !Objects.equals(existing.getSlotId(), request.getSlotId())) {
-            throw new BusinessException(BusinessExceptionEnum.INTERVIEW_BOOKING_PROCESSING,
-                    "已有有效预约，请使用改期接口");
-        }
-        if (existing != null
-                && Objects.equals(existing.getStatus(), SCHEDULE_STATUS_ACTIVE)
-                && Objects.equals(existing.getSlotId(), request.getSlotId())) {
-            return buildSuccessResult(existing, null);
-        }
-
-        slotInventoryService.syncRemainCacheFromDb(request.getSlotId());
-
+        // 已有预约（同时段重复提交 / 换时段 / 取消后重约）由消费端在落库事务里按库内状态判定
         String requestId = UUID.randomUUID().toString().replace("-", "");
-        SeckillLuaResult luaResult = luaInventoryService.preDeduct(
-                request.getSlotId(), userId, request.getCycleId(), requestId);
+        InterviewBookingAsyncResultDTO result = new InterviewBookingAsyncResultDTO()
+                .setRequestId(requestId)
+                .setStatus(InterviewBookingRequestStatusCache.PENDING)
+                .setMessage("预约排队中，请使用 requestId 轮询结果");
+        String pendingJson = toJson(pendingStatus(request.getCycleId(), request.getSlotId()));
+        String resultJson = toJson(result);
+
+        SeckillAdmission admission = luaInventoryService.admit(request.getSlotId(), userId, request.getCycleId(),
+                requestId, pendingJson, idempotencyKey, resultJson);
+        if (admission.result() == SeckillLuaResult.CACHE_MISS) {
+            slotInventoryService.syncRemainCacheFromDb(request.getSlotId());
+            admission = luaInventoryService.admit(request.getSlotId(), userId, request.getCycleId(),
+                    requestId, pendingJson, idempotencyKey, resultJson);
+        }
 
-        switch (luaResult) {
-            case FULL -> throw new BusinessException(BusinessExceptionEnum.INTERVIEW_SLOT_FULL);
-            case CACHE_MISS -> {
-                slotInventoryService.syncRemainCacheFromDb(request.getSlotId());
-                luaResult = luaInventoryService.preDeduct(
-                        request.getSlotId(), userId, request.getCycleId(), requestId);
-                if (luaResult == SeckillLuaResult.FULL) {
-                    throw new BusinessException(BusinessExceptionEnum.INTERVIEW_SLOT_FULL);
-                }
-                if (luaResult == SeckillLuaResult.USER_LOCKED) {
-                    throw new BusinessException(BusinessExceptionEnum.INTERVIEW_BOOKING_PROCESSING);
-                }
-                if (luaResult != SeckillLuaResult.SUCCESS) {
-                    throw new BusinessException(BusinessExceptionEnum.INTERVIEW_SLOT_FULL);
+        switch (admission.result()) {
+            case DUPLICATE -> {
+                InterviewBookingAsyncResultDTO cached = parseIdempotentResult(admission.cachedResultJson());
+                if (cached != null) {
+                    return cached;
                 }
+                throw new BusinessException(BusinessExceptionEnum.INTERVIEW_BOOKING_PROCESSING);
             }
             case USER_LOCKED -> throw new BusinessException(BusinessExceptionEnum.INTERVIEW_BOOKING_PROCESSING);
             case SUCCESS -> { /* continue */ }
+            default -> throw new BusinessException(BusinessExceptionEnum.INTERVIEW_SLOT_FULL);
         }
 
-        BookingOperationType op = (existing != null && Objects.equals(existing.getStatus(), SCHEDULE_STATUS_CANCELLED))
-                ? BookingOperationType.REACTIVATE
-                : BookingOperationType.CREATE;
-
         InterviewBookingMessage message = new InterviewBookingMessage(
                 requestId,
                 userId,
-                resume.getResumeId(),
+                resume.resumeId(),
                 request.getCycleId(),
                 request.getSlotId(),
                 request.getNotes(),
-                op,
-                existing != null ? existing.getScheduleId() : null
+                BookingOperationType.CREATE,
+                null
         );
-
-        saveRequestStatus(requestId, pendingStatus(request.getCycleId(), request.getSlotId()));
         enqueueBookingPersistMessage(requestId, message);
 
-        InterviewBookingAsyncResultDTO result = new InterviewBookingAsyncResultDTO()
-                .setRequestId(requestId)
-                .setStatus(InterviewBookingRequestStatusCache.PENDING)
-                .setMessage("预约排队中，请使用 requestId 轮询结果");
-
-        if (StringUtils.hasText(idempotencyKey)) {
-            saveIdempotentResult(idempotencyKey, result);
-        }
         log.info("秒杀预约已受理 requestId={}, userId={}, slotId={}", requestId, userId, request.getSlotId());
         publishBookingSse(requestId, result, false);
         return result;
@@ -237,15 +206,6 @@ public class InterviewBookingSeckillServiceImpl implements InterviewBookingSecki
                 .setMessage(cache.getMessage());
     }
 
-    private InterviewBookingAsyncResultDTO buildSuccessResult(InterviewSchedule schedule, String requestId) {
-        InterviewSlot slot = interviewSlotService.getById(schedule.getSlotId());
-        return new InterviewBookingAsyncResultDTO()
-                .setRequestId(requestId)
-                .setStatus(InterviewBookingRequestStatusCache.SUCCESS)
-                .setMessage("预约成功")
-                .setBooking(InterviewBookingDTO.from(schedule, slot));
-    }
-
     private InterviewBookingRequestStatusCache pendingStatus(Integer cycleId, Integer slotId) {
         return new InterviewBookingRequestStatusCache()
                 .setStatus(InterviewBookingRequestStatusCache.PENDING)
@@ -255,15 +215,11 @@ public class InterviewBookingSeckillServiceImpl implements InterviewBookingSecki
     }
 
     private void saveRequestStatus(String requestId, InterviewBookingRequestStatusCache cache) {
-        try {
-            stringRedisTemplate.opsForValue().set(
-                    InterviewBookingRedisKeys.requestStatus(requestId),
-                    objectMapper.writeValueAsString(cache),
-                    seckillProperties.getRequestStatusTtlHours(),
-                    TimeUnit.HOURS);
-        } catch (JsonProcessingException e) {
-            throw new IllegalStateException("序列化预约状态失败", e);
-        }
+        stringRedisTemplate.opsForValue().set(
+                InterviewBookingRedisKeys.requestStatus(requestId),
+                toJson(cache),
+                seckillProperties.getRequestStatusTtlHours(),
+                TimeUnit.HOURS);
     }
 
     private InterviewBookingRequestStatusCache loadRequestStatus(String requestId) {
@@ -279,20 +235,15 @@ public class InterviewBookingSeckillServiceImpl implements InterviewBookingSecki
         }
     }
 
-    private void saveIdempotentResult(String idempotencyKey, InterviewBookingAsyncResultDTO result) {
+    private String toJson(Object value) {
         try {
-            stringRedisTemplate.opsForValue().set(
-                    InterviewBookingRedisKeys.idempotent(idempotencyKey),
-                    objectMapper.writeValueAsString(result),
-                    seckillProperties.getRequestStatusTtlHours(),
-                    TimeUnit.HOURS);
+            return objectMapper.writeValueAsString(value);
         } catch (JsonProcessingException e) {
-            log.warn("保存幂等结果失败 key={}", idempotencyKey, e);
+            throw new IllegalStateException("序列化预约状态失败", e);
         }
     }
 
-    private InterviewBookingAsyncResultDTO getIdempotentResult(String idempotencyKey) {
-        String json = stringRedisTemplate.opsForValue().get(InterviewBookingRedisKeys.idempotent(idempotencyKey));
+    private InterviewBookingAsyncResultDTO parseIdempotentResult(String json) {
         if (!StringUtils.hasText(json)) {
             return null;
         }
@@ -303,39 +254,16 @@ public class InterviewBookingSeckillServiceImpl implements InterviewBookingSecki
         }
     }
 
-    private void validateCycleExists(Integer cycleId) {
-        RecruitmentCycle cycle = recruitmentCycleService.getRecruitmentCycleById(cycleId);
-        if (cycle == null) {
-            throw new BusinessException(BusinessExceptionEnum.RECRUITMENT_CYCLE_NOT_FOUND);
-        }
-    }
-
-    private Resume requireResume(Integer userId, Integer cycleId) {
-        Resume resume = resumeService.getResumeByUserIdAndCycleId(userId, cycleId);
-        if (resume == null) {
-            throw new BusinessException(BusinessExceptionEnum.RESUME_NOT_FOUND);
-        }
-        return resume;
-    }
-
     private void requireBookableSlotMetadata(Integer slotId, Integer cycleId) {
-        InterviewSlot slot = interviewSlotService.getById(slotId);
+        InterviewBookingMetadataCache.SlotMeta slot = metadataCache.slot(slotId);
         if (slot == null) {
             throw new BusinessException(BusinessExceptionEnum.INTERVIEW_SLOT_NOT_FOUND);
         }
-        if (!Objects.equals(slot.getCycleId(), cycleId)) {
+        if (!Objects.equals(slot.cycleId(), cycleId)) {
             throw new BusinessException(BusinessExceptionEnum.INTERVIEW_SLOT_CYCLE_MISMATCH);
         }
-        if (Objects.equals(slot.getStatus(), 3)) {
+        if (Objects.equals(slot.status(), 3)) {
             throw new BusinessException(BusinessExceptionEnum.INTERVIEW_SLOT_CLOSED);
         }
     }
-
-    private InterviewSchedule findScheduleByResumeAndCycle(Integer resumeId, Integer cycleId) {
-        LambdaQueryWrapper<InterviewSchedule> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(InterviewSchedule::getResumeId, resumeId)
-                .eq(InterviewSchedule::getCycleId, cycleId)
-                .last("LIMIT 1");
-        return interviewScheduleService.getOne(wrapper);
-    }
 }
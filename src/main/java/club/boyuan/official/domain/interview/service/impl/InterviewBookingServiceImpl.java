@@ -69,9 +69,8 @@ public class InterviewBookingServiceImpl implements IInterviewBookingService {
                 .orderByAsc(InterviewSlot::getStartTime)
                 .orderByAsc(InterviewSlot::getEndTime);
 
+        // 列表只读 DB：剩余名额缓存由 slot 事件与周期开放预热维护，不在这里逐个回源
         List<InterviewSlot> slots = interviewSlotService.list(wrapper);
-        slotInventoryService.warmRemainCacheForCycle(
-                slots.stream().map(InterviewSlot::getSlotId).collect(Collectors.toList()));
 
         List<InterviewBookableSlotDTO> result = slots.stream()
                 .map(InterviewBookableSlotDTO::from)
@@ -25,6 +25,7 @@ import club.boyuan.official.infra.sse.AsyncTaskSseHub;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 /**
  * 飞书导入「编排层」：只负责 Redis 任务状态 + MQ 投递 + 调用执行器，不直接请求飞书 API。
@@ -77,6 +78,18 @@ public class InterviewFeishuImportServiceImpl implements InterviewFeishuImportSe
         return submit;
     }
 
+    @Override
+    public FeishuSyncTaskSubmitDTO resumePullTask(Long taskId) {
+        FeishuSyncTaskRecord task = taskRedisStore.reopenPull(taskId);
+        enqueueFeishuSyncMessage(taskId);
+        log.info("飞书拉回任务续跑 taskId={}, 已处理 {} 行", taskId, task.getCompletedSteps());
+
+        publishFeishuSse(taskId, toStatusDto(task), false);
+        return new FeishuSyncTaskSubmitDTO()
+                .setTaskId(taskId)
+                .setStatus(FeishuSyncTaskStatus.PENDING.name());
+    }
+
     private void enqueueFeishuSyncMessage(Long taskId) {
         if (messageOutboxService.isEnabled()) {
             messageOutboxService.enqueue(
@@ -139,9 +152,17 @@ public class InterviewFeishuImportServiceImpl implements InterviewFeishuImportSe
         taskRedisStore.complete(taskId, result, resolvePushFinalStatus(result));
     }
 
+    /**
+     * 每页提交后写检查点并推进度；任务带着游标（续跑）时从该页接着读。
+     */
     private void runPullTask(Long taskId, FeishuSyncTaskRecord task) {
+        FeishuTablePullImportExecutor.PullCheckpoint resumeFrom = StringUtils.hasText(task.getPullPageToken())
+                ? new FeishuTablePullImportExecutor.PullCheckpoint(task.getPullPageToken(), task.getPullResult())
+                : null;
         ImportFromFeishuTableResponseDTO result = feishuTablePullImportExecutor.execute(
-                task.toPullRequest(), task.getOperatorUserId(), progressReporter(taskId));
+                task.toPullRequest(), task.getOperatorUserId(), resumeFrom,
+                checkpoint -> publishFeishuSse(taskId,
+                        toStatusDto(taskRedisStore.checkpointPull(taskId, checkpoint)), false));
         taskRedisStore.completePull(taskId, result, resolvePullFinalStatus(result));
     }
 
@@ -169,6 +190,10 @@ public class InterviewFeishuImportServiceImpl implements InterviewFeishuImportSe
                 .setImportedCount(task.getImportedCount())
                 .setFailedCount(task.getFailedCount())
                 .setSkippedCount(task.getSkippedCount())
+                .setCreatedCount(task.getCreatedCount())
+                .setUpdatedCount(task.getUpdatedCount())
+                .setUnchangedCount(task.getUnchangedCount())
+                .setDeletedCount(task.getDeletedCount())
                 .setTotalSteps(task.getTotalSteps())
                 .setCompletedSteps(task.getCompletedSteps())
                 .setProgressPercent(task.getProgressPercent())
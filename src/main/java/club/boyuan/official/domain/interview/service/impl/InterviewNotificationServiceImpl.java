@@ -10,6 +10,8 @@ import club.boyuan.official.persistence.entity.Resume;
 import club.boyuan.official.persistence.entity.User;
 import club.boyuan.official.persistence.mapper.InterviewNotificationLogMapper;
 import club.boyuan.official.persistence.mapper.InterviewResultMapper;
+import club.boyuan.official.persistence.mapper.InterviewScheduleMapper;
+import club.boyuan.official.persistence.mapper.ResumeMapper;
 import club.boyuan.official.messaging.InterviewNotificationMessage;
 import club.boyuan.official.messaging.InterviewNotificationProducer;
 import club.boyuan.official.infra.notification.InterviewNotificationEmailBuilder;
@@ -20,18 +22,32 @@ import club.boyuan.official.domain.interview.service.IInterviewSlotService;
 import club.boyuan.official.domain.resume.service.IResumeService;
 import club.boyuan.official.domain.user.service.IUserService;
 import club.boyuan.official.domain.interview.service.InterviewNotificationService;
-import club.boyuan.official.domain.resume.service.ResumeDataService;
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
+import club.boyuan.official.domain.resume.service.ResumeProjectionService;
+import club.boyuan.official.common.exception.BusinessException;
 import club.boyuan.official.common.utils.MessageUtils;
+import club.boyuan.official.infra.notification.MailDeliveryEngine;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -42,6 +58,12 @@ public class InterviewNotificationServiceImpl implements InterviewNotificationSe
     private static final int DECISION_PASSED = 1;
     private static final int DECISION_REJECTED = 2;
 
+    /** 提醒派发锁：类型 + 目标日期，同一天只派发一次 */
+    private static final String REMINDER_DISPATCH_LOCK_PREFIX = "official:interview:reminder:dispatch:";
+    private static final Duration REMINDER_DISPATCH_LOCK_TTL = Duration.ofHours(6);
+    /** 提醒消息每批复用一个 channel 投递的条数 */
+    private static final int REMINDER_PUBLISH_BATCH = 200;
+
     private final InterviewNotificationProducer notificationProducer;
     private final InterviewNotificationLogMapper notificationLogMapper;
     private final IInterviewScheduleService interviewScheduleService;
@@ -50,8 +72,12 @@ public class InterviewNotificationServiceImpl implements InterviewNotificationSe
     private final IUserService userService;
     private final InterviewResultMapper interviewResultMapper;
     private final DepartmentService departmentService;
-    private final ResumeDataService resumeDataService;
+    private final ResumeProjectionService resumeProjectionService;
     private final MessageUtils messageUtils;
+    private final MailDeliveryEngine mailDeliveryEngine;
+    private final InterviewScheduleMapper interviewScheduleMapper;
+    private final ResumeMapper resumeMapper;
+    private final StringRedisTemplate stringRedisTemplate;
 
     @Override
     public void enqueueBookingSuccess(Integer scheduleId, String requestId) {
@@ -61,6 +87,11 @@ public class InterviewNotificationServiceImpl implements InterviewNotificationSe
         notificationProducer.publishBookingSuccess(scheduleId, requestId);
     }
 
+    /**
+     * 提醒派发按集合处理：一条反连接查出没发过的预约，简历/投影/时段各批量取一次，
+     * 邮件在这里渲染好塞进消息，消费者拿到即发，不再逐条回查。
+     * 同一类型同一天只由一个节点派发，避免多实例定时任务重复群发。
+     */
     @Override
     public void dispatchReminders(InterviewNotificationType reminderType) {
         if (reminderType != InterviewNotificationType.EVE_REMINDER
@@ -71,22 +102,66 @@ public class InterviewNotificationServiceImpl implements InterviewNotificationSe
                 ? LocalDate.now().plusDays(1)
                 : LocalDate.now();
 
-        LocalDateTime dayStart = targetDate.atStartOfDay();
-        LocalDateTime dayEnd = targetDate.atTime(LocalTime.MAX);
+        String lockKey = REMINDER_DISPATCH_LOCK_PREFIX + reminderType.name() + ":" + targetDate;
+        Boolean claimed = stringRedisTemplate.opsForValue().setIfAbsent(lockKey, "1", REMINDER_DISPATCH_LOCK_TTL);
+        if (!Boolean.TRUE.equals(claimed)) {
+            log.info("{} 提醒已由其它节点派发，目标日期={}", reminderType, targetDate);
+            return;
+        }
+
+        List<InterviewSchedule> schedules;
+        List<InterviewNotificationMessage> messages;
+        try {
+            schedules = interviewScheduleMapper.selectActiveWithoutNotification(
+                    reminderType.name(), targetDate.atStartOfDay(), targetDate.atTime(LocalTime.MAX));
+            messages = renderReminders(reminderType, schedules);
+            for (int from = 0; from < messages.size(); from += REMINDER_PUBLISH_BATCH) {
+                notificationProducer.publishAll(
+                        messages.subList(from, Math.min(from + REMINDER_PUBLISH_BATCH, messages.size())));
+            }
+        } catch (RuntimeException e) {
+            // 派发中途失败放开锁，允许手动重跑；已发送成功的会被反连接去重
+            stringRedisTemplate.delete(lockKey);
+            throw e;
+        }
+        log.info("已投递 {} 提醒 {} 条（待发预约 {} 条），目标日期={}",
+                reminderType, messages.size(), schedules.size(), targetDate);
+    }
 
-        LambdaQueryWrapper<InterviewSchedule> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(InterviewSchedule::getStatus, SCHEDULE_STATUS_ACTIVE)
-                .isNotNull(InterviewSchedule::getInterviewTime)
-                .ge(InterviewSchedule::getInterviewTime, dayStart)
-                .le(InterviewSchedule::getInterviewTime, dayEnd);
+    private List<InterviewNotificationMessage> renderReminders(InterviewNotificationType type,
+                                                               List<InterviewSchedule> schedules) {
+        if (schedules.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> resumeIds = schedules.stream().map(InterviewSchedule::getResumeId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Integer, ResumeProjection> projections = new HashMap<>();
+        if (!resumeIds.isEmpty()) {
+            resumeMapper.selectByIds(resumeIds).stream()
+                    .filter(r -> r.getCycleId() != null)
+                    .collect(Collectors.groupingBy(Resume::getCycleId))
+                    .forEach((cycleId, resumes) -> projections.putAll(resumeProjectionService.project(cycleId, resumes)));
+        }
+        Set<Integer> slotIds = schedules.stream().map(InterviewSchedule::getSlotId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Integer, InterviewSlot> slots = slotIds.isEmpty() ? Map.of()
+                : interviewSlotService.listByIds(slotIds).stream()
+                .collect(Collectors.toMap(InterviewSlot::getSlotId, Function.identity(), (a, b) -> a));
 
-        for (InterviewSchedule schedule : interviewScheduleService.list(wrapper)) {
-            if (alreadySent(reminderType, schedule.getScheduleId(), null)) {
+        String subject = InterviewNotificationEmailBuilder.subject(type);
+        List<InterviewNotificationMessage> messages = new ArrayList<>(schedules.size());
+        for (InterviewSchedule schedule : schedules) {
+            ResumeProjection projection = projections.get(schedule.getResumeId());
+            if (projection == null || !StringUtils.hasText(projection.email())) {
+                log.info("无有效邮箱，跳过通知 type={}, scheduleId={}", type, schedule.getScheduleId());
                 continue;
             }
-            notificationProducer.publishReminder(reminderType, schedule.getScheduleId());
+            InterviewBookingDTO booking = InterviewBookingDTO.from(schedule, slots.get(schedule.getSlotId()));
+            String body = InterviewNotificationEmailBuilder.body(type, projection.name(), booking, null);
+            messages.add(new InterviewNotificationMessage(type, schedule.getScheduleId(), null, null, null,
+                    projection.email(), subject, body));
         }
-        log.info("已扫描并投递 {} 提醒，目标日期={}", reminderType, targetDate);
+        return messages;
     }
 
     @Override
@@ -98,49 +173,61 @@ public class InterviewNotificationServiceImpl implements InterviewNotificationSe
     }
 
     /**
-     * 由 MQ 消费者调用：解析消息、发送邮件、记录日志。
+     * 由 MQ 消费者调用：解析消息、组装邮件并交给投递引擎。
+     * 这里只有读库；邮件被服务器接收后才写发送日志与通知状态，整个过程不在事务里等网络。
+     *
+     * @return 邮件发送并记录完成；无需发送时立即完成
      */
-    @Transactional(rollbackFor = Exception.class)
-    public void deliver(InterviewNotificationMessage message) {
+    public CompletableFuture<Void> deliver(InterviewNotificationMessage message) {
         if (message == null) {
-            return;
+            return done();
         }
         InterviewNotificationType type = resolveType(message);
         if (type == null) {
             if (message.getResultId() != null && StringUtils.hasText(message.getCustomBody())) {
-                deliverResult(null, message);
-                return;
+                return deliverResult(null, message);
             }
             log.warn("无法解析通知类型，已忽略 message={}", message);
-            return;
+            return done();
         }
 
         if (type == InterviewNotificationType.ADMISSION || type == InterviewNotificationType.REJECTION) {
-            deliverResult(type, message);
-            return;
+            return deliverResult(type, message);
+        }
+
+        if (isPrerendered(message)) {
+            // 批量提醒：派发时已去重并渲染好，但手动 ack 下消息可能被重投（如通道断开），
+            // 发信前仍按唯一键点查一次发送日志，避免重复发信
+            if (alreadySent(type, message.getScheduleId(), null)) {
+                log.info("通知已发送过，跳过 type={}, scheduleId={}", type, message.getScheduleId());
+                return done();
+            }
+            return sendAndLog(type, message.getScheduleId(), null, message.getRecipientEmail(),
+                    message.getSubject(), message.getBody(), null, message.getRequestId());
         }
 
         Integer scheduleId = message.getScheduleId();
         if (scheduleId == null) {
-            return;
+            return done();
         }
         if (alreadySent(type, scheduleId, null)) {
             log.info("通知已发送过，跳过 type={}, scheduleId={}", type, scheduleId);
-            return;
+            return done();
         }
 
         InterviewSchedule schedule = interviewScheduleService.getById(scheduleId);
         if (schedule == null || !Integer.valueOf(SCHEDULE_STATUS_ACTIVE).equals(schedule.getStatus())) {
             log.info("预约不存在或已取消，跳过通知 scheduleId={}", scheduleId);
-            return;
+            return done();
         }
 
         Resume resume = resumeService.getResumeById(schedule.getResumeId());
-        String email = resume != null ? resumeDataService.getResumeEmail(resume) : null;
-        String name = resume != null ? resumeDataService.getResumeName(resume) : null;
+        ResumeProjection projection = resumeProjectionService.project(resume);
+        String email = projection != null ? projection.email() : null;
+        String name = projection != null ? projection.name() : null;
         if (!StringUtils.hasText(email)) {
             log.info("无有效邮箱，跳过通知 type={}, scheduleId={}", type, scheduleId);
-            return;
+            return done();
         }
 
         InterviewSlot slot = interviewSlotService.getById(schedule.getSlotId());
@@ -148,33 +235,33 @@ public class InterviewNotificationServiceImpl implements InterviewNotificationSe
 
         String subject = InterviewNotificationEmailBuilder.subject(type);
         String body = InterviewNotificationEmailBuilder.body(type, name, booking, null);
-        sendAndLog(type, scheduleId, null, email, subject, body, schedule, message.getRequestId());
+        return sendAndLog(type, scheduleId, null, email, subject, body, schedule, message.getRequestId());
     }
 
-    private void deliverResult(InterviewNotificationType type, InterviewNotificationMessage message) {
+    private CompletableFuture<Void> deliverResult(InterviewNotificationType type, InterviewNotificationMessage message) {
         Integer resultId = message.getResultId();
         if (resultId == null) {
-            return;
+            return done();
         }
         boolean templated = !StringUtils.hasText(message.getCustomBody());
         if (templated) {
             if (type == null) {
-                return;
+                return done();
             }
             if (alreadySent(type, null, resultId)) {
                 log.info("结果通知已发送过，跳过 type={}, resultId={}", type, resultId);
-                return;
+                return done();
             }
         }
 
         InterviewResult result = interviewResultMapper.selectById(resultId);
         if (result == null) {
-            return;
+            return done();
         }
 
         User user = userService.getById(result.getUserId());
         if (user == null) {
-            return;
+            return done();
         }
 
         Resume resume = null;
@@ -183,11 +270,12 @@ public class InterviewNotificationServiceImpl implements InterviewNotificationSe
             resume = resumeService.getResumeById(schedule.getResumeId());
         }
 
-        String email = resume != null ? resumeDataService.getResumeEmail(resume) : user.getEmail();
-        String name = resume != null ? resumeDataService.getResumeName(resume) : user.getName();
+        ResumeProjection projection = resumeProjectionService.project(resume);
+        String email = projection != null ? projection.email() : user.getEmail();
+        String name = projection != null ? projection.name() : user.getName();
         if (!StringUtils.hasText(email)) {
             log.warn("结果通知无邮箱 resultId={}", resultId);
-            return;
+            return done();
         }
 
         String departmentName = resolveDepartmentName(result.getAssignedDeptId());
@@ -203,7 +291,7 @@ public class InterviewNotificationServiceImpl implements InterviewNotificationSe
                 ? InterviewNotificationEmailBuilder.body(effectiveType, name, booking, departmentName)
                 : message.getCustomBody();
 
-        sendAndLog(effectiveType, result.getScheduleId(), resultId, email, subject, body, schedule, null);
+        return sendAndLog(effectiveType, result.getScheduleId(), resultId, email, subject, body, schedule, null);
     }
 
     private InterviewNotificationType resolveType(InterviewNotificationMessage message) {
@@ -232,17 +320,33 @@ public class InterviewNotificationServiceImpl implements InterviewNotificationSe
         return dept != null ? dept.getDeptName() : null;
     }
 
-    private void sendAndLog(InterviewNotificationType type,
+    private CompletableFuture<Void> sendAndLog(InterviewNotificationType type,
+                                               Integer scheduleId,
+                                               Integer resultId,
+                                               String email,
+                                               String subject,
+                                               String body,
+                                               InterviewSchedule schedule,
+                                               String requestId) {
+        try {
+            messageUtils.validateEmail(email);
+        } catch (BusinessException e) {
+            // 地址格式不对，重投也没用，按发送失败处理
+            return CompletableFuture.failedFuture(e);
+        }
+        return mailDeliveryEngine.submit(email, subject, body)
+                .thenRun(() -> recordSent(type, scheduleId, resultId, email, schedule, requestId));
+    }
+
+    /**
+     * 邮件已被服务器接收：写发送日志、更新预约的通知状态。两条短语句，各自提交。
+     */
+    private void recordSent(InterviewNotificationType type,
                             Integer scheduleId,
                             Integer resultId,
                             String email,
-                            String subject,
-                            String body,
                             InterviewSchedule schedule,
                             String requestId) {
-        messageUtils.validateEmail(email);
-        messageUtils.sendEmail(email, subject, body);
-
         InterviewNotificationLog logEntry = new InterviewNotificationLog()
                 .setNotificationType(type.name())
                 .setScheduleId(scheduleId)
@@ -252,14 +356,26 @@ public class InterviewNotificationServiceImpl implements InterviewNotificationSe
         notificationLogMapper.insert(logEntry);
 
         if (schedule != null && type == InterviewNotificationType.BOOKING_SUCCESS) {
-            schedule.setNotifStatus(1);
-            interviewScheduleService.updateById(schedule);
+            // 只更新通知状态列：预约在发信期间可能已被改期，不能用读到的旧实体整行覆盖
+            interviewScheduleService.update(new LambdaUpdateWrapper<InterviewSchedule>()
+                    .set(InterviewSchedule::getNotifStatus, 1)
+                    .eq(InterviewSchedule::getScheduleId, schedule.getScheduleId()));
         }
 
         log.info("面试通知已发送 type={}, scheduleId={}, resultId={}, email={}, requestId={}",
                 type, scheduleId, resultId, email, requestId);
     }
 
+    private static boolean isPrerendered(InterviewNotificationMessage message) {
+        return StringUtils.hasText(message.getRecipientEmail())
+                && StringUtils.hasText(message.getSubject())
+                && StringUtils.hasText(message.getBody());
+    }
+
+    private static CompletableFuture<Void> done() {
+        return CompletableFuture.completedFuture(null);
+    }
+
     private boolean alreadySent(InterviewNotificationType type, Integer scheduleId, Integer resultId) {
         LambdaQueryWrapper<InterviewNotificationLog> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(InterviewNotificationLog::getNotificationType, type.name());
@@ -18,7 +18,6 @@ import club.boyuan.official.persistence.entity.User;
 import club.boyuan.official.persistence.mapper.InterviewResultMapper;
 import club.boyuan.official.domain.interview.service.IInterviewResultService;
 import club.boyuan.official.domain.user.service.IUserService;
-import club.boyuan.official.domain.interview.service.InterviewNotificationService;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
@@ -30,7 +29,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -57,68 +55,16 @@ public class InterviewResultServiceImpl extends ServiceImpl<InterviewResultMappe
     @Autowired
     private ResumeMapper resumeMapper;
     @Autowired
-    private InterviewNotificationService interviewNotificationService;
+    private ResultNotificationJobRunner resultNotificationJobRunner;
     @Override
     public SendNotificationsResponseDTO sendNotifications(SendNotificationsRequestDTO requestDTO) {
-        List<Integer> resultIds = requestDTO.getResultIds();
-        //发送通知的类型（暂时只有邮箱，未开通sms短信服务）
-        String notificationType = requestDTO.getNotificationType();
-        String customMessage = requestDTO.getCustomMessage();
-
-        int sendCount=0;
-        int failedCount=0;
-        ArrayList<Integer> failedId = new ArrayList<>();
-
-        for(Integer resultId:resultIds){
-            try {
-                //根据resultId查询面试结果
-                InterviewResult interviewResult = this.getById(resultId);
-                if(interviewResult==null){
-                    failedCount++;
-                    failedId.add(-1);
-                    throw new RuntimeException("面试结果不存在");
-                }
-                //获取用户信息
-                User user = userService.getById(interviewResult.getUserId());
-                if(user==null){
-                    failedCount++;
-                    failedId.add(-1);
-                    throw new RuntimeException("用户不存在");
-                }
-                //根据通知类型发送通知
-                Boolean sent = false;
-                switch (notificationType.toLowerCase()){
-                    case "email":
-                        sent = sendEmailNotification(interviewResult, customMessage);
-                        break;
-                    case "sms":
-                        sent = sendSmsNotifaction(user,interviewResult,customMessage);
-                        break;
-                    default:
-                        throw new RuntimeException("不支持的通知类型");
-                }
-                if(sent){
-                    sendCount++;
-                    // 通知留痕：只动 notified_at 一列。没有这行时发送完全无痕 ——
-                    // 管理端看不出谁通知过，重复点发送会对同一批人原样重发。
-                    this.update(new LambdaUpdateWrapper<InterviewResult>()
-                            .eq(InterviewResult::getResultId, resultId)
-                            .set(InterviewResult::getNotifiedAt, LocalDateTime.now()));
-                }else{
-                    failedCount++;
-                }
-            }catch (Exception e){
-                log.error("发送通知失败，resultId: {}", resultId, e);
-                failedCount++;
-                failedId.add(resultId);
-            }
-        }
-        SendNotificationsResponseDTO responseDTO = new SendNotificationsResponseDTO();
-        responseDTO.setSentCount(sendCount);
-        responseDTO.setFailedCount(failedCount);
-        responseDTO.setFailedId(failedId);
-        return responseDTO;
+        // 逐条发送会把请求占住几分钟，改为提交后台任务，进度走轮询 / SSE
+        return resultNotificationJobRunner.submit(requestDTO);
+    }
 
+    @Override
+    public SendNotificationsResponseDTO getNotificationJob(Long jobId) {
+        return resultNotificationJobRunner.getStatus(jobId);
     }
 
     @Override
@@ -272,26 +218,4 @@ public class InterviewResultServiceImpl extends ServiceImpl<InterviewResultMappe
         User user = userService.getUserByUsername(username);
         return user != null ? user.getUserId() : null;
     }
-
-    //sms尚未开通，短信通知功能留白
-    private Boolean sendSmsNotifaction(User user, InterviewResult interviewResult, String customMessage) {
-        return false;
-    }
-
-    private Boolean sendEmailNotification(InterviewResult interviewResult, String customMessage) {
-        try {
-            Integer decision = interviewResult.getDecision();
-            if (!StringUtils.hasText(customMessage)
-                    && (decision == null || (decision != 1 && decision != 2))) {
-                log.warn("结果 decision={} 无自定义正文且不支持自动邮件，resultId={}",
-                        decision, interviewResult.getResultId());
-                return false;
-            }
-            interviewNotificationService.enqueueResultNotification(interviewResult.getResultId(), customMessage);
-            return true;
-        } catch (Exception e) {
-            log.error("投递结果通知失败 resultId={}", interviewResult.getResultId(), e);
-            return false;
-        }
-    }
 }
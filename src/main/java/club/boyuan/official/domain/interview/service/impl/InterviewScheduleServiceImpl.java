@@ -2,22 +2,21 @@ package club.boyuan.official.domain.interview.service.impl;
 
 import club.boyuan.official.domain.interview.dto.AutoAssignInterviewResponseDTO;
 import club.boyuan.official.domain.interview.dto.SlotTimeDTO;
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
 import club.boyuan.official.persistence.entity.*;
 import club.boyuan.official.persistence.mapper.InterviewScheduleMapper;
+import club.boyuan.official.persistence.mapper.InterviewSlotMapper;
 import club.boyuan.official.domain.user.service.*;
 import club.boyuan.official.domain.resume.service.*;
 import club.boyuan.official.domain.interview.service.*;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.format.DateTimeFormatter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -35,11 +34,12 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
 
     private final IResumeService resumeService;
     private final IRecruitmentCycleService recruitmentCycleService;
-    private final IResumeFieldDefinitionService resumeFieldDefinitionService;
     private final IUserService userService;
     private final IInterviewSlotService interviewSlotService;
-    private final ObjectMapper objectMapper;
     private final ResumeDataService resumeDataService;
+    private final ResumeProjectionService resumeProjectionService;
+    private final InterviewSlotMapper interviewSlotMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     // 面试时间段定义
     /*private static final LocalTime MORNING_START = LocalTime.of(9, 0);
@@ -49,6 +49,8 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
     private static final LocalTime EVENING_START = LocalTime.of(19, 0);
     private static final LocalTime EVENING_END = LocalTime.of(21, 0);*/
     private static final int INTERVIEW_DURATION = 10; // 面试时长10分钟
+    /** 每条多行 INSERT 的行数 */
+    private static final int INSERT_BATCH_SIZE = 500;
 
     //获取该cycleId下的面试时间段
     private List<SlotTimeDTO> getInterviewTimeSlots(Integer cycleId) {
@@ -98,19 +100,21 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
             throw new IllegalStateException("未找到'期望部门'字段定义");
         }
 
-        Map<Integer, List<String>> userPreferredTimes =
-                resumeDataService.getUserPreferredTimes(resumes, interviewTimeField.getFieldId());
-        Map<Integer, List<String>> userPreferredDepartments =
-                resumeDataService.getUserPreferredDepartments(resumes, expectedDepartmentsField.getFieldId());
+        // 一次批量投影取回姓名/邮箱/专业/年级/志愿，后续不再逐人查 EAV
+        Map<Integer, ResumeProjection> projections = resumeProjectionService.project(cycleId, resumes);
+        Map<Integer, List<String>> userPreferredTimes = new HashMap<>();
+        Map<Integer, List<String>> userPreferredDepartments = new HashMap<>();
+        for (ResumeProjection projection : projections.values()) {
+            if (!projection.preferredTimes().isEmpty()) {
+                userPreferredTimes.put(projection.userId(), projection.preferredTimes());
+            }
+            if (!projection.expectedDepartments().isEmpty()) {
+                userPreferredDepartments.put(projection.userId(), projection.expectedDepartments());
+            }
+        }
 
         // 取面试时段表中可用的时段，并计算每个 slot 的剩余容量
         List<InterviewSlot> availableSlots = interviewSlotService.getAvailableSlotsByCycleId(cycleId);
-        List<LocalDate> sortedInterviewDates = availableSlots.stream()
-                .map(InterviewSlot::getInterviewDate)
-                .filter(Objects::nonNull)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
 
         Map<Integer, Integer> remainingCapacityBySlotId = new HashMap<>();
         for (InterviewSlot slot : availableSlots) {
@@ -124,8 +128,8 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
                 resumes,
                 userPreferredTimes,
                 userPreferredDepartments,
+                projections,
                 availableSlots,
-                sortedInterviewDates,
                 remainingCapacityBySlotId,
                 cycleId);
     }
@@ -137,8 +141,8 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
             List<Resume> resumes,
             Map<Integer, List<String>> userPreferredTimes,
             Map<Integer, List<String>> userPreferredDepartments,
+            Map<Integer, ResumeProjection> projections,
             List<InterviewSlot> availableSlots,
-            List<LocalDate> sortedInterviewDates,
             Map<Integer, Integer> remainingCapacityBySlotId,
             Integer cycleId) {
 
@@ -150,8 +154,13 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
         Map<Integer, InterviewSlot> slotById = availableSlots.stream()
                 .collect(Collectors.toMap(InterviewSlot::getSlotId, s -> s, (a, b) -> a));
 
+        List<Integer> userIds = resumes.stream()
+                .map(Resume::getUserId).filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        Map<Integer, User> userById = userIds.isEmpty() ? new HashMap<>() : userService.listByIds(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, u -> u, (a, b) -> a));
+
         for (Resume resume : resumes) {
-            User user = userService.getUserById(resume.getUserId());
+            User user = userById.get(resume.getUserId());
             if (user == null) {
                 log.warn("简历 {} 对应的用户 {} 不存在", resume.getResumeId(), resume.getUserId());
                 continue;
@@ -160,32 +169,22 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
             List<String> preferredTimes = userPreferredTimes.getOrDefault(resume.getUserId(), new ArrayList<>());
             List<String> preferredDepartments = userPreferredDepartments.getOrDefault(resume.getUserId(), new ArrayList<>());
 
-            if (preferredTimes.isEmpty()) {
-                noPreferenceUsers.add(new AutoAssignInterviewResponseDTO.NoPreferenceUserDTO(
-                        user.getUserId(),
-                        user.getUsername(),
-                        resumeDataService.getResumeName(resume),
-                        resumeDataService.getResumeEmail(resume),
-                        resumeDataService.getResumeMajor(resume),
-                        resumeDataService.getResumeGrade(resume)
-                ));
-                continue;
-            }
+            ResumeProjection projection = projections.get(resume.getResumeId());
 
-            if (preferredDepartments.isEmpty()) {
+            if (preferredTimes.isEmpty() || preferredDepartments.isEmpty()) {
                 noPreferenceUsers.add(new AutoAssignInterviewResponseDTO.NoPreferenceUserDTO(
                         user.getUserId(),
                         user.getUsername(),
-                        resumeDataService.getResumeName(resume),
-                        resumeDataService.getResumeEmail(resume),
-                        resumeDataService.getResumeMajor(resume),
-                        resumeDataService.getResumeGrade(resume)
+                        projection.name(),
+                        projection.email(),
+                        projection.major(),
+                        projection.grade()
                 ));
                 continue;
             }
 
             String firstDepartment = preferredDepartments.get(0);
-            candidates.add(new CandidateInfo(user, preferredTimes, preferredDepartments, firstDepartment, resume));
+            candidates.add(new CandidateInfo(user, preferredTimes, preferredDepartments, firstDepartment, resume, projection));
         }
 
         // 统计每个期望时间段的需求量（用于“紧迫度排序”）
@@ -196,20 +195,13 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
             }
         }
 
+        // 期望时间只解析一次，时段按 (日期, 开始, 结束) 分桶，匹配不再扫全部时段
+        PreferredSlotIndex slotIndex = new PreferredSlotIndex(availableSlots, remainingCapacityBySlotId);
+
         // 统计每个期望时间段的可用 slot 数（仅基于当前 remainingCapacity）
         Map<String, Integer> timeSlotAvailableCount = new HashMap<>();
         for (String timeSlot : timeSlotDemand.keySet()) {
-            int count = 0;
-            for (InterviewSlot slot : availableSlots) {
-                int remaining = remainingCapacityBySlotId.getOrDefault(slot.getSlotId(), 0);
-                if (remaining <= 0) {
-                    continue;
-                }
-                if (isPreferredTimeMatchSlot(slot, timeSlot, sortedInterviewDates)) {
-                    count++;
-                }
-            }
-            timeSlotAvailableCount.put(timeSlot, count);
+            timeSlotAvailableCount.put(timeSlot, slotIndex.availableSlotCount(timeSlot));
         }
 
         // 计算每个候选人的紧迫度分数并排序：尽量优先满足“稀缺且竞争激烈”的偏好
@@ -255,29 +247,13 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
 
             boolean assigned = false;
             for (String preferredTime : candidate.preferredTimes) {
-                InterviewSlot selectedSlot = null;
-                for (InterviewSlot slot : availableSlots) {
-                    int remaining = remainingCapacityBySlotId.getOrDefault(slot.getSlotId(), 0);
-                    if (remaining <= 0) {
-                        continue;
-                    }
-                    if (isPreferredTimeMatchSlot(slot, preferredTime, sortedInterviewDates)) {
-                        selectedSlot = slot;
-                        break; // availableSlots 默认已按时间正序
-                    }
-                }
-
+                // availableSlots 默认已按时间正序，取最早一个还有余量的
+                InterviewSlot selectedSlot = slotIndex.reserve(preferredTime);
                 if (selectedSlot == null) {
                     continue;
                 }
 
                 Integer slotId = selectedSlot.getSlotId();
-                int remaining = remainingCapacityBySlotId.getOrDefault(slotId, 0);
-                if (remaining <= 0) {
-                    continue;
-                }
-
-                remainingCapacityBySlotId.put(slotId, remaining - 1);
                 assignedCountBySlotId.merge(slotId, 1, Integer::sum);
 
                 LocalDateTime interviewDateTime = LocalDateTime.of(
@@ -290,8 +266,8 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
                 AutoAssignInterviewResponseDTO.AssignmentDetailDTO detail = new AutoAssignInterviewResponseDTO.AssignmentDetailDTO();
                 detail.setUserId(user.getUserId());
                 detail.setUsername(user.getUsername());
-                detail.setName(resumeDataService.getResumeName(resume));
-                detail.setEmail(resumeDataService.getResumeEmail(resume));
+                detail.setName(candidate.projection.name());
+                detail.setEmail(candidate.projection.email());
                 detail.setSlotId(slotId);
                 detail.setInterviewTime(interviewDateTime);
                 detail.setLocation(location);
@@ -327,10 +303,10 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
                 unassignedUsers.add(new AutoAssignInterviewResponseDTO.UnassignedUserDTO(
                         user.getUserId(),
                         user.getUsername(),
-                        resumeDataService.getResumeName(resume),
-                        resumeDataService.getResumeEmail(resume),
-                        resumeDataService.getResumeMajor(resume),
-                        resumeDataService.getResumeGrade(resume),
+                        candidate.projection.name(),
+                        candidate.projection.email(),
+                        candidate.projection.major(),
+                        candidate.projection.grade(),
                         preferredTimesStr,
                         preferredDepartmentsStr
                 ));
@@ -339,13 +315,16 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
             }
         }
 
-        // 批量保存面试安排
+        // 批量保存面试安排：多行 INSERT 分批写入，不走逐条 JDBC batch
+        for (int from = 0; from < schedulesToSave.size(); from += INSERT_BATCH_SIZE) {
+            baseMapper.insertBatch(schedulesToSave.subList(from,
+                    Math.min(from + INSERT_BATCH_SIZE, schedulesToSave.size())));
+        }
         if (!schedulesToSave.isEmpty()) {
-            this.saveBatch(schedulesToSave);
             log.info("成功保存 {} 条面试安排记录", schedulesToSave.size());
         }
 
-        // 更新面试时段表容量/状态
+        // 更新面试时段表容量/状态：一条 CASE 语句，status 由 SQL 按新占用数刷新
         if (!assignedCountBySlotId.isEmpty()) {
             List<InterviewSlot> slotsToUpdate = new ArrayList<>();
             for (Map.Entry<Integer, Integer> entry : assignedCountBySlotId.entrySet()) {
@@ -355,16 +334,16 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
                 }
 
                 int currentOccupied = slot.getCurrentOccupied() == null ? 0 : slot.getCurrentOccupied();
-                int maxCapacity = slot.getMaxCapacity() == null ? 0 : slot.getMaxCapacity();
-                int newOccupied = currentOccupied + entry.getValue();
-
-                slot.setCurrentOccupied(newOccupied);
-                slot.setStatus(newOccupied >= maxCapacity ? 2 : 1);
-                slotsToUpdate.add(slot);
+                slotsToUpdate.add(new InterviewSlot()
+                        .setSlotId(slot.getSlotId())
+                        .setCurrentOccupied(currentOccupied + entry.getValue()));
             }
 
             if (!slotsToUpdate.isEmpty()) {
-                interviewSlotService.updateBatchById(slotsToUpdate);
+                interviewSlotMapper.updateOccupancyBatch(slotsToUpdate);
+                // 这里绕过了库存服务，提交后还要把 Redis 剩余名额对齐到新占用数
+                eventPublisher.publishEvent(new InterviewSlotOccupancyChangedEvent(
+                        slotsToUpdate.stream().map(InterviewSlot::getSlotId).collect(Collectors.toList())));
             }
         }
 
@@ -383,225 +362,6 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
         return response;
     }
 
-    /**
-     * 将“期望的面试时间”匹配到某个可用 slot：
-     * 简历期望格式：`interview_date start_time~end_time`
-     * 例如：`2026-03-23 09:00~11:00`
-     */
-    private boolean isPreferredTimeMatchSlot(InterviewSlot slot, String preferredTime, List<LocalDate> sortedInterviewDates) {
-        if (slot == null || preferredTime == null || preferredTime.trim().isEmpty()) {
-            return false;
-        }
-        if (slot.getInterviewDate() == null || slot.getStartTime() == null || slot.getEndTime() == null) {
-            return false;
-        }
-
-        PreferredSlotKey key = parsePreferredSlotKey(preferredTime);
-        if (key == null) {
-            return false;
-        }
-
-        return slot.getInterviewDate().equals(key.interviewDate)
-                && slot.getStartTime().equals(key.startTime)
-                && slot.getEndTime().equals(key.endTime);
-    }
-
-    /**
-     * 从简历字符串解析出 slotKey（interview_date + start_time + end_time）。
-     * 允许 start/end 带秒或不带秒。
-     */
-    private PreferredSlotKey parsePreferredSlotKey(String preferredTime) {
-        if (preferredTime == null) {
-            return null;
-        }
-
-        // 兼容：interview_date start~end 以及两端可能有秒
-        // date: yyyy-MM-dd
-        // time: HH:mm 或 HH:mm:ss
-        // join: ~
-        String trimmed = preferredTime.trim();
-        // 去掉全角波浪号
-        trimmed = trimmed.replace("～", "~");
-
-        // 例：2026-03-23 09:00~11:00
-        // 例：2026-03-23 09:00:00~11:00:00
-        String[] dateAndTimes = trimmed.split("\\s+", 2);
-        if (dateAndTimes.length != 2) {
-            return null;
-        }
-
-        LocalDate interviewDate;
-        try {
-            interviewDate = LocalDate.parse(dateAndTimes[0], DateTimeFormatter.ISO_LOCAL_DATE);
-        } catch (Exception e) {
-            log.warn("解析简历期望的日期失败: {}", preferredTime, e);
-            return null;
-        }
-
-        String timesPart = dateAndTimes[1].trim();
-        String[] startEnd = timesPart.split("~", 2);
-        if (startEnd.length != 2) {
-            return null;
-        }
-
-        LocalTime startTime = parseFlexibleLocalTime(startEnd[0].trim());
-        LocalTime endTime = parseFlexibleLocalTime(startEnd[1].trim());
-        if (startTime == null || endTime == null) {
-            return null;
-        }
-
-        return new PreferredSlotKey(interviewDate, startTime, endTime);
-    }
-
-    private LocalTime parseFlexibleLocalTime(String timeStr) {
-        if (timeStr == null || timeStr.isEmpty()) {
-            return null;
-        }
-
-        // 允许 9:00 / 09:00 / 09:00:00
-        // 统一用宽松解析策略：按冒号段数补齐
-        String t = timeStr.trim();
-        try {
-            String[] parts = t.split(":");
-            if (parts.length == 2) {
-                int h = Integer.parseInt(parts[0]);
-                int m = Integer.parseInt(parts[1]);
-                return LocalTime.of(h, m);
-            } else if (parts.length == 3) {
-                int h = Integer.parseInt(parts[0]);
-                int m = Integer.parseInt(parts[1]);
-                int s = Integer.parseInt(parts[2]);
-                return LocalTime.of(h, m, s);
-            }
-        } catch (Exception e) {
-            log.warn("解析简历期望的时间失败: {}", timeStr, e);
-            return null;
-        }
-        return null;
-    }
-
-    private static class PreferredSlotKey {
-        private final LocalDate interviewDate;
-        private final LocalTime startTime;
-        private final LocalTime endTime;
-
-        private PreferredSlotKey(LocalDate interviewDate, LocalTime startTime, LocalTime endTime) {
-            this.interviewDate = interviewDate;
-            this.startTime = startTime;
-            this.endTime = endTime;
-        }
-    }
-    
-    /**
-     * 从简历中获取姓名字段值
-     */
-    private String getResumeName(Resume resume) {
-        List<ResumeFieldValue> fieldValues = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-        List<ResumeFieldDefinition> fieldDefinitions = resumeFieldDefinitionService.getFieldDefinitionsByCycleId(resume.getCycleId());
-        
-        ResumeFieldDefinition nameFieldDefinition = fieldDefinitions.stream()
-                .filter(field -> "姓名".equals(field.getFieldLabel()))
-                .findFirst()
-                .orElse(null);
-        
-        if (nameFieldDefinition != null) {
-            String name = fieldValues.stream()
-                    .filter(value -> nameFieldDefinition.getFieldId().equals(value.getFieldId()))
-                    .map(ResumeFieldValue::getFieldValue)
-                    .findFirst()
-                    .orElse(null);
-            
-            if (name != null && !name.isEmpty()) {
-                return name;
-            }
-        }
-        
-        User user = userService.getUserById(resume.getUserId());
-        return user != null ? user.getName() : "";
-    }
-    
-    /**
-     * 从简历中获取邮箱字段值
-     */
-    private String getResumeEmail(Resume resume) {
-        List<ResumeFieldValue> fieldValues = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-        List<ResumeFieldDefinition> fieldDefinitions = resumeFieldDefinitionService.getFieldDefinitionsByCycleId(resume.getCycleId());
-        
-        ResumeFieldDefinition emailFieldDefinition = fieldDefinitions.stream()
-                .filter(field -> "邮箱".equals(field.getFieldLabel()))
-                .findFirst()
-                .orElse(null);
-        
-        if (emailFieldDefinition != null) {
-            String email = fieldValues.stream()
-                    .filter(value -> emailFieldDefinition.getFieldId().equals(value.getFieldId()))
-                    .map(ResumeFieldValue::getFieldValue)
-                    .findFirst()
-                    .orElse(null);
-            
-            if (email != null && !email.isEmpty()) {
-                return email;
-            }
-        }
-        
-        User user = userService.getUserById(resume.getUserId());
-        return user != null ? user.getEmail() : "";
-    }
-    
-    /**
-     * 从简历中获取专业字段值
-     */
-    private String getResumeMajor(Resume resume) {
-        List<ResumeFieldValue> fieldValues = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-        List<ResumeFieldDefinition> fieldDefinitions = resumeFieldDefinitionService.getFieldDefinitionsByCycleId(resume.getCycleId());
-        
-        ResumeFieldDefinition majorFieldDefinition = fieldDefinitions.stream()
-                .filter(field -> "专业".equals(field.getFieldLabel()))
-                .findFirst()
-                .orElse(null);
-        
-        if (majorFieldDefinition != null) {
-            String major = fieldValues.stream()
-                    .filter(value -> majorFieldDefinition.getFieldId().equals(value.getFieldId()))
-                    .map(ResumeFieldValue::getFieldValue)
-                    .findFirst()
-                    .orElse(null);
-            
-            if (major != null && !major.isEmpty()) {
-                return major;
-            }
-        }
-        
-        return "";
-    }
-    
-    /**
-     * 从简历中获取年级字段值
-     */
-    private String getResumeGrade(Resume resume) {
-        List<ResumeFieldValue> fieldValues = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-        List<ResumeFieldDefinition> fieldDefinitions = resumeFieldDefinitionService.getFieldDefinitionsByCycleId(resume.getCycleId());
-        
-        ResumeFieldDefinition gradeFieldDefinition = fieldDefinitions.stream()
-                .filter(field -> "年级".equals(field.getFieldLabel()) || "大几".equals(field.getFieldLabel()))
-                .findFirst()
-                .orElse(null);
-        
-        if (gradeFieldDefinition != null) {
-            String grade = fieldValues.stream()
-                    .filter(value -> gradeFieldDefinition.getFieldId().equals(value.getFieldId()))
-                    .map(ResumeFieldValue::getFieldValue)
-                    .findFirst()
-                    .orElse(null);
-            
-            if (grade != null && !grade.isEmpty()) {
-                return grade;
-            }
-        }
-        
-        return "";
-    }
-    
     /**
      * 获取格式化的期望部门字符串
      */
@@ -622,119 +382,6 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
         return sb.toString();
     }
     
-    /**
-     * 获取"期望的面试时间"字段定义
-     */
-    private ResumeFieldDefinition getInterviewTimeFieldDefinition(Integer cycleId) {
-        List<ResumeFieldDefinition> fieldDefinitions = resumeFieldDefinitionService.getFieldDefinitionsByCycleId(cycleId);
-        return fieldDefinitions.stream()
-                .filter(field -> "期望的面试时间".equals(field.getFieldLabel()))
-                .findFirst()
-                .orElse(null);
-    }
-    
-    /**
-     * 获取"期望部门"字段定义
-     */
-    private ResumeFieldDefinition getExpectedDepartmentsFieldDefinition(Integer cycleId) {
-        List<ResumeFieldDefinition> fieldDefinitions = resumeFieldDefinitionService.getFieldDefinitionsByCycleId(cycleId);
-        return fieldDefinitions.stream()
-                .filter(field -> "期望部门".equals(field.getFieldLabel()))
-                .findFirst()
-                .orElse(null);
-    }
-    
-    /**
-     * 获取用户期望的面试时间
-     */
-    private Map<Integer, List<String>> getUserPreferredTimes(List<Resume> resumes, Integer fieldId) {
-        Map<Integer, List<String>> userPreferredTimes = new HashMap<>();
-        
-        for (Resume resume : resumes) {
-            List<ResumeFieldValue> fieldValues = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-            List<ResumeFieldValue> interviewTimeValues = fieldValues.stream()
-                    .filter(value -> fieldId.equals(value.getFieldId()))
-                    .collect(Collectors.toList());
-            
-            log.info("用户 {} 的期望面试时间字段值数量: {}", resume.getUserId(), interviewTimeValues.size());
-            
-            if (!interviewTimeValues.isEmpty()) {
-                List<String> allPreferredTimes = new ArrayList<>();
-                for (ResumeFieldValue interviewTimeValue : interviewTimeValues) {
-                    log.info("用户 {} 的期望面试时间字段值: {}", resume.getUserId(), interviewTimeValue.getFieldValue());
-                    try {
-                        String fieldValue = interviewTimeValue.getFieldValue();
-                        log.debug("解析用户 {} 的期望面试时间字段值: {}", resume.getUserId(), fieldValue);
-                        
-                        if (fieldValue != null && fieldValue.contains("\"first\"") && fieldValue.contains("\"second\"")) {
-                            JsonNode jsonNode = objectMapper.readTree(fieldValue);
-                            String first = jsonNode.has("first") ? jsonNode.get("first").asText() : null;
-                            String second = jsonNode.has("second") ? jsonNode.get("second").asText() : null;
-                            
-                            log.debug("用户 {} 的first字段: {}, second字段: {}", resume.getUserId(), first, second);
-                            
-                            if (first != null && !first.isEmpty() && !"null".equals(first)) {
-                                allPreferredTimes.add(first);
-                            }
-                            if (second != null && !second.isEmpty() && !"null".equals(second)) {
-                                allPreferredTimes.add(second);
-                            }
-                        } else {
-                            List<String> preferredTimes = objectMapper.readValue(fieldValue, new TypeReference<List<String>>() {});
-                            allPreferredTimes.addAll(preferredTimes);
-                        }
-                        
-                        log.debug("用户 {} 添加的期望时间: {}", resume.getUserId(), allPreferredTimes);
-                    } catch (Exception e) {
-                        log.warn("解析用户 {} 的期望面试时间失败: {}", resume.getUserId(),
-                                interviewTimeValue.getFieldValue(), e);
-                    }
-                }
-                log.info("用户 {} 解析后的所有期望面试时间: {}", resume.getUserId(), allPreferredTimes);
-                userPreferredTimes.put(resume.getUserId(), allPreferredTimes);
-            }
-        }
-        
-        log.info("总共解析了 {} 个用户的期望面试时间", userPreferredTimes.size());
-        return userPreferredTimes;
-    }
-    
-    /**
-     * 获取用户期望的部门
-     */
-    private Map<Integer, List<String>> getUserPreferredDepartments(List<Resume> resumes, Integer fieldId) {
-        Map<Integer, List<String>> userPreferredDepartments = new HashMap<>();
-        
-        for (Resume resume : resumes) {
-            List<ResumeFieldValue> fieldValues = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-            List<ResumeFieldValue> expectedDepartmentsValues = fieldValues.stream()
-                    .filter(value -> fieldId.equals(value.getFieldId()))
-                    .collect(Collectors.toList());
-            
-            log.info("用户 {} 的期望部门字段值数量: {}", resume.getUserId(), expectedDepartmentsValues.size());
-            
-            if (!expectedDepartmentsValues.isEmpty()) {
-                List<String> allPreferredDepartments = new ArrayList<>();
-                for (ResumeFieldValue expectedDepartmentsValue : expectedDepartmentsValues) {
-                    log.info("用户 {} 的期望部门字段值: {}", resume.getUserId(), expectedDepartmentsValue.getFieldValue());
-                    try {
-                        List<String> preferredDepartments = objectMapper.readValue(
-                                expectedDepartmentsValue.getFieldValue(),
-                                new TypeReference<List<String>>() {});
-                        allPreferredDepartments.addAll(preferredDepartments);
-                    } catch (Exception e) {
-                        log.warn("解析用户 {} 的期望部门失败: {}", resume.getUserId(),
-                                expectedDepartmentsValue.getFieldValue(), e);
-                    }
-                }
-                log.info("用户 {} 解析后的所有期望部门: {}", resume.getUserId(), allPreferredDepartments);
-                userPreferredDepartments.put(resume.getUserId(), allPreferredDepartments);
-            }
-        }
-        
-        return userPreferredDepartments;
-    }
-    
     /**
      * 为单个日期生成面试时间槽
     private List<LocalDateTime> generateTimeSlotsForSingleDay(LocalDate day) {
@@ -964,123 +611,6 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
         return sortedCandidates;
     }
     
-    /**
-     * 尝试为用户分配面试时间
-     */
-    private boolean tryAssignInterviewTime(User user, Resume resume, List<String> preferredTimes, String department,
-                                           Map<String, Map<LocalDateTime, Boolean>> departmentSlotAvailability,
-                                           List<AutoAssignInterviewResponseDTO.AssignmentDetailDTO> assignmentDetails,
-                                           ClassroomAssigner classroomAssigner,
-                                           Map<Integer, List<String>> userPreferredDepartments,
-                                           List<InterviewSchedule> schedulesToSave) {
-        
-        if (preferredTimes == null || preferredTimes.isEmpty()) {
-            return false;
-        }
-        
-        log.info("开始为用户 {} 分配面试时间，期望时间: {}", user.getUsername(), preferredTimes);
-        
-        // 按照用户期望的时间顺序尝试分配
-        for (String preferredTime : preferredTimes) {
-            log.info("尝试为用户 {} 分配时间: {}", user.getUsername(), preferredTime);
-            
-            // 检查该时间段是否有空位且有可用教室
-            if (hasAvailableSlotAndClassroom(preferredTime, department, departmentSlotAvailability, classroomAssigner)) {
-                log.info("用户 {} 的时间段 {} 有空位且有可用教室，正在分配", user.getUsername(), preferredTime);
-                
-                // 如果有空位且有教室，则分配时间
-                LocalDateTime assignedSlot = findAndReserveSlot(preferredTime, department, departmentSlotAvailability);
-                if (assignedSlot != null) {
-                    // 分配教室
-                    String classroom = classroomAssigner.assignClassroom(assignedSlot);
-                    if (classroom != null) {
-                        // 成功分配时间和教室
-                        String period = getTimePeriod(assignedSlot.toLocalTime());
-                        log.info("成功为用户 {} 分配面试时间: {} 教室: {}", user.getUsername(), assignedSlot, classroom);
-                        
-                        String name = getResumeName(resume);
-                        String email = getResumeEmail(resume);
-                        String major = getResumeMajor(resume);
-                        String grade = getResumeGrade(resume);
-                        String preferredDepartments = getFormattedPreferredDepartments(user.getUserId(), userPreferredDepartments);
-                        String preferredTimesStr = String.join(", ", preferredTimes);
-
-                        // 旧版算法预留的时间粒度可能不一定等于真实 slot start_time。
-                        // 但这里至少尝试用（cycleId + assignedSlot.start_time）反查 slot_id，消除 TODO。
-                        InterviewSlot matchedSlot = findInterviewSlotByCycleAndStartTime(resume.getCycleId(), assignedSlot);
-                        Integer slotId = matchedSlot != null ? matchedSlot.getSlotId() : null;
-                        
-                        // 创建分配详情
-                        AutoAssignInterviewResponseDTO.AssignmentDetailDTO detail = new AutoAssignInterviewResponseDTO.AssignmentDetailDTO();
-                        detail.setUserId(user.getUserId());
-                        detail.setUsername(user.getUsername());
-                        detail.setName(name);
-                        detail.setEmail(email);
-                        detail.setSlotId(slotId);
-                        detail.setInterviewTime(assignedSlot);
-                        detail.setLocation("教室" + classroom);
-                        detail.setPeriod(period);
-                        detail.setDepartment(department);
-                        detail.setClassroom(classroom);
-                        detail.setPreferredDepartments(preferredDepartments);
-                        detail.setPreferredTimes(preferredTimesStr);
-                        
-                        assignmentDetails.add(detail);
-                        
-                        // 创建面试安排实体
-                        InterviewSchedule schedule = new InterviewSchedule()
-                                .setResumeId(resume.getResumeId())
-                                .setUserId(resume.getUserId())
-                                .setCycleId(resume.getCycleId())
-                                .setSlotId(slotId)
-                                .setInterviewTime(assignedSlot)
-                                .setStatus(1) // 已安排
-                                .setNotes("自动分配 - " + period + " - " + classroom)
-                                .setSyncStatus(0) // 未同步
-                                .setNotifStatus(0); // 未通知
-                        
-                        schedulesToSave.add(schedule);
-                        
-                        return true;
-                    } else {
-                        // 没有可用教室，需要释放时间槽
-                        Map<LocalDateTime, Boolean> slotAvailability = departmentSlotAvailability.get(department);
-                        if (slotAvailability != null) {
-                            slotAvailability.put(assignedSlot, true);
-                        }
-                        log.warn("用户 {} 的时间段 {} 没有可用教室，释放时间槽", user.getUsername(), preferredTime);
-                    }
-                }
-            } else {
-                log.info("用户 {} 的时间段 {} 没有空位或没有可用教室，尝试下一个时间段", user.getUsername(), preferredTime);
-            }
-        }
-        
-        log.info("用户 {} 的所有期望时间段都没有空位或没有可用教室，无法分配", user.getUsername());
-        return false;
-    }
-
-    /**
-     * 旧版算法用 localDateTime 粒度预留时刻，尽量反查到 interview_slot 的 slotId。
-     */
-    private InterviewSlot findInterviewSlotByCycleAndStartTime(Integer cycleId, LocalDateTime assignedSlot) {
-        if (cycleId == null || assignedSlot == null) {
-            return null;
-        }
-        List<InterviewSlot> allSlots = interviewSlotService.getAllSlotsByCycleId(cycleId);
-        if (allSlots == null || allSlots.isEmpty()) {
-            return null;
-        }
-
-        LocalDate date = assignedSlot.toLocalDate();
-        LocalTime startTime = assignedSlot.toLocalTime();
-        return allSlots.stream()
-                .filter(s -> date.equals(s.getInterviewDate()))
-                .filter(s -> startTime.equals(s.getStartTime()))
-                .findFirst()
-                .orElse(null);
-    }
-    
     /**
      * 获取时间段描述
      */
@@ -1096,64 +626,6 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
         }
     }
     
-    /**
-     * 检查指定时间段是否还有空位且有可用教室
-     */
-    private boolean hasAvailableSlotAndClassroom(String preferredTime, String department,
-                                                 Map<String, Map<LocalDateTime, Boolean>> departmentSlotAvailability,
-                                                 ClassroomAssigner classroomAssigner) {
-        Map<LocalDateTime, Boolean> slotAvailability = departmentSlotAvailability.get(department);
-        if (slotAvailability == null) {
-            return false;
-        }
-        
-        // 获取所有可用的时间槽
-        List<LocalDateTime> availableSlots = slotAvailability.entrySet().stream()
-                .filter(Map.Entry::getValue)
-                .map(Map.Entry::getKey)
-                .sorted()
-                .collect(Collectors.toList());
-        
-        // 检查是否有符合期望时间段的时间槽且有可用教室
-        for (LocalDateTime slotTime : availableSlots) {
-            if (isSlotMatchPreference(slotTime, preferredTime) && classroomAssigner.hasAvailableClassroom(slotTime)) {
-                return true;
-            }
-        }
-        
-        return false;
-    }
-    
-    /**
-     * 根据用户期望的时间段查找并预留时间槽
-     */
-    private LocalDateTime findAndReserveSlot(String preferredTime, String department,
-                                             Map<String, Map<LocalDateTime, Boolean>> departmentSlotAvailability) {
-        Map<LocalDateTime, Boolean> slotAvailability = departmentSlotAvailability.get(department);
-        if (slotAvailability == null) {
-            return null;
-        }
-        
-        // 获取所有可用的时间槽
-        List<LocalDateTime> availableSlots = slotAvailability.entrySet().stream()
-                .filter(Map.Entry::getValue)
-                .map(Map.Entry::getKey)
-                .sorted()
-                .collect(Collectors.toList());
-        
-        // 根据期望时间段筛选合适的时间槽
-        for (LocalDateTime slotTime : availableSlots) {
-            if (isSlotMatchPreference(slotTime, preferredTime)) {
-                // 预留该时间槽
-                slotAvailability.put(slotTime, false);
-                log.info("为部门 {} 预留时间槽: {}", department, slotTime);
-                return slotTime;
-            }
-        }
-        
-        return null;
-    }
-    
     /**
      * Legacy overload for旧版算法中的调用。
      * 新版 auto-assign 已不再依赖该方法；为了保证编译通过，这里返回 false。
@@ -1250,14 +722,16 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
         private final List<String> preferredDepartments;
         private final String firstDepartment;
         private final Resume resume;
+        private final ResumeProjection projection;
         
         public CandidateInfo(User user, List<String> preferredTimes, List<String> preferredDepartments, 
-                           String firstDepartment, Resume resume) {
+                           String firstDepartment, Resume resume, ResumeProjection projection) {
             this.user = user;
             this.preferredTimes = preferredTimes;
             this.preferredDepartments = preferredDepartments;
             this.firstDepartment = firstDepartment;
             this.resume = resume;
+            this.projection = projection;
         }
     }
     
@@ -1288,30 +762,4 @@ public class InterviewScheduleServiceImpl extends ServiceImpl<InterviewScheduleM
         public void setGroupPriority(double groupPriority) { this.groupPriority = groupPriority; }
         public int getSize() { return candidates.size(); }
     }
-    
-    /**
-     * 教室分配管理器
-     */
-    private static class ClassroomAssigner {
-        private final Map<String, Integer> timeSlotClassroomCounter = new HashMap<>();
-        private static final String[] CLASSROOMS = {"1", "2", "3"};
-        
-        public String assignClassroom(LocalDateTime interviewTime) {
-            String timeKey = interviewTime.toString();
-            int currentCount = timeSlotClassroomCounter.getOrDefault(timeKey, 0);
-            
-            if (currentCount < CLASSROOMS.length) {
-                timeSlotClassroomCounter.put(timeKey, currentCount + 1);
-                return CLASSROOMS[currentCount];
-            }
-            
-            return null;
-        }
-        
-        public boolean hasAvailableClassroom(LocalDateTime interviewTime) {
-            String timeKey = interviewTime.toString();
-            int currentCount = timeSlotClassroomCounter.getOrDefault(timeKey, 0);
-            return currentCount < CLASSROOMS.length;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -3,13 +3,19 @@ package club.boyuan.official.domain.interview.service.impl;
 import club.boyuan.official.persistence.entity.InterviewSlot;
 import club.boyuan.official.persistence.mapper.InterviewSlotMapper;
 import club.boyuan.official.domain.interview.service.InterviewSlotInventoryService;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
@@ -23,6 +29,7 @@ public class InterviewSlotInventoryServiceImpl implements InterviewSlotInventory
 
     private static final String REDIS_REMAIN_PREFIX = "interview:slot:remain:";
     private static final long REDIS_TTL_HOURS = 24;
+    private static final int SLOT_STATUS_CLOSED = 3;
 
     private final InterviewSlotMapper interviewSlotMapper;
     /** 与 Lua 脚本共用纯字符串，避免 Jackson 序列化导致 GET/tonumber 失败 */
@@ -61,15 +68,32 @@ public class InterviewSlotInventoryServiceImpl implements InterviewSlotInventory
     }
 
     @Override
-    public void warmRemainCacheForCycle(Iterable<Integer> slotIds) {
-        if (slotIds == null) {
-            return;
-        }
-        for (Integer slotId : slotIds) {
-            if (slotId != null) {
-                syncRemainCacheFromDb(slotId);
+    public int warmRemainCacheForCycle(Integer cycleId, boolean overwrite) {
+        if (cycleId == null) {
+            return 0;
+        }
+        List<InterviewSlot> slots = interviewSlotMapper.selectList(new LambdaQueryWrapper<InterviewSlot>()
+                .eq(InterviewSlot::getCycleId, cycleId));
+        if (slots.isEmpty()) {
+            return 0;
+        }
+        // MSET 不能带过期时间，这里用 pipeline 批量 SET EX，一次往返写完
+        Expiration ttl = Expiration.from(REDIS_TTL_HOURS, TimeUnit.HOURS);
+        RedisStringCommands.SetOption option = overwrite
+                ? RedisStringCommands.SetOption.upsert()
+                : RedisStringCommands.SetOption.ifAbsent();
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (InterviewSlot slot : slots) {
+                connection.stringCommands().set(
+                        redisKey(slot.getSlotId()).getBytes(StandardCharsets.UTF_8),
+                        String.valueOf(remainOf(slot)).getBytes(StandardCharsets.UTF_8),
+                        ttl,
+                        option);
             }
-        }
+            return null;
+        });
+        log.info("预热周期剩余名额缓存，cycleId={}, slots={}, overwrite={}", cycleId, slots.size(), overwrite);
+        return slots.size();
     }
 
     @Override
@@ -87,6 +111,26 @@ public class InterviewSlotInventoryServiceImpl implements InterviewSlotInventory
         return false;
     }
 
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY, rollbackFor = Exception.class)
+    public int occupyDbOnly(Integer slotId, int count) {
+        if (slotId == null || count <= 0) {
+            return 0;
+        }
+        if (interviewSlotMapper.occupyIfAvailable(slotId, count) > 0) {
+            return count;
+        }
+        // 不够整批：锁行后按剩余量部分占坑，多出来的请求由调用方判失败
+        InterviewSlot slot = interviewSlotMapper.selectByIdForUpdate(slotId);
+        int granted = slot == null ? 0 : (int) Math.min(count, remainOf(slot));
+        if (granted > 0 && interviewSlotMapper.occupyIfAvailable(slotId, granted) > 0) {
+            log.debug("DB 批量占坑部分成功，slotId={}, requested={}, granted={}", slotId, count, granted);
+            return granted;
+        }
+        log.debug("DB 批量占坑失败，slotId={}, requested={}", slotId, count);
+        return 0;
+    }
+
     @Override
     @Transactional(propagation = Propagation.MANDATORY, rollbackFor = Exception.class)
     public void releaseDbOnly(Integer slotId) {
@@ -104,11 +148,25 @@ public class InterviewSlotInventoryServiceImpl implements InterviewSlotInventory
             stringRedisTemplate.delete(redisKey(slotId));
             return;
         }
+        stringRedisTemplate.opsForValue().set(
+                redisKey(slotId), String.valueOf(remainOf(slot)), REDIS_TTL_HOURS, TimeUnit.HOURS);
+    }
+
+    @Override
+    public void evictRemainCache(Integer slotId) {
+        if (slotId != null) {
+            stringRedisTemplate.delete(redisKey(slotId));
+        }
+    }
+
+    /** 已关闭的 slot 剩余名额按 0 缓存，直接在 Redis 层拒绝 */
+    private static long remainOf(InterviewSlot slot) {
+        if (Objects.equals(slot.getStatus(), SLOT_STATUS_CLOSED)) {
+            return 0L;
+        }
         int max = slot.getMaxCapacity() == null ? 0 : slot.getMaxCapacity();
         int occupied = slot.getCurrentOccupied() == null ? 0 : slot.getCurrentOccupied();
-        long remain = Math.max(0L, (long) max - occupied);
-        stringRedisTemplate.opsForValue().set(
-                redisKey(slotId), String.valueOf(remain), REDIS_TTL_HOURS, TimeUnit.HOURS);
+        return Math.max(0L, (long) max - occupied);
     }
 
     private boolean doTryOccupy(Integer slotId) {
@@ -0,0 +1,74 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+import club.boyuan.official.domain.interview.service.InterviewSlotInventoryService;
+import club.boyuan.official.domain.interview.service.InterviewSlotOccupancyChangedEvent;
+import club.boyuan.official.domain.resume.service.IRecruitmentCycleService;
+import club.boyuan.official.domain.resume.service.RecruitmentCycleOpenedEvent;
+import club.boyuan.official.persistence.entity.RecruitmentCycle;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+
+/**
+ * 剩余名额缓存的一次性预热：周期开放时、以及应用启动时对所有进行中的周期各做一次。
+ * 平时的增减由 slot 增改删与占坑/释放维护，一键分配这类直接改 DB 占用数的批量写在提交后按 slot 刷新，
+ * 预约列表不再触发回源。
+ * <p>只有周期开放时按 DB 覆盖；启动时只补缺失的 key。预约窗口内 Redis 里有尚未落库的预扣，
+ * 用 DB 的 max - occupied 覆盖会把它们抹掉，滚动发布的每个实例都会重演一次超卖。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InterviewSlotRemainCacheWarmer {
+
+    private static final int CYCLE_STATUS_IN_PROGRESS = 2;
+
+    private final InterviewSlotInventoryService slotInventoryService;
+    private final IRecruitmentCycleService recruitmentCycleService;
+
+    /** 周期开放：在事务提交后预热，确保读到的是已提交的 slot */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCycleOpened(RecruitmentCycleOpenedEvent event) {
+        warm(event.cycleId(), true);
+    }
+
+    /** 一键分配等批量回写占用数：提交后逐个按 DB 刷新，否则秒杀 Lua 仍按旧余量放人 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOccupancyChanged(InterviewSlotOccupancyChangedEvent event) {
+        for (Integer slotId : event.slotIds()) {
+            try {
+                slotInventoryService.syncRemainCacheFromDb(slotId);
+            } catch (Exception e) {
+                log.warn("刷新剩余名额缓存失败，slotId={}", slotId, e);
+            }
+        }
+    }
+
+    /** 重启或 Redis 清空后，进行中的周期重新铺一遍 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOpenCyclesOnStartup() {
+        try {
+            for (RecruitmentCycle cycle : recruitmentCycleService.getRecruitmentCyclesByStatus(CYCLE_STATUS_IN_PROGRESS)) {
+                if (Objects.equals(cycle.getIsActive(), 1)) {
+                    warm(cycle.getCycleId(), false);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("启动时预热剩余名额缓存失败，将由 CACHE_MISS 回源兜底", e);
+        }
+    }
+
+    private void warm(Integer cycleId, boolean overwrite) {
+        try {
+            slotInventoryService.warmRemainCacheForCycle(cycleId, overwrite);
+        } catch (Exception e) {
+            // 预热失败不影响业务：秒杀路径遇到 CACHE_MISS 会单个回源
+            log.warn("预热剩余名额缓存失败，cycleId={}", cycleId, e);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -74,6 +75,15 @@ public class InterviewSlotServiceImpl extends ServiceImpl<InterviewSlotMapper, I
         return this.getById(slotId);
     }
 
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean removed = super.removeById(id);
+        if (removed && id instanceof Integer slotId) {
+            slotInventoryService.evictRemainCache(slotId);
+        }
+        return removed;
+    }
+
     @Override
     public GetInterviewSlotListResponseDTO listInterviewSlots(Integer cycleId, String interviewDate, String startTime, String location, Integer status, Integer interviewType, Integer page, Integer size) {
         //构造查询条件
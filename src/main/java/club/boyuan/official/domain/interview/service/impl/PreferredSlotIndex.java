@@ -0,0 +1,157 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+import club.boyuan.official.persistence.entity.InterviewSlot;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 一键分配用的「期望时间 → 面试时段」索引。
+ *
+ * 简历里的期望时间格式为 {@code interview_date start_time~end_time}（如 {@code 2026-03-23 09:00~11:00}），
+ * 与时段的 (日期, 开始, 结束) 精确匹配。原实现对每个候选人、每个期望、每个时段都重新解析字符串并全表扫描；
+ * 这里每个不同的期望字符串只解析一次，时段按 key 分桶，桶内保持传入顺序（已按时间正序），
+ * 并维护「下一个还有余量的时段」游标：容量只减不增，游标只前进，一次匹配近似 O(1)。
+ *
+ * 非线程安全，一次分配过程内使用。
+ */
+@Slf4j
+final class PreferredSlotIndex {
+
+    private final Map<SlotKey, Bucket> buckets = new HashMap<>();
+    /** 期望字符串 → 解析结果；解析失败记为 empty，避免重复解析与重复打日志 */
+    private final Map<String, Optional<SlotKey>> parsedKeys = new HashMap<>();
+
+    /**
+     * @param slots             可用时段，需已按时间正序
+     * @param remainingCapacity slot_id → 剩余容量
+     */
+    PreferredSlotIndex(List<InterviewSlot> slots, Map<Integer, Integer> remainingCapacity) {
+        for (InterviewSlot slot : slots) {
+            if (slot.getInterviewDate() == null || slot.getStartTime() == null || slot.getEndTime() == null) {
+                continue;
+            }
+            SlotKey key = new SlotKey(slot.getInterviewDate(), slot.getStartTime(), slot.getEndTime());
+            buckets.computeIfAbsent(key, k -> new Bucket())
+                    .add(slot, remainingCapacity.getOrDefault(slot.getSlotId(), 0));
+        }
+    }
+
+    /**
+     * 该期望时间下还有余量的时段个数。
+     */
+    int availableSlotCount(String preferredTime) {
+        Bucket bucket = bucketOf(preferredTime);
+        return bucket == null ? 0 : bucket.availableCount;
+    }
+
+    /**
+     * 按时间顺序取该期望时间下第一个还有余量的时段并占用一个名额。
+     *
+     * @return 占用的时段；没有匹配或已满返回 null
+     */
+    InterviewSlot reserve(String preferredTime) {
+        Bucket bucket = bucketOf(preferredTime);
+        return bucket == null ? null : bucket.reserve();
+    }
+
+    private Bucket bucketOf(String preferredTime) {
+        if (preferredTime == null || preferredTime.isBlank()) {
+            return null;
+        }
+        return parsedKeys.computeIfAbsent(preferredTime, t -> Optional.ofNullable(parse(t)))
+                .map(buckets::get)
+                .orElse(null);
+    }
+
+    /**
+     * 从简历字符串解析出 slotKey。允许全角波浪号，start/end 带秒或不带秒。
+     */
+    static SlotKey parse(String preferredTime) {
+        String trimmed = preferredTime.trim().replace("～", "~");
+        String[] dateAndTimes = trimmed.split("\\s+", 2);
+        if (dateAndTimes.length != 2) {
+            return null;
+        }
+
+        LocalDate interviewDate;
+        try {
+            interviewDate = LocalDate.parse(dateAndTimes[0], DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (Exception e) {
+            log.warn("解析简历期望的日期失败: {}", preferredTime, e);
+            return null;
+        }
+
+        String[] startEnd = dateAndTimes[1].trim().split("~", 2);
+        if (startEnd.length != 2) {
+            return null;
+        }
+        LocalTime startTime = parseFlexibleLocalTime(startEnd[0].trim());
+        LocalTime endTime = parseFlexibleLocalTime(startEnd[1].trim());
+        if (startTime == null || endTime == null) {
+            return null;
+        }
+        return new SlotKey(interviewDate, startTime, endTime);
+    }
+
+    /** 允许 9:00 / 09:00 / 09:00:00 */
+    private static LocalTime parseFlexibleLocalTime(String timeStr) {
+        if (timeStr.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] parts = timeStr.split(":");
+            if (parts.length == 2) {
+                return LocalTime.of(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+            } else if (parts.length == 3) {
+                return LocalTime.of(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+            }
+        } catch (Exception e) {
+            log.warn("解析简历期望的时间失败: {}", timeStr, e);
+        }
+        return null;
+    }
+
+    record SlotKey(LocalDate interviewDate, LocalTime startTime, LocalTime endTime) {
+    }
+
+    private static final class Bucket {
+        private final List<InterviewSlot> slots = new ArrayList<>();
+        private final List<Integer> remaining = new ArrayList<>();
+        /** 第一个可能还有余量的下标 */
+        private int cursor;
+        private int availableCount;
+
+        void add(InterviewSlot slot, int capacity) {
+            slots.add(slot);
+            remaining.add(capacity);
+            if (capacity > 0) {
+                availableCount++;
+            }
+        }
+
+        InterviewSlot reserve() {
+            while (cursor < slots.size() && remaining.get(cursor) <= 0) {
+                cursor++;
+            }
+            if (cursor >= slots.size()) {
+                return null;
+            }
+            int left = remaining.get(cursor) - 1;
+            remaining.set(cursor, left);
+            InterviewSlot slot = slots.get(cursor);
+            if (left == 0) {
+                availableCount--;
+                cursor++;
+            }
+            return slot;
+        }
+    }
+}
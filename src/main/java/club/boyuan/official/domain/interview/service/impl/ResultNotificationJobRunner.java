@@ -0,0 +1,263 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+import club.boyuan.official.common.exception.BusinessException;
+import club.boyuan.official.common.exception.BusinessExceptionEnum;
+import club.boyuan.official.domain.interview.dto.SendNotificationsRequestDTO;
+import club.boyuan.official.domain.interview.dto.SendNotificationsResponseDTO;
+import club.boyuan.official.domain.interview.service.InterviewNotificationService;
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
+import club.boyuan.official.domain.resume.service.ResumeProjectionService;
+import club.boyuan.official.domain.user.service.IUserService;
+import club.boyuan.official.infra.sse.AsyncTaskChannel;
+import club.boyuan.official.infra.sse.AsyncTaskSseHub;
+import club.boyuan.official.persistence.entity.InterviewResult;
+import club.boyuan.official.persistence.entity.InterviewSchedule;
+import club.boyuan.official.persistence.entity.Resume;
+import club.boyuan.official.persistence.entity.User;
+import club.boyuan.official.persistence.mapper.InterviewResultMapper;
+import club.boyuan.official.persistence.mapper.InterviewScheduleMapper;
+import club.boyuan.official.persistence.mapper.ResumeMapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 面试结果批量通知任务：提交即返回 jobId，后台线程执行。
+ *
+ * 原来一个 HTTP 请求里逐条 getById → 查用户 → 发信 → 单条 UPDATE，通知几百人要占着请求几分钟。
+ * 现在结果、用户、安排、简历各一次批量预取，能发的逐条投到 INTERVIEW_NOTIFICATION_QUEUE 由通知消费者发信，
+ * 每批一条 UPDATE 写 notified_at；每批结束把进度写 Redis 并经 SSE 推给管理端。
+ */
+@Component
+@Slf4j
+public class ResultNotificationJobRunner {
+
+    /** 每批处理的结果数：一批一条 notified_at UPDATE、一次进度推送 */
+    static final int CHUNK_SIZE = 100;
+
+    private static final String TYPE_EMAIL = "email";
+    private static final String TYPE_SMS = "sms";
+
+    private final InterviewResultMapper interviewResultMapper;
+    private final IUserService userService;
+    private final InterviewScheduleMapper interviewScheduleMapper;
+    private final ResumeMapper resumeMapper;
+    private final ResumeProjectionService resumeProjectionService;
+    private final InterviewNotificationService interviewNotificationService;
+    private final ResultNotificationJobStore jobStore;
+    private final AsyncTaskSseHub asyncTaskSseHub;
+    private final Executor executor;
+
+    public ResultNotificationJobRunner(InterviewResultMapper interviewResultMapper,
+                                       IUserService userService,
+                                       InterviewScheduleMapper interviewScheduleMapper,
+                                       ResumeMapper resumeMapper,
+                                       ResumeProjectionService resumeProjectionService,
+                                       InterviewNotificationService interviewNotificationService,
+                                       ResultNotificationJobStore jobStore,
+                                       AsyncTaskSseHub asyncTaskSseHub,
+                                       @Qualifier("resultNotificationJobExecutor") Executor executor) {
+        this.interviewResultMapper = interviewResultMapper;
+        this.userService = userService;
+        this.interviewScheduleMapper = interviewScheduleMapper;
+        this.resumeMapper = resumeMapper;
+        this.resumeProjectionService = resumeProjectionService;
+        this.interviewNotificationService = interviewNotificationService;
+        this.jobStore = jobStore;
+        this.asyncTaskSseHub = asyncTaskSseHub;
+        this.executor = executor;
+    }
+
+    /**
+     * 创建任务并交给执行线程。
+     *
+     * @return PENDING 状态的任务快照（带 jobId）
+     */
+    public SendNotificationsResponseDTO submit(SendNotificationsRequestDTO request) {
+        List<Integer> resultIds = request.getResultIds() == null ? List.of()
+                : request.getResultIds().stream().filter(Objects::nonNull).distinct().toList();
+        SendNotificationsResponseDTO job = jobStore.create(resultIds.size());
+        try {
+            executor.execute(() -> run(job.getJobId(), resultIds,
+                    request.getNotificationType(), request.getCustomMessage()));
+        } catch (TaskRejectedException e) {
+            fail(job, "通知任务排队已满");
+            throw new BusinessException(BusinessExceptionEnum.TOO_MANY_REQUESTS, "通知任务排队已满，请稍后再试");
+        }
+        log.info("结果通知任务已提交 jobId={}, total={}", job.getJobId(), resultIds.size());
+        return job;
+    }
+
+    public SendNotificationsResponseDTO getStatus(Long jobId) {
+        return jobStore.requireById(jobId);
+    }
+
+    void run(Long jobId, List<Integer> resultIds, String notificationType, String customMessage) {
+        SendNotificationsResponseDTO job = jobStore.requireById(jobId);
+        job.setStatus(ResultNotificationJobStatus.RUNNING.name());
+        save(job, false);
+        try {
+            String type = notificationType == null ? "" : notificationType.toLowerCase();
+            if (!TYPE_EMAIL.equals(type)) {
+                // sms 尚未开通，其它类型不支持：整批判失败，与原同步接口的结果一致
+                if (!TYPE_SMS.equals(type)) {
+                    log.warn("不支持的通知类型 jobId={}, type={}", jobId, notificationType);
+                }
+                job.getFailedId().addAll(resultIds);
+                job.setFailedCount(resultIds.size());
+                job.setProcessedCount(resultIds.size());
+                finish(job);
+                return;
+            }
+
+            Recipients recipients = prefetch(resultIds);
+            for (int from = 0; from < resultIds.size(); from += CHUNK_SIZE) {
+                List<Integer> chunk = resultIds.subList(from, Math.min(from + CHUNK_SIZE, resultIds.size()));
+                processChunk(job, chunk, recipients, customMessage);
+            }
+            finish(job);
+        } catch (Exception e) {
+            log.error("结果通知任务执行失败 jobId={}", jobId, e);
+            fail(job, e.getMessage());
+        }
+    }
+
+    private void processChunk(SendNotificationsResponseDTO job, List<Integer> chunk,
+                              Recipients recipients, String customMessage) {
+        List<Integer> enqueued = new ArrayList<>(chunk.size());
+        for (Integer resultId : chunk) {
+            String reason = recipients.rejectReason(resultId, customMessage);
+            if (reason != null) {
+                log.warn("结果通知跳过 resultId={}: {}", resultId, reason);
+                job.getFailedId().add(resultId);
+                continue;
+            }
+            try {
+                interviewNotificationService.enqueueResultNotification(resultId, customMessage);
+                enqueued.add(resultId);
+            } catch (Exception e) {
+                log.error("投递结果通知失败 resultId={}", resultId, e);
+                job.getFailedId().add(resultId);
+            }
+        }
+        if (!enqueued.isEmpty()) {
+            // 通知留痕：只动 notified_at 一列，一批一条语句
+            interviewResultMapper.update(null, new LambdaUpdateWrapper<InterviewResult>()
+                    .in(InterviewResult::getResultId, enqueued)
+                    .set(InterviewResult::getNotifiedAt, LocalDateTime.now()));
+        }
+        job.setSentCount(job.getSentCount() + enqueued.size());
+        job.setFailedCount(job.getFailedId().size());
+        job.setProcessedCount(job.getProcessedCount() + chunk.size());
+        save(job, false);
+    }
+
+    /**
+     * 结果 → 用户 / 安排 → 简历 → 投影，各一次批量查询。
+     * 校验口径与通知消费者一致：有简历投影用投影邮箱，否则用账号邮箱。
+     */
+    private Recipients prefetch(List<Integer> resultIds) {
+        if (resultIds.isEmpty()) {
+            return new Recipients(Map.of(), Map.of(), Map.of(), Map.of());
+        }
+        Map<Integer, InterviewResult> results = interviewResultMapper.selectByIds(resultIds).stream()
+                .collect(Collectors.toMap(InterviewResult::getResultId, Function.identity(), (a, b) -> a));
+
+        Set<Integer> userIds = results.values().stream()
+                .map(InterviewResult::getUserId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Integer, User> users = userIds.isEmpty() ? Map.of()
+                : userService.listByIds(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity(), (a, b) -> a));
+
+        Set<Integer> scheduleIds = results.values().stream()
+                .map(InterviewResult::getScheduleId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Integer, Integer> resumeIdBySchedule = scheduleIds.isEmpty() ? Map.of()
+                : interviewScheduleMapper.selectByIds(scheduleIds).stream()
+                .filter(s -> s.getResumeId() != null)
+                .collect(Collectors.toMap(InterviewSchedule::getScheduleId, InterviewSchedule::getResumeId, (a, b) -> a));
+
+        Set<Integer> resumeIds = new LinkedHashSet<>(resumeIdBySchedule.values());
+        Map<Integer, ResumeProjection> projections = new HashMap<>();
+        if (!resumeIds.isEmpty()) {
+            Map<Integer, List<Resume>> resumesByCycle = resumeMapper.selectByIds(resumeIds).stream()
+                    .filter(r -> r.getCycleId() != null)
+                    .collect(Collectors.groupingBy(Resume::getCycleId));
+            resumesByCycle.forEach((cycleId, resumes) ->
+                    projections.putAll(resumeProjectionService.project(cycleId, resumes)));
+        }
+        return new Recipients(results, users, resumeIdBySchedule, projections);
+    }
+
+    private void finish(SendNotificationsResponseDTO job) {
+        ResultNotificationJobStatus status;
+        if (job.getFailedCount() == 0) {
+            status = ResultNotificationJobStatus.SUCCESS;
+        } else if (job.getSentCount() > 0) {
+            status = ResultNotificationJobStatus.PARTIAL_SUCCESS;
+        } else {
+            status = ResultNotificationJobStatus.FAILED;
+        }
+        job.setStatus(status.name());
+        job.setFinishedAt(LocalDateTime.now());
+        save(job, true);
+        log.info("结果通知任务完成 jobId={}, sent={}, failed={}", job.getJobId(), job.getSentCount(), job.getFailedCount());
+    }
+
+    private void fail(SendNotificationsResponseDTO job, String errorMessage) {
+        job.setStatus(ResultNotificationJobStatus.FAILED.name());
+        job.setErrorMessage(errorMessage);
+        job.setFinishedAt(LocalDateTime.now());
+        save(job, true);
+    }
+
+    private void save(SendNotificationsResponseDTO job, boolean terminal) {
+        jobStore.save(job);
+        asyncTaskSseHub.publish(AsyncTaskChannel.RESULT_NOTIFICATION, String.valueOf(job.getJobId()), job, terminal);
+    }
+
+    private record Recipients(Map<Integer, InterviewResult> results,
+                              Map<Integer, User> users,
+                              Map<Integer, Integer> resumeIdBySchedule,
+                              Map<Integer, ResumeProjection> projections) {
+
+        /** @return 不能发送的原因；可以发送时返回 null */
+        String rejectReason(Integer resultId, String customMessage) {
+            InterviewResult result = results.get(resultId);
+            if (result == null) {
+                return "面试结果不存在";
+            }
+            // 预取结果可能是 Map.of()，get(null) 会抛 NPE，键为空时先判掉
+            User user = result.getUserId() != null ? users.get(result.getUserId()) : null;
+            if (user == null) {
+                return "用户不存在";
+            }
+            Integer decision = result.getDecision();
+            if (!StringUtils.hasText(customMessage)
+                    && (decision == null || (decision != 1 && decision != 2))) {
+                return "decision=" + decision + " 无自定义正文且不支持自动邮件";
+            }
+            Integer resumeId = result.getScheduleId() != null ? resumeIdBySchedule.get(result.getScheduleId()) : null;
+            ResumeProjection projection = resumeId != null ? projections.get(resumeId) : null;
+            String email = projection != null ? projection.email() : user.getEmail();
+            if (!StringUtils.hasText(email)) {
+                return "无邮箱";
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+/**
+ * 面试结果批量通知任务状态（存 Redis，轮询 / SSE 展示）。
+ */
+public enum ResultNotificationJobStatus {
+
+    /** 已提交，等待执行线程 */
+    PENDING,
+    /** 正在分批投递 */
+    RUNNING,
+    /** 全部投递成功 */
+    SUCCESS,
+    /** 部分投递成功（有 sent 也有 failed） */
+    PARTIAL_SUCCESS,
+    /** 全部失败或执行抛错 */
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == SUCCESS || this == PARTIAL_SUCCESS || this == FAILED;
+    }
+}
@@ -0,0 +1,91 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+import club.boyuan.official.common.exception.BusinessException;
+import club.boyuan.official.common.exception.BusinessExceptionEnum;
+import club.boyuan.official.domain.interview.dto.SendNotificationsResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+
+/**
+ * 面试结果批量通知任务状态存储（Redis），供提交后轮询与跨节点查询。
+ *
+ * <p>Key 约定：
+ * <ul>
+ *   <li>{@value #SEQ_KEY} — INCR 生成自增 jobId</li>
+ *   <li>{@code official:interview:result-notify:job:{id}} — 任务 JSON（状态、计数、失败名单）</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResultNotificationJobStore {
+
+    private static final String SEQ_KEY = "official:interview:result-notify:job:seq";
+    private static final String JOB_KEY_PREFIX = "official:interview:result-notify:job:";
+
+    /** 只用于查看本次发送结果，一天足够 */
+    private static final Duration JOB_TTL = Duration.ofDays(1);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /** 创建任务：状态 PENDING，计数清零。 */
+    public SendNotificationsResponseDTO create(int totalCount) {
+        Long jobId = stringRedisTemplate.opsForValue().increment(SEQ_KEY);
+        if (jobId == null) {
+            throw new BusinessException(BusinessExceptionEnum.SYSTEM_ERROR, "生成通知任务 ID 失败");
+        }
+        SendNotificationsResponseDTO job = new SendNotificationsResponseDTO();
+        job.setJobId(jobId);
+        job.setStatus(ResultNotificationJobStatus.PENDING.name());
+        job.setTotalCount(totalCount);
+        job.setProcessedCount(0);
+        job.setSentCount(0);
+        job.setFailedCount(0);
+        job.setFailedId(new ArrayList<>());
+        job.setCreatedAt(LocalDateTime.now());
+        save(job);
+        return job;
+    }
+
+    public Optional<SendNotificationsResponseDTO> findById(Long jobId) {
+        if (jobId == null) {
+            return Optional.empty();
+        }
+        String json = stringRedisTemplate.opsForValue().get(JOB_KEY_PREFIX + jobId);
+        if (!StringUtils.hasText(json)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(json, SendNotificationsResponseDTO.class));
+        } catch (JsonProcessingException ex) {
+            log.warn("解析结果通知任务 Redis 数据失败 jobId={}", jobId, ex);
+            return Optional.empty();
+        }
+    }
+
+    public SendNotificationsResponseDTO requireById(Long jobId) {
+        return findById(jobId)
+                .orElseThrow(() -> new BusinessException(BusinessExceptionEnum.RESULT_NOTIFICATION_JOB_NOT_FOUND));
+    }
+
+    /** 任务只由一个执行线程写，整份覆盖即可。 */
+    public void save(SendNotificationsResponseDTO job) {
+        try {
+            stringRedisTemplate.opsForValue().set(
+                    JOB_KEY_PREFIX + job.getJobId(), objectMapper.writeValueAsString(job), JOB_TTL);
+        } catch (JsonProcessingException ex) {
+            throw new BusinessException(BusinessExceptionEnum.SYSTEM_ERROR, "保存通知任务状态失败");
+        }
+    }
+}
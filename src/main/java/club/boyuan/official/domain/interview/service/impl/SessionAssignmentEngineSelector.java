@@ -0,0 +1,38 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+import club.boyuan.official.common.exception.BusinessException;
+import club.boyuan.official.common.exception.BusinessExceptionEnum;
+import club.boyuan.official.domain.interview.scheduling.SessionAssignmentEngine;
+import club.boyuan.official.infra.config.InterviewAssignmentProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按名称选择场次分配求解器；未指定时用配置 {@code interview.assignment.engine}。
+ */
+@Component
+public class SessionAssignmentEngineSelector {
+
+    private final Map<String, SessionAssignmentEngine> engines = new LinkedHashMap<>();
+    private final InterviewAssignmentProperties properties;
+
+    public SessionAssignmentEngineSelector(List<SessionAssignmentEngine> engines,
+                                           InterviewAssignmentProperties properties) {
+        engines.forEach(engine -> this.engines.put(engine.name(), engine));
+        this.properties = properties;
+    }
+
+    public SessionAssignmentEngine select(String name) {
+        String resolved = StringUtils.hasText(name) ? name.trim() : properties.getEngine();
+        SessionAssignmentEngine engine = engines.get(resolved);
+        if (engine == null) {
+            throw new BusinessException(BusinessExceptionEnum.INTERVIEW_ASSIGNMENT_ENGINE_UNKNOWN,
+                    "未知的场次分配算法: " + resolved + "，可选 " + engines.keySet());
+        }
+        return engine;
+    }
+}
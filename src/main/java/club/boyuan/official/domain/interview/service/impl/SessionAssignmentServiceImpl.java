@@ -3,6 +3,7 @@ package club.boyuan.official.domain.interview.service.impl;
 import club.boyuan.official.common.exception.BusinessException;
 import club.boyuan.official.common.exception.BusinessExceptionEnum;
 import club.boyuan.official.domain.interview.dto.SessionAssignmentResultDTO;
+import club.boyuan.official.domain.interview.scheduling.SessionAssignmentEngine;
 import club.boyuan.official.domain.interview.service.IInterviewPreferenceService;
 import club.boyuan.official.domain.interview.service.IInterviewScheduleService;
 import club.boyuan.official.domain.interview.service.IInterviewSessionService;
@@ -10,7 +11,8 @@ import club.boyuan.official.domain.interview.service.IInterviewTimeSlotService;
 import club.boyuan.official.domain.interview.service.ISessionAssignmentService;
 import club.boyuan.official.domain.resume.service.IRecruitmentCycleService;
 import club.boyuan.official.domain.resume.service.IResumeService;
-import club.boyuan.official.domain.resume.service.ResumeDataService;
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
+import club.boyuan.official.domain.resume.service.ResumeProjectionService;
 import club.boyuan.official.persistence.entity.Department;
 import club.boyuan.official.persistence.entity.InterviewPreference;
 import club.boyuan.official.persistence.entity.InterviewPreferenceTime;
@@ -21,6 +23,7 @@ import club.boyuan.official.persistence.entity.RecruitmentCycle;
 import club.boyuan.official.persistence.entity.Resume;
 import club.boyuan.official.persistence.mapper.DepartmentMapper;
 import club.boyuan.official.persistence.mapper.InterviewPreferenceTimeMapper;
+import club.boyuan.official.persistence.mapper.InterviewScheduleMapper;
 import club.boyuan.official.persistence.mapper.InterviewSessionMapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +36,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -44,6 +48,7 @@ import java.util.stream.Collectors;
  * <p>
  * 每人只面一场：先试第一志愿部门的可用场次，满了降级到第二志愿，都不行进待调剂。
  * 容量按"场次(部门×时间窗×地点)"计；场次时间窗按 {@code interviewDurationMinutes} 细分到每人精确时刻。
+ * 「谁进哪个场次」交给可插拔的 {@link SessionAssignmentEngine}，默认最小费用流整体求解，贪心作兜底。
  */
 @Slf4j
 @Service
@@ -54,6 +59,8 @@ public class SessionAssignmentServiceImpl implements ISessionAssignmentService {
     private static final int SESSION_STATUS_AVAILABLE = 1;
     private static final int SCHEDULE_STATUS_ACTIVE = 1;
     private static final int DEFAULT_DURATION_MINUTES = 10;
+    /** 每条多行 INSERT 的行数 */
+    private static final int INSERT_BATCH_SIZE = 500;
 
     private final IRecruitmentCycleService recruitmentCycleService;
     private final IInterviewPreferenceService interviewPreferenceService;
@@ -61,16 +68,25 @@ public class SessionAssignmentServiceImpl implements ISessionAssignmentService {
     private final IInterviewSessionService interviewSessionService;
     private final InterviewSessionMapper interviewSessionMapper;
     private final IInterviewScheduleService interviewScheduleService;
+    private final InterviewScheduleMapper interviewScheduleMapper;
     private final IInterviewTimeSlotService interviewTimeSlotService;
     private final IResumeService resumeService;
-    private final ResumeDataService resumeDataService;
+    private final ResumeProjectionService resumeProjectionService;
     private final DepartmentMapper departmentMapper;
+    private final SessionAssignmentEngineSelector engineSelector;
 
     @Override
     @Transactional
     public SessionAssignmentResultDTO assign(Integer cycleId) {
+        return assign(cycleId, false, null);
+    }
+
+    @Override
+    @Transactional
+    public SessionAssignmentResultDTO assign(Integer cycleId, boolean dryRun, String engineName) {
         validateCycleExists(cycleId);
-        log.info("开始为周期 {} 执行场次分配", cycleId);
+        SessionAssignmentEngine engine = engineSelector.select(engineName);
+        log.info("开始为周期 {} 执行场次分配，engine={}, dryRun={}", cycleId, engine.name(), dryRun);
 
         Map<Integer, Resume> resumeById = loadSubmittedResumes(cycleId);
         Set<Integer> alreadyScheduled = loadActivelyScheduledResumeIds(cycleId);
@@ -80,7 +96,7 @@ public class SessionAssignmentServiceImpl implements ISessionAssignmentService {
         Map<Integer, List<Integer>> acceptedTimeSlotIds = loadAcceptedTimeSlotIds(
                 preferences.stream().map(InterviewPreference::getResumeId).collect(Collectors.toList()));
 
-        Map<Integer, List<SessionState>> statesByDept = loadSessionStates(cycleId);
+        List<SessionState> states = loadSessionStates(cycleId);
         Map<Integer, String> deptNames = loadAllDeptNames();
 
         // 候选人：已提交简历 + 已填志愿 + 尚未分配。约束越紧（可接受时间窗越少）越优先。
@@ -92,57 +108,70 @@ public class SessionAssignmentServiceImpl implements ISessionAssignmentService {
                                 acceptedTimeSlotIds.getOrDefault(p.getResumeId(), List.of()).size())
                         .thenComparing(InterviewPreference::getResumeId))
                 .collect(Collectors.toList());
+        Map<Integer, String> names = loadNames(cycleId, candidates, resumeById);
+
+        // 求解只决定「谁进哪个场次」，时刻细分仍按候选人优先级顺序逐个占位
+        Map<Integer, SessionAssignmentEngine.Placement> placements = engine.solve(
+                candidates.stream()
+                        .filter(p -> !acceptedTimeSlotIds.getOrDefault(p.getResumeId(), List.of()).isEmpty())
+                        .map(p -> new SessionAssignmentEngine.Candidate(p.getResumeId(), p.getFirstDeptId(),
+                                p.getSecondDeptId(), new HashSet<>(acceptedTimeSlotIds.get(p.getResumeId()))))
+                        .collect(Collectors.toList()),
+                states.stream()
+                        .map(s -> new SessionAssignmentEngine.SessionCapacity(s.session.getSessionId(),
+                                s.session.getDeptId(), s.session.getTimeSlotId(), s.remaining()))
+                        .collect(Collectors.toList()));
+        Map<Integer, SessionState> stateById = states.stream()
+                .collect(Collectors.toMap(s -> s.session.getSessionId(), s -> s, (a, b) -> a));
 
         SessionAssignmentResultDTO result = new SessionAssignmentResultDTO();
         result.setCycleId(cycleId);
         result.setAssignedAt(LocalDateTime.now());
+        result.setDryRun(dryRun);
+        result.setEngine(engine.name());
 
-        List<SessionState> touchedStates = new ArrayList<>();
+        Set<SessionState> touchedStates = new LinkedHashSet<>();
+        // 与 result.assigned 一一对应，落库后回填 scheduleId
+        List<InterviewSchedule> schedules = new ArrayList<>();
 
         for (InterviewPreference pref : candidates) {
             Resume resume = resumeById.get(pref.getResumeId());
             List<Integer> acceptable = acceptedTimeSlotIds.getOrDefault(pref.getResumeId(), List.of());
 
             if (acceptable.isEmpty()) {
-                result.getUnassigned().add(buildUnassigned(pref, resume, deptNames, "未勾选可接受的时间窗"));
+                result.getUnassigned().add(buildUnassigned(pref, resume, names, deptNames, "未勾选可接受的时间窗"));
                 continue;
             }
 
-            SessionState chosen = null;
-            int matchedChoice = 0;
-            if (pref.getFirstDeptId() != null) {
-                chosen = pickSession(statesByDept.get(pref.getFirstDeptId()), acceptable);
-                if (chosen != null) {
-                    matchedChoice = 1;
-                }
-            }
-            if (chosen == null && pref.getSecondDeptId() != null) {
-                chosen = pickSession(statesByDept.get(pref.getSecondDeptId()), acceptable);
-                if (chosen != null) {
-                    matchedChoice = 2;
-                }
-            }
-
+            SessionAssignmentEngine.Placement placement = placements.get(pref.getResumeId());
+            SessionState chosen = placement == null ? null : stateById.get(placement.sessionId());
             if (chosen == null) {
-                result.getUnassigned().add(buildUnassigned(pref, resume, deptNames,
+                result.getUnassigned().add(buildUnassigned(pref, resume, names, deptNames,
                         "志愿部门的可选场次已满或无匹配时段"));
                 continue;
             }
 
+            int matchedChoice = placement.matchedChoice();
             int index = chosen.occupyNext();
-            if (!touchedStates.contains(chosen)) {
-                touchedStates.add(chosen);
-            }
-            InterviewSchedule schedule = persistSchedule(resume, chosen, index, matchedChoice);
-            result.getAssigned().add(buildAssigned(schedule, resume, chosen, matchedChoice, deptNames));
+            touchedStates.add(chosen);
+            InterviewSchedule schedule = buildSchedule(resume, chosen, index, matchedChoice);
+            schedules.add(schedule);
+            result.getAssigned().add(buildAssigned(schedule, resume, names.get(resume.getResumeId()),
+                    chosen, matchedChoice, deptNames));
         }
 
-        persistOccupancy(touchedStates);
+        if (!dryRun) {
+            persistSchedules(schedules);
+            for (int i = 0; i < schedules.size(); i++) {
+                result.getAssigned().get(i).setScheduleId(schedules.get(i).getScheduleId());
+            }
+            persistOccupancy(touchedStates);
+        }
 
         result.setAssignedCount(result.getAssigned().size());
         result.setUnassignedCount(result.getUnassigned().size());
-        log.info("周期 {} 场次分配完成，已分配 {} 人，待调剂 {} 人",
-                cycleId, result.getAssignedCount(), result.getUnassignedCount());
+        log.info("周期 {} 场次分配{}完成，engine={}，已分配 {} 人，待调剂 {} 人", cycleId, dryRun ? "试算" : "",
+                engine.name(), result.getAssignedCount(), result.getUnassignedCount());
         return result;
     }
 
@@ -156,10 +185,13 @@ public class SessionAssignmentServiceImpl implements ISessionAssignmentService {
         List<InterviewPreference> preferences = interviewPreferenceService.list(
                 new LambdaQueryWrapper<InterviewPreference>().eq(InterviewPreference::getCycleId, cycleId));
 
-        return preferences.stream()
+        List<InterviewPreference> pending = preferences.stream()
                 .filter(p -> resumeById.containsKey(p.getResumeId()))
                 .filter(p -> !alreadyScheduled.contains(p.getResumeId()))
-                .map(p -> buildUnassigned(p, resumeById.get(p.getResumeId()), deptNames, "待人工调剂"))
+                .collect(Collectors.toList());
+        Map<Integer, String> names = loadNames(cycleId, pending, resumeById);
+        return pending.stream()
+                .map(p -> buildUnassigned(p, resumeById.get(p.getResumeId()), names, deptNames, "待人工调剂"))
                 .collect(Collectors.toList());
     }
 
@@ -221,7 +253,9 @@ public class SessionAssignmentServiceImpl implements ISessionAssignmentService {
 
         SessionState state = new SessionState(target, timeSlot);
         Map<Integer, String> deptNames = loadAllDeptNames();
-        SessionAssignmentResultDTO.AssignedItem item = buildAssigned(schedule, resume, state, 0, deptNames);
+        ResumeProjection projection = resumeProjectionService.project(resume);
+        SessionAssignmentResultDTO.AssignedItem item = buildAssigned(schedule, resume,
+                projection != null ? projection.name() : null, state, 0, deptNames);
         log.info("人工调剂完成，resumeId={}, targetSessionId={}, scheduleId={}",
                 resumeId, targetSessionId, schedule.getScheduleId());
         return item;
@@ -230,25 +264,18 @@ public class SessionAssignmentServiceImpl implements ISessionAssignmentService {
     // ------------------------------------------------------------------ 内部
 
     /**
-     * 从候选场次中挑选：时间窗被候选人接受且仍有剩余名额，取剩余名额最多者（负载均衡），
-     * 再按日期/开始时间/场次ID稳定排序。
+     * 多行 INSERT 分批写入，自增主键回填到各实体。每批行数受 MySQL 单语句占位符上限约束。
      */
-    private SessionState pickSession(List<SessionState> states, List<Integer> acceptableTimeSlotIds) {
-        if (states == null || states.isEmpty()) {
-            return null;
+    private void persistSchedules(List<InterviewSchedule> schedules) {
+        for (int from = 0; from < schedules.size(); from += INSERT_BATCH_SIZE) {
+            interviewScheduleMapper.insertBatch(
+                    schedules.subList(from, Math.min(from + INSERT_BATCH_SIZE, schedules.size())));
         }
-        return states.stream()
-                .filter(s -> s.remaining() > 0)
-                .filter(s -> acceptableTimeSlotIds.contains(s.session.getTimeSlotId()))
-                .max(Comparator
-                        .comparingInt(SessionState::remaining)
-                        .thenComparing(Comparator.comparing(SessionState::sortKey).reversed()))
-                .orElse(null);
     }
 
-    private InterviewSchedule persistSchedule(Resume resume, SessionState state, int index, int matchedChoice) {
+    private InterviewSchedule buildSchedule(Resume resume, SessionState state, int index, int matchedChoice) {
         LocalDateTime start = computeStart(state.timeSlot, index, durationOf(state.session));
-        InterviewSchedule schedule = new InterviewSchedule()
+        return new InterviewSchedule()
                 .setResumeId(resume.getResumeId())
                 .setUserId(resume.getUserId())
                 .setCycleId(state.session.getCycleId())
@@ -260,17 +287,18 @@ public class SessionAssignmentServiceImpl implements ISessionAssignmentService {
                 .setNotes("自动分配 - 第" + (matchedChoice == 0 ? "" : matchedChoice) + "志愿 - " + state.session.getLocation())
                 .setSyncStatus(0)
                 .setNotifStatus(0);
-        interviewScheduleService.save(schedule);
-        return schedule;
     }
 
-    private void persistOccupancy(List<SessionState> touchedStates) {
-        for (SessionState state : touchedStates) {
-            InterviewSession update = new InterviewSession()
-                    .setSessionId(state.session.getSessionId())
-                    .setCurrentOccupied(state.occupied);
-            interviewSessionService.updateById(update);
+    /** 本轮涉及的场次占用数一条 CASE 语句回写 */
+    private void persistOccupancy(Set<SessionState> touchedStates) {
+        if (touchedStates.isEmpty()) {
+            return;
         }
+        interviewSessionMapper.updateCurrentOccupiedBatch(touchedStates.stream()
+                .map(state -> new InterviewSession()
+                        .setSessionId(state.session.getSessionId())
+                        .setCurrentOccupied(state.occupied))
+                .collect(Collectors.toList()));
     }
 
     private LocalDateTime computeStart(InterviewTimeSlot timeSlot, int index, int durationMinutes) {
@@ -311,25 +339,24 @@ public class SessionAssignmentServiceImpl implements ISessionAssignmentService {
                 Collectors.mapping(InterviewPreferenceTime::getTimeSlotId, Collectors.toList())));
     }
 
-    private Map<Integer, List<SessionState>> loadSessionStates(Integer cycleId) {
+    /** 可用场次，按日期 / 开始时间 / 场次 ID 排序，求解器依赖这个顺序做并列取舍 */
+    private List<SessionState> loadSessionStates(Integer cycleId) {
         List<InterviewSession> sessions = interviewSessionService.list(
                 new LambdaQueryWrapper<InterviewSession>()
                         .eq(InterviewSession::getCycleId, cycleId)
                         .eq(InterviewSession::getStatus, SESSION_STATUS_AVAILABLE));
         if (sessions.isEmpty()) {
-            return new HashMap<>();
+            return new ArrayList<>();
         }
         List<Integer> timeSlotIds = sessions.stream()
                 .map(InterviewSession::getTimeSlotId).filter(Objects::nonNull).distinct().collect(Collectors.toList());
         Map<Integer, InterviewTimeSlot> timeSlotMap = interviewTimeSlotService.listByIds(timeSlotIds).stream()
                 .collect(Collectors.toMap(InterviewTimeSlot::getTimeSlotId, ts -> ts, (a, b) -> a));
 
-        Map<Integer, List<SessionState>> byDept = new HashMap<>();
-        for (InterviewSession session : sessions) {
-            SessionState state = new SessionState(session, timeSlotMap.get(session.getTimeSlotId()));
-            byDept.computeIfAbsent(session.getDeptId(), k -> new ArrayList<>()).add(state);
-        }
-        return byDept;
+        return sessions.stream()
+                .map(session -> new SessionState(session, timeSlotMap.get(session.getTimeSlotId())))
+                .sorted(Comparator.comparing(SessionState::sortKey))
+                .collect(Collectors.toList());
     }
 
     private Map<Integer, String> loadAllDeptNames() {
@@ -337,14 +364,29 @@ public class SessionAssignmentServiceImpl implements ISessionAssignmentService {
                 .collect(Collectors.toMap(Department::getDeptId, Department::getDeptName, (a, b) -> a));
     }
 
+    /**
+     * 候选人展示姓名：一次批量投影取回，替代逐人 getResumeName 的 EAV 查询。
+     */
+    private Map<Integer, String> loadNames(Integer cycleId, List<InterviewPreference> prefs,
+                                           Map<Integer, Resume> resumeById) {
+        List<Resume> resumes = prefs.stream()
+                .map(p -> resumeById.get(p.getResumeId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        Map<Integer, String> names = new HashMap<>();
+        resumeProjectionService.project(cycleId, resumes)
+                .forEach((resumeId, projection) -> names.put(resumeId, projection.name()));
+        return names;
+    }
+
     private SessionAssignmentResultDTO.AssignedItem buildAssigned(InterviewSchedule schedule, Resume resume,
-                                                                  SessionState state, int matchedChoice,
+                                                                  String name, SessionState state, int matchedChoice,
                                                                   Map<Integer, String> deptNames) {
         SessionAssignmentResultDTO.AssignedItem item = new SessionAssignmentResultDTO.AssignedItem();
         item.setScheduleId(schedule.getScheduleId());
         item.setResumeId(resume.getResumeId());
         item.setUserId(resume.getUserId());
-        item.setName(resumeDataService.getResumeName(resume));
+        item.setName(name);
         item.setMatchedChoice(matchedChoice == 0 ? null : matchedChoice);
         item.setSessionId(state.session.getSessionId());
         item.setDeptId(state.session.getDeptId());
@@ -358,12 +400,13 @@ public class SessionAssignmentServiceImpl implements ISessionAssignmentService {
     }
 
     private SessionAssignmentResultDTO.UnassignedItem buildUnassigned(InterviewPreference pref, Resume resume,
+                                                                      Map<Integer, String> names,
                                                                       Map<Integer, String> deptNames, String reason) {
         SessionAssignmentResultDTO.UnassignedItem item = new SessionAssignmentResultDTO.UnassignedItem();
         item.setResumeId(pref.getResumeId());
         if (resume != null) {
             item.setUserId(resume.getUserId());
-            item.setName(resumeDataService.getResumeName(resume));
+            item.setName(names.get(resume.getResumeId()));
         }
         item.setFirstDeptId(pref.getFirstDeptId());
         item.setFirstDeptName(pref.getFirstDeptId() == null ? null : deptNames.get(pref.getFirstDeptId()));
@@ -25,7 +25,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -397,7 +400,7 @@ public class ResumeController {
 
     /**
      * 导出简历为PDF格式（管理员或本人）。
-     * 因直接向响应流写二进制，保留局部异常处理（无法交给 GlobalExceptionHandler 处理半写响应）。
+     * PDF 直接流式写入响应；因直接向响应流写二进制，保留局部异常处理（无法交给 GlobalExceptionHandler 处理半写响应）。
      */
     @GetMapping("/export/pdf/{resumeId}")
     @PreAuthorize("isAuthenticated()")  // 归属校验在方法内：本人或具备管理权限者可导出
@@ -417,11 +420,10 @@ public class ResumeController {
                 return;
             }
 
-            byte[] pdfBytes = PdfExportUtil.exportResumeToPdf(resumeDTO);
+            // 边排版边写响应流，不先攒成 byte[]；长度未知，走分块传输
             response.setContentType("application/pdf");
             response.setHeader("Content-Disposition", "attachment; filename=resume_" + resumeId + ".pdf");
-            response.setContentLength(pdfBytes.length);
-            response.getOutputStream().write(pdfBytes);
+            PdfExportUtil.exportResumeToPdf(resumeDTO, response.getOutputStream());
             response.getOutputStream().flush();
 
             logger.info("用户{}成功导出简历{}为PDF", currentUser.getUsername(), resumeId);
@@ -435,6 +437,31 @@ public class ResumeController {
         }
     }
 
+    /**
+     * 导出招新周期内的简历列表为Excel（管理员）。
+     * 简历按页读取、按行写入响应流，导出多少份简历占用的内存都一样；同 PDF 导出，保留局部异常处理。
+     */
+    @GetMapping("/export/excel")
+    @PreAuthorize("hasAuthority('resume:view')")
+    public void exportResumesToExcel(@RequestParam Integer cycleId, HttpServletResponse response) {
+        try {
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            String filename = URLEncoder.encode("简历列表_" + cycleId + "_" + timestamp + ".xlsx", StandardCharsets.UTF_8);
+            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+            response.setHeader("Content-Disposition", "attachment; filename*=UTF-8''" + filename);
+
+            int exported = resumeService.exportResumesToExcel(cycleId, response.getOutputStream());
+            logger.info("管理员{}导出周期{}的{}份简历为Excel", SecurityUtil.getCurrentUsername(), cycleId, exported);
+        } catch (Exception e) {
+            logger.error("导出简历为Excel失败，周期ID: {}", cycleId, e);
+            try {
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "导出失败: " + e.getMessage());
+            } catch (Exception ex) {
+                logger.error("设置错误响应失败", ex);
+            }
+        }
+    }
+
     /**
      * 条件查询简历列表（管理员）。
      * 支持按姓名、专业、期望部门、招募周期、状态等多条件组合查询。
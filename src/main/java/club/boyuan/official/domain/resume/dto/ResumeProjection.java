@@ -0,0 +1,26 @@
+package club.boyuan.official.domain.resume.dto;
+
+import java.util.List;
+
+/**
+ * 一份简历在排期/导出/通知里常用的几个属性，由 {@code ResumeProjectionService} 批量组装。
+ *
+ * name/email 已按老规则回退到用户表（简历里没填时用账号上的）；
+ * major/grade 没填就是空串；两个列表没填就是空列表，不会是 null。
+ */
+public record ResumeProjection(
+        Integer resumeId,
+        Integer userId,
+        Integer cycleId,
+        String name,
+        String email,
+        String major,
+        String grade,
+        List<String> expectedDepartments,
+        List<String> preferredTimes) {
+
+    /** 第一志愿部门；没填返回 null */
+    public String firstDepartment() {
+        return expectedDepartments.isEmpty() ? null : expectedDepartments.get(0);
+    }
+}
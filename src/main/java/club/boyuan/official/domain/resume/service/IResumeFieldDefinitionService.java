@@ -12,6 +12,14 @@ public interface IResumeFieldDefinitionService {
      * @return 字段定义列表
      */
     List<ResumeFieldDefinition> getFieldDefinitionsByCycleId(Integer cycleId);
+
+    /**
+     * 按标签取某周期的字段定义（如「姓名」「期望部门」），同标签多个时取排在前面的
+     * @param cycleId 招聘年份ID
+     * @param fieldLabel 字段标签
+     * @return 字段定义，没有则返回 null
+     */
+    ResumeFieldDefinition getFieldDefinitionByLabel(Integer cycleId, String fieldLabel);
     
     /**
      * 根据字段ID获取字段定义
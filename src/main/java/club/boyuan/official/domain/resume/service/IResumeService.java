@@ -7,6 +7,7 @@ import club.boyuan.official.domain.resume.dto.SimpleResumeFieldDTO;
 import club.boyuan.official.persistence.entity.Resume;
 import club.boyuan.official.persistence.entity.ResumeFieldValue;
 
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -108,6 +109,14 @@ public interface IResumeService {
      * @return 简历DTO列表
      */
     List<ResumeDTO> queryResumes(String name, String major, String expectedDepartment, Integer cycleId, String status);
+
+    /**
+     * 将招新周期内的简历流式导出为Excel：按 resume_id keyset 分页读取、每页一次批量投影，直接写入输出流
+     * @param cycleId 招新周期ID
+     * @param out 输出流
+     * @return 导出的简历数
+     */
+    int exportResumesToExcel(Integer cycleId, OutputStream out);
     
     /**
      * 条件查询简历列表（分页）
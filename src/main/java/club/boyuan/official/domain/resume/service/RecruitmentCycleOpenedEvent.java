@@ -0,0 +1,9 @@
+package club.boyuan.official.domain.resume.service;
+
+/**
+ * 招募周期进入「进行中」且启用时发布，供面试名额缓存等做一次性预热。
+ *
+ * @param cycleId 招募周期ID
+ */
+public record RecruitmentCycleOpenedEvent(Integer cycleId) {
+}
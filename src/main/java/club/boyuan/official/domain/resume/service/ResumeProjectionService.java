@@ -0,0 +1,42 @@
+package club.boyuan.official.domain.resume.service;
+
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
+import club.boyuan.official.persistence.entity.Resume;
+import club.boyuan.official.persistence.entity.ResumeFieldValue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 简历投影服务：按周期批量取出简历的姓名/邮箱/专业/年级/期望部门/期望面试时间。
+ *
+ * 原来 ResumeDataService 每取一个属性就把整份简历的字段值和周期字段定义各查一遍，
+ * 排期一个人要 4~8 次查询。这里一个周期只解析一次字段定义，字段值一次 IN 查询批量取回。
+ */
+public interface ResumeProjectionService {
+
+    /**
+     * 批量投影同一周期下的多份简历。
+     * @param cycleId 招募周期ID，用它的字段定义解析标签
+     * @param resumes 该周期下的简历
+     * @return Map<简历ID, 投影>
+     */
+    Map<Integer, ResumeProjection> project(Integer cycleId, Collection<Resume> resumes);
+
+    /**
+     * 投影单份简历，按简历自身的周期解析。
+     * @param resume 简历对象
+     * @return 投影；resume 为 null 时返回 null
+     */
+    ResumeProjection project(Resume resume);
+
+    /**
+     * 按 IN 分批取回多份简历在指定字段上的值。
+     * @param resumeIds 简历ID
+     * @param fieldIds 字段ID
+     * @return Map<简历ID, 字段值>；简历或字段为空时返回空 Map
+     */
+    Map<Integer, List<ResumeFieldValue>> loadFieldValues(Collection<Integer> resumeIds, Set<Integer> fieldIds);
+}
@@ -6,18 +6,23 @@ import club.boyuan.official.persistence.entity.RecruitmentCycle;
 import club.boyuan.official.persistence.mapper.RecruitmentCycleMapper;
 import club.boyuan.official.domain.resume.service.IRecruitmentCycleService;
 import club.boyuan.official.domain.resume.service.IResumeFieldDefinitionService;
+import club.boyuan.official.domain.resume.service.RecruitmentCycleOpenedEvent;
 import lombok.AllArgsConstructor;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 招募周期服务实现类
@@ -27,10 +32,13 @@ import java.util.List;
 public class RecruitmentCycleServiceImpl implements IRecruitmentCycleService {
     
     private static final Logger logger = LoggerFactory.getLogger(RecruitmentCycleServiceImpl.class);
+
+    private static final int STATUS_IN_PROGRESS = 2;
     
     private final RecruitmentCycleMapper recruitmentCycleMapper;
     private final IResumeFieldDefinitionService fieldDefinitionService;
     private final SqlSessionFactory sqlSessionFactory;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public RecruitmentCycle createRecruitmentCycle(RecruitmentCycle recruitmentCycle) {
@@ -46,6 +54,7 @@ public class RecruitmentCycleServiceImpl implements IRecruitmentCycleService {
             
             recruitmentCycleMapper.insert(recruitmentCycle);
             logger.info("招募周期创建成功，ID: {}", recruitmentCycle.getCycleId());
+            publishIfOpened(null, recruitmentCycle);
             return recruitmentCycle;
         } catch (DuplicateKeyException e) {
             logger.warn("创建招募周期失败，学术年份已存在: {}", recruitmentCycle.getAcademicYear());
@@ -68,6 +77,7 @@ public class RecruitmentCycleServiceImpl implements IRecruitmentCycleService {
             
             recruitmentCycleMapper.updateById(recruitmentCycle);
             logger.info("招募周期更新成功，ID: {}", recruitmentCycle.getCycleId());
+            publishIfOpened(existingCycle, recruitmentCycle);
             return recruitmentCycle;
         } catch (Exception e) {
             logger.error("更新招募周期失败，ID: {}", recruitmentCycle.getCycleId(), e);
@@ -193,8 +203,15 @@ public class RecruitmentCycleServiceImpl implements IRecruitmentCycleService {
     public void updateRecruitmentCycleStatusesBasedOnDate(LocalDate currentDate) {
         logger.info("根据当前日期更新招募周期状态，当前日期: {}", currentDate);
         try {
+            Set<Integer> openBefore = openCycleIds();
             int updatedCount = recruitmentCycleMapper.updateStatusBasedOnDate(currentDate);
             logger.info("根据当前日期更新招募周期状态完成，更新数量: {}", updatedCount);
+            // 只对这次新进入「进行中」的周期发开放事件
+            for (Integer cycleId : openCycleIds()) {
+                if (!openBefore.contains(cycleId)) {
+                    eventPublisher.publishEvent(new RecruitmentCycleOpenedEvent(cycleId));
+                }
+            }
         } catch (Exception e) {
             logger.error("根据当前日期更新招募周期状态失败，当前日期: {}", currentDate, e);
             throw e;
@@ -303,4 +320,25 @@ public class RecruitmentCycleServiceImpl implements IRecruitmentCycleService {
                 return fieldName;
         }
     }
-}
\ No newline at end of file
+
+    private Set<Integer> openCycleIds() {
+        return recruitmentCycleMapper.findByStatus(STATUS_IN_PROGRESS).stream()
+                .filter(c -> Objects.equals(c.getIsActive(), 1))
+                .map(RecruitmentCycle::getCycleId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 周期从非开放变为「进行中 + 启用」时发布开放事件；更新请求只带部分字段时以原值补齐判断。
+     */
+    private void publishIfOpened(RecruitmentCycle before, RecruitmentCycle after) {
+        Integer status = after.getStatus() != null ? after.getStatus() : before != null ? before.getStatus() : null;
+        Integer isActive = after.getIsActive() != null ? after.getIsActive() : before != null ? before.getIsActive() : null;
+        boolean openNow = Objects.equals(status, STATUS_IN_PROGRESS) && Objects.equals(isActive, 1);
+        boolean openBefore = before != null
+                && Objects.equals(before.getStatus(), STATUS_IN_PROGRESS) && Objects.equals(before.getIsActive(), 1);
+        if (openNow && !openBefore) {
+            eventPublisher.publishEvent(new RecruitmentCycleOpenedEvent(after.getCycleId()));
+        }
+    }
+}
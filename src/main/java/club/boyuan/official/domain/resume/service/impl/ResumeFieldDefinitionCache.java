@@ -0,0 +1,203 @@
+package club.boyuan.official.domain.resume.service.impl;
+
+import club.boyuan.official.persistence.entity.ResumeFieldDefinition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 周期维度的字段定义本地缓存，附带 label / field_key 索引。
+ *
+ * 字段定义一个周期只改几次，却在排期、投影、导出的循环里被反复按周期查询。
+ * 本机按 LRU 保留最近 {@value #MAX_CYCLES} 个周期；修改后本机立即失效，
+ * 再经 Redis Pub/Sub 通知其它实例失效。广播丢失时靠 TTL 兜底。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeFieldDefinitionCache implements MessageListener {
+
+    public static final String REDIS_TOPIC = "official:resume-field-definition:invalidate";
+
+    private static final int MAX_CYCLES = 32;
+    private static final long TTL_MS = Duration.ofMinutes(10).toMillis();
+    private static final String CYCLE_PREFIX = "cycle:";
+    private static final String FIELD_PREFIX = "field:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /** 每次失效都 +1；加载前后版本不一致说明期间有修改，结果不入缓存，避免把旧数据写回去 */
+    private final AtomicLong version = new AtomicLong();
+
+    private final Map<Integer, CycleFieldDefinitions> cache =
+            new LinkedHashMap<>(MAX_CYCLES * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, CycleFieldDefinitions> eldest) {
+                    return size() > MAX_CYCLES;
+                }
+            };
+
+    @PostConstruct
+    void subscribeRedis() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(REDIS_TOPIC));
+    }
+
+    /**
+     * 取某周期的字段定义快照，未命中时用 loader 从库里加载。
+     */
+    public CycleFieldDefinitions get(Integer cycleId, Function<Integer, List<ResumeFieldDefinition>> loader) {
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CycleFieldDefinitions cached = cache.get(cycleId);
+            if (cached != null && now - cached.loadedAt < TTL_MS) {
+                return cached;
+            }
+        }
+        long before = version.get();
+        CycleFieldDefinitions loaded = new CycleFieldDefinitions(loader.apply(cycleId), now);
+        synchronized (cache) {
+            if (version.get() == before) {
+                cache.put(cycleId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 失效某周期的缓存并广播。在事务里调用时推迟到提交之后，避免别的实例读到未提交前的旧数据再缓存起来。
+     */
+    public void evictCycle(Integer cycleId) {
+        if (cycleId != null) {
+            evictAndBroadcast(CYCLE_PREFIX + cycleId);
+        }
+    }
+
+    /**
+     * 按字段ID失效：调用方只知道 fieldId（更新、删除）时，失效包含该字段的周期。
+     */
+    public void evictField(Integer fieldId) {
+        if (fieldId != null) {
+            evictAndBroadcast(FIELD_PREFIX + fieldId);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            evictLocal(body);
+        } catch (Exception ex) {
+            log.warn("字段定义缓存失效消息解析失败 body={}", body, ex);
+        }
+    }
+
+    private void evictAndBroadcast(String token) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 事务内先清本机，提交后再清一次并广播
+            evictLocal(token);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocal(token);
+                    broadcast(token);
+                }
+            });
+            return;
+        }
+        evictLocal(token);
+        broadcast(token);
+    }
+
+    private void broadcast(String token) {
+        try {
+            stringRedisTemplate.convertAndSend(REDIS_TOPIC, token);
+        } catch (Exception e) {
+            // 广播失败只影响其它实例，TTL 到期后自然恢复
+            log.warn("广播字段定义缓存失效失败 token={}", token, e);
+        }
+    }
+
+    void evictLocal(String token) {
+        version.incrementAndGet();
+        synchronized (cache) {
+            if (token.startsWith(CYCLE_PREFIX)) {
+                cache.remove(Integer.valueOf(token.substring(CYCLE_PREFIX.length())));
+            } else if (token.startsWith(FIELD_PREFIX)) {
+                Integer fieldId = Integer.valueOf(token.substring(FIELD_PREFIX.length()));
+                cache.values().removeIf(snapshot -> snapshot.byId.containsKey(fieldId));
+            }
+        }
+        log.debug("字段定义缓存已失效: {}", token);
+    }
+
+    /**
+     * 一个周期的字段定义快照。列表和索引都不可变；里面的实体是共享的，调用方只读不改。
+     */
+    public static final class CycleFieldDefinitions {
+        private final List<ResumeFieldDefinition> definitions;
+        private final Map<Integer, ResumeFieldDefinition> byId;
+        private final Map<String, ResumeFieldDefinition> byLabel;
+        private final Map<String, ResumeFieldDefinition> byKey;
+        private final long loadedAt;
+
+        CycleFieldDefinitions(List<ResumeFieldDefinition> definitions, long loadedAt) {
+            List<ResumeFieldDefinition> list = definitions == null ? List.of() : definitions;
+            Map<Integer, ResumeFieldDefinition> ids = new HashMap<>();
+            Map<String, ResumeFieldDefinition> labels = new HashMap<>();
+            Map<String, ResumeFieldDefinition> keys = new HashMap<>();
+            for (ResumeFieldDefinition def : list) {
+                if (def.getFieldId() != null) {
+                    ids.putIfAbsent(def.getFieldId(), def);
+                }
+                // 同一标签配了多个字段时取排在前面的，与原来 findFirst 的口径一致
+                if (def.getFieldLabel() != null) {
+                    labels.putIfAbsent(def.getFieldLabel(), def);
+                }
+                if (def.getFieldKey() != null) {
+                    keys.putIfAbsent(def.getFieldKey(), def);
+                }
+            }
+            this.definitions = Collections.unmodifiableList(list);
+            this.byId = Collections.unmodifiableMap(ids);
+            this.byLabel = Collections.unmodifiableMap(labels);
+            this.byKey = Collections.unmodifiableMap(keys);
+            this.loadedAt = loadedAt;
+        }
+
+        public List<ResumeFieldDefinition> definitions() {
+            return definitions;
+        }
+
+        public ResumeFieldDefinition byLabel(String label) {
+            return label == null ? null : byLabel.get(label);
+        }
+
+        public ResumeFieldDefinition byKey(String fieldKey) {
+            return fieldKey == null ? null : byKey.get(fieldKey);
+        }
+
+        public Integer fieldIdByLabel(String label) {
+            ResumeFieldDefinition def = byLabel(label);
+            return def == null ? null : def.getFieldId();
+        }
+    }
+}
@@ -34,17 +34,33 @@ public class ResumeFieldDefinitionServiceImpl implements IResumeFieldDefinitionS
     private final ResumeFieldValueMapper resumeFieldValueMapper;
     private final SqlSessionFactory sqlSessionFactory;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final ResumeFieldDefinitionCache fieldDefinitionCache;
     
     @Override
     public List<ResumeFieldDefinition> getFieldDefinitionsByCycleId(Integer cycleId) {
         logger.debug("查询{}年份的简历字段定义", cycleId);
         try {
-            return resumeFieldDefinitionMapper.findByCycleId(cycleId);
+            // 返回副本：调用方可能排序/增删列表，不能动到缓存里的快照
+            return new java.util.ArrayList<>(cachedDefinitions(cycleId).definitions());
         } catch (Exception e) {
             logger.error("查询年份简历字段定义失败，年份: {}", cycleId, e);
             throw new BusinessException(BusinessExceptionEnum.RESUME_FIELD_DEFINITION_QUERY_FAILED);
         }
     }
+
+    @Override
+    public ResumeFieldDefinition getFieldDefinitionByLabel(Integer cycleId, String fieldLabel) {
+        try {
+            return cachedDefinitions(cycleId).byLabel(fieldLabel);
+        } catch (Exception e) {
+            logger.error("按标签查询简历字段定义失败，年份: {}，标签: {}", cycleId, fieldLabel, e);
+            throw new BusinessException(BusinessExceptionEnum.RESUME_FIELD_DEFINITION_QUERY_FAILED);
+        }
+    }
+
+    private ResumeFieldDefinitionCache.CycleFieldDefinitions cachedDefinitions(Integer cycleId) {
+        return fieldDefinitionCache.get(cycleId, resumeFieldDefinitionMapper::findByCycleId);
+    }
     
     @Override
     public java.util.Map<Integer, ResumeFieldDefinition> getFieldDefinitionsByIds(
@@ -135,6 +151,7 @@ public class ResumeFieldDefinitionServiceImpl implements IResumeFieldDefinitionS
         try {
             applyFieldDefinitionDefaults(fieldDefinition);
             resumeFieldDefinitionMapper.insert(fieldDefinition);
+            fieldDefinitionCache.evictCycle(fieldDefinition.getCycleId());
             return fieldDefinition;
         } catch (Exception e) {
             logger.error("创建简历字段定义失败，年份: {}，字段键名: {}", 
@@ -152,8 +169,9 @@ public class ResumeFieldDefinitionServiceImpl implements IResumeFieldDefinitionS
             // 使用MyBatis-Plus的updateById方法根据ID更新实体
             resumeFieldDefinitionMapper.updateById(fieldDefinition);
             
-            // 清除相关缓存
+            // 清除相关缓存；请求里带了周期时新周期也一起失效（字段可能被挪过去）
             clearCacheByFieldId(fieldDefinition.getFieldId());
+            fieldDefinitionCache.evictCycle(fieldDefinition.getCycleId());
             
             return fieldDefinition;
         } catch (Exception e) {
@@ -223,6 +241,7 @@ public class ResumeFieldDefinitionServiceImpl implements IResumeFieldDefinitionS
 
         logger.info("周期 {} 初始化字段定义完成：新建 {} 个，为已存在字段回填选项 {} 个",
                 cycleId, created, backfilled);
+        fieldDefinitionCache.evictCycle(cycleId);
         return getFieldDefinitionsByCycleId(cycleId);
     }
 
@@ -231,7 +250,8 @@ public class ResumeFieldDefinitionServiceImpl implements IResumeFieldDefinitionS
         logger.info("批量更新简历字段定义，字段数量: {}", fieldDefinitions.size());
         try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
             ResumeFieldDefinitionMapper batchMapper = sqlSession.getMapper(ResumeFieldDefinitionMapper.class);
-            
+            List<Integer> updatedFieldIds = new java.util.ArrayList<>(fieldDefinitions.size());
+
             // 逐项校验后再更新。此前是无条件 updateById —— fieldId 不存在时 MyBatis-Plus
             // 影响 0 行却不报错，调用方看到「保存成功」，字段实际凭空消失；
             // 而命中别的行时会把内容覆盖上去。前端本地默认模板的 fieldId 是 1..20 的
@@ -274,12 +294,16 @@ public class ResumeFieldDefinitionServiceImpl implements IResumeFieldDefinitionS
 
                 fieldDefinition.setUpdatedAt(LocalDateTime.now());
                 batchMapper.updateById(fieldDefinition);
-                clearCacheByFieldId(fieldId);
+                updatedFieldIds.add(fieldId);
             }
-            
+
             // 提交批处理
             sqlSession.commit();
-            
+
+            // 这个 SqlSession 不受 Spring 事务管理，缓存那边感知不到「提交后再失效」，
+            // 只能等提交完再清；提交前清掉的话，其间的读取会把旧行重新缓存一整个 TTL
+            updatedFieldIds.forEach(this::clearCacheByFieldId);
+
             return fieldDefinitions;
         } catch (Exception e) {
             logger.error("批量更新简历字段定义失败，字段数量: {}", fieldDefinitions.size(), e);
@@ -324,6 +348,7 @@ public class ResumeFieldDefinitionServiceImpl implements IResumeFieldDefinitionS
     }
 
     private void clearCacheByFieldId(Integer fieldId) {
+        fieldDefinitionCache.evictField(fieldId);
         try {
             String cacheKey = "field_definition:" + fieldId;
             redisTemplate.delete(cacheKey);
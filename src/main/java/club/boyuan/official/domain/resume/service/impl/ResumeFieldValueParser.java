@@ -0,0 +1,66 @@
+package club.boyuan.official.domain.resume.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 「期望的面试时间」「期望部门」两个 JSON 字段值的解析，投影服务和 ResumeDataService 共用。
+ */
+@Slf4j
+final class ResumeFieldValueParser {
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+
+    private ResumeFieldValueParser() {
+    }
+
+    /**
+     * 期望面试时间：新格式是 {"first": "...", "second": "..."}，老格式是字符串数组。
+     * 解析失败返回空列表。
+     */
+    static List<String> parsePreferredTimes(ObjectMapper objectMapper, String fieldValue) {
+        List<String> result = new ArrayList<>();
+        if (fieldValue == null) {
+            return result;
+        }
+        try {
+            if (fieldValue.contains("\"first\"") && fieldValue.contains("\"second\"")) {
+                JsonNode jsonNode = objectMapper.readTree(fieldValue);
+                String first = jsonNode.has("first") ? jsonNode.get("first").asText() : null;
+                String second = jsonNode.has("second") ? jsonNode.get("second").asText() : null;
+                if (first != null && !first.isEmpty() && !"null".equals(first)) {
+                    result.add(first);
+                }
+                if (second != null && !second.isEmpty() && !"null".equals(second)) {
+                    result.add(second);
+                }
+            } else {
+                result.addAll(objectMapper.readValue(fieldValue, STRING_LIST));
+            }
+        } catch (Exception e) {
+            log.warn("解析期望面试时间失败: {}", fieldValue, e);
+        }
+        return result;
+    }
+
+    /**
+     * 期望部门：字符串数组。解析失败返回空列表。
+     */
+    static List<String> parseDepartments(ObjectMapper objectMapper, String fieldValue) {
+        List<String> result = new ArrayList<>();
+        if (fieldValue == null) {
+            return result;
+        }
+        try {
+            result.addAll(objectMapper.readValue(fieldValue, STRING_LIST));
+        } catch (Exception e) {
+            log.warn("解析期望部门失败: {}", fieldValue, e);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,243 @@
+package club.boyuan.official.domain.resume.service.impl;
+
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
+import club.boyuan.official.domain.resume.service.IResumeFieldDefinitionService;
+import club.boyuan.official.domain.resume.service.ResumeProjectionService;
+import club.boyuan.official.domain.user.service.IUserService;
+import club.boyuan.official.persistence.entity.Resume;
+import club.boyuan.official.persistence.entity.ResumeFieldDefinition;
+import club.boyuan.official.persistence.entity.ResumeFieldValue;
+import club.boyuan.official.persistence.entity.User;
+import club.boyuan.official.persistence.mapper.ResumeFieldValueMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 简历投影服务实现。
+ *
+ * 一次投影的查询数是常数：字段定义 1 次、字段值按 {@value #IN_CHUNK_SIZE} 一批的 IN 查询、
+ * 需要回退到用户表的姓名/邮箱再 1 次，与简历份数无关。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeProjectionServiceImpl implements ResumeProjectionService {
+
+    static final String LABEL_NAME = "姓名";
+    static final String LABEL_EMAIL = "邮箱";
+    static final String LABEL_MAJOR = "专业";
+    static final String LABEL_GRADE = "年级";
+    static final String LABEL_GRADE_ALIAS = "大几";
+    static final String LABEL_EXPECTED_DEPARTMENTS = "期望部门";
+    static final String LABEL_INTERVIEW_TIME = "期望的面试时间";
+
+    /** IN 列表分批上限，避免几千个占位符的超长 SQL */
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    private final ResumeFieldValueMapper resumeFieldValueMapper;
+    private final IResumeFieldDefinitionService resumeFieldDefinitionService;
+    private final IUserService userService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Map<Integer, ResumeProjection> project(Integer cycleId, Collection<Resume> resumes) {
+        if (resumes == null || resumes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Resume> valid = resumes.stream()
+                .filter(r -> r != null && r.getResumeId() != null)
+                .toList();
+        if (valid.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        LabelIndex index = LabelIndex.of(resumeFieldDefinitionService.getFieldDefinitionsByCycleId(cycleId));
+        Map<Integer, List<ResumeFieldValue>> valuesByResume = loadFieldValues(
+                valid.stream().map(Resume::getResumeId).collect(Collectors.toCollection(LinkedHashSet::new)),
+                index.fieldIds());
+
+        Map<Integer, Map<Integer, List<String>>> rawByResume = new HashMap<>();
+        for (Map.Entry<Integer, List<ResumeFieldValue>> entry : valuesByResume.entrySet()) {
+            Map<Integer, List<String>> byField = new HashMap<>();
+            for (ResumeFieldValue value : entry.getValue()) {
+                byField.computeIfAbsent(value.getFieldId(), k -> new ArrayList<>()).add(value.getFieldValue());
+            }
+            rawByResume.put(entry.getKey(), byField);
+        }
+
+        // 简历里没填姓名/邮箱的，统一回退到用户表，一次查完
+        Set<Integer> fallbackUserIds = new HashSet<>();
+        for (Resume resume : valid) {
+            Map<Integer, List<String>> raw = rawByResume.getOrDefault(resume.getResumeId(), Map.of());
+            if (isBlank(first(raw, index.nameFieldId)) || isBlank(first(raw, index.emailFieldId))) {
+                if (resume.getUserId() != null) {
+                    fallbackUserIds.add(resume.getUserId());
+                }
+            }
+        }
+        Map<Integer, User> fallbackUsers = loadUsers(fallbackUserIds);
+
+        Map<Integer, ResumeProjection> result = new HashMap<>(valid.size() * 2);
+        for (Resume resume : valid) {
+            Map<Integer, List<String>> raw = rawByResume.getOrDefault(resume.getResumeId(), Map.of());
+            User user = resume.getUserId() == null ? null : fallbackUsers.get(resume.getUserId());
+            result.put(resume.getResumeId(), build(resume, raw, index, user));
+        }
+        return result;
+    }
+
+    @Override
+    public ResumeProjection project(Resume resume) {
+        if (resume == null || resume.getResumeId() == null) {
+            return null;
+        }
+        return project(resume.getCycleId(), List.of(resume)).get(resume.getResumeId());
+    }
+
+    private ResumeProjection build(Resume resume, Map<Integer, List<String>> raw, LabelIndex index, User user) {
+        String name = first(raw, index.nameFieldId);
+        if (isBlank(name)) {
+            name = user != null && user.getName() != null ? user.getName() : "";
+        }
+        String email = first(raw, index.emailFieldId);
+        if (isBlank(email)) {
+            email = user != null && user.getEmail() != null ? user.getEmail() : "";
+        }
+        String major = first(raw, index.majorFieldId);
+        String grade = first(raw, index.gradeFieldId);
+
+        List<String> departments = new ArrayList<>();
+        for (String value : all(raw, index.departmentsFieldId)) {
+            departments.addAll(ResumeFieldValueParser.parseDepartments(objectMapper, value));
+        }
+        List<String> preferredTimes = new ArrayList<>();
+        for (String value : all(raw, index.interviewTimeFieldId)) {
+            preferredTimes.addAll(ResumeFieldValueParser.parsePreferredTimes(objectMapper, value));
+        }
+
+        return new ResumeProjection(
+                resume.getResumeId(),
+                resume.getUserId(),
+                resume.getCycleId(),
+                name,
+                email,
+                isBlank(major) ? "" : major,
+                isBlank(grade) ? "" : grade,
+                Collections.unmodifiableList(departments),
+                Collections.unmodifiableList(preferredTimes));
+    }
+
+    @Override
+    public Map<Integer, List<ResumeFieldValue>> loadFieldValues(Collection<Integer> resumeIds, Set<Integer> fieldIds) {
+        if (resumeIds.isEmpty() || fieldIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, List<ResumeFieldValue>> byResume = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(resumeIds);
+        for (int from = 0; from < ids.size(); from += IN_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CHUNK_SIZE));
+            for (ResumeFieldValue value : resumeFieldValueMapper.findByResumeIdsAndFieldIds(chunk, fieldIds)) {
+                if (value.getResumeId() == null || value.getFieldId() == null) {
+                    continue;
+                }
+                byResume.computeIfAbsent(value.getResumeId(), k -> new ArrayList<>()).add(value);
+            }
+        }
+        return byResume;
+    }
+
+    private Map<Integer, User> loadUsers(Set<Integer> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, User> byId = new HashMap<>();
+        for (User user : userService.listByIds(userIds)) {
+            byId.put(user.getUserId(), user);
+        }
+        return byId;
+    }
+
+    private static String first(Map<Integer, List<String>> raw, Integer fieldId) {
+        if (fieldId == null) {
+            return null;
+        }
+        List<String> values = raw.get(fieldId);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static List<String> all(Map<Integer, List<String>> raw, Integer fieldId) {
+        if (fieldId == null) {
+            return List.of();
+        }
+        return raw.getOrDefault(fieldId, List.of());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    /**
+     * 周期内常用标签 -> fieldId。同一标签配了多个字段时取排在前面的那个，与原来 findFirst 的口径一致。
+     */
+    private static final class LabelIndex {
+        private Integer nameFieldId;
+        private Integer emailFieldId;
+        private Integer majorFieldId;
+        private Integer gradeFieldId;
+        private Integer departmentsFieldId;
+        private Integer interviewTimeFieldId;
+
+        static LabelIndex of(List<ResumeFieldDefinition> definitions) {
+            LabelIndex index = new LabelIndex();
+            if (definitions == null) {
+                return index;
+            }
+            for (ResumeFieldDefinition def : definitions) {
+                String label = def.getFieldLabel();
+                Integer id = def.getFieldId();
+                if (label == null || id == null) {
+                    continue;
+                }
+                switch (label) {
+                    case LABEL_NAME -> index.nameFieldId = Objects.requireNonNullElse(index.nameFieldId, id);
+                    case LABEL_EMAIL -> index.emailFieldId = Objects.requireNonNullElse(index.emailFieldId, id);
+                    case LABEL_MAJOR -> index.majorFieldId = Objects.requireNonNullElse(index.majorFieldId, id);
+                    case LABEL_GRADE, LABEL_GRADE_ALIAS ->
+                            index.gradeFieldId = Objects.requireNonNullElse(index.gradeFieldId, id);
+                    case LABEL_EXPECTED_DEPARTMENTS ->
+                            index.departmentsFieldId = Objects.requireNonNullElse(index.departmentsFieldId, id);
+                    case LABEL_INTERVIEW_TIME ->
+                            index.interviewTimeFieldId = Objects.requireNonNullElse(index.interviewTimeFieldId, id);
+                    default -> {
+                    }
+                }
+            }
+            return index;
+        }
+
+        Set<Integer> fieldIds() {
+            Set<Integer> ids = new HashSet<>();
+            for (Integer id : new Integer[]{nameFieldId, emailFieldId, majorFieldId, gradeFieldId,
+                    departmentsFieldId, interviewTimeFieldId}) {
+                if (id != null) {
+                    ids.add(id);
+                }
+            }
+            return ids;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package club.boyuan.official.domain.resume.service.impl;
 
 import club.boyuan.official.persistence.mapper.RecruitmentCycleMapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import club.boyuan.official.common.dto.PageResultDTO;
 import club.boyuan.official.domain.resume.dto.ResumeDTO;
@@ -15,6 +16,9 @@ import club.boyuan.official.persistence.mapper.ResumeFieldValueMapper;
 import club.boyuan.official.persistence.mapper.ResumeMapper;
 import club.boyuan.official.domain.resume.service.IResumeFieldDefinitionService;
 import club.boyuan.official.domain.resume.service.IResumeService;
+import club.boyuan.official.domain.resume.service.ResumeProjectionService;
+import club.boyuan.official.common.utils.ExcelExportUtil;
+import club.boyuan.official.common.utils.KeysetPageIterator;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +26,7 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -40,11 +45,26 @@ public class ResumeServiceImpl implements IResumeService {
     private final ResumeFieldValueMapper resumeFieldValueMapper;
     private final IResumeFieldDefinitionService fieldDefinitionService;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final ResumeProjectionService resumeProjectionService;
     
     // Redis缓存键前缀
     private static final String RESUME_CACHE_PREFIX = "resumes:cycle:";
     private static final String QUERY_RESUME_CACHE_PREFIX = "resumes:query:";
     private static final long CACHE_EXPIRE_TIME = 300; // 缓存过期时间(秒)
+    private static final int EXPORT_PAGE_SIZE = 500; // 导出每页简历数
+
+    @Override
+    public int exportResumesToExcel(Integer cycleId, OutputStream out) {
+        KeysetPageIterator<Resume> pages = new KeysetPageIterator<>(EXPORT_PAGE_SIZE,
+                (afterId, limit) -> resumeMapper.selectList(new LambdaQueryWrapper<Resume>()
+                        .eq(Resume::getCycleId, cycleId)
+                        .gt(Resume::getResumeId, afterId)
+                        .orderByAsc(Resume::getResumeId)
+                        .last("LIMIT " + limit)),
+                Resume::getResumeId);
+        return ExcelExportUtil.exportResumesToExcel(pages,
+                page -> resumeProjectionService.project(cycleId, page), out);
+    }
 
     @Override
     public Resume getResumeByUserIdAndCycleId(Integer userId, Integer cycleId) {
@@ -231,6 +251,9 @@ public class ResumeServiceImpl implements IResumeService {
         logger.debug("根据简历ID{}获取字段值及定义信息", resumeId);
         try {
             List<ResumeFieldValue> fieldValues = resumeFieldValueMapper.findByResumeId(resumeId);
+            // 一次批量取回本简历用到的字段定义，不再逐个值走单点缓存
+            java.util.Map<Integer, ResumeFieldDefinition> defs = fieldDefinitionService.getFieldDefinitionsByIds(
+                    fieldValues.stream().map(ResumeFieldValue::getFieldId).collect(Collectors.toSet()));
             
             return fieldValues.stream().map(fieldValue -> {
                 ResumeFieldValueDTO dto = new ResumeFieldValueDTO();
@@ -242,9 +265,7 @@ public class ResumeServiceImpl implements IResumeService {
                 dto.setUpdatedAt(fieldValue.getUpdatedAt());
                 
                 if (fieldValue.getFieldId() != null) {
-                    ResumeFieldDefinition fieldDefinition =
-                            fieldDefinitionService.getFieldDefinitionById(fieldValue.getFieldId());
-                    applyFieldDefinitionToValueDto(dto, fieldDefinition);
+                    applyFieldDefinitionToValueDto(dto, defs.get(fieldValue.getFieldId()));
                 }
 
                 return dto;
@@ -33,6 +33,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -312,6 +313,7 @@ public class UserController {
     /**
      * 导出用户数据为Excel格式（仅管理员可用）。
      * 认证与管理员鉴权由 {@link PreAuthorize} + JwtAuthenticationFilter 统一保证，此处不再手动校验令牌。
+     * 用户按页读取、按行写入响应流，不再先全量加载再生成字节数组；文件大小事先未知，不设 Content-Length。
      * @param response HTTP响应
      */
     @PreAuthorize("hasRole('ADMIN')")
@@ -320,17 +322,14 @@ public class UserController {
         try {
             User currentUser = getCurrentUserEntity();
 
-            // 获取所有用户
-            List<User> users = userService.getAllUsers(currentUser);
-            if (users == null || users.isEmpty()) {
+            // 按页惰性读取用户；先看第一页是否为空
+            Iterator<List<User>> userPages = userService.exportUserPages(currentUser);
+            if (!userPages.hasNext()) {
                 logger.warn("管理员{}尝试导出用户数据，但用户列表为空", currentUser.getUsername());
                 response.sendError(HttpServletResponse.SC_NOT_FOUND, "没有可导出的用户数据");
                 return;
             }
 
-            // 生成Excel
-            byte[] excelBytes = ExcelExportUtil.exportUsersToExcel(users);
-
             // 生成带时间戳的文件名，并进行URL编码
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
             String filename = URLEncoder.encode("用户列表_" + timestamp + ".xlsx", StandardCharsets.UTF_8);
@@ -338,13 +337,11 @@ public class UserController {
             // 设置响应头
             response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
             response.setHeader("Content-Disposition", "attachment; filename*=UTF-8''" + filename);
-            response.setContentLength(excelBytes.length);
 
-            // 写入响应
-            response.getOutputStream().write(excelBytes);
-            response.getOutputStream().flush();
+            // 边读边写入响应
+            int exported = ExcelExportUtil.exportUsersToExcel(userPages, response.getOutputStream());
 
-            logger.info("管理员{}成功导出{}个用户为Excel", currentUser.getUsername(), users.size());
+            logger.info("管理员{}成功导出{}个用户为Excel", currentUser.getUsername(), exported);
         } catch (Exception e) {
             logger.error("导出用户为Excel失败", e);
             try {
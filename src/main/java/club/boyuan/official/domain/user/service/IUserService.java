@@ -7,6 +7,7 @@ import club.boyuan.official.common.exception.BusinessException;
 import com.baomidou.mybatisplus.extension.service.IService;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +18,12 @@ public interface IUserService extends IService<User> {
     User edit(UserDTO user);
     void deleteUserById(Integer userId);
     List<User> getAllUsers(User currentUser);
+
+    /**
+     * 导出用：与 {@link #getAllUsers} 同样的可见范围，但按 user_id keyset 分页惰性读取，
+     * 调用方每次只持有一页。
+     */
+    Iterator<List<User>> exportUserPages(User currentUser);
     User getUserByUsername(String username);
     User getUserByEmail(String email);
     User getUserByPhone(String phone);
@@ -51,6 +51,13 @@ public interface UserRoleService extends IService<UserRole> {
      * @throws BusinessException 业务异常
      */
     List<Role> getRolesByUserId(int userId) throws BusinessException;
+
+    /**
+     * 获取用户的角色ID列表，只查 user_role，不校验用户是否存在
+     * @param userId 用户ID
+     * @return 角色ID列表
+     */
+    List<Integer> getRoleIdsByUserId(int userId);
     
     /**
      * 获取拥有指定角色的用户列表
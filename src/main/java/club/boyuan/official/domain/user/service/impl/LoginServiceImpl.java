@@ -6,26 +6,21 @@ import club.boyuan.official.persistence.entity.User;
 import club.boyuan.official.domain.user.service.ILoginService;
 import club.boyuan.official.domain.user.service.IUserService;
 import club.boyuan.official.domain.user.service.IVerificationCodeService;
-import club.boyuan.official.domain.user.service.PermissionService;
-import club.boyuan.official.domain.user.service.RolePermissionService;
 import club.boyuan.official.domain.user.service.UserRoleService;
+import club.boyuan.official.domain.user.service.impl.RolePermissionSnapshotCache.RoleGrants;
 import club.boyuan.official.common.utils.JwtTokenUtil;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
+import club.boyuan.official.infra.security.PasswordHasher;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import club.boyuan.official.persistence.entity.Role;
-import club.boyuan.official.persistence.entity.Permission;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 /**
  * 登录服务实现类
@@ -35,6 +30,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 @AllArgsConstructor
 public class LoginServiceImpl implements ILoginService {
 
+    private static final Logger logger = LoggerFactory.getLogger(LoginServiceImpl.class);
+
     /**
      * 用户服务，用于获取用户信息
      */
@@ -46,14 +43,9 @@ public class LoginServiceImpl implements ILoginService {
     private final UserRoleService userRoleService;
 
     /**
-     * 角色权限服务，用于获取角色和权限信息
-     */
-    private final RolePermissionService rolePermissionService;
-
-    /**
-     * 权限服务，用于获取权限信息
+     * 角色→权限码快照，登录时据此把角色ID解析成角色名和权限码
      */
-    private final PermissionService permissionService;
+    private final RolePermissionSnapshotCache rolePermissionSnapshotCache;
 
     /**
      * JWT工具类，用于生成和验证令牌
@@ -71,7 +63,10 @@ public class LoginServiceImpl implements ILoginService {
      */
     private final RedisTemplate<String, String> redisTemplate;
 
-    private final BCryptPasswordEncoder passwordEncoder;
+    /**
+     * 密码哈希，在专用线程池里计算
+     */
+    private final PasswordHasher passwordHasher;
 
     /**
      * 通过邮箱和密码登录
@@ -82,9 +77,10 @@ public class LoginServiceImpl implements ILoginService {
     @Override
     public ResponseMessage<?> loginByEmailPassword(String email, String password) {
         User user = userService.getUserByEmail(email);
-        if (user == null || !passwordEncoder.matches(password, user.getPassword())) {
+        if (user == null || !passwordHasher.matches(password, user.getPassword())) {
             return ResponseMessage.error(401, "邮箱或密码错误");
         }
+        upgradePasswordHashIfNeeded(user, password);
         return generateLoginSuccessResponse(user);
     }
 
@@ -115,9 +111,10 @@ public class LoginServiceImpl implements ILoginService {
     @Override
     public ResponseMessage<?> loginByPhonePassword(String phone, String password) {
         User user = userService.getUserByPhone(phone);
-        if (user == null || !passwordEncoder.matches(password, user.getPassword())) {
+        if (user == null || !passwordHasher.matches(password, user.getPassword())) {
             return ResponseMessage.error(401, "手机号或密码错误");
         }
+        upgradePasswordHashIfNeeded(user, password);
         return generateLoginSuccessResponse(user);
     }
 
@@ -148,12 +145,36 @@ public class LoginServiceImpl implements ILoginService {
     @Override
     public ResponseMessage<?> loginByUsernamePassword(String username, String password) {
         User user = userService.getUserByUsername(username);
-        if (user == null || !passwordEncoder.matches(password, user.getPassword())) {
+        if (user == null || !passwordHasher.matches(password, user.getPassword())) {
             return ResponseMessage.error(401, "用户名或密码错误");
         }
+        upgradePasswordHashIfNeeded(user, password);
         return generateLoginSuccessResponse(user);
     }
 
+    /**
+     * 成本因子调高后，用户登录成功时顺手按新成本重算哈希。后台完成，不拖慢本次登录；
+     * 以旧哈希为条件更新，期间改过密码的不会被覆盖。线程池饱和时本次跳过，下次登录再升级。
+     * @param user 登录用户
+     * @param rawPassword 本次校验通过的明文密码
+     */
+    private void upgradePasswordHashIfNeeded(User user, String rawPassword) {
+        String current = user.getPassword();
+        if (!passwordHasher.needsUpgrade(current)) {
+            return;
+        }
+        Integer userId = user.getUserId();
+        passwordHasher.encodeAsync(rawPassword)
+            .thenAccept(upgraded -> userService.update(new LambdaUpdateWrapper<User>()
+                .set(User::getPassword, upgraded)
+                .eq(User::getUserId, userId)
+                .eq(User::getPassword, current)))
+            .exceptionally(ex -> {
+                logger.debug("密码哈希升级跳过，用户ID: {}", userId, ex);
+                return null;
+            });
+    }
+
     /**
      * 生成登录成功响应
      * @param user 登录用户信息
@@ -164,29 +185,14 @@ public class LoginServiceImpl implements ILoginService {
         if (user.getStatus() != 1) {
             return ResponseMessage.error(403, "账号已被冻结，无法登录");
         }
-        // 获取用户角色列表
-        List<Role> roles = userRoleService.getRolesByUserId(user.getUserId());
-        List<String> roleNames = roles.stream()
-            .map(Role::getRoleName)
-            .collect(Collectors.toList());
-        
-        // 获取用户权限列表
-        List<Integer> permissionIds = new ArrayList<>();
-        for (Role role : roles) {
-            permissionIds.addAll(rolePermissionService
-                .getPermissionIdsByRoleId(role.getRoleId()));
-        }
-        // 将权限id去重，转换为权限码
-        List<String> permissionCodes = permissionIds.stream()
-            .distinct() // 去重
-            .map(code -> permissionService
-                .getPermissionById(code)
-                .getPermissionCode())
-            .collect(Collectors.toList());
+        // 只查一次 user_role，角色名与去重后的权限码从快照解析
+        List<Integer> roleIds = userRoleService.getRoleIdsByUserId(user.getUserId());
+        RoleGrants grants = rolePermissionSnapshotCache.resolve(roleIds);
 
-        user.setRoles(roles);
+        user.setRoles(grants.roles());
 
-        String token = jwtTokenUtil.generateToken(user.getUsername(), user.getUserId(), roleNames, permissionCodes);
+        String token = jwtTokenUtil.generateToken(user.getUsername(), user.getUserId(),
+                grants.roleNames(), grants.permissionCodes());
         return ResponseMessage.success(new TokenVO(token));
     }
 
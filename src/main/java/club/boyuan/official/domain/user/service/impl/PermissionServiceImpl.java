@@ -37,6 +37,8 @@ public class PermissionServiceImpl extends ServiceImpl<PermissionMapper, Permiss
 
     private final PermissionConverter permissionConverter;
 
+    private final RolePermissionSnapshotCache rolePermissionSnapshotCache;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public PermissionDTO createPermission(PermissionDTO permissionDTO) throws BusinessException {
@@ -64,6 +66,7 @@ public class PermissionServiceImpl extends ServiceImpl<PermissionMapper, Permiss
         
         // 保存权限
         permissionMapper.insert(permission);
+        rolePermissionSnapshotCache.invalidate();
         logger.info("成功创建权限，权限ID: {}, 权限名称: {}", permission.getPermissionId(), permission.getPermissionName());
         
         // 转换实体为DTO并返回
@@ -97,6 +100,7 @@ public class PermissionServiceImpl extends ServiceImpl<PermissionMapper, Permiss
         
         // 更新权限
         permissionMapper.updateById(permission);
+        rolePermissionSnapshotCache.invalidate();
         logger.info("成功更新权限，权限ID: {}, 权限名称: {}", permission.getPermissionId(), permission.getPermissionName());
         
         // 转换实体为DTO并返回
@@ -119,6 +123,7 @@ public class PermissionServiceImpl extends ServiceImpl<PermissionMapper, Permiss
         
         // 删除权限
         int result = permissionMapper.deleteById(permissionId);
+        rolePermissionSnapshotCache.invalidate();
         boolean success = result > 0;
         if (success) {
             logger.info("成功删除权限，权限ID: {}, 权限名称: {}", permissionId, permission.getPermissionName());
@@ -32,6 +32,8 @@ public class RolePermissionServiceImpl extends ServiceImpl<RolePermissionMapper,
 
     private RoleMapper roleMapper;
 
+    private final RolePermissionSnapshotCache rolePermissionSnapshotCache;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public boolean assignPermissions(int roleId, List<Integer> permissionIds) throws BusinessException {
@@ -58,7 +60,9 @@ public class RolePermissionServiceImpl extends ServiceImpl<RolePermissionMapper,
             rolePermissions.add(rolePermission);
         }
 
-        return saveBatch(rolePermissions);
+        boolean saved = saveBatch(rolePermissions);
+        rolePermissionSnapshotCache.invalidate();
+        return saved;
     }
 
     @Override
@@ -79,6 +83,7 @@ public class RolePermissionServiceImpl extends ServiceImpl<RolePermissionMapper,
                 .eq(RolePermission::getRoleId, roleId)
                 .in(RolePermission::getPermissionId, permissionIds));
 
+        rolePermissionSnapshotCache.invalidate();
         return result > 0;
     }
 
@@ -89,7 +94,9 @@ public class RolePermissionServiceImpl extends ServiceImpl<RolePermissionMapper,
             throw new BusinessException(BusinessExceptionEnum.MISSING_REQUIRED_FIELD, "角色权限关系列表不能为空");
         }
 
-        return saveBatch(rolePermissions);
+        boolean saved = saveBatch(rolePermissions);
+        rolePermissionSnapshotCache.invalidate();
+        return saved;
     }
 
     @Override
@@ -133,7 +140,9 @@ public class RolePermissionServiceImpl extends ServiceImpl<RolePermissionMapper,
         RolePermission rolePermission = new RolePermission();
         rolePermission.setRoleId(roleId);
         rolePermission.setPermissionId(permissionId);
-        return save(rolePermission);
+        boolean saved = save(rolePermission);
+        rolePermissionSnapshotCache.invalidate();
+        return saved;
     }
 
     @Override
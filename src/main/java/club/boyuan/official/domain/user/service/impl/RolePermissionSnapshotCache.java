@@ -0,0 +1,167 @@
+package club.boyuan.official.domain.user.service.impl;
+
+import club.boyuan.official.persistence.entity.Permission;
+import club.boyuan.official.persistence.entity.Role;
+import club.boyuan.official.persistence.entity.RolePermission;
+import club.boyuan.official.persistence.mapper.PermissionMapper;
+import club.boyuan.official.persistence.mapper.RoleMapper;
+import club.boyuan.official.persistence.mapper.RolePermissionMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 角色 → 权限码整张关系图的本地快照。
+ *
+ * 角色、权限加起来只有几百行，却在每次登录签发令牌时被逐个角色、逐个权限查询。
+ * 这里三条查询整体加载，登录只剩一次 user_role 查询。角色、权限或角色权限关系变更后本机立即失效，
+ * 再经 Redis Pub/Sub 通知其它实例失效；广播丢失时靠 TTL 兜底。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RolePermissionSnapshotCache implements MessageListener {
+
+    public static final String REDIS_TOPIC = "official:role-permission:invalidate";
+
+    private static final long TTL_MS = Duration.ofMinutes(10).toMillis();
+
+    private final RoleMapper roleMapper;
+    private final PermissionMapper permissionMapper;
+    private final RolePermissionMapper rolePermissionMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /** 每次失效都 +1；加载前后版本不一致说明期间有修改，结果不入缓存 */
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    void subscribeRedis() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(REDIS_TOPIC));
+    }
+
+    /**
+     * 按角色ID解析角色与去重后的权限码。不存在的角色、已删除的权限直接跳过。
+     */
+    public RoleGrants resolve(Collection<Integer> roleIds) {
+        Snapshot current = current();
+        List<Role> roles = new ArrayList<>();
+        Set<String> codes = new LinkedHashSet<>();
+        for (Integer roleId : roleIds) {
+            Role role = current.roles.get(roleId);
+            if (role == null) {
+                continue;
+            }
+            roles.add(role);
+            codes.addAll(current.codesByRole.getOrDefault(roleId, List.of()));
+        }
+        List<String> roleNames = roles.stream().map(Role::getRoleName).toList();
+        return new RoleGrants(roles, roleNames, List.copyOf(codes));
+    }
+
+    /**
+     * 失效快照并广播。在事务里调用时推迟到提交之后，避免重建时读到未提交前的旧数据。
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateLocal();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateLocal();
+                    broadcast();
+                }
+            });
+            return;
+        }
+        invalidateLocal();
+        broadcast();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidateLocal();
+    }
+
+    private Snapshot current() {
+        Snapshot cached = snapshot;
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt < TTL_MS) {
+            return cached;
+        }
+        synchronized (this) {
+            cached = snapshot;
+            if (cached != null && System.currentTimeMillis() - cached.loadedAt < TTL_MS) {
+                return cached;
+            }
+            long before = version.get();
+            Snapshot loaded = load();
+            if (version.get() == before) {
+                snapshot = loaded;
+            }
+            return loaded;
+        }
+    }
+
+    private Snapshot load() {
+        Map<Integer, Role> roles = new HashMap<>();
+        for (Role role : roleMapper.selectList(null)) {
+            roles.put(role.getRoleId(), role);
+        }
+        Map<Integer, String> codeById = new HashMap<>();
+        for (Permission permission : permissionMapper.selectList(null)) {
+            codeById.put(permission.getPermissionId(), permission.getPermissionCode());
+        }
+        Map<Integer, List<String>> codesByRole = new HashMap<>();
+        for (RolePermission relation : rolePermissionMapper.selectList(null)) {
+            String code = codeById.get(relation.getPermissionId());
+            if (code != null) {
+                codesByRole.computeIfAbsent(relation.getRoleId(), k -> new ArrayList<>()).add(code);
+            }
+        }
+        log.debug("角色权限快照已加载: 角色 {} 个, 权限 {} 个", roles.size(), codeById.size());
+        return new Snapshot(roles, codesByRole, System.currentTimeMillis());
+    }
+
+    private void invalidateLocal() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private void broadcast() {
+        try {
+            stringRedisTemplate.convertAndSend(REDIS_TOPIC, String.valueOf(version.get()));
+        } catch (Exception e) {
+            // 广播失败只影响其它实例，TTL 到期后自然恢复
+            log.warn("广播角色权限快照失效失败", e);
+        }
+    }
+
+    private record Snapshot(Map<Integer, Role> roles, Map<Integer, List<String>> codesByRole, long loadedAt) {
+    }
+
+    /**
+     * 一个用户的角色与权限码。角色实体是快照里共享的，调用方只读不改。
+     */
+    public record RoleGrants(List<Role> roles, List<String> roleNames, List<String> permissionCodes) {
+    }
+}
@@ -41,6 +41,8 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
 
     private final PermissionConverter permissionConverter;
 
+    private final RolePermissionSnapshotCache rolePermissionSnapshotCache;
+
     @Override
     public RoleDTO createRole(RoleDTO roleDTO) throws BusinessException {
         // 参数校验
@@ -66,6 +68,7 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
         
         // 插入数据
         baseMapper.insert(role);
+        rolePermissionSnapshotCache.invalidate();
         
         // 转换实体为DTO并返回
         return roleConverter.toDto(role);
@@ -92,6 +95,7 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
         
         // 更新数据
         baseMapper.updateById(role);
+        rolePermissionSnapshotCache.invalidate();
         
         // 转换实体为DTO并返回
         Role updatedRole = baseMapper.selectById(role.getRoleId());
@@ -117,6 +121,7 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
         updateRole.setUpdateTime(LocalDateTime.now());
         
         int result = baseMapper.updateById(updateRole);
+        rolePermissionSnapshotCache.invalidate();
         return result > 0;
     }
     
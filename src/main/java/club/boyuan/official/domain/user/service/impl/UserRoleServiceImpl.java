@@ -161,11 +161,7 @@ public class UserRoleServiceImpl extends ServiceImpl<UserRoleMapper, UserRole> i
         }
         
         // 查询用户的角色ID列表
-        List<Integer> roleIds = userRoleMapper.selectList(new LambdaQueryWrapper<UserRole>()
-                .eq(UserRole::getUserId, userId))
-                .stream()
-                .map(UserRole::getRoleId)
-                .toList();
+        List<Integer> roleIds = getRoleIdsByUserId(userId);
         
         if (roleIds.isEmpty()) {
             return List.of();
@@ -177,6 +173,16 @@ public class UserRoleServiceImpl extends ServiceImpl<UserRoleMapper, UserRole> i
         return roles;
     }
 
+    @Override
+    public List<Integer> getRoleIdsByUserId(int userId) {
+        return userRoleMapper.selectList(new LambdaQueryWrapper<UserRole>()
+                .select(UserRole::getRoleId)
+                .eq(UserRole::getUserId, userId))
+                .stream()
+                .map(UserRole::getRoleId)
+                .toList();
+    }
+
     @Override
     public List<User> getUsersByRoleId(int roleId, int page, int size) throws BusinessException {
         if (roleId <= 0) {
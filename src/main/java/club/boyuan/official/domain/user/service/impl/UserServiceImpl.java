@@ -2,6 +2,7 @@ package club.boyuan.official.domain.user.service.impl;
 
 import club.boyuan.official.common.converter.UserConverter;
 import club.boyuan.official.common.dto.PageResultDTO;
+import club.boyuan.official.domain.evaluation.EvaluationCandidateSummaryUpdater;
 import club.boyuan.official.domain.user.dto.UserDTO;
 import club.boyuan.official.persistence.entity.Resume;
 import club.boyuan.official.persistence.entity.User;
@@ -22,17 +23,19 @@ import club.boyuan.official.persistence.mapper.RoleMapper;
 import club.boyuan.official.domain.user.service.IUserService;
 import club.boyuan.official.common.utils.GitHubAccountUtil;
 import club.boyuan.official.common.utils.JwtTokenUtil;
+import club.boyuan.official.common.utils.KeysetPageIterator;
 import club.boyuan.official.common.utils.PasswordValidator;
+import club.boyuan.official.infra.security.PasswordHasher;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
@@ -44,6 +47,8 @@ import club.boyuan.official.common.utils.PermissionUtils;
 public class UserServiceImpl extends ServiceImpl<UserMapper, User>implements IUserService  {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+    /** 用户导出每页行数 */
+    private static final int EXPORT_PAGE_SIZE = 1000;
 
     private final UserMapper userMapper;
     private final AwardExperienceMapper awardExperienceMapper;
@@ -52,7 +57,8 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>implements IUs
     private final UserRoleMapper userRoleMapper;
     private final RoleMapper roleMapper;
     private final EvaluationSubmissionMapper evaluationSubmissionMapper;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final EvaluationCandidateSummaryUpdater summaryUpdater;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenUtil jwtTokenUtil;
     private final UserConverter userConverter;
 
@@ -91,7 +97,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>implements IUs
 
         User user = userConverter.toEntity(userDTO);
         // 使用BCrypt加密密码
-        String encodedPassword = passwordEncoder.encode(user.getPassword());
+        String encodedPassword = passwordHasher.encode(user.getPassword());
         user.setPassword(encodedPassword);
         user.setRole("APPLICANT");
         userMapper.insert(user);
@@ -103,6 +109,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>implements IUs
     }
 
     @Override
+    @Transactional
     public User edit(UserDTO userDTO) {
         User user = userMapper.selectById(userDTO.getUserId());
         if (user == null) {
@@ -118,7 +125,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>implements IUs
         if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
             logger.debug("检测到密码更新请求，用户ID: {}", userDTO.getUserId());
             PasswordValidator.validate(userDTO.getPassword());
-            String encodedPassword = passwordEncoder.encode(userDTO.getPassword());
+            String encodedPassword = passwordHasher.encode(userDTO.getPassword());
             user.setPassword(encodedPassword);
             logger.info("用户密码更新成功，用户ID: {}", userDTO.getUserId());
         } else {
@@ -168,10 +175,14 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>implements IUs
                 // 回填认领:该 github 的历史未认领提交归属到用户
                 EvaluationSubmission patch = new EvaluationSubmission();
                 patch.setUserId(userDTO.getUserId());
-                evaluationSubmissionMapper.update(patch, new LambdaUpdateWrapper<EvaluationSubmission>()
+                int claimed = evaluationSubmissionMapper.update(patch, new LambdaUpdateWrapper<EvaluationSubmission>()
                         .eq(EvaluationSubmission::getGithubUsername, normalizedGithub)
                         .isNull(EvaluationSubmission::getUserId));
-                logger.info("绑定 GitHub {} 后回填认领未认领提交,用户ID: {}", normalizedGithub, userDTO.getUserId());
+                if (claimed > 0) {
+                    // 与逐条认领一致:提交从「未认领」行挪到用户行,按 github 整体重算汇总
+                    summaryUpdater.refresh(normalizedGithub);
+                }
+                logger.info("绑定 GitHub {} 后回填认领 {} 条未认领提交,用户ID: {}", normalizedGithub, claimed, userDTO.getUserId());
             }
         }
         if (userDTO.getAvatar() != null) {
@@ -202,7 +213,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>implements IUs
         // 验证密码复杂度
         PasswordValidator.validate(newPassword);
         // 使用BCrypt加密密码
-        String encodedPassword = passwordEncoder.encode(newPassword);
+        String encodedPassword = passwordHasher.encode(newPassword);
         user.setPassword(encodedPassword);
         userMapper.updateById(user);
         logger.info("用户ID为{}的用户密码更新成功", userId);
@@ -522,7 +533,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>implements IUs
 
         User user = userConverter.toEntity(userDTO);
         // 使用BCrypt加密密码
-        String encodedPassword = passwordEncoder.encode(user.getPassword());
+        String encodedPassword = passwordHasher.encode(user.getPassword());
         user.setPassword(encodedPassword);
         user.setRole("APPLICANT");
         userMapper.insert(user);
@@ -535,18 +546,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>implements IUs
 
     @Override
     public List<User> getAllUsers(User currentUser) {
-        if (currentUser == null) {
-            throw new BusinessException(BusinessExceptionEnum.MISSING_REQUIRED_FIELD);
-        }
-        // 管理员可以查看所有用户，普通用户只能查看自己
-        boolean hasManagePermission = false;
-        if (SecurityContextHolder.getContext().getAuthentication() != null) {
-            hasManagePermission = SecurityContextHolder.getContext().getAuthentication()
-                    .getAuthorities().stream()
-                    .anyMatch(auth -> "admin:manage".equals(auth.getAuthority()));
-        }
-        
-        if (hasManagePermission) {
+        if (hasManagePermission(currentUser)) {
             // 移除过多的 debug 日志
             return userMapper.selectAll();
         } else {
@@ -555,6 +555,31 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>implements IUs
         }
     }
 
+    @Override
+    public Iterator<List<User>> exportUserPages(User currentUser) {
+        if (!hasManagePermission(currentUser)) {
+            return List.of(List.of(getUserById(currentUser.getUserId()))).iterator();
+        }
+        return new KeysetPageIterator<>(EXPORT_PAGE_SIZE,
+                (afterId, limit) -> lambdaQuery()
+                        .gt(User::getUserId, afterId)
+                        .orderByAsc(User::getUserId)
+                        .last("LIMIT " + limit)
+                        .list(),
+                User::getUserId);
+    }
+
+    /** 管理员可以查看所有用户，普通用户只能查看自己 */
+    private boolean hasManagePermission(User currentUser) {
+        if (currentUser == null) {
+            throw new BusinessException(BusinessExceptionEnum.MISSING_REQUIRED_FIELD);
+        }
+        return SecurityContextHolder.getContext().getAuthentication() != null
+                && SecurityContextHolder.getContext().getAuthentication()
+                .getAuthorities().stream()
+                .anyMatch(auth -> "admin:manage".equals(auth.getAuthority()));
+    }
+
     /**
      * 验证密码复杂度
      * 密码必须包含大小写字母、数字和特殊字符中的至少三种
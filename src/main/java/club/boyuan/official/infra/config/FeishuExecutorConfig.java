@@ -5,10 +5,14 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
- * 飞书「按地点分桶」并行写入用的线程池。
- * 线程数与 {@link FeishuProperties#getParallelBucketConcurrency()} 一致。
+ * 飞书写入用的线程池：
+ * <ul>
+ *   <li>{@code feishuBucketExecutor} — 「按地点分桶」并行，线程数与 {@link FeishuProperties#getParallelBucketConcurrency()} 一致</li>
+ *   <li>{@code feishuChunkExecutor} — 桶内分块并发写，所有桶共享，线程数与 {@link FeishuProperties#getWriteConcurrency()} 一致</li>
+ * </ul>
  */
 @Configuration
 public class FeishuExecutorConfig {
@@ -24,4 +28,18 @@ public class FeishuExecutorConfig {
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "feishuChunkExecutor")
+    public Executor feishuChunkExecutor(FeishuProperties feishuProperties) {
+        int concurrency = Math.max(1, feishuProperties.getWriteConcurrency());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("feishu-chunk-");
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency * 16);
+        // 排满时由提交的桶线程自己写这一块，不丢块也不抛 TaskRejectedException
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
@@ -30,6 +30,18 @@ public class FeishuProperties {
     /** 并行写入飞书的多地点（桶）并发数，注意飞书 API 频率限制 */
     private int parallelBucketConcurrency = 3;
 
+    /** 批量写入时同时在途的分块请求数（所有地点桶共享），实际速率仍受 apiQpsLimit 约束 */
+    private int writeConcurrency = 4;
+
+    /** 全应用飞书 API 调用速率上限（次/秒），所有线程共享一个令牌桶 */
+    private double apiQpsLimit = 20;
+
+    /** 被限流后自适应降速的下限（次/秒） */
+    private double apiQpsFloor = 1;
+
+    /** 令牌桶可攒的令牌数，空闲后允许的突发调用数 */
+    private int apiQpsBurst = 5;
+
     /** 飞书 API 失败后的最大重试次数（不含首次） */
     private int apiMaxRetries = 3;
 
@@ -0,0 +1,18 @@
+package club.boyuan.official.infra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 一键场次分配配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "interview.assignment")
+public class InterviewAssignmentProperties {
+
+    /** 默认求解器：min-cost-flow（整体最优）/ greedy（逐人贪心，作兜底） */
+    private String engine = "min-cost-flow";
+
+}
@@ -20,4 +20,13 @@ public class InterviewBookingSeckillProperties {
 
     /** 预约请求状态在 Redis 中的 TTL（小时） */
     private int requestStatusTtlHours = 24;
+
+    /** 受理路径上周期/时段/简历元数据的本地快照 TTL（秒）；过期后回源一次 DB */
+    private int metadataTtlSeconds = 10;
+
+    /** 落库消费者一批最多处理的消息数；置 1 即退化为逐条落库 */
+    private int consumerBatchSize = 50;
+
+    /** 凑批的最长等待（毫秒），不满一批时到点也会处理 */
+    private long consumerBatchLingerMs = 200;
 }
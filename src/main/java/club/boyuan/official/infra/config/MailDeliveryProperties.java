@@ -0,0 +1,38 @@
+package club.boyuan.official.infra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 通知邮件投递引擎配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mail-delivery")
+public class MailDeliveryProperties {
+
+    /** 常驻 SMTP 连接数（每个连接一个投递线程） */
+    private int poolSize = 4;
+
+    /** 单个连接最多连续发送的邮件数，达到后重连（多数服务商对单连接条数有上限） */
+    private int maxMessagesPerConnection = 100;
+
+    /** 连接空闲多久后主动断开（毫秒） */
+    private long idleCloseMs = 30_000L;
+
+    /** 对同一服务商每秒最多发送的邮件数，0 表示不限 */
+    private double ratePerSecond = 10;
+
+    /** 单封邮件最多尝试次数（含首次） */
+    private int maxAttempts = 4;
+
+    /** 首次重试等待（毫秒），之后每次翻倍 */
+    private long initialBackoffMs = 2_000L;
+
+    /** 待发队列上限，满了以后提交方等待 */
+    private int queueCapacity = 5_000;
+
+    /** 通知队列的 prefetch：即在途未确认的通知数上限 */
+    private int consumerPrefetch = 200;
+}
@@ -0,0 +1,25 @@
+package club.boyuan.official.infra.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Outbox 快速通道的投递线程。单线程按批抽取内存队列，批内投递本身是并发确认的。
+ */
+@Configuration
+public class OutboxExecutorConfig {
+
+    @Bean(name = "outboxFastPathExecutor")
+    public Executor outboxFastPathExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("outbox-fast-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(4);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -12,9 +12,28 @@ public class OutboxProperties {
     /** 是否启用 Outbox（false 时仍直接发 MQ，便于本地调试） */
     private boolean enabled = true;
 
+    /** 空闲时的最长轮询间隔；有积压时逐步缩短到 relayMinIntervalMs */
     private long relayIntervalMs = 1000L;
 
+    /** 有积压时的轮询间隔，也是调度 tick 的粒度 */
+    private long relayMinIntervalMs = 20L;
+
     private int batchSize = 50;
 
     private int maxRetries = 8;
+
+    /** 认领租约（秒）：到期未标记 SENT 的行会被重新认领，也是失败重试的最小间隔 */
+    private int leaseSeconds = 30;
+
+    /** 等待一批 publisher confirm 的超时（毫秒） */
+    private long confirmTimeoutMs = 5000L;
+
+    /** 事务提交后立即投递刚写入的记录；关闭后完全依赖 Relay 轮询 */
+    private boolean fastPathEnabled = true;
+
+    /** 快速通道待投递 ID 的内存队列上限，满了就交给 Relay 兜底 */
+    private int fastPathQueueCapacity = 10_000;
+
+    /** 开启快速通道时，Relay 只扫描创建超过该时长的记录，作为宕机/失败后的兜底 */
+    private long recoveryDelayMs = 3000L;
 }
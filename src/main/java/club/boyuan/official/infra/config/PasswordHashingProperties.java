@@ -0,0 +1,23 @@
+package club.boyuan.official.infra.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingProperties {
+
+    /** 哈希线程数，0 表示取 CPU 核数 */
+    private int threads = 0;
+
+    /** 排队上限，满了直接返回 429，不在 Tomcat 线程上堆积 */
+    private int queueCapacity = 64;
+
+    /** 请求线程等待一次哈希结果的上限（毫秒），超时同样按 429 处理 */
+    private long waitTimeoutMs = 3000L;
+
+    /** BCrypt 成本因子；调高后旧哈希会在用户下次登录成功时按新成本重算 */
+    private int bcryptStrength = 10;
+}
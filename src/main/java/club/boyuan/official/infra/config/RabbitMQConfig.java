@@ -1,12 +1,16 @@
 package club.boyuan.official.infra.config;
 
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 
 /**
  * RabbitMQ 配置：声明邮箱验证码队列，并统一使用 JSON 序列化消息体。
@@ -32,6 +36,12 @@ public class RabbitMQConfig {
     /** 飞书多维表格异步同步 */
     public static final String FEISHU_SYNC_QUEUE = "official.feishu.sync";
 
+    /** 预约落库批量消费者使用的容器工厂 */
+    public static final String INTERVIEW_BOOKING_BATCH_CONTAINER_FACTORY = "interviewBookingBatchContainerFactory";
+
+    /** 面试通知消费者使用的容器工厂（手动确认） */
+    public static final String INTERVIEW_NOTIFICATION_CONTAINER_FACTORY = "interviewNotificationContainerFactory";
+
     @Bean
     public Queue emailVerificationQueue() {
         return QueueBuilder.durable(EMAIL_VERIFICATION_QUEUE).build();
@@ -57,6 +67,42 @@ public class RabbitMQConfig {
         return QueueBuilder.durable(FEISHU_SYNC_QUEUE).build();
     }
 
+    /**
+     * 预约落库的批量监听：凑满 batch-size 或等满 linger 时间后一次性交给消费者。
+     * 其余设置沿用 spring.rabbitmq.listener.simple，prefetch 至少一批，否则永远凑不满。
+     */
+    @Bean(INTERVIEW_BOOKING_BATCH_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory interviewBookingBatchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            InterviewBookingSeckillProperties seckillProperties) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        int batchSize = Math.max(1, seckillProperties.getConsumerBatchSize());
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(Math.max(1L, seckillProperties.getConsumerBatchLingerMs()));
+        factory.setPrefetchCount(Math.max(batchSize, 250));
+        return factory;
+    }
+
+    /**
+     * 面试通知的监听：邮件交给投递引擎异步发送，发完才手动确认，
+     * prefetch 即在途邮件数上限，应用重启时未确认的通知会重新投递。
+     */
+    @Bean(INTERVIEW_NOTIFICATION_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory interviewNotificationContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            MailDeliveryProperties mailDeliveryProperties) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setPrefetchCount(Math.max(1, mailDeliveryProperties.getConsumerPrefetch()));
+        return factory;
+    }
+
     /**
      * 将消息对象序列化为 JSON，消费者才能反序列化为 {@link club.boyuan.official.messaging.EmailVerificationMessage}。
      */
@@ -15,5 +15,17 @@ public class RateLimitProperties {
 
     private boolean enabled = true;
 
+    /** 突发时本机一次从 Redis 租用的许可数 = limit / divisor，至少 1 */
+    private int localLeaseDivisor = 10;
+
+    /** 单次租用许可数上限 */
+    private int localLeaseMaxChunk = 20;
+
+    /** 租到的许可在本机的有效期（毫秒），到期未用完的在下次访问 Redis 时归还 */
+    private long localLeaseTtlMs = 1000L;
+
+    /** 本机桶数量上限，超过后清理空闲桶 */
+    private int localMaxBuckets = 50_000;
+
     private List<RateLimitRuleConfig> rules = new ArrayList<>();
 }
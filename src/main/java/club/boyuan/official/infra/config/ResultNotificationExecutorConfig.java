@@ -0,0 +1,26 @@
+package club.boyuan.official.infra.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 面试结果批量通知任务的执行线程。任务本身只做批量读库和投递 MQ，两个线程足够；
+ * 排队满了直接拒绝，由提交方提示稍后再试。
+ */
+@Configuration
+public class ResultNotificationExecutorConfig {
+
+    @Bean(name = "resultNotificationJobExecutor")
+    public Executor resultNotificationJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("result-notify-");
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(16);
+        executor.initialize();
+        return executor;
+    }
+}
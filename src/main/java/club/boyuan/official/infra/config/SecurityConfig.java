@@ -169,11 +169,11 @@ public class SecurityConfig {
     }
 
     /**
-     * 配置BCrypt密码编码器
+     * 配置BCrypt密码编码器，成本因子取自 {@link PasswordHashingProperties}
      * @return BCryptPasswordEncoder实例
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return new BCryptPasswordEncoder(passwordHashingProperties.getBcryptStrength());
     }
 }
\ No newline at end of file
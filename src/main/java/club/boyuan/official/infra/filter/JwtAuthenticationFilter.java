@@ -1,9 +1,12 @@
 package club.boyuan.official.infra.filter;
 
 import club.boyuan.official.common.dto.ResponseMessage;
+import club.boyuan.official.common.utils.JwtTokenUtil;
+import club.boyuan.official.infra.security.JwtRevocationRegistry;
+import club.boyuan.official.infra.security.VerifiedJwtCache;
+import club.boyuan.official.infra.security.VerifiedJwtCache.VerifiedToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.*;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,16 +16,12 @@ import org.springframework.stereotype.Component;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import club.boyuan.official.common.exception.BusinessException;
 import club.boyuan.official.common.exception.BusinessExceptionEnum;
 
 import java.io.IOException;
-import java.security.Key;
 import java.util.*;
 
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,18 +30,17 @@ public class JwtAuthenticationFilter implements Filter {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    @Value("${jwt.secret}")
-    private String secretKey;
-
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final JwtTokenUtil jwtTokenUtil;
+    private final VerifiedJwtCache verifiedJwtCache;
+    private final JwtRevocationRegistry revocationRegistry;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public JwtAuthenticationFilter(RedisTemplate<String, Object> redisTemplate) {
-        this.redisTemplate = redisTemplate;
-    }
-
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    public JwtAuthenticationFilter(JwtTokenUtil jwtTokenUtil,
+                                   VerifiedJwtCache verifiedJwtCache,
+                                   JwtRevocationRegistry revocationRegistry) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.verifiedJwtCache = verifiedJwtCache;
+        this.revocationRegistry = revocationRegistry;
     }
 
     @Override
@@ -60,18 +58,16 @@ public class JwtAuthenticationFilter implements Filter {
         String token = extractToken(httpRequest);
         if (token != null) {
             try {
-                // 验证并解析token
-                if (!validateToken(token)) {
+                // 验证token：已注销的直接拒绝，其余命中缓存时不再验签
+                VerifiedToken verified = verifyToken(token);
+                if (verified == null) {
                     logger.warn("token验证失败");
                     handleAuthenticationException(httpResponse, new JwtException("Invalid token"));
                     return;
                 }
                 
-                // 解析token获取claims
-                Claims claims = parseTokenClaims(token);
-                
                 // 设置认证信息
-                setAuthentication(claims);
+                setAuthentication(verified);
                 
                 chain.doFilter(request, response);
                 return;
@@ -101,26 +97,13 @@ public class JwtAuthenticationFilter implements Filter {
         return requestURI.startsWith("/api/auth");
     }
 
-    /**
-     * 解析token获取claims
-     * @param token JWT token
-     * @return Claims
-     */
-    private Claims parseTokenClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
     /**
      * 从claims构建权限列表
      * @param claims Claims对象
-     * @return Collection<GrantedAuthority>
+     * @return List<GrantedAuthority>
      */
-    private Collection<GrantedAuthority> buildAuthorities(Claims claims) {
-        Collection<GrantedAuthority> authorities = new ArrayList<>();
+    private List<GrantedAuthority> buildAuthorities(Claims claims) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
         
         // 从claims中获取角色名称
         List<String> roleNames = (List<String>) claims.get("roleNames");
@@ -138,20 +121,17 @@ public class JwtAuthenticationFilter implements Filter {
             }
         }
         
-        return authorities;
+        return List.copyOf(authorities);
     }
 
     /**
      * 设置认证信息到上下文
-     * @param claims Claims对象
+     * @param verified 验签后的身份快照
      */
-    private void setAuthentication(Claims claims) {
-        // 从claims构建权限列表
-        Collection<GrantedAuthority> authorities = buildAuthorities(claims);
-        
-        // 创建认证对象并设置权限
+    private void setAuthentication(VerifiedToken verified) {
+        // 认证对象可变，每个请求新建一个，只共享不可变的权限列表
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                claims.getSubject(), null, authorities);
+                verified.subject(), null, verified.authorities());
         
         // 设置认证信息到上下文
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -183,14 +163,28 @@ public class JwtAuthenticationFilter implements Filter {
         return null;
     }
 
-    private boolean validateToken(String token) {
-        // 检查令牌是否在黑名单中
-        if (Boolean.TRUE.equals(redisTemplate.hasKey("jwt:blacklist:" + token))) {
+    /**
+     * 校验令牌并返回身份快照；令牌无效返回 null，已注销抛异常。
+     * 同一令牌只在首次出现时验签一次，之后直到过期都从缓存取。
+     */
+    private VerifiedToken verifyToken(String token) {
+        String tokenHash = JwtTokenUtil.hashToken(token);
+        // 检查令牌是否在黑名单中（本机集合，由 Pub/Sub 同步）
+        if (revocationRegistry.isRevoked(tokenHash)) {
             logger.warn("token已被注销");
             throw new BusinessException(BusinessExceptionEnum.JWT_HAS_BEEN_LOGGED_OUT);
         }
-        Claims claims = parseTokenClaims(token);
+        VerifiedToken cached = verifiedJwtCache.get(tokenHash);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = jwtTokenUtil.parseVerifiedClaims(token);
         Date expiration = claims.getExpiration();
-        return expiration != null && expiration.after(new Date());
+        if (expiration == null || !expiration.after(new Date())) {
+            return null;
+        }
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), buildAuthorities(claims), expiration.getTime());
+        verifiedJwtCache.put(tokenHash, verified);
+        return verified;
     }
 }
\ No newline at end of file
@@ -0,0 +1,265 @@
+package club.boyuan.official.infra.notification;
+
+import club.boyuan.official.infra.config.MailDeliveryProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通知邮件投递引擎：固定数量的投递线程各自持有一条已认证的 SMTP 长连接，
+ * 从共享队列取邮件连续发送，不再每封邮件新建一次 SMTP/TLS 连接。
+ *
+ * <ul>
+ *   <li>同一服务商（SMTP 主机）按 {@code rate-per-second} 匀速发送，避免触发服务商限流；</li>
+ *   <li>连接故障、服务商临时拒绝等按指数退避重试，地址无效这类永久错误直接失败；</li>
+ *   <li>单连接发满 {@code max-messages-per-connection} 封或空闲超时后断开重连。</li>
+ * </ul>
+ * 调用方拿到的 future 在邮件被服务器接收后完成，落库等后续动作挂在 future 上，不占用数据库连接等待网络。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MailDeliveryEngine {
+
+    /** 队列满时提交方最多等待的时长 */
+    private static final long SUBMIT_WAIT_SECONDS = 30L;
+
+    private final JavaMailSender javaMailSender;
+    private final MailDeliveryProperties properties;
+
+    private final Map<String, RateShaper> shapers = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private JavaMailSenderImpl mailSender;
+    private BlockingQueue<MailJob> queue;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (!(javaMailSender instanceof JavaMailSenderImpl impl)) {
+            throw new IllegalStateException("MailDeliveryEngine 需要 JavaMailSenderImpl 以复用 SMTP 会话");
+        }
+        mailSender = impl;
+        queue = new LinkedBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("mail-retry-"));
+        running = true;
+        for (int i = 0; i < Math.max(1, properties.getPoolSize()); i++) {
+            Thread worker = new Thread(new Worker(), "mail-delivery-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        retryScheduler.shutdownNow();
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * 提交一封纯文本邮件。队列满时最多等待 {@value #SUBMIT_WAIT_SECONDS} 秒，仍满则返回失败的 future。
+     *
+     * @return 服务器接收后完成；重试用尽或永久失败时异常完成
+     */
+    public CompletableFuture<Void> submit(String to, String subject, String body) {
+        MailJob job = new MailJob(to, subject, body);
+        try {
+            if (!queue.offer(job, SUBMIT_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                job.future.completeExceptionally(new IllegalStateException("邮件待发队列已满"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.future.completeExceptionally(e);
+        }
+        return job.future;
+    }
+
+    private void onFailure(MailJob job, Exception e) {
+        job.attempts++;
+        if (isPermanent(e) || job.attempts >= properties.getMaxAttempts() || !running) {
+            log.warn("邮件投递失败，不再重试 to={}, attempts={}", job.to, job.attempts, e);
+            job.future.completeExceptionally(e);
+            return;
+        }
+        long delay = properties.getInitialBackoffMs() << Math.min(job.attempts - 1, 10);
+        log.info("邮件投递失败，{}ms 后重试 to={}, attempts={}, cause={}", delay, job.to, job.attempts, e.getMessage());
+        retryScheduler.schedule(() -> {
+            if (!queue.offer(job)) {
+                job.future.completeExceptionally(new IllegalStateException("邮件待发队列已满", e));
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /** 收件地址本身无效的错误重试也没用 */
+    private static boolean isPermanent(Exception e) {
+        if (e instanceof AddressException) {
+            return true;
+        }
+        if (e instanceof SendFailedException sendFailed) {
+            return sendFailed.getInvalidAddresses() != null && sendFailed.getInvalidAddresses().length > 0
+                    && (sendFailed.getValidUnsentAddresses() == null || sendFailed.getValidUnsentAddresses().length == 0);
+        }
+        return false;
+    }
+
+    private RateShaper shaper() {
+        return shapers.computeIfAbsent(String.valueOf(mailSender.getHost()),
+                host -> new RateShaper(properties.getRatePerSecond()));
+    }
+
+    private MimeMessage buildMessage(MailJob job) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, StandardCharsets.UTF_8.name());
+        helper.setFrom(mailSender.getUsername());
+        helper.setTo(job.to);
+        helper.setSubject(job.subject);
+        helper.setText(job.body, false);
+        message.setSentDate(new Date());
+        message.saveChanges();
+        return message;
+    }
+
+    /**
+     * 一个投递线程：独占一条 SMTP 连接，连续发送直到发满、空闲超时或出错。
+     */
+    private final class Worker implements Runnable {
+
+        private Transport transport;
+        private int sentOnConnection;
+
+        @Override
+        public void run() {
+            while (running) {
+                MailJob job;
+                try {
+                    job = queue.poll(properties.getIdleCloseMs(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (job == null) {
+                    closeTransport();
+                    continue;
+                }
+                try {
+                    shaper().acquire();
+                } catch (InterruptedException e) {
+                    queue.offer(job);
+                    break;
+                }
+                send(job);
+            }
+            closeTransport();
+        }
+
+        private void send(MailJob job) {
+            try {
+                MimeMessage message = buildMessage(job);
+                connection().sendMessage(message, message.getAllRecipients());
+                job.future.complete(null);
+                if (++sentOnConnection >= properties.getMaxMessagesPerConnection()) {
+                    closeTransport();
+                }
+            } catch (SendFailedException e) {
+                // 服务器拒收某些地址，连接本身仍可用
+                onFailure(job, e);
+            } catch (Exception e) {
+                // 连接状态未知，下次重新建立
+                closeTransport();
+                onFailure(job, e);
+            }
+        }
+
+        private Transport connection() throws MessagingException {
+            if (transport == null || !transport.isConnected()) {
+                closeTransport();
+                Transport created = mailSender.getSession().getTransport();
+                created.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+                transport = created;
+                sentOnConnection = 0;
+            }
+            return transport;
+        }
+
+        private void closeTransport() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("关闭 SMTP 连接失败", e);
+            }
+            transport = null;
+        }
+    }
+
+    /**
+     * 匀速发放发送时刻：每次预约下一个空档，返回需要等待的时长。
+     */
+    private static final class RateShaper {
+
+        private final long intervalNanos;
+        private long nextSlot;
+
+        private RateShaper(double ratePerSecond) {
+            this.intervalNanos = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0L;
+        }
+
+        void acquire() throws InterruptedException {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(now, nextSlot);
+                nextSlot = slot + intervalNanos;
+                wait = slot - now;
+            }
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
+
+    private static final class MailJob {
+        private final String to;
+        private final String subject;
+        private final String body;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private int attempts;
+
+        private MailJob(String to, String subject, String body) {
+            this.to = to;
+            this.subject = subject;
+            this.body = body;
+        }
+    }
+}
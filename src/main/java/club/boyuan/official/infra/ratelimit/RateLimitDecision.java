@@ -0,0 +1,25 @@
+package club.boyuan.official.infra.ratelimit;
+
+/**
+ * 一次限流判定的结果。
+ *
+ * @param allowed      是否放行
+ * @param retryAfterMs 被拒时距下一个许可可用的毫秒数；放行时为 0
+ */
+public record RateLimitDecision(boolean allowed, long retryAfterMs) {
+
+    private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0L);
+
+    public static RateLimitDecision allow() {
+        return ALLOWED;
+    }
+
+    public static RateLimitDecision deny(long retryAfterMs) {
+        return new RateLimitDecision(false, Math.max(0L, retryAfterMs));
+    }
+
+    /** Retry-After 头按秒取整，至少 1 秒 */
+    public long retryAfterSeconds() {
+        return Math.max(1L, (retryAfterMs + 999L) / 1000L);
+    }
+}
@@ -3,6 +3,8 @@ package club.boyuan.official.infra.ratelimit;
 import club.boyuan.official.infra.config.RateLimitProperties;
 import club.boyuan.official.common.exception.BusinessException;
 import club.boyuan.official.common.exception.BusinessExceptionEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -10,21 +12,28 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import java.util.List;
+
 /**
  * 应用层「网关式」限流：在请求进入 Controller 前按规则拦截。
+ * <p>规则启动时编译为 {@link RateLimitRuleMatcher}，配置列表被替换时自动重新编译。
+ * 每条规则的放行/拒绝次数记入 {@code rate_limit.requests}（tag: rule, outcome）。
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class RateLimitInterceptor implements HandlerInterceptor {
 
+    private static final String METRIC_NAME = "rate_limit.requests";
+
     private final RateLimitProperties rateLimitProperties;
     private final RateLimitService rateLimitService;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final MeterRegistry meterRegistry;
+
+    private volatile CompiledRules compiled;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
@@ -32,30 +41,69 @@ public class RateLimitInterceptor implements HandlerInterceptor {
             return true;
         }
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
+        CompiledRules rules = compiledRules();
+        int index = rules.matcher.match(request.getMethod(), request.getRequestURI());
+        if (index < 0) {
+            return true;
+        }
 
-        for (RateLimitRuleConfig rule : rateLimitProperties.getRules()) {
-            if (!method.equalsIgnoreCase(rule.getMethod())) {
-                continue;
-            }
-            if (!pathMatcher.match(rule.getPattern(), path)) {
-                continue;
-            }
+        RateLimitRuleConfig rule = rules.matcher.rule(index);
+        String identity = resolveIdentity(request, rule.getKeyType());
+        RateLimitDecision decision = rateLimitService.tryAcquire(
+                rule.getName(),
+                identity,
+                rule.getLimit(),
+                rule.getWindowSeconds());
+        if (!decision.allowed()) {
+            rules.denied[index].increment();
+            response.setHeader("Retry-After", String.valueOf(decision.retryAfterSeconds()));
+            throw new BusinessException(BusinessExceptionEnum.TOO_MANY_REQUESTS);
+        }
+        rules.allowed[index].increment();
+        return true;
+    }
 
-            String identity = resolveIdentity(request, rule.getKeyType());
-            boolean allowed = rateLimitService.tryAcquire(
-                    rule.getName(),
-                    identity,
-                    rule.getLimit(),
-                    rule.getWindowSeconds());
-            if (!allowed) {
-                response.setHeader("Retry-After", String.valueOf(rule.getWindowSeconds()));
-                throw new BusinessException(BusinessExceptionEnum.TOO_MANY_REQUESTS);
+    /** 规则列表引用变了（配置刷新/重新绑定）才重新编译，平时只是一次引用比较 */
+    private CompiledRules compiledRules() {
+        List<RateLimitRuleConfig> current = rateLimitProperties.getRules();
+        CompiledRules snapshot = compiled;
+        if (snapshot != null && snapshot.source == current) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (compiled == null || compiled.source != current) {
+                compiled = compile(current);
+                log.info("限流规则已编译 rules={}", compiled.matcher.rules().size());
             }
-            break;
+            return compiled;
         }
-        return true;
+    }
+
+    private CompiledRules compile(List<RateLimitRuleConfig> source) {
+        RateLimitRuleMatcher matcher = RateLimitRuleMatcher.compile(source);
+        List<RateLimitRuleConfig> rules = matcher.rules();
+        Counter[] allowed = new Counter[rules.size()];
+        Counter[] denied = new Counter[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            String name = String.valueOf(rules.get(i).getName());
+            allowed[i] = counter(name, "allowed");
+            denied[i] = counter(name, "denied");
+        }
+        return new CompiledRules(source, matcher, allowed, denied);
+    }
+
+    private Counter counter(String rule, String outcome) {
+        return Counter.builder(METRIC_NAME)
+                .description("网关限流命中次数")
+                .tag("rule", rule)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record CompiledRules(List<RateLimitRuleConfig> source,
+                                 RateLimitRuleMatcher matcher,
+                                 Counter[] allowed,
+                                 Counter[] denied) {
     }
 
     private String resolveIdentity(HttpServletRequest request, RateLimitKeyType keyType) {
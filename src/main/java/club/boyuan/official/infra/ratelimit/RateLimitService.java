@@ -1,5 +1,6 @@
 package club.boyuan.official.infra.ratelimit;
 
+import club.boyuan.official.infra.config.RateLimitProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
@@ -10,9 +11,15 @@ import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Redis 滑动窗口限流。
+ * 两级限流：本机令牌桶 + Redis GCRA。
+ * <p>Redis 端每个 key 只存一个 TAT，内存固定；本机按 (规则, 身份) 从 Redis 租许可，
+ * 租到的许可在本机用完前不再访问 Redis。被拒后在下一个许可可用之前也直接本地拒绝。
+ * <p>只有上一次租约还在有效期内又要许可（突发）时才整块租，零散请求每次只租 1 个；
+ * 租约到期没用完的许可在下一次访问 Redis 时归还（TAT 回拨），不会白白占掉额度。
  */
 @Service
 @RequiredArgsConstructor
@@ -22,34 +29,115 @@ public class RateLimitService {
     private static final String KEY_PREFIX = "rate:gateway:";
 
     private final StringRedisTemplate stringRedisTemplate;
+    private final RateLimitProperties rateLimitProperties;
 
-    private DefaultRedisScript<Long> slidingWindowScript;
+    private final Map<String, LocalBucket> buckets = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("rawtypes")
+    private DefaultRedisScript<List> gcraScript;
 
     @PostConstruct
     void init() {
-        slidingWindowScript = new DefaultRedisScript<>();
-        slidingWindowScript.setResultType(Long.class);
-        slidingWindowScript.setScriptSource(
-                new ResourceScriptSource(new ClassPathResource("redis/lua/rate_limit_sliding_window.lua")));
+        gcraScript = new DefaultRedisScript<>();
+        gcraScript.setResultType(List.class);
+        gcraScript.setScriptSource(
+                new ResourceScriptSource(new ClassPathResource("redis/lua/rate_limit_gcra.lua")));
     }
 
     /**
-     * @return true 允许通过；false 触发限流
+     * @return 判定结果；被拒时带上距下一个许可可用的时长
      */
-    public boolean tryAcquire(String ruleName, String identity, int limit, int windowSeconds) {
+    public RateLimitDecision tryAcquire(String ruleName, String identity, int limit, int windowSeconds) {
         String key = KEY_PREFIX + ruleName + ":" + identity;
-        long nowMs = System.currentTimeMillis();
-        long windowMs = windowSeconds * 1000L;
-        Long allowed = stringRedisTemplate.execute(
-                slidingWindowScript,
-                List.of(key),
-                String.valueOf(nowMs),
-                String.valueOf(windowMs),
-                String.valueOf(limit));
-        boolean pass = allowed != null && allowed == 1L;
-        if (!pass) {
-            log.warn("触发限流 rule={}, identity={}, limit={}/{}s", ruleName, identity, limit, windowSeconds);
+        LocalBucket bucket = bucket(key);
+        // 锁粒度是单个 (规则, 身份)，不同 key 互不阻塞
+        synchronized (bucket) {
+            long nowMs = System.currentTimeMillis();
+            if (bucket.tryTakeLocal(nowMs)) {
+                return RateLimitDecision.allow();
+            }
+            if (nowMs < bucket.deniedUntil) {
+                return RateLimitDecision.deny(bucket.deniedUntil - nowMs);
+            }
+            long windowMs = windowSeconds * 1000L;
+            long leaseTtlMs = Math.min(windowMs, rateLimitProperties.getLocalLeaseTtlMs());
+            // 上一块租约还没过期就又来要许可，说明在突发，才整块租
+            boolean burst = nowMs - bucket.leasedAt < leaseTtlMs;
+            int want = burst ? chunkSize(limit) : 1;
+            List<?> reply = stringRedisTemplate.execute(
+                    gcraScript,
+                    List.of(key),
+                    String.valueOf(nowMs),
+                    String.valueOf(windowMs),
+                    String.valueOf(limit),
+                    String.valueOf(want),
+                    String.valueOf(bucket.unused));
+            bucket.unused = 0;
+            long granted = longAt(reply, 0);
+            if (granted <= 0) {
+                long retryAfterMs = Math.max(0L, longAt(reply, 1));
+                bucket.deniedUntil = nowMs + retryAfterMs;
+                log.warn("触发限流 rule={}, identity={}, limit={}/{}s", ruleName, identity, limit, windowSeconds);
+                return RateLimitDecision.deny(retryAfterMs);
+            }
+            // 本次请求用掉一个，其余留在本机
+            bucket.permits = (int) granted - 1;
+            bucket.leasedAt = nowMs;
+            bucket.leaseExpiresAt = nowMs + leaseTtlMs;
+            bucket.deniedUntil = 0L;
+            return RateLimitDecision.allow();
+        }
+    }
+
+    /** 额度小的规则（如注册 3 次/小时）逐个租，避免一个节点囤光全局额度 */
+    private int chunkSize(int limit) {
+        int chunk = limit / rateLimitProperties.getLocalLeaseDivisor();
+        return Math.max(1, Math.min(rateLimitProperties.getLocalLeaseMaxChunk(), chunk));
+    }
+
+    private LocalBucket bucket(String key) {
+        LocalBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= rateLimitProperties.getLocalMaxBuckets()) {
+            evictIdle(System.currentTimeMillis());
+        }
+        return buckets.computeIfAbsent(key, k -> new LocalBucket());
+    }
+
+    /** 身份维度可能很多（按 IP），清掉既没有剩余许可也不在拒绝期的桶 */
+    private void evictIdle(long nowMs) {
+        buckets.entrySet().removeIf(e -> e.getValue().idle(nowMs));
+    }
+
+    private static long longAt(List<?> reply, int index) {
+        if (reply == null || reply.size() <= index || !(reply.get(index) instanceof Number n)) {
+            return 0L;
+        }
+        return n.longValue();
+    }
+
+    static final class LocalBucket {
+        int permits;
+        /** 过期租约里没用完、待下次访问 Redis 时归还的许可数 */
+        int unused;
+        long leasedAt;
+        long leaseExpiresAt;
+        long deniedUntil;
+
+        boolean tryTakeLocal(long nowMs) {
+            if (permits > 0 && nowMs < leaseExpiresAt) {
+                permits--;
+                return true;
+            }
+            unused += permits;
+            permits = 0;
+            return false;
+        }
+
+        boolean idle(long nowMs) {
+            return (permits == 0 || nowMs >= leaseExpiresAt) && nowMs >= deniedUntil;
         }
-        return pass;
     }
 }
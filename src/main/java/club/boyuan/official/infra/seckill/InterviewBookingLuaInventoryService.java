@@ -8,12 +8,13 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import jakarta.annotation.PostConstruct;
 import java.util.List;
 
 /**
- * 秒杀库存：Redis Lua 原子预扣 / 回滚。
+ * 秒杀库存：Redis Lua 原子受理（预扣）/ 回滚。
  */
 @Service
 @RequiredArgsConstructor
@@ -23,14 +24,15 @@ public class InterviewBookingLuaInventoryService {
     private final StringRedisTemplate stringRedisTemplate;
     private final InterviewBookingSeckillProperties seckillProperties;
 
-    private DefaultRedisScript<Long> occupyScript;
+    @SuppressWarnings("rawtypes")
+    private DefaultRedisScript<List> admitScript;
     private DefaultRedisScript<Long> rollbackScript;
 
     @PostConstruct
     void initScripts() {
-        occupyScript = new DefaultRedisScript<>();
-        occupyScript.setResultType(Long.class);
-        occupyScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("redis/lua/occupy_remain.lua")));
+        admitScript = new DefaultRedisScript<>();
+        admitScript.setResultType(List.class);
+        admitScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("redis/lua/seckill_admit.lua")));
 
         rollbackScript = new DefaultRedisScript<>();
         rollbackScript.setResultType(Long.class);
@@ -38,21 +40,35 @@ public class InterviewBookingLuaInventoryService {
     }
 
     /**
-     * Lua 原子预扣 1 个名额，并设置用户周期锁。
+     * 一次 Lua 调用完成受理：幂等查询、预扣 1 个名额、设置用户周期锁、写入处理中状态与幂等结果。
+     *
+     * @param pendingStatusJson 受理成功时写入的请求状态
+     * @param idempotencyKey    可为空；为空时不查也不写幂等结果
+     * @param resultJson        受理成功时写入幂等键的结果
      */
-    public SeckillLuaResult preDeduct(Integer slotId, Integer userId, Integer cycleId, String requestId) {
-        Long result = stringRedisTemplate.execute(
-                occupyScript,
+    public SeckillAdmission admit(Integer slotId, Integer userId, Integer cycleId, String requestId,
+                                  String pendingStatusJson, String idempotencyKey, String resultJson) {
+        boolean idempotent = StringUtils.hasText(idempotencyKey);
+        List<?> reply = stringRedisTemplate.execute(
+                admitScript,
                 List.of(
                         InterviewBookingRedisKeys.remain(slotId),
-                        InterviewBookingRedisKeys.userCycleLock(userId, cycleId)
+                        InterviewBookingRedisKeys.userCycleLock(userId, cycleId),
+                        InterviewBookingRedisKeys.requestStatus(requestId),
+                        // 不带幂等键时给一个不会被读写的占位 key，保持 KEYS 个数固定
+                        InterviewBookingRedisKeys.idempotent(idempotent ? idempotencyKey : requestId)
                 ),
                 requestId,
-                String.valueOf(seckillProperties.getUserLockTtlSeconds())
+                String.valueOf(seckillProperties.getUserLockTtlSeconds()),
+                pendingStatusJson,
+                String.valueOf(seckillProperties.getRequestStatusTtlHours() * 3600L),
+                idempotent ? resultJson : ""
         );
-        long code = result == null ? -1L : result;
-        log.debug("Lua 预扣结果 slotId={}, userId={}, requestId={}, code={}", slotId, userId, requestId, code);
-        return SeckillLuaResult.fromCode(code);
+        long code = reply == null || reply.isEmpty() || !(reply.get(0) instanceof Number n) ? -1L : n.longValue();
+        SeckillLuaResult result = SeckillLuaResult.fromCode(code);
+        String cached = result == SeckillLuaResult.DUPLICATE && reply.size() > 1 ? String.valueOf(reply.get(1)) : null;
+        log.debug("Lua 受理结果 slotId={}, userId={}, requestId={}, code={}", slotId, userId, requestId, code);
+        return new SeckillAdmission(result, cached);
     }
 
     /**
@@ -0,0 +1,10 @@
+package club.boyuan.official.infra.seckill;
+
+/**
+ * 秒杀受理脚本的返回。
+ *
+ * @param result         受理结果
+ * @param cachedResultJson 仅 {@link SeckillLuaResult#DUPLICATE} 时有值：该幂等键上次受理的结果 JSON
+ */
+public record SeckillAdmission(SeckillLuaResult result, String cachedResultJson) {
+}
@@ -11,7 +11,9 @@ public enum SeckillLuaResult {
     /** remain 缓存未预热 */
     CACHE_MISS(-1),
     /** 用户在本周期已有进行中的预约请求 */
-    USER_LOCKED(-2);
+    USER_LOCKED(-2),
+    /** 幂等键已受理过，直接返回上次的结果 */
+    DUPLICATE(2);
 
     private final int code;
 
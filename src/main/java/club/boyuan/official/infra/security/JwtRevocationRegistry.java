@@ -0,0 +1,126 @@
+package club.boyuan.official.infra.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 已注销令牌的本机集合，按令牌摘要保存，条目保留到令牌自然过期。
+ *
+ * Redis 里的 {@code jwt:blacklist:<摘要>} 是权威数据；本机集合启动时全量加载，
+ * 之后靠 Pub/Sub 增量同步，请求路径只查本机，不再逐个请求访问 Redis。
+ * 广播丢失时由定时全量对账兜底。注销量只是令牌有效期内的登出次数，精确集合足够小，不需要布隆过滤器。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtRevocationRegistry implements MessageListener {
+
+    public static final String REDIS_TOPIC = "official:jwt:revoked";
+    public static final String KEY_PREFIX = "jwt:blacklist:";
+
+    private static final int SCAN_BATCH = 500;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /** 令牌摘要 -> 令牌过期时间（毫秒） */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(REDIS_TOPIC));
+        reload();
+    }
+
+    /**
+     * 注销令牌：写 Redis 黑名单、本机立即生效，再广播给其它实例。
+     *
+     * @param tokenHash 令牌摘要
+     * @param expiresAt 令牌过期时间（毫秒）
+     */
+    public void revoke(String tokenHash, long expiresAt) {
+        long ttl = expiresAt - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return;
+        }
+        stringRedisTemplate.opsForValue().set(KEY_PREFIX + tokenHash, String.valueOf(expiresAt), ttl, TimeUnit.MILLISECONDS);
+        revoked.put(tokenHash, expiresAt);
+        try {
+            stringRedisTemplate.convertAndSend(REDIS_TOPIC, tokenHash + ":" + expiresAt);
+        } catch (Exception e) {
+            // 广播失败只影响其它实例，下次对账时补上
+            log.warn("广播令牌注销失败 hash={}", tokenHash, e);
+        }
+    }
+
+    public boolean isRevoked(String tokenHash) {
+        Long expiresAt = revoked.get(tokenHash);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            // 令牌本身已过期，签名校验会拒绝它，条目可以丢掉
+            revoked.remove(tokenHash, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            int sep = body.lastIndexOf(':');
+            revoked.put(body.substring(0, sep), Long.parseLong(body.substring(sep + 1)));
+        } catch (Exception ex) {
+            log.warn("令牌注销消息解析失败 body={}", body, ex);
+        }
+    }
+
+    /** 定时与 Redis 对账：补上丢失的广播、清掉已过期的条目 */
+    @Scheduled(fixedDelay = 60_000L, initialDelay = 60_000L)
+    public void reload() {
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(
+                ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(SCAN_BATCH).build())) {
+            cursor.forEachRemaining(keys::add);
+        } catch (Exception e) {
+            log.warn("加载令牌黑名单失败，沿用本机集合", e);
+            return;
+        }
+        List<String> values = keys.isEmpty() ? List.of() : stringRedisTemplate.opsForValue().multiGet(keys);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < keys.size(); i++) {
+            String value = values == null ? null : values.get(i);
+            long expiresAt = parseExpiresAt(value, now);
+            revoked.put(keys.get(i).substring(KEY_PREFIX.length()), expiresAt);
+        }
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    private long parseExpiresAt(String value, long now) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // 旧格式或值缺失：保守地按一天处理，Redis 过期后下次对账会清掉
+            return now + TimeUnit.DAYS.toMillis(1);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package club.boyuan.official.infra.security;
+
+import club.boyuan.official.common.exception.BusinessException;
+import club.boyuan.official.common.exception.BusinessExceptionEnum;
+import club.boyuan.official.infra.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 密码哈希统一入口：BCrypt 计算放到按核数限定的专用线程池里做。
+ *
+ * 登录高峰时哈希请求只会占满这几个线程，排队超过上限或等待超时直接返回 429，
+ * 不会把 Tomcat 线程全部压在 CPU 计算上，健康检查等轻量接口照常响应。
+ * 指标：{@code password.hash.duration{operation}}、{@code password.hash.queue.depth}、
+ * {@code password.hash.rejected}。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHasher {
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+    private Timer matchesTimer;
+    private Timer encodeTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        int threads = properties.getThreads() > 0
+                ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        matchesTimer = Timer.builder("password.hash.duration").tag("operation", "matches")
+                .description("密码校验耗时").register(meterRegistry);
+        encodeTimer = Timer.builder("password.hash.duration").tag("operation", "encode")
+                .description("密码加密耗时").register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("排队等待哈希的任务数").register(meterRegistry);
+        rejectedCounter = Counter.builder("password.hash.rejected")
+                .description("因哈希线程池饱和被拒绝的请求数").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /** 校验明文与哈希是否匹配；线程池饱和时抛 {@link BusinessExceptionEnum#TOO_MANY_REQUESTS} */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /** 加密明文密码；线程池饱和时抛 {@link BusinessExceptionEnum#TOO_MANY_REQUESTS} */
+    public String encode(String rawPassword) {
+        return await(submit(encodeTimer, () -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /** 哈希的成本因子是否低于当前配置。只解析哈希前缀，不做计算 */
+    public boolean needsUpgrade(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 后台按当前成本因子重算哈希，调用方不等待。线程池饱和时返回失败的 future，本次放弃即可。
+     */
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)), executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> Future<T> submit(Timer timer, Callable<T> task) {
+        try {
+            return executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("密码哈希线程池已满，拒绝请求 queue={}", executor.getQueue().size());
+            throw new BusinessException(BusinessExceptionEnum.TOO_MANY_REQUESTS);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(properties.getWaitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 还在排队的任务取消掉，不再白算
+            future.cancel(false);
+            rejectedCounter.increment();
+            throw new BusinessException(BusinessExceptionEnum.TOO_MANY_REQUESTS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new IllegalStateException("等待密码哈希时被中断", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package club.boyuan.official.infra.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 已验签令牌的本机缓存，键是令牌摘要，条目在令牌过期时失效。
+ *
+ * 同一个令牌在有效期内会被反复带来，验签和解析声明只需要做一次；注销由
+ * {@link JwtRevocationRegistry} 在查缓存之前判断，这里不关心。
+ */
+@Component
+public class VerifiedJwtCache {
+
+    /** 条目上限，超过就整体清空重建，代价只是下一次请求重新验签 */
+    static final int MAX_ENTRIES = 50_000;
+
+    private final Map<String, VerifiedToken> cache = new ConcurrentHashMap<>();
+
+    /** @return 未过期的缓存条目；没有或已过期返回 null */
+    public VerifiedToken get(String tokenHash) {
+        VerifiedToken token = cache.get(tokenHash);
+        if (token == null) {
+            return null;
+        }
+        if (token.expiresAt() <= System.currentTimeMillis()) {
+            cache.remove(tokenHash, token);
+            return null;
+        }
+        return token;
+    }
+
+    public void put(String tokenHash, VerifiedToken token) {
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.clear();
+        }
+        cache.put(tokenHash, token);
+    }
+
+    /**
+     * 验签后的身份快照。权限列表不可变，每个请求据此新建认证对象。
+     */
+    public record VerifiedToken(String subject, List<GrantedAuthority> authorities, long expiresAt) {
+    }
+}
@@ -3,5 +3,6 @@ package club.boyuan.official.infra.sse;
 public enum AsyncTaskChannel {
 
     BOOKING,
-    FEISHU
+    FEISHU,
+    RESULT_NOTIFICATION
 }
@@ -4,6 +4,12 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * 跨节点转发的 SSE 事件。
+ *
+ * 线上格式是「channel、key、terminal 各占一行，其后原样拼接 payload JSON」，
+ * payload 只在发布端序列化一次，接收端不再反序列化、也不会被二次转义。
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,4 +19,22 @@ public class AsyncTaskSseEnvelope {
     private String key;
     private String payloadJson;
     private boolean terminal;
+
+    public String encode() {
+        return channel.name() + '\n' + key + '\n' + (terminal ? '1' : '0') + '\n' + payloadJson;
+    }
+
+    /** @return 解析结果；格式不对返回 null */
+    public static AsyncTaskSseEnvelope decode(String body) {
+        int first = body.indexOf('\n');
+        int second = first < 0 ? -1 : body.indexOf('\n', first + 1);
+        int third = second < 0 ? -1 : body.indexOf('\n', second + 1);
+        if (third < 0) {
+            return null;
+        }
+        AsyncTaskChannel channel = AsyncTaskChannel.valueOf(body.substring(0, first));
+        String key = body.substring(first + 1, second);
+        boolean terminal = body.charAt(second + 1) == '1';
+        return new AsyncTaskSseEnvelope(channel, key, body.substring(third + 1), terminal);
+    }
 }
@@ -2,65 +2,130 @@ package club.boyuan.official.infra.sse;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.annotation.PostConstruct;
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * 异步任务 SSE：本机维护 SseEmitter，跨实例通过 Redis Pub/Sub 广播。
+ * 异步任务 SSE：本机维护 SseEmitter，跨实例按订阅归属定向转发。
+ *
+ * 注册时把「key → 本节点」写进 Redis 归属有序集合，发布时一段 Lua 只向持有订阅的节点频道发消息，
+ * 没人订阅的事件不会广播到任何节点。payload 只序列化一次。
+ * 归属按成员过期：score 是该节点归属的过期时间戳，心跳续期；发布时先清掉过期成员，
+ * 宕机节点的归属最多 {@link #OWNER_TTL_SECONDS} 秒后失效，不受其它节点续期整个 key 的影响。
+ * 长时间没有状态事件的连接主动结束，客户端重连后会重新拿到最新状态。
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AsyncTaskSseHub implements MessageListener {
 
-    public static final String REDIS_TOPIC = "official:async-task:sse";
+    /** 节点频道前缀，后接节点 ID */
+    public static final String NODE_CHANNEL_PREFIX = "official:async-task:sse:node:";
+
+    /**
+     * 订阅归属有序集合前缀，后接 channel:key，成员为节点 ID，score 为过期时间戳（毫秒）。
+     * 原来是 SET，换了前缀，滚动发布时新旧节点不会对同一个 key 撞 WRONGTYPE。
+     */
+    private static final String OWNER_KEY_PREFIX = "official:async-task:sse:owners:z:";
 
     private static final long SSE_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+    private static final long HEARTBEAT_INTERVAL_MS = 15_000L;
+    private static final long IDLE_TIMEOUT_MS = Duration.ofMinutes(10).toMillis();
+
+    /** 归属成员每次心跳续期；节点宕机后最多这么久不再收到转发。整个 key 也带同样的 TTL，没人续期时自然删除 */
+    private static final long OWNER_TTL_SECONDS = 60L;
 
     private final StringRedisTemplate stringRedisTemplate;
     private final ObjectMapper objectMapper;
     private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    private final String nodeId = UUID.randomUUID().toString();
 
-    private final Map<String, CopyOnWriteArraySet<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<AsyncTaskChannel, AtomicInteger> openEmitters = new EnumMap<>(AsyncTaskChannel.class);
+
+    private DefaultRedisScript<Long> routeScript;
 
     @PostConstruct
-    void subscribeRedis() {
-        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(REDIS_TOPIC));
+    void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(NODE_CHANNEL_PREFIX + nodeId));
+
+        routeScript = new DefaultRedisScript<>();
+        routeScript.setResultType(Long.class);
+        routeScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("redis/lua/sse_route.lua")));
+
+        for (AsyncTaskChannel channel : AsyncTaskChannel.values()) {
+            AtomicInteger count = new AtomicInteger();
+            openEmitters.put(channel, count);
+            Gauge.builder("sse.emitters.open", count, AtomicInteger::get)
+                    .tag("channel", channel.name())
+                    .description("本节点打开的 SSE 连接数")
+                    .register(meterRegistry);
+        }
     }
 
     public SseEmitter register(AsyncTaskChannel channel, String key) {
         String mapKey = mapKey(channel, key);
         SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
-        emitters.computeIfAbsent(mapKey, k -> new CopyOnWriteArraySet<>()).add(emitter);
-        emitter.onCompletion(() -> removeEmitter(mapKey, emitter));
-        emitter.onTimeout(() -> removeEmitter(mapKey, emitter));
-        emitter.onError(ex -> removeEmitter(mapKey, emitter));
+        Subscription subscription = new Subscription(channel, mapKey, emitter);
+        subscriptions.compute(mapKey, (k, set) -> {
+            Set<Subscription> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscription);
+            return target;
+        });
+        openEmitters.get(channel).incrementAndGet();
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(ex -> remove(subscription));
+        claimOwnership(mapKey);
         return emitter;
     }
 
     public void publish(AsyncTaskChannel channel, String key, Object data, boolean terminal) {
+        String payloadJson;
         try {
-            String payloadJson = objectMapper.writeValueAsString(data);
-            dispatchLocal(channel, key, payloadJson, terminal);
-            AsyncTaskSseEnvelope envelope = new AsyncTaskSseEnvelope(channel, key, payloadJson, terminal);
-            stringRedisTemplate.convertAndSend(REDIS_TOPIC, objectMapper.writeValueAsString(envelope));
+            payloadJson = objectMapper.writeValueAsString(data);
         } catch (JsonProcessingException e) {
             log.error("SSE 序列化失败 channel={}, key={}", channel, key, e);
+            return;
+        }
+        String mapKey = mapKey(channel, key);
+        dispatchLocal(mapKey, payloadJson, terminal);
+        try {
+            String body = new AsyncTaskSseEnvelope(channel, key, payloadJson, terminal).encode();
+            stringRedisTemplate.execute(routeScript, List.of(OWNER_KEY_PREFIX + mapKey),
+                    NODE_CHANNEL_PREFIX, body, nodeId, String.valueOf(System.currentTimeMillis()));
+        } catch (Exception e) {
+            // 转发失败只影响其它节点上的连接，客户端重连或轮询状态接口可补齐
+            log.warn("SSE 跨节点转发失败 channel={}, key={}", channel, key, e);
         }
     }
 
@@ -68,45 +133,149 @@ public class AsyncTaskSseHub implements MessageListener {
     public void onMessage(Message message, byte[] pattern) {
         String body = new String(message.getBody(), StandardCharsets.UTF_8);
         try {
-            AsyncTaskSseEnvelope envelope = objectMapper.readValue(body, AsyncTaskSseEnvelope.class);
-            if (envelope.getChannel() == null || envelope.getKey() == null) {
+            AsyncTaskSseEnvelope envelope = AsyncTaskSseEnvelope.decode(body);
+            if (envelope == null || envelope.getKey() == null) {
                 return;
             }
-            dispatchLocal(envelope.getChannel(), envelope.getKey(), envelope.getPayloadJson(), envelope.isTerminal());
+            dispatchLocal(mapKey(envelope.getChannel(), envelope.getKey()), envelope.getPayloadJson(), envelope.isTerminal());
         } catch (Exception ex) {
             log.warn("SSE Redis 消息解析失败 body={}", body, ex);
         }
     }
 
-    private void dispatchLocal(AsyncTaskChannel channel, String key, String payloadJson, boolean terminal) {
-        CopyOnWriteArraySet<SseEmitter> set = emitters.get(mapKey(channel, key));
+    /**
+     * 心跳：发注释行保活并探测断开的连接，结束长时间无事件的连接，续期本节点的归属记录。
+     */
+    @Scheduled(fixedDelay = HEARTBEAT_INTERVAL_MS, initialDelay = HEARTBEAT_INTERVAL_MS)
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Set<Subscription> set : subscriptions.values()) {
+            for (Subscription subscription : set) {
+                if (now - subscription.lastEventAt > IDLE_TIMEOUT_MS) {
+                    complete(subscription);
+                    continue;
+                }
+                try {
+                    subscription.emitter.send(SseEmitter.event().comment("ping"));
+                } catch (Exception ex) {
+                    remove(subscription);
+                }
+            }
+        }
+        refreshOwnership();
+    }
+
+    private void dispatchLocal(String mapKey, String payloadJson, boolean terminal) {
+        Set<Subscription> set = subscriptions.get(mapKey);
         if (set == null || set.isEmpty()) {
             return;
         }
-        for (SseEmitter emitter : set) {
+        long now = System.currentTimeMillis();
+        for (Subscription subscription : set) {
             try {
-                emitter.send(SseEmitter.event().name("status").data(payloadJson));
+                subscription.emitter.send(SseEmitter.event().name("status").data(payloadJson));
+                subscription.lastEventAt = now;
                 if (terminal) {
-                    emitter.complete();
-                    removeEmitter(mapKey(channel, key), emitter);
+                    complete(subscription);
                 }
-            } catch (IOException ex) {
-                removeEmitter(mapKey(channel, key), emitter);
+            } catch (Exception ex) {
+                remove(subscription);
             }
         }
     }
 
-    private void removeEmitter(String mapKey, SseEmitter emitter) {
-        CopyOnWriteArraySet<SseEmitter> set = emitters.get(mapKey);
-        if (set != null) {
-            set.remove(emitter);
+    private void complete(Subscription subscription) {
+        try {
+            subscription.emitter.complete();
+        } catch (Exception ignored) {
+            // 连接已经断开，直接清理
+        }
+        remove(subscription);
+    }
+
+    private void remove(Subscription subscription) {
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return;
+        }
+        openEmitters.get(subscription.channel).decrementAndGet();
+        AtomicBoolean emptied = new AtomicBoolean();
+        subscriptions.computeIfPresent(subscription.mapKey, (k, set) -> {
+            set.remove(subscription);
             if (set.isEmpty()) {
-                emitters.remove(mapKey);
+                emptied.set(true);
+                return null;
             }
+            return set;
+        });
+        if (emptied.get()) {
+            releaseOwnership(subscription.mapKey);
         }
     }
 
+    private void claimOwnership(String mapKey) {
+        try {
+            String ownerKey = OWNER_KEY_PREFIX + mapKey;
+            stringRedisTemplate.opsForZSet().add(ownerKey, nodeId, ownerExpiresAt());
+            stringRedisTemplate.expire(ownerKey, Duration.ofSeconds(OWNER_TTL_SECONDS));
+        } catch (Exception e) {
+            // 下次心跳会补写
+            log.warn("登记 SSE 订阅归属失败 key={}", mapKey, e);
+        }
+    }
+
+    private void releaseOwnership(String mapKey) {
+        try {
+            stringRedisTemplate.opsForZSet().remove(OWNER_KEY_PREFIX + mapKey, nodeId);
+            // 移除期间又有新订阅进来，重新登记，避免被上面的 SREM 抹掉
+            if (subscriptions.containsKey(mapKey)) {
+                claimOwnership(mapKey);
+            }
+        } catch (Exception e) {
+            // 残留的归属记录只会多发一条消息，TTL 到期自然清除
+            log.debug("移除 SSE 订阅归属失败 key={}", mapKey, e);
+        }
+    }
+
+    private void refreshOwnership() {
+        List<String> keys = new ArrayList<>(subscriptions.keySet());
+        if (keys.isEmpty()) {
+            return;
+        }
+        byte[] node = nodeId.getBytes(StandardCharsets.UTF_8);
+        double expiresAt = ownerExpiresAt();
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String mapKey : keys) {
+                    byte[] ownerKey = (OWNER_KEY_PREFIX + mapKey).getBytes(StandardCharsets.UTF_8);
+                    connection.zSetCommands().zAdd(ownerKey, expiresAt, node);
+                    connection.keyCommands().expire(ownerKey, OWNER_TTL_SECONDS);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("续期 SSE 订阅归属失败 keys={}", keys.size(), e);
+        }
+    }
+
+    private static double ownerExpiresAt() {
+        return System.currentTimeMillis() + OWNER_TTL_SECONDS * 1000;
+    }
+
     private static String mapKey(AsyncTaskChannel channel, String key) {
         return channel.name() + ":" + key;
     }
+
+    private static final class Subscription {
+        private final AsyncTaskChannel channel;
+        private final String mapKey;
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long lastEventAt = System.currentTimeMillis();
+
+        private Subscription(AsyncTaskChannel channel, String mapKey, SseEmitter emitter) {
+            this.channel = channel;
+            this.mapKey = mapKey;
+            this.emitter = emitter;
+        }
+    }
 }
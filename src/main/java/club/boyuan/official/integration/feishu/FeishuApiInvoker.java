@@ -12,15 +12,23 @@ import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestClient;
 
 /**
- * 带熔断、指数退避的飞书 HTTP 调用封装。
+ * 带熔断、指数退避的飞书 HTTP 调用封装。每次调用先过全局限速器 {@link FeishuApiRateGovernor}，
+ * 限流响应反馈给限速器降速；网络错误与 5xx 仍按指数退避重试。
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class FeishuApiInvoker {
 
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_THROTTLED = "throttled";
+    private static final String OUTCOME_ERROR = "error";
+    private static final int FEISHU_CODE_RATE_LIMITED = 99991400;
+
     private final FeishuApiCircuitBreaker circuitBreaker;
     private final FeishuApiRetryPolicy retryPolicy;
+    private final FeishuApiRateGovernor rateGovernor;
+    private final FeishuApiMetrics metrics;
     private final ObjectMapper objectMapper;
     private final RestClient restClient = RestClient.create();
 
@@ -51,18 +59,36 @@ public class FeishuApiInvoker {
 
         for (int attempt = 0; attempt < maxAttempts; attempt++) {
             try {
+                rateGovernor.acquire();
                 String body = call.run();
                 JsonNode root = objectMapper.readTree(body);
                 if (retryPolicy.isRetryableFeishuResponse(root) && attempt < maxAttempts - 1) {
                     log.warn("飞书 API 限流/可重试 code={}, attempt={}/{}", root.path("code").asInt(),
                             attempt + 1, maxAttempts);
-                    retryPolicy.sleepBackoff(attempt);
+                    metrics.recordCall(OUTCOME_THROTTLED);
+                    rateGovernor.onThrottled(retryPolicy.backoffMs(attempt));
                     continue;
                 }
+                metrics.recordCall(OUTCOME_SUCCESS);
+                rateGovernor.onSuccess();
                 circuitBreaker.recordSuccess();
                 return body;
             } catch (HttpStatusCodeException ex) {
                 last = ex;
+                if (isRateLimited(ex)) {
+                    // 限流不算故障，不计入熔断：降速 + 全局顺延，重试在 acquire 上排队等，而不是本线程 sleep
+                    metrics.recordCall(OUTCOME_THROTTLED);
+                    if (attempt < maxAttempts - 1) {
+                        long pauseMs = retryPolicy.retryAfterMs(ex, attempt);
+                        log.warn("飞书 HTTP {} 限流，降速并顺延 {}ms attempt={}/{}", ex.getStatusCode().value(),
+                                pauseMs, attempt + 1, maxAttempts);
+                        rateGovernor.onThrottled(pauseMs);
+                        continue;
+                    }
+                    circuitBreaker.recordFailure();
+                    throw new BusinessException(BusinessExceptionEnum.FEISHU_IMPORT_FAILED, "飞书 API 限流，重试耗尽");
+                }
+                metrics.recordCall(OUTCOME_ERROR);
                 circuitBreaker.recordFailure();
                 if (retryPolicy.isRetryableHttp(ex) && attempt < maxAttempts - 1) {
                     log.warn("飞书 HTTP {} 退避重试 attempt={}/{}", ex.getStatusCode().value(),
@@ -84,6 +110,7 @@ public class FeishuApiInvoker {
                 throw new BusinessException(BusinessExceptionEnum.FEISHU_IMPORT_FAILED, "飞书请求被中断");
             } catch (Exception ex) {
                 last = ex;
+                metrics.recordCall(OUTCOME_ERROR);
                 circuitBreaker.recordFailure();
                 if (attempt < maxAttempts - 1) {
                     try {
@@ -103,6 +130,18 @@ public class FeishuApiInvoker {
         throw new BusinessException(BusinessExceptionEnum.FEISHU_IMPORT_FAILED, "飞书请求重试耗尽: " + msg);
     }
 
+    /** HTTP 429，或飞书在 4xx 响应体里给的频控错误码 99991400 */
+    private boolean isRateLimited(HttpStatusCodeException ex) {
+        if (ex.getStatusCode().value() == 429) {
+            return true;
+        }
+        try {
+            return objectMapper.readTree(ex.getResponseBodyAsString()).path("code").asInt(-1) == FEISHU_CODE_RATE_LIMITED;
+        } catch (Exception ignored) {
+            return false;
+        }
+    }
+
     @FunctionalInterface
     private interface HttpCall {
         String run() throws Exception;
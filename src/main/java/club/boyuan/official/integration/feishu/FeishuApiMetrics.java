@@ -0,0 +1,62 @@
+package club.boyuan.official.integration.feishu;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 飞书 API 指标：
+ * <ul>
+ *   <li>{@code feishu.api.calls}：HTTP 调用次数，按 outcome（success / throttled / error）分</li>
+ *   <li>{@code feishu.api.governor.wait}：调用前在限速器上等待的时长</li>
+ *   <li>{@code feishu.api.governor.rate}：限速器当前放行速率（次/秒），由 {@link FeishuApiRateGovernor} 注册</li>
+ *   <li>{@code feishu.bitable.records}：写入多维表格的行数，按 op（create / update / delete）分</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class FeishuApiMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private volatile Timer waitTimer;
+
+    public MeterRegistry registry() {
+        return meterRegistry;
+    }
+
+    public void recordCall(String outcome) {
+        counters.computeIfAbsent("call:" + outcome, k -> Counter.builder("feishu.api.calls")
+                .tag("outcome", outcome)
+                .description("飞书 API HTTP 调用次数")
+                .register(meterRegistry)).increment();
+    }
+
+    public void recordWait(long waitNanos) {
+        Timer timer = waitTimer;
+        if (timer == null) {
+            timer = Timer.builder("feishu.api.governor.wait")
+                    .description("飞书 API 调用前在全局限速器上的等待时长")
+                    .register(meterRegistry);
+            waitTimer = timer;
+        }
+        timer.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRecords(String op, int count) {
+        if (count <= 0) {
+            return;
+        }
+        counters.computeIfAbsent("records:" + op, k -> Counter.builder("feishu.bitable.records")
+                .tag("op", op)
+                .description("写入飞书多维表格的行数")
+                .register(meterRegistry)).increment(count);
+    }
+}
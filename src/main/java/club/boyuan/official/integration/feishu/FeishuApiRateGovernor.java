@@ -0,0 +1,104 @@
+package club.boyuan.official.integration.feishu;
+
+import club.boyuan.official.infra.config.FeishuProperties;
+import io.micrometer.core.instrument.Gauge;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 全应用共享的飞书 API 限速器：所有经 {@link FeishuApiInvoker} 的调用先在这里取令牌。
+ *
+ * 飞书按应用限频，原来只有「地点桶并发数」一个间接的闸，各桶互不知道对方，撞上 429 后
+ * 各自 Thread.sleep 再原样重发。这里用预约式令牌桶（可攒 {@code api-qps-burst} 个令牌）统一放行，
+ * 速率按 AIMD 自适应：被限流即减半并整体暂停一段时间，之后每次成功按小步回升到 {@code api-qps-limit}。
+ */
+@Component
+@RequiredArgsConstructor
+public class FeishuApiRateGovernor {
+
+    /** 每次成功调用回升的速率占上限的比例 */
+    private static final double RECOVERY_FRACTION = 0.02;
+
+    private final FeishuProperties feishuProperties;
+    private final FeishuApiMetrics metrics;
+
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    @PostConstruct
+    void register() {
+        synchronized (this) {
+            rate = maxRate();
+            tokens = burst();
+        }
+        Gauge.builder("feishu.api.governor.rate", this, FeishuApiRateGovernor::currentRate)
+                .baseUnit("requests/s")
+                .description("飞书 API 限速器当前放行速率")
+                .register(metrics.registry());
+    }
+
+    /**
+     * 取一个令牌，必要时阻塞等待。
+     */
+    public void acquire() throws InterruptedException {
+        long wait = reserve(System.nanoTime());
+        metrics.recordWait(wait);
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * 被限流：速率减半（不低于下限），并让之后的调用整体顺延 pauseMs。
+     * 并发的几个请求同时撞上 429 时顺延只取一次（已欠的和这次要求的取大），不叠加成 N 倍。
+     */
+    public synchronized void onThrottled(long pauseMs) {
+        refill(System.nanoTime());
+        // 欠账按时间算：降速后同样的令牌欠额会拖得更久，先换算成秒再取大
+        double owedSeconds = Math.max(0, -tokens) / rate;
+        rate = Math.max(minRate(), rate / 2);
+        tokens = -rate * Math.max(owedSeconds, pauseMs / 1000.0);
+    }
+
+    public synchronized void onSuccess() {
+        rate = Math.min(maxRate(), rate + maxRate() * RECOVERY_FRACTION);
+    }
+
+    synchronized double currentRate() {
+        return rate;
+    }
+
+    /** 预约一个令牌，返回需要等待的纳秒数 */
+    synchronized long reserve(long nowNanos) {
+        refill(nowNanos);
+        tokens -= 1;
+        if (tokens >= 0) {
+            return 0L;
+        }
+        return (long) (-tokens / rate * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(burst(), tokens + rate * elapsed / TimeUnit.SECONDS.toNanos(1));
+            lastRefillNanos = nowNanos;
+        }
+    }
+
+    private double maxRate() {
+        return Math.max(0.1, feishuProperties.getApiQpsLimit());
+    }
+
+    private double minRate() {
+        return Math.min(maxRate(), Math.max(0.1, feishuProperties.getApiQpsFloor()));
+    }
+
+    private double burst() {
+        return Math.max(1, feishuProperties.getApiQpsBurst());
+    }
+}
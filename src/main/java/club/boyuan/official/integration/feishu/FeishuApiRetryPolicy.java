@@ -3,6 +3,7 @@ package club.boyuan.official.integration.feishu;
 import club.boyuan.official.infra.config.FeishuProperties;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpStatusCodeException;
 
@@ -31,6 +32,27 @@ public class FeishuApiRetryPolicy {
         return status == 429 || status == 502 || status == 503 || status == 504;
     }
 
+    /**
+     * 限流响应里服务端建议的等待时长：Retry-After / x-ogw-ratelimit-reset（秒），都没有时按指数退避。
+     */
+    public long retryAfterMs(HttpStatusCodeException ex, int attemptIndex) {
+        HttpHeaders headers = ex.getResponseHeaders();
+        if (headers != null) {
+            for (String name : new String[]{HttpHeaders.RETRY_AFTER, "x-ogw-ratelimit-reset"}) {
+                String value = headers.getFirst(name);
+                if (value != null) {
+                    try {
+                        long seconds = Long.parseLong(value.trim());
+                        return Math.min(Math.max(0L, seconds) * 1000L, Math.max(1000L, feishuProperties.getApiMaxBackoffMs()));
+                    } catch (NumberFormatException ignored) {
+                        // 可能是 HTTP 日期格式，退回指数退避
+                    }
+                }
+            }
+        }
+        return backoffMs(attemptIndex);
+    }
+
     public boolean isRetryableFeishuCode(int code, String msg) {
         if (code == 99991400 || code == 230020) {
             return true;
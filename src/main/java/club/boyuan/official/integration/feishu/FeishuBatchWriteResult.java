@@ -1,9 +1,33 @@
 package club.boyuan.official.integration.feishu;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * 飞书批量写入结果：record_id 与请求行顺序一一对应。
+ *
+ * <p>分块并发写时某些块失败不影响其它块：失败块里的行记在 {@code failedIndexes}（对应位置的 record_id 为 null），
+ * 首个失败原因记在 {@code failureMessage}。调用方只落库成功的行，失败的行下次推送再写。
  */
-public record FeishuBatchWriteResult(int count, List<String> recordIds) {
+public record FeishuBatchWriteResult(int count, List<String> recordIds, Set<Integer> failedIndexes,
+                                     String failureMessage) {
+
+    public FeishuBatchWriteResult(int count, List<String> recordIds) {
+        this(count, recordIds, Set.of(), null);
+    }
+
+    /** 是否有块写入失败 */
+    public boolean partiallyFailed() {
+        return !failedIndexes.isEmpty();
+    }
+
+    /** 第 index 行所在的块是否写入成功 */
+    public boolean succeeded(int index) {
+        return !failedIndexes.contains(index);
+    }
+
+    /** 第 index 行的 record_id；块失败或响应没带时为 null */
+    public String recordIdAt(int index) {
+        return index < recordIds.size() ? recordIds.get(index) : null;
+    }
 }
@@ -5,23 +5,28 @@ import club.boyuan.official.common.exception.BusinessException;
 import club.boyuan.official.common.exception.BusinessExceptionEnum;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 /**
- * 飞书多维表格 API 客户端（鉴权缓存 + 分页读取 + 批量新增/更新，带重试与熔断）。
+ * 飞书多维表格 API 客户端（鉴权缓存 + 分页读取 + 批量新增/更新/删除，带重试与熔断）。
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class FeishuBitableClient {
 
@@ -42,9 +47,23 @@ public class FeishuBitableClient {
     private final FeishuProperties feishuProperties;
     private final ObjectMapper objectMapper;
     private final FeishuApiInvoker feishuApiInvoker;
+    private final FeishuApiMetrics metrics;
+    private final Executor feishuChunkExecutor;
 
     private final AtomicReference<CachedToken> cachedToken = new AtomicReference<>();
 
+    public FeishuBitableClient(FeishuProperties feishuProperties,
+                               ObjectMapper objectMapper,
+                               FeishuApiInvoker feishuApiInvoker,
+                               FeishuApiMetrics metrics,
+                               @Qualifier("feishuChunkExecutor") Executor feishuChunkExecutor) {
+        this.feishuProperties = feishuProperties;
+        this.objectMapper = objectMapper;
+        this.feishuApiInvoker = feishuApiInvoker;
+        this.metrics = metrics;
+        this.feishuChunkExecutor = feishuChunkExecutor;
+    }
+
     private record CachedToken(String token, Instant expireAt) {
         boolean valid() {
             return StringUtils.hasText(token) && expireAt.isAfter(Instant.now().plusSeconds(60));
@@ -55,26 +74,31 @@ public class FeishuBitableClient {
     }
 
     /**
-     * 分页读取多维表格全部记录（用于从飞书导入平台）。
+     * 读取多维表格的一页记录（用于从飞书导入平台）。
+     *
+     * <p>调用方按 {@link RecordPage#nextPageToken()} 逐页往下读、读一页处理一页，
+     * 不再把整张表先攒进一个 List —— 两万行的表也只占一页的内存。
+     *
+     * @param pageToken 上一页返回的游标；null 表示从第一页读起
      */
-    public List<FeishuBitableRecord> listAllRecords(String tableUrl) {
+    public RecordPage listRecordsPage(String tableUrl, String pageToken) {
         ensureConfigured();
         FeishuTableUrlParser.ParsedTable parsed = FeishuTableUrlParser.parse(tableUrl);
         String token = getTenantAccessToken();
-
-        List<FeishuBitableRecord> all = new ArrayList<>();
-        String pageToken = null;
         int pageSize = Math.max(1, Math.min(feishuProperties.getListPageSize(), 500));
-        do {
-            PageSlice slice = listRecordsPage(parsed, token, pageSize, pageToken);
-            all.addAll(slice.records());
-            pageToken = slice.hasMore() ? slice.nextPageToken() : null;
-        } while (pageToken != null);
+        PageSlice slice = listRecordsPage(parsed, token, pageSize, pageToken);
+        String next = slice.hasMore() && StringUtils.hasText(slice.nextPageToken()) ? slice.nextPageToken() : null;
+        return new RecordPage(slice.records(), slice.total(), next);
+    }
 
-        return all;
+    /**
+     * @param total         飞书返回的表格总行数（响应缺省时为 0）
+     * @param nextPageToken 下一页游标；null 表示已是最后一页
+     */
+    public record RecordPage(List<FeishuBitableRecord> records, int total, String nextPageToken) {
     }
 
-    private record PageSlice(List<FeishuBitableRecord> records, boolean hasMore, String nextPageToken) {
+    private record PageSlice(List<FeishuBitableRecord> records, boolean hasMore, String nextPageToken, int total) {
     }
 
     private PageSlice listRecordsPage(
@@ -112,7 +136,7 @@ public class FeishuBitableClient {
             }
             boolean hasMore = data.path("has_more").asBoolean(false);
             String next = data.path("page_token").asText(null);
-            return new PageSlice(records, hasMore, next);
+            return new PageSlice(records, hasMore, next, data.path("total").asInt(0));
         } catch (BusinessException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -310,16 +334,9 @@ public class FeishuBitableClient {
         FeishuTableUrlParser.ParsedTable parsed = FeishuTableUrlParser.parse(tableUrl);
         String token = getTenantAccessToken();
 
-        List<String> allRecordIds = new ArrayList<>();
-        int total = 0;
-        int batchSize = Math.max(1, Math.min(feishuProperties.getBatchSize(), 500));
-        for (int i = 0; i < rows.size(); i += batchSize) {
-            List<Map<String, Object>> chunk = rows.subList(i, Math.min(i + batchSize, rows.size()));
-            FeishuBatchWriteResult chunkResult = doBatchCreate(parsed, token, chunk);
-            total += chunkResult.count();
-            allRecordIds.addAll(chunkResult.recordIds());
-        }
-        return new FeishuBatchWriteResult(total, allRecordIds);
+        FeishuBatchWriteResult result = writeChunks(rows, chunk -> doBatchCreate(parsed, token, chunk));
+        metrics.recordRecords("create", result.count());
+        return result;
     }
 
     /**
@@ -333,16 +350,82 @@ public class FeishuBitableClient {
         FeishuTableUrlParser.ParsedTable parsed = FeishuTableUrlParser.parse(tableUrl);
         String token = getTenantAccessToken();
 
-        List<String> allRecordIds = new ArrayList<>();
-        int total = 0;
+        FeishuBatchWriteResult result = writeChunks(updates, chunk -> doBatchUpdate(parsed, token, chunk));
+        metrics.recordRecords("update", result.count());
+        return result;
+    }
+
+    /**
+     * 按 record_id 批量删除行；部分块失败时只有成功块里的行被删掉，见 {@link FeishuBatchWriteResult#succeeded(int)}。
+     */
+    public FeishuBatchWriteResult batchDeleteRecords(String tableUrl, List<String> recordIds) {
+        if (recordIds == null || recordIds.isEmpty()) {
+            return new FeishuBatchWriteResult(0, List.of());
+        }
+        ensureConfigured();
+        FeishuTableUrlParser.ParsedTable parsed = FeishuTableUrlParser.parse(tableUrl);
+        String token = getTenantAccessToken();
+        String url = feishuProperties.getApiBaseUrl()
+                + "/open-apis/bitable/v1/apps/" + parsed.appToken()
+                + "/tables/" + parsed.tableId()
+                + "/records/batch_delete";
+
+        FeishuBatchWriteResult result = writeChunks(recordIds,
+                chunk -> parseWriteResponse(feishuApiInvoker.postJson(url, token, Map.of("records", chunk)), chunk.size()));
+        metrics.recordRecords("delete", result.count());
+        return result;
+    }
+
+    /**
+     * 按 batch-size 分块并发写：各块提交到 feishuChunkExecutor，在途块数受线程池大小约束，
+     * 调用速率由 {@link FeishuApiRateGovernor} 全局约束。结果按块顺序拼回，record_id 按位置与入参一一对应。
+     * <p>某块失败时其它块照常写完，返回部分结果（失败块的行记入 failedIndexes），
+     * 调用方据此只落库成功的行 —— 否则已写进飞书的行丢了 record_id，下次推送会重复新建。
+     * 所有块都失败时才抛第一个失败块的异常。
+     */
+    private <T> FeishuBatchWriteResult writeChunks(List<T> items, Function<List<T>, FeishuBatchWriteResult> writer) {
         int batchSize = Math.max(1, Math.min(feishuProperties.getBatchSize(), 500));
-        for (int i = 0; i < updates.size(); i += batchSize) {
-            List<RecordUpdate> chunk = updates.subList(i, Math.min(i + batchSize, updates.size()));
-            FeishuBatchWriteResult chunkResult = doBatchUpdate(parsed, token, chunk);
-            total += chunkResult.count();
-            allRecordIds.addAll(chunkResult.recordIds());
+        if (items.size() <= batchSize) {
+            return writer.apply(items);
+        }
+        List<CompletableFuture<FeishuBatchWriteResult>> futures = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += batchSize) {
+            List<T> chunk = items.subList(i, Math.min(i + batchSize, items.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> writer.apply(chunk), feishuChunkExecutor));
+        }
+
+        List<String> allRecordIds = new ArrayList<>(items.size());
+        Set<Integer> failedIndexes = new HashSet<>();
+        int total = 0;
+        RuntimeException firstFailure = null;
+        for (int c = 0; c < futures.size(); c++) {
+            int offset = c * batchSize;
+            int size = Math.min(batchSize, items.size() - offset);
+            try {
+                FeishuBatchWriteResult chunkResult = futures.get(c).join();
+                total += chunkResult.count();
+                // 按块大小补齐，响应少带 id 时也不会把后面块的 id 挤错位
+                for (int i = 0; i < size; i++) {
+                    allRecordIds.add(chunkResult.recordIdAt(i));
+                }
+            } catch (CompletionException ex) {
+                if (firstFailure == null) {
+                    firstFailure = ex.getCause() instanceof RuntimeException cause ? cause : ex;
+                }
+                for (int i = 0; i < size; i++) {
+                    allRecordIds.add(null);
+                    failedIndexes.add(offset + i);
+                }
+            }
+        }
+        if (firstFailure == null) {
+            return new FeishuBatchWriteResult(total, allRecordIds);
+        }
+        if (failedIndexes.size() == items.size()) {
+            throw firstFailure;
         }
-        return new FeishuBatchWriteResult(total, allRecordIds);
+        log.warn("飞书分块写入部分失败 failed={}/{}, cause={}", failedIndexes.size(), items.size(), firstFailure.getMessage());
+        return new FeishuBatchWriteResult(total, allRecordIds, failedIndexes, firstFailure.getMessage());
     }
 
     private FeishuBatchWriteResult doBatchCreate(
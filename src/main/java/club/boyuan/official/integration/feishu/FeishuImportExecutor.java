@@ -4,6 +4,7 @@ import club.boyuan.official.infra.config.FeishuProperties;
 import club.boyuan.official.integration.feishu.dto.FeishuLocationImportResultDTO;
 import club.boyuan.official.integration.feishu.dto.ImportFeishuRequestDTO;
 import club.boyuan.official.integration.feishu.dto.ImportFeishuResponseDTO;
+import club.boyuan.official.persistence.entity.FeishuRecordSyncState;
 import club.boyuan.official.persistence.entity.InterviewSchedule;
 import club.boyuan.official.persistence.entity.InterviewSession;
 import club.boyuan.official.persistence.entity.InterviewSlot;
@@ -15,20 +16,27 @@ import club.boyuan.official.domain.interview.service.IInterviewScheduleService;
 import club.boyuan.official.domain.interview.service.IInterviewSlotService;
 import club.boyuan.official.domain.interview.service.ILocationTableService;
 import club.boyuan.official.domain.interview.service.impl.LocationTableServiceImpl;
+import club.boyuan.official.persistence.mapper.FeishuRecordSyncStateMapper;
 import club.boyuan.official.persistence.mapper.InterviewSessionMapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Semaphore;
@@ -38,6 +46,9 @@ import java.util.stream.Collectors;
 
 /**
  * 飞书导入「执行层」：查 MySQL → 按面试地点分桶 → 并行调飞书 API → 回写 sync_status 与 feishu_record_id。
+ *
+ * 每写成功一行就在 feishu_record_sync_state 记下 (排期, 表) → record_id 与行内容哈希。
+ * 增量模式（deltaSync）据此只写内容变了的行，并删掉不再推送的行；未变的周期重推不调任何飞书写接口。
  */
 @Component
 @Slf4j
@@ -53,6 +64,7 @@ public class FeishuImportExecutor {
     private final ResumeMapper resumeMapper;
     private final ResumeFieldReader resumeFieldReader;
     private final FeishuBitableClient feishuBitableClient;
+    private final FeishuRecordSyncStateMapper syncStateMapper;
     private final FeishuProperties feishuProperties;
     private final Executor feishuBucketExecutor;
 
@@ -63,6 +75,7 @@ public class FeishuImportExecutor {
                                 ResumeMapper resumeMapper,
                                 ResumeFieldReader resumeFieldReader,
                                 FeishuBitableClient feishuBitableClient,
+                                FeishuRecordSyncStateMapper syncStateMapper,
                                 FeishuProperties feishuProperties,
                                 @Qualifier("feishuBucketExecutor") Executor feishuBucketExecutor) {
         this.interviewScheduleService = interviewScheduleService;
@@ -72,6 +85,7 @@ public class FeishuImportExecutor {
         this.resumeMapper = resumeMapper;
         this.resumeFieldReader = resumeFieldReader;
         this.feishuBitableClient = feishuBitableClient;
+        this.syncStateMapper = syncStateMapper;
         this.feishuProperties = feishuProperties;
         this.feishuBucketExecutor = feishuBucketExecutor;
     }
@@ -81,15 +95,21 @@ public class FeishuImportExecutor {
     }
 
     public ImportFeishuResponseDTO execute(ImportFeishuRequestDTO request, FeishuSyncProgressCallback progress) {
-        List<InterviewSchedule> schedules = loadSchedules(request);
-        if (schedules.isEmpty()) {
-            throw new BusinessException(BusinessExceptionEnum.FEISHU_NO_SCHEDULES);
-        }
+        SyncMode mode = new SyncMode(Boolean.TRUE.equals(request.getDeltaSync()),
+                Boolean.TRUE.equals(request.getForceUpdate()));
+        List<InterviewSchedule> schedules = loadSchedules(request, mode);
+        Map<Integer, Map<String, FeishuRecordSyncState>> statesBySchedule = loadSyncStates(request.getCycleId());
 
         PreloadContext preload = preload(schedules, request.getCycleId());
         BucketPlan plan = buildBuckets(schedules, request, preload);
+        List<StaleGroup> staleGroups = mode.delta()
+                ? planStaleDeletions(request, schedules, plan, statesBySchedule)
+                : List.of();
 
-        if (plan.buckets.isEmpty()) {
+        if (schedules.isEmpty() && staleGroups.isEmpty()) {
+            throw new BusinessException(BusinessExceptionEnum.FEISHU_NO_SCHEDULES);
+        }
+        if (plan.buckets.isEmpty() && staleGroups.isEmpty()) {
             throw new BusinessException(BusinessExceptionEnum.FEISHU_TABLE_URL_MISSING,
                     "没有可导入的记录：请先在「飞书同步」页为各面试地点配置多维表格链接，或在请求中传入 feishuTableUrl 以把所有地点合并推到同一张表");
         }
@@ -97,14 +117,14 @@ public class FeishuImportExecutor {
         ImportFeishuResponseDTO response = new ImportFeishuResponseDTO();
         response.setSkippedCount(plan.skipped);
 
-        int totalBuckets = plan.buckets.size();
+        int totalSteps = plan.buckets.size() + staleGroups.size();
         if (progress != null) {
-            progress.onProgress(0, totalBuckets, 0, 0, plan.skipped);
+            progress.onProgress(0, totalSteps, 0, 0, plan.skipped);
         }
 
         int concurrency = Math.max(1, feishuProperties.getParallelBucketConcurrency());
         Semaphore limit = new Semaphore(concurrency);
-        AtomicInteger completedBuckets = new AtomicInteger(0);
+        AtomicInteger completedSteps = new AtomicInteger(0);
         AtomicInteger importedAcc = new AtomicInteger(0);
         AtomicInteger failedAcc = new AtomicInteger(0);
 
@@ -114,13 +134,14 @@ public class FeishuImportExecutor {
             futures.add(CompletableFuture.supplyAsync(() -> {
                 try {
                     limit.acquire();
-                    FeishuLocationImportResultDTO result = importBucket(bucket, preload.snapshotByResumeId);
+                    FeishuLocationImportResultDTO result = importBucket(
+                            bucket, preload.snapshotByResumeId, statesBySchedule, mode);
                     importedAcc.addAndGet(result.getImportedCount());
                     failedAcc.addAndGet(result.getFailedCount());
                     if (progress != null) {
                         progress.onProgress(
-                                completedBuckets.incrementAndGet(),
-                                totalBuckets,
+                                completedSteps.incrementAndGet(),
+                                totalSteps,
                                 importedAcc.get(),
                                 failedAcc.get(),
                                 plan.skipped);
@@ -138,25 +159,58 @@ public class FeishuImportExecutor {
         List<FeishuLocationImportResultDTO> locationResults = futures.stream()
                 .map(CompletableFuture::join)
                 .toList();
+        Map<String, FeishuLocationImportResultDTO> resultByTableKey = new HashMap<>();
+        List<LocationBucket> buckets = new ArrayList<>(plan.buckets.values());
+        for (int i = 0; i < buckets.size(); i++) {
+            if (buckets.get(i).tableKey != null) {
+                resultByTableKey.putIfAbsent(buckets.get(i).tableKey, locationResults.get(i));
+            }
+        }
+        List<FeishuLocationImportResultDTO> allResults = new ArrayList<>(locationResults);
+
+        // 删除放在写入之后：换表的排期先在新表建好行，再删旧表那行
+        for (StaleGroup group : staleGroups) {
+            FeishuLocationImportResultDTO deletion = deleteStaleRecords(group);
+            failedAcc.addAndGet(deletion.getFailedCount());
+            FeishuLocationImportResultDTO sameTable = resultByTableKey.get(group.tableKey());
+            if (sameTable != null) {
+                sameTable.setDeletedCount(sameTable.getDeletedCount() + deletion.getDeletedCount())
+                        .setFailedCount(sameTable.getFailedCount() + deletion.getFailedCount());
+                if (deletion.getFailedCount() > 0) {
+                    sameTable.setMessage(deletion.getMessage());
+                }
+            } else {
+                allResults.add(deletion);
+            }
+            if (progress != null) {
+                progress.onProgress(completedSteps.incrementAndGet(), totalSteps,
+                        importedAcc.get(), failedAcc.get(), plan.skipped);
+            }
+        }
 
-        for (FeishuLocationImportResultDTO locationResult : locationResults) {
+        for (FeishuLocationImportResultDTO locationResult : allResults) {
             response.getLocations().add(locationResult);
             response.setImportedCount(response.getImportedCount() + locationResult.getImportedCount());
             response.setFailedCount(response.getFailedCount() + locationResult.getFailedCount());
+            response.setCreatedCount(response.getCreatedCount() + locationResult.getCreatedCount());
+            response.setUpdatedCount(response.getUpdatedCount() + locationResult.getUpdatedCount());
+            response.setUnchangedCount(response.getUnchangedCount() + locationResult.getUnchangedCount());
+            response.setDeletedCount(response.getDeletedCount() + locationResult.getDeletedCount());
         }
 
-        log.info("飞书导入完成 cycleId={}, imported={}, failed={}, skipped={}, buckets={}",
-                request.getCycleId(), response.getImportedCount(), response.getFailedCount(),
+        log.info("飞书导入完成 cycleId={}, delta={}, created={}, updated={}, unchanged={}, deleted={}, failed={}, skipped={}, buckets={}",
+                request.getCycleId(), mode.delta(), response.getCreatedCount(), response.getUpdatedCount(),
+                response.getUnchangedCount(), response.getDeletedCount(), response.getFailedCount(),
                 response.getSkippedCount(), plan.buckets.size());
         return response;
     }
 
-    private List<InterviewSchedule> loadSchedules(ImportFeishuRequestDTO request) {
-        boolean forceUpdate = Boolean.TRUE.equals(request.getForceUpdate());
+    private List<InterviewSchedule> loadSchedules(ImportFeishuRequestDTO request, SyncMode mode) {
         LambdaQueryWrapper<InterviewSchedule> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(InterviewSchedule::getCycleId, request.getCycleId())
                 .eq(InterviewSchedule::getStatus, STATUS_ACTIVE);
-        if (!forceUpdate) {
+        // 增量模式靠内容哈希判断变化：飞书行取自简历快照，改简历不会把 sync_status 置回 0
+        if (!mode.force() && !mode.delta()) {
             wrapper.eq(InterviewSchedule::getSyncStatus, 0);
         }
         if (request.getSlotId() != null) {
@@ -165,6 +219,64 @@ public class FeishuImportExecutor {
         return interviewScheduleService.list(wrapper);
     }
 
+    /** schedule_id → (table_key → 同步状态) */
+    private Map<Integer, Map<String, FeishuRecordSyncState>> loadSyncStates(Integer cycleId) {
+        Map<Integer, Map<String, FeishuRecordSyncState>> statesBySchedule = new HashMap<>();
+        List<FeishuRecordSyncState> states = syncStateMapper.selectList(
+                new LambdaQueryWrapper<FeishuRecordSyncState>().eq(FeishuRecordSyncState::getCycleId, cycleId));
+        for (FeishuRecordSyncState state : states) {
+            statesBySchedule.computeIfAbsent(state.getScheduleId(), k -> new HashMap<>())
+                    .put(state.getTableKey(), state);
+        }
+        return statesBySchedule;
+    }
+
+    /**
+     * 本周期同步状态里、本次不再推送到那张表的行：排期已取消，或换了地点落到别的表。
+     *
+     * 只在整周期推送、且没有覆盖链接时判断 —— 单时段导入和临时合表只是局部推送，
+     * 据此会把别处正常的行当成失效删掉。无法分桶（未配链接）的排期保留原行。
+     */
+    private List<StaleGroup> planStaleDeletions(ImportFeishuRequestDTO request,
+                                                List<InterviewSchedule> schedules,
+                                                BucketPlan plan,
+                                                Map<Integer, Map<String, FeishuRecordSyncState>> statesBySchedule) {
+        if (request.getSlotId() != null || StringUtils.hasText(request.getFeishuTableUrl())) {
+            return List.of();
+        }
+        Set<Integer> activeIds = schedules.stream()
+                .map(InterviewSchedule::getScheduleId)
+                .collect(Collectors.toCollection(HashSet::new));
+        Map<Integer, String> routedTable = new HashMap<>();
+        for (LocationBucket bucket : plan.buckets.values()) {
+            if (bucket.tableKey == null) {
+                // 链接解析不了，这一桶会整体失败；不据此删任何行
+                bucket.schedules.forEach(s -> routedTable.put(s.getScheduleId(), null));
+                continue;
+            }
+            bucket.schedules.forEach(s -> routedTable.put(s.getScheduleId(), bucket.tableKey));
+        }
+
+        Map<String, List<FeishuRecordSyncState>> staleByTable = new LinkedHashMap<>();
+        statesBySchedule.forEach((scheduleId, byTable) -> byTable.values().forEach(state -> {
+            boolean stale;
+            if (!activeIds.contains(scheduleId)) {
+                stale = true;
+            } else if (routedTable.containsKey(scheduleId)) {
+                String tableKey = routedTable.get(scheduleId);
+                stale = tableKey != null && !tableKey.equals(state.getTableKey());
+            } else {
+                stale = false;
+            }
+            if (stale) {
+                staleByTable.computeIfAbsent(state.getTableKey(), k -> new ArrayList<>()).add(state);
+            }
+        }));
+        return staleByTable.entrySet().stream()
+                .map(e -> new StaleGroup(e.getKey(), e.getValue()))
+                .toList();
+    }
+
     private PreloadContext preload(List<InterviewSchedule> schedules, Integer cycleId) {
         // 方案B 的地点在 interview_session 上；slot 分支只为兼容还带 slot_id 的历史排期而保留
         List<Integer> sessionIds = schedules.stream()
@@ -231,14 +343,17 @@ public class FeishuImportExecutor {
                 continue;
             }
 
-            LocationBucket bucket = buckets.computeIfAbsent(locationKey, k -> new LocationBucket(locationKey, tableUrl));
+            LocationBucket bucket = buckets.computeIfAbsent(locationKey,
+                    k -> new LocationBucket(locationKey, tableUrl, tableKeyOf(tableUrl), request.getCycleId()));
             bucket.schedules.add(schedule);
         }
         return new BucketPlan(buckets, skipped);
     }
 
     private FeishuLocationImportResultDTO importBucket(LocationBucket bucket,
-                                                       Map<Integer, ResumeFieldReader.ResumeSnapshot> snapshotByResumeId) {
+                                                       Map<Integer, ResumeFieldReader.ResumeSnapshot> snapshotByResumeId,
+                                                       Map<Integer, Map<String, FeishuRecordSyncState>> statesBySchedule,
+                                                       SyncMode mode) {
         bucket.schedules.sort(Comparator.comparing(
                 InterviewSchedule::getInterviewTime,
                 Comparator.nullsLast(Comparator.naturalOrder())));
@@ -249,14 +364,30 @@ public class FeishuImportExecutor {
 
         List<ScheduledRow> createPlans = new ArrayList<>();
         List<ScheduledRow> updatePlans = new ArrayList<>();
+        List<Integer> unchangedUnsynced = new ArrayList<>();
+        int unchanged = 0;
         int rowBuildFailed = 0;
 
         for (InterviewSchedule schedule : bucket.schedules) {
             try {
                 Map<String, Object> fields = buildRow(schedule, snapshotByResumeId);
-                ScheduledRow row = new ScheduledRow(schedule.getScheduleId(), fields);
-                if (StringUtils.hasText(schedule.getFeishuRecordId())) {
-                    updatePlans.add(new ScheduledRow(schedule.getScheduleId(), schedule.getFeishuRecordId(), fields));
+                String contentHash = rowHash(fields);
+                Map<String, FeishuRecordSyncState> byTable = statesBySchedule.get(schedule.getScheduleId());
+                FeishuRecordSyncState state = byTable == null || bucket.tableKey == null
+                        ? null : byTable.get(bucket.tableKey);
+                if (mode.skipUnchanged() && state != null && contentHash.equals(state.getContentHash())) {
+                    unchanged++;
+                    if (!Objects.equals(schedule.getSyncStatus(), SYNC_DONE)) {
+                        unchangedUnsynced.add(schedule.getScheduleId());
+                    }
+                    continue;
+                }
+                // 有同步状态就用这张表上的 record_id；一条状态都没有的是引入同步状态前推过的历史行，沿用 feishu_record_id
+                String recordId = state != null ? state.getRecordId()
+                        : byTable == null ? schedule.getFeishuRecordId() : null;
+                ScheduledRow row = new ScheduledRow(schedule.getScheduleId(), recordId, fields, contentHash);
+                if (StringUtils.hasText(recordId)) {
+                    updatePlans.add(row);
                 } else {
                     createPlans.add(row);
                 }
@@ -265,14 +396,24 @@ public class FeishuImportExecutor {
                 log.error("组装飞书行失败 scheduleId={}", schedule.getScheduleId(), ex);
             }
         }
+        locationResult.setUnchangedCount(unchanged);
+        markSynced(unchangedUnsynced);
 
         if (createPlans.isEmpty() && updatePlans.isEmpty()) {
+            if (unchanged > 0) {
+                // 整桶内容未变：不读表结构、不写飞书
+                return locationResult.setFailedCount(rowBuildFailed)
+                        .setMessage(rowBuildFailed > 0 ? "部分行组装失败，其余内容无变化" : "内容无变化");
+            }
             locationResult.setMessage("无可导入行")
                     .setFailedCount(bucket.schedules.size());
             return locationResult;
         }
 
-        int imported = 0;
+        int created = 0;
+        int updated = 0;
+        int writeFailed = 0;
+        String writeFailure = null;
         try {
             // 写记录前先对齐表结构:飞书不会自动建列,写不存在的列名会整批
             // FieldNameNotFound。管理员常给一张只有默认「文本」列的空表,缺列自动补建。
@@ -292,33 +433,140 @@ public class FeishuImportExecutor {
                 List<Map<String, Object>> rows = createPlans.stream()
                         .map(r -> FeishuBitableClient.coerceRow(r.fields(), types))
                         .toList();
-                FeishuBatchWriteResult created = feishuBitableClient.batchCreateRecords(bucket.tableUrl, rows);
-                imported += created.count();
-                persistCreateResults(createPlans, created.recordIds());
+                FeishuBatchWriteResult result = feishuBitableClient.batchCreateRecords(bucket.tableUrl, rows);
+                created = result.count();
+                // 只落库写成功的块：失败块的行没有 record_id，下次推送按新建重试
+                List<ScheduledRow> createdRows = succeededRows(createPlans, result);
+                List<String> createdIds = succeededRecordIds(createPlans.size(), result);
+                persistCreateResults(createdRows, createdIds);
+                saveSyncStates(bucket, createdRows, createdIds);
+                if (result.partiallyFailed()) {
+                    writeFailed += createPlans.size() - createdRows.size();
+                    writeFailure = result.failureMessage();
+                }
             }
             if (!updatePlans.isEmpty()) {
                 List<FeishuBitableClient.RecordUpdate> updates = updatePlans.stream()
                         .map(r -> new FeishuBitableClient.RecordUpdate(
                                 r.recordId(), FeishuBitableClient.coerceRow(r.fields(), types)))
                         .toList();
-                FeishuBatchWriteResult updated = feishuBitableClient.batchUpdateRecords(bucket.tableUrl, updates);
-                imported += updated.count();
-                markSynced(updatePlans.stream().map(ScheduledRow::scheduleId).toList());
+                FeishuBatchWriteResult result = feishuBitableClient.batchUpdateRecords(bucket.tableUrl, updates);
+                updated = result.count();
+                List<ScheduledRow> updatedRows = succeededRows(updatePlans, result);
+                markSynced(updatedRows.stream().map(ScheduledRow::scheduleId).toList());
+                saveSyncStates(bucket, updatedRows, updatedRows.stream().map(ScheduledRow::recordId).toList());
+                if (result.partiallyFailed()) {
+                    writeFailed += updatePlans.size() - updatedRows.size();
+                    writeFailure = writeFailure != null ? writeFailure : result.failureMessage();
+                }
             }
 
-            locationResult.setImportedCount(imported)
-                    .setFailedCount(rowBuildFailed)
-                    .setMessage(rowBuildFailed > 0 ? "部分导入成功" : "导入成功");
+            locationResult.setImportedCount(created + updated)
+                    .setCreatedCount(created)
+                    .setUpdatedCount(updated)
+                    .setFailedCount(rowBuildFailed + writeFailed)
+                    .setMessage(writeFailure != null ? "部分导入成功: " + writeFailure
+                            : rowBuildFailed > 0 ? "部分导入成功" : "导入成功");
             return locationResult;
         } catch (BusinessException ex) {
             int failedRows = createPlans.size() + updatePlans.size() + rowBuildFailed;
-            locationResult.setFailedCount(failedRows)
+            locationResult.setImportedCount(created + updated)
+                    .setCreatedCount(created)
+                    .setUpdatedCount(updated)
+                    .setFailedCount(failedRows - created - updated)
                     .setMessage(ex.getMessage());
             log.error("飞书导入失败 location={}, url={}", bucket.locationKey, bucket.tableUrl, ex);
             return locationResult;
         }
     }
 
+    /**
+     * 删除一张表上的失效行，并清掉同步状态；已取消排期的 feishu_record_id 一并置空，
+     * 免得排期恢复后拿旧 id 去更新一条已删的行。
+     */
+    private FeishuLocationImportResultDTO deleteStaleRecords(StaleGroup group) {
+        FeishuRecordSyncState first = group.states().get(0);
+        FeishuLocationImportResultDTO result = new FeishuLocationImportResultDTO()
+                .setLocation(first.getLocation())
+                .setTableUrl(first.getTableUrl());
+        List<String> recordIds = group.states().stream().map(FeishuRecordSyncState::getRecordId).toList();
+        try {
+            FeishuBatchWriteResult deleteResult = feishuBitableClient.batchDeleteRecords(first.getTableUrl(), recordIds);
+            // 删除失败块里的行还在飞书上，保留它们的同步状态，下次推送再删
+            List<FeishuRecordSyncState> deleted = new ArrayList<>(group.states().size());
+            for (int i = 0; i < group.states().size(); i++) {
+                if (deleteResult.succeeded(i)) {
+                    deleted.add(group.states().get(i));
+                }
+            }
+            List<String> deletedRecordIds = deleted.stream().map(FeishuRecordSyncState::getRecordId).toList();
+            syncStateMapper.deleteByIds(deleted.stream().map(FeishuRecordSyncState::getId).toList());
+            interviewScheduleService.update(new LambdaUpdateWrapper<InterviewSchedule>()
+                    .set(InterviewSchedule::getFeishuRecordId, null)
+                    .set(InterviewSchedule::getSyncStatus, 0)
+                    .in(InterviewSchedule::getScheduleId,
+                            deleted.stream().map(FeishuRecordSyncState::getScheduleId).toList())
+                    .in(InterviewSchedule::getFeishuRecordId, deletedRecordIds));
+            if (deleteResult.partiallyFailed()) {
+                return result.setDeletedCount(deleteResult.count())
+                        .setFailedCount(recordIds.size() - deleted.size())
+                        .setMessage("部分失效行删除失败: " + deleteResult.failureMessage());
+            }
+            return result.setDeletedCount(deleteResult.count()).setMessage("已删除失效行");
+        } catch (BusinessException ex) {
+            log.error("删除飞书失效行失败 table={}, count={}", group.tableKey(), recordIds.size(), ex);
+            return result.setFailedCount(recordIds.size()).setMessage(ex.getMessage());
+        }
+    }
+
+    private void saveSyncStates(LocationBucket bucket, List<ScheduledRow> rows, List<String> recordIds) {
+        if (bucket.tableKey == null) {
+            return;
+        }
+        List<FeishuRecordSyncState> states = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size() && i < recordIds.size(); i++) {
+            if (!StringUtils.hasText(recordIds.get(i))) {
+                continue;
+            }
+            ScheduledRow row = rows.get(i);
+            states.add(new FeishuRecordSyncState()
+                    .setCycleId(bucket.cycleId)
+                    .setScheduleId(row.scheduleId())
+                    .setTableKey(bucket.tableKey)
+                    .setTableUrl(bucket.tableUrl)
+                    .setLocation(bucket.locationKey)
+                    .setRecordId(recordIds.get(i))
+                    .setContentHash(row.contentHash()));
+        }
+        if (!states.isEmpty()) {
+            syncStateMapper.upsertBatch(states);
+        }
+    }
+
+    private static List<ScheduledRow> succeededRows(List<ScheduledRow> plans, FeishuBatchWriteResult result) {
+        if (!result.partiallyFailed()) {
+            return plans;
+        }
+        List<ScheduledRow> rows = new ArrayList<>(plans.size());
+        for (int i = 0; i < plans.size(); i++) {
+            if (result.succeeded(i)) {
+                rows.add(plans.get(i));
+            }
+        }
+        return rows;
+    }
+
+    /** 与 {@link #succeededRows} 对齐的 record_id 列表 */
+    private static List<String> succeededRecordIds(int size, FeishuBatchWriteResult result) {
+        List<String> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (result.succeeded(i)) {
+                ids.add(result.recordIdAt(i));
+            }
+        }
+        return ids;
+    }
+
     private void persistCreateResults(List<ScheduledRow> createPlans, List<String> recordIds) {
         for (int i = 0; i < createPlans.size(); i++) {
             String recordId = i < recordIds.size() ? recordIds.get(i) : null;
@@ -367,6 +615,32 @@ public class FeishuImportExecutor {
         return fields;
     }
 
+    /**
+     * 行内容哈希：按列顺序拼 列名/值 后取 SHA-256。取的是按列类型转换前的值，
+     * 只反映平台侧数据变化；飞书里手工改过的行要用 forceUpdate 重写。
+     */
+    static String rowHash(Map<String, Object> fields) {
+        StringBuilder canonical = new StringBuilder();
+        fields.forEach((name, value) -> canonical.append(name).append('\u001F')
+                .append(value == null ? "" : value).append('\u001E'));
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    /** 同一张表的不同链接写法归一；链接解析不了时返回 null，交给写入时报错 */
+    private static String tableKeyOf(String tableUrl) {
+        try {
+            FeishuTableUrlParser.ParsedTable parsed = FeishuTableUrlParser.parse(tableUrl);
+            return parsed.appToken() + ":" + parsed.tableId();
+        } catch (BusinessException ex) {
+            return null;
+        }
+    }
+
     private FeishuLocationImportResultDTO failedLocationResult(LocationBucket bucket, String message) {
         return new FeishuLocationImportResultDTO()
                 .setLocation(bucket.locationKey)
@@ -426,20 +700,36 @@ public class FeishuImportExecutor {
     private record BucketPlan(Map<String, LocationBucket> buckets, int skipped) {
     }
 
-    private record ScheduledRow(int scheduleId, String recordId, Map<String, Object> fields) {
-        ScheduledRow(int scheduleId, Map<String, Object> fields) {
-            this(scheduleId, null, fields);
+    private record ScheduledRow(int scheduleId, String recordId, Map<String, Object> fields, String contentHash) {
+    }
+
+    /**
+     * @param delta 增量模式
+     * @param force 请求带了 forceUpdate：增量模式下也不跳过内容未变的行
+     */
+    private record SyncMode(boolean delta, boolean force) {
+        boolean skipUnchanged() {
+            return delta && !force;
         }
     }
 
+    private record StaleGroup(String tableKey, List<FeishuRecordSyncState> states) {
+    }
+
     static final class LocationBucket {
         private final String locationKey;
         private final String tableUrl;
+        /** app_token:table_id；链接解析失败为 null */
+        private final String tableKey;
+        private final Integer cycleId;
         private final List<InterviewSchedule> schedules = new ArrayList<>();
 
-        LocationBucket(String locationKey, String tableUrl) {
+        LocationBucket(String locationKey, String tableUrl, String tableKey, Integer cycleId) {
             this.locationKey = locationKey;
             this.tableUrl = tableUrl;
+            this.tableKey = tableKey;
+            this.cycleId = cycleId;
         }
+
     }
 }
@@ -0,0 +1,39 @@
+package club.boyuan.official.integration.feishu;
+
+import club.boyuan.official.persistence.entity.InterviewResult;
+import club.boyuan.official.persistence.entity.User;
+import club.boyuan.official.persistence.mapper.InterviewResultMapper;
+import club.boyuan.official.persistence.mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 飞书拉回的单页落库：用户部门一条 CASE UPDATE + 面试结果一条多行 upsert，同一事务提交。
+ *
+ * <p>单独成 Bean 是为了让 {@link Transactional} 走代理生效；执行器每读完一页调用一次，
+ * 一页要么整页写入、要么整页回滚，任务失败后可以从上一页的游标接着读。
+ */
+@Component
+@RequiredArgsConstructor
+public class FeishuPullPageWriter {
+
+    private final UserMapper userMapper;
+    private final InterviewResultMapper interviewResultMapper;
+
+    /**
+     * @param deptUpdates 需改 dept_id 的用户（userId 不重复）
+     * @param results     待 upsert 的面试结果，按表格行顺序
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void write(List<User> deptUpdates, List<InterviewResult> results) {
+        if (!deptUpdates.isEmpty()) {
+            userMapper.updateDeptIdBatch(deptUpdates);
+        }
+        if (!results.isEmpty()) {
+            interviewResultMapper.upsertBatch(results);
+        }
+    }
+}
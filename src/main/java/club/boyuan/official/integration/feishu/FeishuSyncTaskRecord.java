@@ -29,11 +29,18 @@ public class FeishuSyncTaskRecord {
     private String feishuTableUrl;
     /** true=包含已 sync 的记录（飞书会追加行，可能重复） */
     private Boolean forceUpdate;
+    /** true=按内容哈希增量同步，见 {@link ImportFeishuRequestDTO#getDeltaSync()} */
+    private Boolean deltaSync;
     /** {@link FeishuSyncTaskStatus} 名称 */
     private String status;
     private Integer importedCount;
     private Integer failedCount;
     private Integer skippedCount;
+    /** PUSH 完成后：新建 / 更新 / 内容未变跳过 / 删除的飞书行数 */
+    private Integer createdCount;
+    private Integer updatedCount;
+    private Integer unchangedCount;
+    private Integer deletedCount;
     /** 总步骤数（PUSH=地点桶数，PULL=表格行数） */
     private Integer totalSteps;
     /** 已完成步骤数 */
@@ -46,8 +53,10 @@ public class FeishuSyncTaskRecord {
     private Integer operatorUserId;
     /** 平台 → 飞书：按地点分组的导入明细 */
     private ImportFeishuResponseDTO result;
-    /** 飞书 → 平台：按行导入明细 */
+    /** 飞书 → 平台：累计结果；执行中每页提交后刷新，失败/跳过行带明细 */
     private ImportFromFeishuTableResponseDTO pullResult;
+    /** 拉回任务检查点：最后一页提交后的飞书分页游标；读完整表后清空。失败任务据此续跑 */
+    private String pullPageToken;
     private String errorMessage;
     private LocalDateTime createdAt;
     private LocalDateTime startedAt;
@@ -67,6 +76,7 @@ public class FeishuSyncTaskRecord {
         request.setSlotId(slotId);
         request.setFeishuTableUrl(feishuTableUrl);
         request.setForceUpdate(Boolean.TRUE.equals(forceUpdate));
+        request.setDeltaSync(Boolean.TRUE.equals(deltaSync));
         return request;
     }
 
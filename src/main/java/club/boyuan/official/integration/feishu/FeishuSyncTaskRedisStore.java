@@ -61,6 +61,7 @@ public class FeishuSyncTaskRedisStore {
                 .setFeishuTableUrl(StringUtils.hasText(request.getFeishuTableUrl())
                         ? request.getFeishuTableUrl().trim() : null)
                 .setForceUpdate(Boolean.TRUE.equals(request.getForceUpdate()))
+                .setDeltaSync(Boolean.TRUE.equals(request.getDeltaSync()))
                 .setStatus(FeishuSyncTaskStatus.PENDING.name())
                 .setImportedCount(0)
                 .setFailedCount(0)
@@ -154,6 +155,10 @@ public class FeishuSyncTaskRedisStore {
                 .setImportedCount(result.getImportedCount())
                 .setFailedCount(result.getFailedCount())
                 .setSkippedCount(result.getSkippedCount())
+                .setCreatedCount(result.getCreatedCount())
+                .setUpdatedCount(result.getUpdatedCount())
+                .setUnchangedCount(result.getUnchangedCount())
+                .setDeletedCount(result.getDeletedCount())
                 .setTotalSteps(total)
                 .setCompletedSteps(total)
                 .setProgressPercent(100)
@@ -189,6 +194,44 @@ public class FeishuSyncTaskRedisStore {
         return Math.min(100, (int) Math.round(completed * 100.0 / total));
     }
 
+    /**
+     * 拉回任务每页提交后记检查点：游标 + 累计结果 + 进度，一次写 Redis。
+     */
+    public FeishuSyncTaskRecord checkpointPull(Long taskId, FeishuTablePullImportExecutor.PullCheckpoint checkpoint) {
+        ImportFromFeishuTableResponseDTO result = checkpoint.result();
+        int processed = result.getSuccessCount() + result.getFailedCount() + result.getSkippedCount();
+        FeishuSyncTaskRecord record = requireById(taskId);
+        record.setPullPageToken(checkpoint.nextPageToken())
+                .setPullResult(result)
+                .setImportedCount(result.getSuccessCount())
+                .setFailedCount(result.getFailedCount())
+                .setSkippedCount(result.getSkippedCount())
+                .setCompletedSteps(processed)
+                .setTotalSteps(result.getTotalRows())
+                .setProgressPercent(calcPercent(processed, result.getTotalRows()));
+        save(record);
+        return record;
+    }
+
+    /**
+     * 失败的拉回任务改回 PENDING 以便重新投递；保留检查点，消费者从最后提交的那页之后接着读。
+     * <p>只接受 FAILED 且有游标的 PULL 任务 —— 没有游标说明一页都没提交或已读完，应重新提交任务。
+     */
+    public FeishuSyncTaskRecord reopenPull(Long taskId) {
+        FeishuSyncTaskRecord record = requireById(taskId);
+        if (record.resolvedTaskType() != FeishuSyncTaskType.PULL_FROM_FEISHU
+                || !FeishuSyncTaskStatus.FAILED.name().equals(record.getStatus())
+                || !StringUtils.hasText(record.getPullPageToken())) {
+            throw new BusinessException(BusinessExceptionEnum.FEISHU_SYNC_TASK_NOT_RESUMABLE,
+                    "仅中途失败的拉回任务可续跑，请重新提交");
+        }
+        record.setStatus(FeishuSyncTaskStatus.PENDING.name())
+                .setErrorMessage(null)
+                .setFinishedAt(null);
+        save(record);
+        return record;
+    }
+
     /** 拉回任务成功结束。 */
     public void completePull(Long taskId, ImportFromFeishuTableResponseDTO result, FeishuSyncTaskStatus status) {
         FeishuSyncTaskRecord record = requireById(taskId);
@@ -200,6 +243,7 @@ public class FeishuSyncTaskRedisStore {
                 .setCompletedSteps(result.getTotalRows())
                 .setProgressPercent(100)
                 .setPullResult(result)
+                .setPullPageToken(null)
                 .setErrorMessage(null)
                 .setFinishedAt(LocalDateTime.now());
         save(record);
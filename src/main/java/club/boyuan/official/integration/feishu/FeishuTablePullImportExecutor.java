@@ -11,7 +11,6 @@ import club.boyuan.official.persistence.entity.User;
 import club.boyuan.official.common.exception.BusinessException;
 import club.boyuan.official.common.exception.BusinessExceptionEnum;
 import club.boyuan.official.domain.user.service.DepartmentService;
-import club.boyuan.official.domain.interview.service.IInterviewResultService;
 import club.boyuan.official.domain.interview.service.IInterviewScheduleService;
 import club.boyuan.official.persistence.mapper.ResumeMapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
@@ -26,13 +25,20 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
- * 从飞书多维表格拉回面试结果并写入平台（批量预加载，避免 N+1）。
+ * 从飞书多维表格拉回面试结果并写入平台。
+ *
+ * <p>流式按页处理：读一页 → 该页姓名对应的用户 / 简历 / 面试安排 / 决定人各一次批量查询 →
+ * 内存里逐行解析 → {@link FeishuPullPageWriter} 一个事务写完整页 → 回调检查点（下一页游标 + 累计结果）。
+ * 内存只随页大小增长，不随表格行数增长；中途失败时已提交的页不受影响，可从检查点续跑。
  */
 @Component
 @RequiredArgsConstructor
@@ -45,85 +51,141 @@ public class FeishuTablePullImportExecutor {
     private final IUserService userService;
     private final ResumeMapper resumeMapper;
     private final IInterviewScheduleService interviewScheduleService;
-    private final IInterviewResultService interviewResultService;
     private final DepartmentService departmentService;
     private final IRecruitmentCycleService recruitmentCycleService;
+    private final FeishuPullPageWriter pageWriter;
+
+    /**
+     * 拉回检查点：每页提交后产生。
+     *
+     * @param nextPageToken 下一页游标；null 表示整张表已读完
+     * @param result        截至该页的累计结果（计数 + 失败/跳过行明细）
+     */
+    public record PullCheckpoint(String nextPageToken, ImportFromFeishuTableResponseDTO result) {
+    }
 
     public ImportFromFeishuTableResponseDTO execute(
             ImportFromFeishuTableRequestDTO request, Integer defaultOperatorUserId) {
-        return execute(request, defaultOperatorUserId, null);
+        return execute(request, defaultOperatorUserId, null, null);
     }
 
+    /**
+     * @param resumeFrom       非空时从该检查点的游标接着读，计数在其累计结果上继续累加
+     * @param onPageCommitted  每页事务提交后回调，调用方据此持久化检查点、推进度
+     */
     public ImportFromFeishuTableResponseDTO execute(
             ImportFromFeishuTableRequestDTO request,
             Integer defaultOperatorUserId,
-            FeishuSyncProgressCallback progress) {
+            PullCheckpoint resumeFrom,
+            Consumer<PullCheckpoint> onPageCommitted) {
         if (recruitmentCycleService.getRecruitmentCycleById(request.getCycleId()) == null) {
             throw new BusinessException(BusinessExceptionEnum.RECRUITMENT_CYCLE_NOT_FOUND);
         }
 
-        List<FeishuBitableRecord> records = feishuBitableClient.listAllRecords(request.getFeishuTableUrl().trim());
-        if (records.isEmpty()) {
-            throw new BusinessException(BusinessExceptionEnum.FEISHU_TABLE_EMPTY, "飞书表格中没有数据行");
-        }
-
-        PullPreloadContext preload = buildPreloadContext(request.getCycleId(), records, defaultOperatorUserId);
+        String tableUrl = request.getFeishuTableUrl().trim();
+        Map<String, Department> deptByName = loadDepartmentByName();
         boolean updateUserDept = !Boolean.FALSE.equals(request.getUpdateUserDept());
 
-        ImportFromFeishuTableResponseDTO response = new ImportFromFeishuTableResponseDTO();
-        response.setTotalRows(records.size());
+        boolean resuming = resumeFrom != null && StringUtils.hasText(resumeFrom.nextPageToken());
+        ImportFromFeishuTableResponseDTO response = resuming && resumeFrom.result() != null
+                ? resumeFrom.result()
+                : new ImportFromFeishuTableResponseDTO();
+        String pageToken = resuming ? resumeFrom.nextPageToken() : null;
+        int pages = 0;
+
+        do {
+            FeishuBitableClient.RecordPage page = feishuBitableClient.listRecordsPage(tableUrl, pageToken);
+            if (!resuming && pages == 0 && page.records().isEmpty()) {
+                throw new BusinessException(BusinessExceptionEnum.FEISHU_TABLE_EMPTY, "飞书表格中没有数据行");
+            }
+            pages++;
 
-        int totalRows = records.size();
-        if (progress != null) {
-            progress.onProgress(0, totalRows, 0, 0, 0);
-        }
+            importPage(page.records(), request.getCycleId(), deptByName, updateUserDept,
+                    defaultOperatorUserId, response);
+            // total 以飞书返回为准；缺省时至少等于已处理行数，读完后再校正
+            response.setTotalRows(Math.max(page.total(), processedRows(response)));
 
-        int rowIndex = 0;
-        for (FeishuBitableRecord record : records) {
-            rowIndex++;
-            ImportFromFeishuRowResultDTO rowResult = processRow(
-                    record, request.getCycleId(), updateUserDept, defaultOperatorUserId, preload);
-
-            if (!rowResult.isSuccess()) {
-                if (rowResult.getMessage() != null && rowResult.getMessage().contains("姓名为空")) {
-                    response.setSkippedCount(response.getSkippedCount() + 1);
-                } else {
-                    response.setFailedCount(response.getFailedCount() + 1);
-                }
-            } else {
-                response.setSuccessCount(response.getSuccessCount() + 1);
+            pageToken = page.nextPageToken();
+            if (pageToken == null) {
+                response.setTotalRows(processedRows(response));
             }
-            response.getRows().add(rowResult);
-
-            if (progress != null) {
-                progress.onProgress(
-                        rowIndex,
-                        totalRows,
-                        response.getSuccessCount(),
-                        response.getFailedCount(),
-                        response.getSkippedCount());
+            if (onPageCommitted != null) {
+                onPageCommitted.accept(new PullCheckpoint(pageToken, response));
             }
-        }
+        } while (pageToken != null);
 
-        log.info("飞书拉回平台完成 cycleId={}, total={}, success={}, failed={}, skipped={}",
-                request.getCycleId(), response.getTotalRows(), response.getSuccessCount(),
+        log.info("飞书拉回平台完成 cycleId={}, pages={}, resumed={}, total={}, success={}, failed={}, skipped={}",
+                request.getCycleId(), pages, resuming, response.getTotalRows(), response.getSuccessCount(),
                 response.getFailedCount(), response.getSkippedCount());
         return response;
     }
 
-    private ImportFromFeishuRowResultDTO processRow(
-            FeishuBitableRecord record,
+    private static int processedRows(ImportFromFeishuTableResponseDTO response) {
+        return response.getSuccessCount() + response.getFailedCount() + response.getSkippedCount();
+    }
+
+    /**
+     * 解析并写入一页。逐行的业务校验失败只记到该行；落库异常整页回滚并向上抛，由调用方把任务置为失败。
+     */
+    private void importPage(
+            List<FeishuBitableRecord> records,
             Integer cycleId,
+            Map<String, Department> deptByName,
             boolean updateUserDept,
             Integer defaultOperatorUserId,
-            PullPreloadContext preload) {
-        ImportFromFeishuRowResultDTO rowResult = new ImportFromFeishuRowResultDTO()
-                .setRecordId(record.recordId())
-                .setName(record.name())
-                .setDepartment(record.assignedDept());
+            ImportFromFeishuTableResponseDTO response) {
+        if (records.isEmpty()) {
+            return;
+        }
+        PageLookup lookup = lookupPage(cycleId, records);
+        LocalDateTime now = LocalDateTime.now();
 
+        // CASE WHEN 遇到重复 user_id 只认第一个分支，这里先按表格顺序去重（后出现的行覆盖）
+        Map<Integer, Integer> deptIdByUserId = new LinkedHashMap<>();
+        List<InterviewResult> results = new ArrayList<>(records.size());
+        for (FeishuBitableRecord record : records) {
+            ImportFromFeishuRowResultDTO rowResult = new ImportFromFeishuRowResultDTO()
+                    .setRecordId(record.recordId())
+                    .setName(record.name())
+                    .setDepartment(record.assignedDept());
+            try {
+                InterviewResult result = resolveRow(record, deptByName, defaultOperatorUserId, lookup, now);
+                if (updateUserDept && result.getAssignedDeptId() != null) {
+                    deptIdByUserId.put(result.getUserId(), result.getAssignedDeptId());
+                }
+                results.add(result);
+            } catch (RowSkippedException ex) {
+                response.setSkippedCount(response.getSkippedCount() + 1);
+                response.getRows().add(rowResult.setSuccess(false).setMessage(ex.getMessage()));
+            } catch (BusinessException ex) {
+                response.setFailedCount(response.getFailedCount() + 1);
+                response.getRows().add(rowResult.setSuccess(false).setMessage(ex.getMessage()));
+            }
+        }
+
+        List<User> deptUpdates = deptIdByUserId.entrySet().stream()
+                .map(e -> {
+                    User user = new User();
+                    user.setUserId(e.getKey());
+                    user.setDeptId(e.getValue());
+                    return user;
+                })
+                .toList();
+        pageWriter.write(deptUpdates, results);
+        response.setSuccessCount(response.getSuccessCount() + results.size());
+    }
+
+    /**
+     * 单行解析成待写入的面试结果；不可导入时抛 {@link BusinessException}，姓名为空抛 {@link RowSkippedException}。
+     */
+    private InterviewResult resolveRow(
+            FeishuBitableRecord record,
+            Map<String, Department> deptByName,
+            Integer defaultOperatorUserId,
+            PageLookup lookup,
+            LocalDateTime now) {
         if (!StringUtils.hasText(record.name())) {
-            return rowResult.setSuccess(false).setMessage("姓名为空，已跳过");
+            throw new RowSkippedException("姓名为空，已跳过");
         }
 
         int decision = FeishuInterviewResultDecisionResolver.resolve(
@@ -131,103 +193,87 @@ public class FeishuTablePullImportExecutor {
 
         Department dept = null;
         if (StringUtils.hasText(record.assignedDept())) {
-            dept = resolveDepartment(preload.deptByName, record.assignedDept().trim());
+            dept = resolveDepartment(deptByName, record.assignedDept().trim());
             if (dept == null) {
-                return rowResult.setSuccess(false).setMessage("系统中未找到部门: " + record.assignedDept());
+                throw new BusinessException(BusinessExceptionEnum.DEPARTMENT_NOT_FOUND,
+                        "系统中未找到部门: " + record.assignedDept());
             }
         } else if (decision == 1 || decision == 3) {
-            return rowResult.setSuccess(false).setMessage("通过/待调剂须填写录取部门");
+            throw new BusinessException(BusinessExceptionEnum.PARAMETER_VALIDATION_FAILED, "通过/待调剂须填写录取部门");
         }
 
-        try {
-            User user = resolveUserInCycle(record.name().trim(), preload);
-            rowResult.setUserId(user.getUserId());
-
-            if (updateUserDept && dept != null) {
-                user.setDeptId(dept.getDeptId());
-                userService.updateById(user);
-            }
-
-            Integer decisionBy = resolveDecisionByUserId(record.decisionMakerName(), defaultOperatorUserId, preload);
-            Integer assignedDeptId = dept != null ? dept.getDeptId() : null;
-
-            InterviewResult result = upsertInterviewResult(
-                    user, assignedDeptId, decision, decisionBy, preload);
-            rowResult.setResultId(result.getResultId());
-            return rowResult.setSuccess(true).setMessage("导入成功，decision=" + decision);
-        } catch (BusinessException ex) {
-            return rowResult.setSuccess(false).setMessage(ex.getMessage());
-        } catch (Exception ex) {
-            log.error("飞书行导入失败 recordId={}, name={}", record.recordId(), record.name(), ex);
-            return rowResult.setSuccess(false).setMessage("导入异常: " + ex.getMessage());
+        User user = resolveUserInCycle(record.name().trim(), lookup);
+        Resume resume = lookup.resumeByUserId.get(user.getUserId());
+        InterviewSchedule schedule = resume == null ? null : lookup.scheduleByResumeId.get(resume.getResumeId());
+        if (schedule == null) {
+            throw new BusinessException(BusinessExceptionEnum.INTERVIEW_BOOKING_NOT_FOUND,
+                    "该用户在本周期无有效面试安排，无法写入面试结果");
         }
+
+        return new InterviewResult()
+                .setScheduleId(schedule.getScheduleId())
+                .setUserId(user.getUserId())
+                .setAssignedDeptId(dept != null ? dept.getDeptId() : null)
+                .setDecision(decision)
+                .setDecisionBy(resolveDecisionByUserId(record.decisionMakerName(), defaultOperatorUserId, lookup))
+                .setDecisionAt(now);
     }
 
-    private PullPreloadContext buildPreloadContext(
-            Integer cycleId, List<FeishuBitableRecord> records, Integer defaultOperatorUserId) {
-        Map<String, Department> deptByName = loadDepartmentByName();
+    /**
+     * 一页的批量查询：姓名 → 用户 → 本周期简历 → 有效面试安排，外加决定人姓名 → 用户，各一次。
+     */
+    private PageLookup lookupPage(Integer cycleId, List<FeishuBitableRecord> records) {
+        Set<String> names = new HashSet<>();
+        Set<String> decisionNames = new HashSet<>();
+        for (FeishuBitableRecord record : records) {
+            if (StringUtils.hasText(record.name())) {
+                names.add(record.name().trim());
+            }
+            String decisionName = normalizeDecisionMakerName(record.decisionMakerName());
+            if (StringUtils.hasText(decisionName)) {
+                decisionNames.add(decisionName);
+            }
+        }
 
-        List<Resume> cycleResumes = resumeMapper.selectList(
-                new LambdaQueryWrapper<Resume>().eq(Resume::getCycleId, cycleId));
-        Set<Integer> userIdsInCycle = cycleResumes.stream()
-                .map(Resume::getUserId)
-                .filter(id -> id != null)
+        List<User> namedUsers = names.isEmpty() ? List.of()
+                : userService.lambdaQuery().in(User::getName, names).list();
+        Set<Integer> namedUserIds = namedUsers.stream()
+                .map(User::getUserId)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
 
         Map<Integer, Resume> resumeByUserId = new HashMap<>();
-        for (Resume resume : cycleResumes) {
-            if (resume.getUserId() != null) {
-                resumeByUserId.putIfAbsent(resume.getUserId(), resume);
-            }
+        if (!namedUserIds.isEmpty()) {
+            resumeMapper.selectList(new LambdaQueryWrapper<Resume>()
+                            .eq(Resume::getCycleId, cycleId)
+                            .in(Resume::getUserId, namedUserIds))
+                    .forEach(r -> resumeByUserId.putIfAbsent(r.getUserId(), r));
         }
 
+        // 只认本周期有简历的用户，重名判断也只在这个范围内做
         Map<String, List<User>> usersByName = new HashMap<>();
-        if (!userIdsInCycle.isEmpty()) {
-            List<User> users = userService.listByIds(userIdsInCycle);
-            for (User user : users) {
-                if (user.getUserId() == null || !userIdsInCycle.contains(user.getUserId())) {
-                    continue;
-                }
-                if (!StringUtils.hasText(user.getName())) {
-                    continue;
-                }
+        for (User user : namedUsers) {
+            if (resumeByUserId.containsKey(user.getUserId()) && StringUtils.hasText(user.getName())) {
                 usersByName.computeIfAbsent(user.getName().trim(), k -> new ArrayList<>()).add(user);
             }
         }
 
-        List<InterviewSchedule> schedules = interviewScheduleService.lambdaQuery()
-                .eq(InterviewSchedule::getCycleId, cycleId)
-                .eq(InterviewSchedule::getStatus, SCHEDULE_ACTIVE)
-                .list();
         Map<Integer, InterviewSchedule> scheduleByResumeId = new HashMap<>();
-        for (InterviewSchedule schedule : schedules) {
-            if (schedule.getResumeId() == null) {
-                continue;
-            }
-            InterviewSchedule existing = scheduleByResumeId.get(schedule.getResumeId());
-            if (existing == null || schedule.getScheduleId() > existing.getScheduleId()) {
-                scheduleByResumeId.put(schedule.getResumeId(), schedule);
+        if (!resumeByUserId.isEmpty()) {
+            List<Integer> resumeIds = resumeByUserId.values().stream().map(Resume::getResumeId).toList();
+            List<InterviewSchedule> schedules = interviewScheduleService.lambdaQuery()
+                    .eq(InterviewSchedule::getCycleId, cycleId)
+                    .eq(InterviewSchedule::getStatus, SCHEDULE_ACTIVE)
+                    .in(InterviewSchedule::getResumeId, resumeIds)
+                    .list();
+            for (InterviewSchedule schedule : schedules) {
+                InterviewSchedule existing = scheduleByResumeId.get(schedule.getResumeId());
+                if (existing == null || schedule.getScheduleId() > existing.getScheduleId()) {
+                    scheduleByResumeId.put(schedule.getResumeId(), schedule);
+                }
             }
         }
 
-        List<Integer> scheduleIds = scheduleByResumeId.values().stream()
-                .map(InterviewSchedule::getScheduleId)
-                .toList();
-        Map<Integer, InterviewResult> resultByScheduleId = new HashMap<>();
-        if (!scheduleIds.isEmpty()) {
-            interviewResultService.lambdaQuery()
-                    .in(InterviewResult::getScheduleId, scheduleIds)
-                    .list()
-                    .forEach(r -> resultByScheduleId.put(r.getScheduleId(), r));
-        }
-
-        Set<String> decisionNames = new HashSet<>();
-        for (FeishuBitableRecord record : records) {
-            String name = normalizeDecisionMakerName(record.decisionMakerName());
-            if (StringUtils.hasText(name)) {
-                decisionNames.add(name);
-            }
-        }
         Map<String, Integer> decisionByUserName = new HashMap<>();
         if (!decisionNames.isEmpty()) {
             List<User> decisionUsers = userService.lambdaQuery()
@@ -241,15 +287,7 @@ public class FeishuTablePullImportExecutor {
             }
         }
 
-        return new PullPreloadContext(
-                deptByName,
-                usersByName,
-                userIdsInCycle,
-                resumeByUserId,
-                scheduleByResumeId,
-                resultByScheduleId,
-                decisionByUserName,
-                defaultOperatorUserId);
+        return new PageLookup(usersByName, resumeByUserId, scheduleByResumeId, decisionByUserName);
     }
 
     private static String normalizeDecisionMakerName(String raw) {
@@ -264,12 +302,12 @@ public class FeishuTablePullImportExecutor {
     }
 
     private Integer resolveDecisionByUserId(
-            String decisionMakerName, Integer defaultOperatorUserId, PullPreloadContext preload) {
+            String decisionMakerName, Integer defaultOperatorUserId, PageLookup lookup) {
         String name = normalizeDecisionMakerName(decisionMakerName);
         if (!StringUtils.hasText(name)) {
             return defaultOperatorUserId;
         }
-        Integer userId = preload.decisionByUserName.get(name);
+        Integer userId = lookup.decisionByUserName.get(name);
         return userId != null ? userId : defaultOperatorUserId;
     }
 
@@ -303,17 +341,10 @@ public class FeishuTablePullImportExecutor {
         return null;
     }
 
-    private User resolveUserInCycle(String name, PullPreloadContext preload) {
-        List<User> candidates = preload.usersByName.getOrDefault(name, List.of());
-        if (candidates.isEmpty()) {
-            throw new BusinessException(BusinessExceptionEnum.USER_NOT_FOUND, "未找到姓名对应的用户: " + name);
-        }
-        List<User> inCycle = candidates.stream()
-                .filter(u -> preload.userIdsInCycle.contains(u.getUserId()))
-                .toList();
+    private User resolveUserInCycle(String name, PageLookup lookup) {
+        List<User> inCycle = lookup.usersByName.getOrDefault(name, List.of());
         if (inCycle.isEmpty()) {
-            throw new BusinessException(BusinessExceptionEnum.RESUME_NOT_FOUND,
-                    "该用户在当前招新周期无简历: " + name);
+            throw new BusinessException(BusinessExceptionEnum.USER_NOT_FOUND, "未找到姓名对应的用户: " + name);
         }
         if (inCycle.size() > 1) {
             throw new BusinessException(BusinessExceptionEnum.RESOURCE_CONFLICT,
@@ -322,59 +353,19 @@ public class FeishuTablePullImportExecutor {
         return inCycle.get(0);
     }
 
-    private InterviewResult upsertInterviewResult(
-            User user,
-            Integer deptId,
-            int decision,
-            Integer decisionByUserId,
-            PullPreloadContext preload) {
-        Resume resume = preload.resumeByUserId.get(user.getUserId());
-        if (resume == null) {
-            throw new BusinessException(BusinessExceptionEnum.RESUME_NOT_FOUND,
-                    "该用户在当前招新周期无简历");
-        }
+    /** 姓名为空的行计入 skipped，其余不可导入的行计入 failed */
+    private static final class RowSkippedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
 
-        InterviewSchedule schedule = preload.scheduleByResumeId.get(resume.getResumeId());
-        if (schedule == null) {
-            throw new BusinessException(BusinessExceptionEnum.INTERVIEW_BOOKING_NOT_FOUND,
-                    "该用户在本周期无有效面试安排，无法写入面试结果");
+        RowSkippedException(String message) {
+            super(message, null, false, false);
         }
-
-        InterviewResult existing = preload.resultByScheduleId.get(schedule.getScheduleId());
-        LocalDateTime now = LocalDateTime.now();
-        if (existing != null) {
-            existing.setDecision(decision);
-            if (deptId != null) {
-                existing.setAssignedDeptId(deptId);
-            }
-            if (decisionByUserId != null) {
-                existing.setDecisionBy(decisionByUserId);
-            }
-            existing.setDecisionAt(now);
-            interviewResultService.updateById(existing);
-            return existing;
-        }
-
-        InterviewResult created = new InterviewResult()
-                .setScheduleId(schedule.getScheduleId())
-                .setUserId(user.getUserId())
-                .setAssignedDeptId(deptId)
-                .setDecision(decision)
-                .setDecisionBy(decisionByUserId)
-                .setDecisionAt(now);
-        interviewResultService.save(created);
-        preload.resultByScheduleId.put(schedule.getScheduleId(), created);
-        return created;
     }
 
-    private record PullPreloadContext(
-            Map<String, Department> deptByName,
+    private record PageLookup(
             Map<String, List<User>> usersByName,
-            Set<Integer> userIdsInCycle,
             Map<Integer, Resume> resumeByUserId,
             Map<Integer, InterviewSchedule> scheduleByResumeId,
-            Map<Integer, InterviewResult> resultByScheduleId,
-            Map<String, Integer> decisionByUserName,
-            Integer defaultOperatorUserId) {
+            Map<String, Integer> decisionByUserName) {
     }
 }
@@ -4,8 +4,7 @@ import club.boyuan.official.persistence.entity.Resume;
 import club.boyuan.official.persistence.entity.ResumeFieldDefinition;
 import club.boyuan.official.persistence.entity.ResumeFieldValue;
 import club.boyuan.official.persistence.mapper.ResumeFieldDefinitionMapper;
-import club.boyuan.official.domain.resume.service.IResumeService;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import club.boyuan.official.domain.resume.service.ResumeProjectionService;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -16,9 +15,9 @@ import org.springframework.util.StringUtils;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * 从 EAV 简历字段中读取常用展示字段。
@@ -30,46 +29,10 @@ public class ResumeFieldReader {
     private static final List<String> FIELD_KEYS = List.of(
             "name", "grade", "major", "self_introduction", "expected_departments");
 
-    private final IResumeService resumeService;
     private final ResumeFieldDefinitionMapper fieldDefinitionMapper;
-    private final club.boyuan.official.persistence.mapper.ResumeFieldValueMapper resumeFieldValueMapper;
+    private final ResumeProjectionService resumeProjectionService;
     private final ObjectMapper objectMapper;
 
-    public ResumeSnapshot readSnapshot(Resume resume, Integer cycleId) {
-        if (resume == null) {
-            return ResumeSnapshot.empty();
-        }
-        Map<String, Integer> keyToFieldId = loadFieldIdMap(cycleId);
-        List<ResumeFieldValue> values = resumeService.getFieldValuesByResumeId(resume.getResumeId());
-        Map<Integer, String> valueByFieldId = values.stream()
-                .filter(v -> v.getFieldId() != null)
-                .collect(Collectors.toMap(ResumeFieldValue::getFieldId, ResumeFieldValue::getFieldValue, (a, b) -> a));
-
-        String firstDept = "";
-        String secondDept = "";
-        String deptRaw = getByKey(keyToFieldId, valueByFieldId, "expected_departments");
-        if (StringUtils.hasText(deptRaw)) {
-            List<String> depts = parseDepartments(deptRaw);
-            if (!depts.isEmpty()) {
-                firstDept = depts.get(0);
-            }
-            if (depts.size() > 1) {
-                secondDept = depts.get(1);
-            }
-        }
-
-        return new ResumeSnapshot(
-                nullToEmpty(getByKey(keyToFieldId, valueByFieldId, "name")),
-                firstDept,
-                secondDept,
-                formatIntendedDepartments(firstDept, secondDept),
-                nullToEmpty(getByKey(keyToFieldId, valueByFieldId, "grade")),
-                nullToEmpty(getByKey(keyToFieldId, valueByFieldId, "major")),
-                nullToEmpty(getByKey(keyToFieldId, valueByFieldId, "self_introduction")),
-                resume.getResumeScore() == null ? 0 : resume.getResumeScore()
-        );
-    }
-
     /**
      * 批量读取简历快照，避免导入时 N+1 查询。
      */
@@ -87,18 +50,15 @@ public class ResumeFieldReader {
             return Collections.emptyMap();
         }
 
-        LambdaQueryWrapper<club.boyuan.official.persistence.entity.ResumeFieldValue> wrapper = new LambdaQueryWrapper<>();
-        wrapper.in(club.boyuan.official.persistence.entity.ResumeFieldValue::getResumeId, resumeIds);
-        List<club.boyuan.official.persistence.entity.ResumeFieldValue> allValues = resumeFieldValueMapper.selectList(wrapper);
-
+        Map<Integer, List<ResumeFieldValue>> valuesByResume =
+                resumeProjectionService.loadFieldValues(resumeIds, new HashSet<>(keyToFieldId.values()));
         Map<Integer, Map<Integer, String>> valuesByResumeId = new HashMap<>();
-        for (club.boyuan.official.persistence.entity.ResumeFieldValue value : allValues) {
-            if (value.getResumeId() == null || value.getFieldId() == null) {
-                continue;
+        for (Map.Entry<Integer, List<ResumeFieldValue>> entry : valuesByResume.entrySet()) {
+            Map<Integer, String> byFieldId = new HashMap<>();
+            for (ResumeFieldValue value : entry.getValue()) {
+                byFieldId.putIfAbsent(value.getFieldId(), value.getFieldValue());
             }
-            valuesByResumeId
-                    .computeIfAbsent(value.getResumeId(), k -> new HashMap<>())
-                    .putIfAbsent(value.getFieldId(), value.getFieldValue());
+            valuesByResumeId.put(entry.getKey(), byFieldId);
         }
 
         Map<Integer, ResumeSnapshot> result = new HashMap<>();
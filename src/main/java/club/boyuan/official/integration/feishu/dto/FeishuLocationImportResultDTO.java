@@ -11,5 +11,9 @@ public class FeishuLocationImportResultDTO {
     private String tableUrl;
     private int importedCount;
     private int failedCount;
+    private int createdCount;
+    private int updatedCount;
+    private int unchangedCount;
+    private int deletedCount;
     private String message;
 }
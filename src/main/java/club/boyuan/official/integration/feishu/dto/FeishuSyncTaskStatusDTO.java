@@ -17,6 +17,11 @@ public class FeishuSyncTaskStatusDTO {
     private Integer importedCount;
     private Integer failedCount;
     private Integer skippedCount;
+    /** PUSH：新建 / 更新 / 内容未变跳过 / 删除的飞书行数 */
+    private Integer createdCount;
+    private Integer updatedCount;
+    private Integer unchangedCount;
+    private Integer deletedCount;
     private Integer totalSteps;
     private Integer completedSteps;
     private Integer progressPercent;
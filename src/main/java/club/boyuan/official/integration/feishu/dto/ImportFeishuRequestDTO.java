@@ -17,4 +17,10 @@ public class ImportFeishuRequestDTO {
 
     /** 为 true 时重新导入已同步记录（会追加行，不自动删旧数据） */
     private Boolean forceUpdate = false;
+
+    /**
+     * 为 true 时按内容哈希增量同步：周期内全部生效排期参与比对，内容未变的行不写飞书，
+     * 变了的按 record_id 更新，不再推送的（已取消 / 换了地点表）从飞书删除。
+     */
+    private Boolean deltaSync = false;
 }
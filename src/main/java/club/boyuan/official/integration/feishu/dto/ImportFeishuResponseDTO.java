@@ -12,6 +12,14 @@ public class ImportFeishuResponseDTO {
 
     private int importedCount;
     private int failedCount;
+    /** 未配置地点或表格链接、无法分桶的排期数 */
     private int skippedCount;
+    /** importedCount = createdCount + updatedCount */
+    private int createdCount;
+    private int updatedCount;
+    /** 增量模式：内容哈希未变、未调飞书写接口的行数 */
+    private int unchangedCount;
+    /** 增量模式：从飞书删除的失效行数 */
+    private int deletedCount;
     private List<FeishuLocationImportResultDTO> locations = new ArrayList<>();
 }
@@ -14,5 +14,6 @@ public class ImportFromFeishuTableResponseDTO {
     private int successCount;
     private int failedCount;
     private int skippedCount;
+    /** 仅失败与跳过的行；成功行只计数，整表明细不再随行数堆在内存和任务快照里 */
     private List<ImportFromFeishuRowResultDTO> rows = new ArrayList<>();
 }
@@ -3,6 +3,7 @@ package club.boyuan.official.messaging;
 import club.boyuan.official.infra.config.RabbitMQConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
@@ -22,4 +23,10 @@ public class FeishuSyncProducer {
         rabbitTemplate.convertAndSend(RabbitMQConfig.FEISHU_SYNC_QUEUE, new FeishuSyncMessage(taskId));
         log.info("飞书同步任务已投递 taskId={}", taskId);
     }
+
+    /** 带 publisher confirm 关联的投递，供 Outbox 批量投递后统一等待确认 */
+    public void publish(Long taskId, CorrelationData correlation) {
+        rabbitTemplate.convertAndSend(RabbitMQConfig.FEISHU_SYNC_QUEUE, new FeishuSyncMessage(taskId), correlation);
+        log.debug("飞书同步任务已投递（待确认） taskId={}", taskId);
+    }
 }
@@ -1,5 +1,6 @@
 package club.boyuan.official.messaging;
 
+import club.boyuan.official.common.exception.BusinessException;
 import club.boyuan.official.infra.config.RabbitMQConfig;
 import club.boyuan.official.domain.interview.dto.InterviewBookingDTO;
 import club.boyuan.official.persistence.entity.User;
@@ -15,10 +16,15 @@ import org.springframework.stereotype.Component;
 import club.boyuan.official.infra.seckill.InterviewBookingLuaInventoryService;
 import club.boyuan.official.infra.seckill.InterviewBookingRedisKeys;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 消费者：异步将 Redis 预扣结果落库。
+ * <p>按批消费：一批消息先逐条抢 processed 标记，再整体交给
+ * {@link InterviewBookingAsyncPersistenceService#persistBatch} 一个事务落库，结果逐条回写请求状态。
+ * 整批事务失败时退回逐条落库，单条异常不拖累同批的其它请求。
  * <p>幂等：{@code processed:{requestId}} Redis SETNX，重复消息直接跳过。
  * 失败：删除 processed 标记并调用 {@link InterviewBookingSeckillService#markRequestFailed}，
  * 内部通过 {@code rollback_remain.lua} 回滚库存，避免超卖。
@@ -34,45 +40,87 @@ public class InterviewBookingConsumer {
     private final InterviewNotificationService interviewNotificationService;
     private final StringRedisTemplate stringRedisTemplate;
 
-    @RabbitListener(queues = RabbitMQConfig.INTERVIEW_BOOKING_QUEUE)
-    public void handlePersist(InterviewBookingMessage message) {
-        if (message == null || message.getRequestId() == null) {
-            log.warn("无效预约落库消息，已忽略");
+    @RabbitListener(queues = RabbitMQConfig.INTERVIEW_BOOKING_QUEUE,
+            containerFactory = RabbitMQConfig.INTERVIEW_BOOKING_BATCH_CONTAINER_FACTORY)
+    public void handlePersistBatch(List<InterviewBookingMessage> messages) {
+        List<InterviewBookingMessage> claimed = new ArrayList<>();
+        for (InterviewBookingMessage message : messages) {
+            if (claim(message)) {
+                claimed.add(message);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        InterviewBookingAsyncPersistenceService.BatchResult result;
+        try {
+            result = persistenceService.persistBatch(claimed);
+        } catch (Exception e) {
+            log.warn("预约批量落库失败，改为逐条落库 size={}", claimed.size(), e);
+            claimed.forEach(this::persistOne);
             return;
         }
 
+        for (InterviewBookingMessage message : claimed) {
+            InterviewBookingDTO booking = result.succeeded().get(message.getRequestId());
+            if (booking != null) {
+                onSuccess(message, booking);
+                continue;
+            }
+            String reason = result.failed().get(message.getRequestId());
+            if (reason != null) {
+                onFailure(message, reason);
+            }
+        }
+        result.deferred().forEach(this::persistOne);
+    }
+
+    /** 抢 processed 标记；无效消息或已处理过的返回 false */
+    private boolean claim(InterviewBookingMessage message) {
+        if (message == null || message.getRequestId() == null) {
+            log.warn("无效预约落库消息，已忽略");
+            return false;
+        }
         String processedKey = InterviewBookingRedisKeys.processed(message.getRequestId());
         Boolean first = stringRedisTemplate.opsForValue().setIfAbsent(processedKey, "1", 24, TimeUnit.HOURS);
         if (Boolean.FALSE.equals(first)) {
             log.info("预约消息已处理过，跳过 requestId={}", message.getRequestId());
-            return;
+            return false;
         }
+        return true;
+    }
 
+    private void persistOne(InterviewBookingMessage message) {
         try {
             InterviewBookingDTO booking = persistenceService.persist(message);
             if (booking == null) {
-                stringRedisTemplate.delete(processedKey);
-                seckillService.markRequestFailed(
-                        message.getRequestId(),
-                        "名额已满或落库失败",
-                        message.getSlotId(),
-                        message.getUserId(),
-                        message.getCycleId());
+                onFailure(message, InterviewBookingAsyncPersistenceService.SLOT_FULL_MESSAGE);
                 return;
             }
-
-            seckillService.markRequestSuccess(message.getRequestId(), booking);
-            luaInventoryService.clearUserCycleLock(message.getUserId(), message.getCycleId());
-            interviewNotificationService.enqueueBookingSuccess(booking.getScheduleId(), message.getRequestId());
+            onSuccess(message, booking);
+        } catch (BusinessException e) {
+            log.info("预约落库被拒绝 requestId={}, reason={}", message.getRequestId(), e.getMessage());
+            onFailure(message, e.getMessage());
         } catch (Exception e) {
             log.error("预约落库异常 requestId={}", message.getRequestId(), e);
-            stringRedisTemplate.delete(processedKey);
-            seckillService.markRequestFailed(
-                    message.getRequestId(),
-                    "系统繁忙，请稍后重试",
-                    message.getSlotId(),
-                    message.getUserId(),
-                    message.getCycleId());
+            onFailure(message, "系统繁忙，请稍后重试");
         }
     }
+
+    private void onSuccess(InterviewBookingMessage message, InterviewBookingDTO booking) {
+        seckillService.markRequestSuccess(message.getRequestId(), booking);
+        luaInventoryService.clearUserCycleLock(message.getUserId(), message.getCycleId());
+        interviewNotificationService.enqueueBookingSuccess(booking.getScheduleId(), message.getRequestId());
+    }
+
+    private void onFailure(InterviewBookingMessage message, String reason) {
+        stringRedisTemplate.delete(InterviewBookingRedisKeys.processed(message.getRequestId()));
+        seckillService.markRequestFailed(
+                message.getRequestId(),
+                reason,
+                message.getSlotId(),
+                message.getUserId(),
+                message.getCycleId());
+    }
 }
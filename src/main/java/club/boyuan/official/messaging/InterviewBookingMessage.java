@@ -20,7 +20,8 @@ public class InterviewBookingMessage implements Serializable {
     private Integer cycleId;
     private Integer slotId;
     private String notes;
+    /** 兼容字段：新建还是复用取消的预约由消费端按库内状态判定 */
     private BookingOperationType operationType;
-    /** REACTIVATE 时必填 */
+    /** 兼容字段，消费端不再读取 */
     private Integer existingScheduleId;
 }
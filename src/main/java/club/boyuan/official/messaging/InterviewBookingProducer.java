@@ -3,6 +3,7 @@ package club.boyuan.official.messaging;
 import club.boyuan.official.infra.config.RabbitMQConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
@@ -18,4 +19,10 @@ public class InterviewBookingProducer {
         log.info("预约落库消息已投递 requestId={}, userId={}, slotId={}",
                 message.getRequestId(), message.getUserId(), message.getSlotId());
     }
+
+    /** 带 publisher confirm 关联的投递，供 Outbox 批量投递后统一等待确认 */
+    public void publishPersist(InterviewBookingMessage message, CorrelationData correlation) {
+        rabbitTemplate.convertAndSend(RabbitMQConfig.INTERVIEW_BOOKING_QUEUE, message, correlation);
+        log.debug("预约落库消息已投递（待确认） requestId={}", message.getRequestId());
+    }
 }
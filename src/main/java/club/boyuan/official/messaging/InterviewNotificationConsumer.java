@@ -2,13 +2,21 @@ package club.boyuan.official.messaging;
 
 import club.boyuan.official.infra.config.RabbitMQConfig;
 import club.boyuan.official.domain.interview.service.impl.InterviewNotificationServiceImpl;
+import com.rabbitmq.client.Channel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
 /**
  * 消费者：异步发送面试相关邮件（预约成功、提醒、录取/未录取）。
+ *
+ * 邮件交给投递引擎后立即处理下一条，发送完成（或重试用尽）时再确认消息，
+ * 消费线程不等 SMTP。组装阶段（读库）出错时拒绝并重新入队，与原先自动确认下抛异常的效果一致。
  */
 @Slf4j
 @Component
@@ -17,17 +25,40 @@ public class InterviewNotificationConsumer {
 
     private final InterviewNotificationServiceImpl notificationService;
 
-    @RabbitListener(queues = RabbitMQConfig.INTERVIEW_NOTIFICATION_QUEUE)
-    public void handle(InterviewNotificationMessage message) {
+    @RabbitListener(queues = RabbitMQConfig.INTERVIEW_NOTIFICATION_QUEUE,
+            containerFactory = RabbitMQConfig.INTERVIEW_NOTIFICATION_CONTAINER_FACTORY)
+    public void handle(InterviewNotificationMessage message,
+                       Channel channel,
+                       @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) throws IOException {
         try {
-            notificationService.deliver(message);
+            notificationService.deliver(message).whenComplete((ignored, ex) -> {
+                if (ex != null) {
+                    // 投递引擎已按退避重试过，这里只记录，不再回队列
+                    log.error("面试通知发送失败 type={}, scheduleId={}, resultId={}",
+                            message != null ? message.getType() : null,
+                            message != null ? message.getScheduleId() : null,
+                            message != null ? message.getResultId() : null,
+                            ex);
+                }
+                ack(channel, deliveryTag);
+            });
         } catch (Exception e) {
-            log.error("面试通知发送失败 type={}, scheduleId={}, resultId={}",
+            log.error("面试通知处理失败 type={}, scheduleId={}, resultId={}",
                     message != null ? message.getType() : null,
                     message != null ? message.getScheduleId() : null,
                     message != null ? message.getResultId() : null,
                     e);
-            throw e;
+            channel.basicNack(deliveryTag, false, true);
+        }
+    }
+
+    private static void ack(Channel channel, long deliveryTag) {
+        try {
+            channel.basicAck(deliveryTag, false);
+        } catch (IOException e) {
+            // 通道已断开：消息会被重新投递。模板通知（含预渲染提醒）发信前都会点查发送日志，
+            // 重投不会再发；自定义正文的结果通知本就允许重复发送，重投时会再发一次
+            log.warn("面试通知确认失败 deliveryTag={}", deliveryTag, e);
         }
     }
 }
@@ -22,4 +22,13 @@ public class InterviewNotificationMessage implements Serializable {
     private String requestId;
     /** 管理员自定义正文，非空时覆盖模板（仅结果通知） */
     private String customBody;
+    /** 以下三项由派发方预先渲染（批量提醒），齐全时消费者只点查一次发送日志防重投，不再读业务表 */
+    private String recipientEmail;
+    private String subject;
+    private String body;
+
+    public InterviewNotificationMessage(InterviewNotificationType type, Integer scheduleId, Integer resultId,
+                                        String requestId, String customBody) {
+        this(type, scheduleId, resultId, requestId, customBody, null, null, null);
+    }
 }
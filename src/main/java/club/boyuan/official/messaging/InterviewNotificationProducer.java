@@ -7,6 +7,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -20,15 +22,27 @@ public class InterviewNotificationProducer {
                 message.getType(), message.getScheduleId(), message.getResultId());
     }
 
+    /**
+     * 批量投递：一批消息复用同一个 channel 连续发送，不再每条消息各借还一次 channel。
+     */
+    public void publishAll(List<InterviewNotificationMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        rabbitTemplate.invoke(operations -> {
+            for (InterviewNotificationMessage message : messages) {
+                operations.convertAndSend(RabbitMQConfig.INTERVIEW_NOTIFICATION_QUEUE, message);
+            }
+            return null;
+        });
+        log.info("面试通知消息已批量投递 count={}", messages.size());
+    }
+
     public void publishBookingSuccess(Integer scheduleId, String requestId) {
         publish(new InterviewNotificationMessage(
                 InterviewNotificationType.BOOKING_SUCCESS, scheduleId, null, requestId, null));
     }
 
-    public void publishReminder(InterviewNotificationType type, Integer scheduleId) {
-        publish(new InterviewNotificationMessage(type, scheduleId, null, null, null));
-    }
-
     public void publishResult(Integer resultId, String customBody) {
         publish(new InterviewNotificationMessage(null, null, resultId, null, customBody));
     }
@@ -3,22 +3,18 @@ package club.boyuan.official.messaging.outbox;
 import club.boyuan.official.infra.config.OutboxProperties;
 import club.boyuan.official.persistence.entity.MessageOutbox;
 import club.boyuan.official.persistence.mapper.MessageOutboxMapper;
-import club.boyuan.official.messaging.FeishuSyncMessage;
-import club.boyuan.official.messaging.FeishuSyncProducer;
-import club.boyuan.official.messaging.InterviewBookingMessage;
-import club.boyuan.official.messaging.InterviewBookingProducer;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
 
 import java.util.List;
 
 /**
  * 扫描 PENDING 发件箱记录并投递 RabbitMQ。
+ * <p>每次认领一批（SKIP LOCKED + 租约，见 {@link MessageOutboxService#claimPending}），
+ * 交给 {@link OutboxDispatcher} 并发投递。轮询间隔随积压自适应：认领到满批就立即再抽下一批，
+ * 有数据时按 {@code relay-min-interval-ms} 轮询，空闲时逐步退避到 {@code relay-interval-ms}。
  */
 @Component
 @RequiredArgsConstructor
@@ -26,62 +22,54 @@ import java.util.List;
 public class MessageOutboxRelay {
 
     private final OutboxProperties outboxProperties;
+    private final MessageOutboxService messageOutboxService;
     private final MessageOutboxMapper messageOutboxMapper;
-    private final ObjectMapper objectMapper;
-    private final InterviewBookingProducer bookingProducer;
-    private final FeishuSyncProducer feishuSyncProducer;
+    private final OutboxDispatcher outboxDispatcher;
+    private final OutboxMetrics outboxMetrics;
 
-    @Scheduled(fixedDelayString = "${outbox.relay-interval-ms:1000}")
-    @Transactional(rollbackFor = Exception.class)
+    /** 下一次允许轮询的时间点；只在调度线程内读写 */
+    private long nextPollAt;
+    private long currentDelayMs;
+
+    @Scheduled(fixedDelayString = "${outbox.relay-min-interval-ms:20}")
     public void relayPending() {
         if (!outboxProperties.isEnabled()) {
             return;
         }
-        List<MessageOutbox> rows = messageOutboxMapper.selectPendingForRelay(
-                outboxProperties.getBatchSize(),
-                outboxProperties.getMaxRetries());
-        for (MessageOutbox row : rows) {
-            dispatchOne(row);
+        long now = System.currentTimeMillis();
+        if (now < nextPollAt) {
+            return;
         }
+
+        int batchSize = outboxProperties.getBatchSize();
+        // 单次抽干最多占用一个空闲轮询周期，避免长期霸占调度线程
+        long drainDeadline = now + outboxProperties.getRelayIntervalMs();
+        int total = 0;
+        int claimed;
+        do {
+            List<MessageOutbox> rows = messageOutboxService.claimPending(batchSize);
+            claimed = rows.size();
+            total += claimed;
+            outboxDispatcher.dispatch(rows);
+        } while (claimed >= batchSize && System.currentTimeMillis() < drainDeadline);
+
+        scheduleNext(total > 0);
+        refreshLag();
     }
 
-    private void dispatchOne(MessageOutbox row) {
-        try {
-            OutboxEventType type = OutboxEventType.valueOf(row.getEventType());
-            switch (type) {
-                case INTERVIEW_BOOKING_PERSIST -> {
-                    InterviewBookingMessage message = objectMapper.readValue(
-                            row.getPayload(), InterviewBookingMessage.class);
-                    bookingProducer.publishPersist(message);
-                }
-                case FEISHU_SYNC -> {
-                    FeishuSyncMessage message = objectMapper.readValue(
-                            row.getPayload(), FeishuSyncMessage.class);
-                    feishuSyncProducer.publish(message.getTaskId());
-                }
-                default -> throw new IllegalStateException("未知 Outbox 事件: " + type);
-            }
-            int updated = messageOutboxMapper.markSent(row.getId());
-            if (updated == 0) {
-                log.warn("Outbox 标记 SENT 失败，可能已被其他实例处理 id={}", row.getId());
-            }
-        } catch (Exception ex) {
-            String err = truncate(ex.getMessage());
-            messageOutboxMapper.incrementRetry(row.getId(), err);
-            if (row.getRetryCount() + 1 >= outboxProperties.getMaxRetries()) {
-                messageOutboxMapper.markFailed(row.getId(), err);
-                log.error("Outbox 投递永久失败 id={}, event={}", row.getId(), row.getEventType(), ex);
-            } else {
-                log.warn("Outbox 投递失败将重试 id={}, event={}, retry={}", row.getId(), row.getEventType(),
-                        row.getRetryCount() + 1, ex);
-            }
-        }
+    private void scheduleNext(boolean hadWork) {
+        long min = outboxProperties.getRelayMinIntervalMs();
+        long max = Math.max(min, outboxProperties.getRelayIntervalMs());
+        currentDelayMs = hadWork ? min : Math.min(max, Math.max(min, currentDelayMs) * 2);
+        // tick 本身就间隔 min，这里只需要补上多出来的部分
+        nextPollAt = System.currentTimeMillis() + currentDelayMs - min;
     }
 
-    private static String truncate(String message) {
-        if (!StringUtils.hasText(message)) {
-            return "unknown";
+    private void refreshLag() {
+        try {
+            outboxMetrics.recordLag(messageOutboxMapper.selectOldestPendingCreatedAt());
+        } catch (Exception ex) {
+            log.debug("读取 Outbox 积压时间失败", ex);
         }
-        return message.length() > 500 ? message.substring(0, 500) : message;
     }
 }
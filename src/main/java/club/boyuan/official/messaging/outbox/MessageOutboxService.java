@@ -7,14 +7,18 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
- * 事务发件箱：与业务在同一事务内写入，由 {@link MessageOutboxRelay} 异步投递 MQ。
+ * 事务发件箱：与业务在同一事务内写入。提交后由 {@link OutboxFastPath} 立即投递，
+ * {@link MessageOutboxRelay} 轮询兜底。
  */
 @Service
 @RequiredArgsConstructor
@@ -24,6 +28,7 @@ public class MessageOutboxService {
     private final MessageOutboxMapper messageOutboxMapper;
     private final ObjectMapper objectMapper;
     private final OutboxProperties outboxProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(rollbackFor = Exception.class)
     public void enqueue(OutboxEventType eventType, String aggregateType, String aggregateId, Object payload) {
@@ -41,6 +46,8 @@ public class MessageOutboxService {
                     .setRetryCount(0)
                     .setCreatedAt(LocalDateTime.now());
             messageOutboxMapper.insert(row);
+            // 提交后快速通道接手；回滚时事件不会投递
+            eventPublisher.publishEvent(new OutboxEnqueuedEvent(row.getId()));
             log.debug("Outbox 入队 event={}, aggregateId={}", eventType, aggregateId);
         } catch (JsonProcessingException e) {
             throw new IllegalStateException("Outbox 序列化失败", e);
@@ -49,6 +56,39 @@ public class MessageOutboxService {
         }
     }
 
+    /**
+     * 认领一批待投递记录：SKIP LOCKED 选行、写租约后立即提交，投递放到事务外进行。
+     * 多实例各自认领互不重叠的行，宕机实例的行在租约到期后被重新认领。
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<MessageOutbox> claimPending(int limit) {
+        // 快速通道开启时，刚写入的记录留给它处理，Relay 只捡超过 recovery-delay 还没发出去的
+        LocalDateTime createdBefore = outboxProperties.isFastPathEnabled()
+                ? LocalDateTime.now().minusNanos(outboxProperties.getRecoveryDelayMs() * 1_000_000L)
+                : LocalDateTime.now().plusSeconds(1);
+        return lease(messageOutboxMapper.selectPendingForRelay(
+                limit, outboxProperties.getMaxRetries(), createdBefore));
+    }
+
+    /**
+     * 快速通道按 ID 认领：只拿仍待投递且未被 Relay 认领的行。
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<MessageOutbox> claimByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return lease(messageOutboxMapper.selectPendingByIdsForRelay(ids, outboxProperties.getMaxRetries()));
+    }
+
+    private List<MessageOutbox> lease(List<MessageOutbox> rows) {
+        if (!rows.isEmpty()) {
+            messageOutboxMapper.lease(rows.stream().map(MessageOutbox::getId).toList(),
+                    outboxProperties.getLeaseSeconds());
+        }
+        return rows;
+    }
+
     public boolean isEnabled() {
         return outboxProperties.isEnabled();
     }
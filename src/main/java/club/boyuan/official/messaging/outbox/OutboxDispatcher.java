@@ -0,0 +1,138 @@
+package club.boyuan.official.messaging.outbox;
+
+import club.boyuan.official.infra.config.OutboxProperties;
+import club.boyuan.official.messaging.FeishuSyncMessage;
+import club.boyuan.official.messaging.FeishuSyncProducer;
+import club.boyuan.official.messaging.InterviewBookingMessage;
+import club.boyuan.official.messaging.InterviewBookingProducer;
+import club.boyuan.official.persistence.entity.MessageOutbox;
+import club.boyuan.official.persistence.mapper.MessageOutboxMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 把一批已认领的 Outbox 记录投递到 RabbitMQ。
+ * <p>整批先全部发出，再统一等待 publisher confirm，确认在途期间不阻塞后续发送；
+ * ack 的行一条 UPDATE 批量标记 SENT，nack/超时/异常的行累加重试次数，超过上限标记 FAILED。
+ * 未开启 publisher confirm 时发送不抛异常即视为成功。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxProperties outboxProperties;
+    private final MessageOutboxMapper messageOutboxMapper;
+    private final ObjectMapper objectMapper;
+    private final InterviewBookingProducer bookingProducer;
+    private final FeishuSyncProducer feishuSyncProducer;
+    private final ConnectionFactory rabbitConnectionFactory;
+    private final OutboxMetrics outboxMetrics;
+
+    /**
+     * @return 确认投递成功的条数
+     */
+    public int dispatch(List<MessageOutbox> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        Map<MessageOutbox, CorrelationData> inFlight = new LinkedHashMap<>();
+        for (MessageOutbox row : rows) {
+            CorrelationData correlation = new CorrelationData(String.valueOf(row.getId()));
+            try {
+                publish(row, correlation);
+                inFlight.put(row, correlation);
+            } catch (Exception ex) {
+                recordFailure(row, ex.getMessage(), ex);
+            }
+        }
+
+        boolean confirms = rabbitConnectionFactory.isPublisherConfirms();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(outboxProperties.getConfirmTimeoutMs());
+        List<Long> sentIds = new ArrayList<>(inFlight.size());
+        for (Map.Entry<MessageOutbox, CorrelationData> entry : inFlight.entrySet()) {
+            MessageOutbox row = entry.getKey();
+            if (!confirms) {
+                sentIds.add(row.getId());
+                continue;
+            }
+            try {
+                long waitNanos = Math.max(0L, deadline - System.nanoTime());
+                CorrelationData.Confirm confirm = entry.getValue().getFuture().get(waitNanos, TimeUnit.NANOSECONDS);
+                if (confirm.isAck()) {
+                    sentIds.add(row.getId());
+                } else {
+                    recordFailure(row, "broker nack: " + confirm.getReason(), null);
+                }
+            } catch (TimeoutException ex) {
+                recordFailure(row, "publisher confirm 超时", null);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                recordFailure(row, "等待 publisher confirm 被中断", ex);
+            } catch (ExecutionException ex) {
+                recordFailure(row, ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage(), ex);
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            int updated = messageOutboxMapper.markSentBatch(sentIds);
+            if (updated < sentIds.size()) {
+                log.warn("Outbox 批量标记 SENT 部分未生效，可能已被其他实例处理 expected={}, updated={}",
+                        sentIds.size(), updated);
+            }
+        }
+        outboxMetrics.recordSent(sentIds.size());
+        return sentIds.size();
+    }
+
+    private void publish(MessageOutbox row, CorrelationData correlation) throws Exception {
+        OutboxEventType type = OutboxEventType.valueOf(row.getEventType());
+        switch (type) {
+            case INTERVIEW_BOOKING_PERSIST -> {
+                InterviewBookingMessage message = objectMapper.readValue(
+                        row.getPayload(), InterviewBookingMessage.class);
+                bookingProducer.publishPersist(message, correlation);
+            }
+            case FEISHU_SYNC -> {
+                FeishuSyncMessage message = objectMapper.readValue(
+                        row.getPayload(), FeishuSyncMessage.class);
+                feishuSyncProducer.publish(message.getTaskId(), correlation);
+            }
+            default -> throw new IllegalStateException("未知 Outbox 事件: " + type);
+        }
+    }
+
+    /** 失败的行不清租约：租约到期前不会被再次认领，相当于重试退避 */
+    private void recordFailure(MessageOutbox row, String error, Exception ex) {
+        String err = truncate(error);
+        messageOutboxMapper.incrementRetry(row.getId(), err);
+        int retry = (row.getRetryCount() == null ? 0 : row.getRetryCount()) + 1;
+        if (retry >= outboxProperties.getMaxRetries()) {
+            messageOutboxMapper.markFailed(row.getId(), err);
+            log.error("Outbox 投递永久失败 id={}, event={}, error={}", row.getId(), row.getEventType(), err, ex);
+        } else {
+            log.warn("Outbox 投递失败将重试 id={}, event={}, retry={}, error={}", row.getId(), row.getEventType(),
+                    retry, err, ex);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (!StringUtils.hasText(message)) {
+            return "unknown";
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -0,0 +1,7 @@
+package club.boyuan.official.messaging.outbox;
+
+/**
+ * 发件箱记录已写入（随业务事务提交后才会被监听方收到）。
+ */
+public record OutboxEnqueuedEvent(Long outboxId) {
+}
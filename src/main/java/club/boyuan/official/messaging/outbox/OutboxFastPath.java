@@ -0,0 +1,91 @@
+package club.boyuan.official.messaging.outbox;
+
+import club.boyuan.official.infra.config.OutboxProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Outbox 提交后快速通道：业务事务提交后把新记录 ID 放进内存队列，后台线程按批认领并投递，
+ * 不用等 Relay 的下一次轮询。
+ * <p>队列满、线程池拒绝、投递失败、进程宕机都不会丢消息：记录仍是 PENDING，
+ * 由 {@link MessageOutboxRelay} 在 recovery-delay 之后兜底。
+ */
+@Component
+@Slf4j
+public class OutboxFastPath {
+
+    private final OutboxProperties outboxProperties;
+    private final MessageOutboxService messageOutboxService;
+    private final OutboxDispatcher outboxDispatcher;
+    private final Executor executor;
+
+    private final LinkedBlockingQueue<Long> pendingIds;
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public OutboxFastPath(OutboxProperties outboxProperties,
+                          MessageOutboxService messageOutboxService,
+                          OutboxDispatcher outboxDispatcher,
+                          @Qualifier("outboxFastPathExecutor") Executor executor) {
+        this.outboxProperties = outboxProperties;
+        this.messageOutboxService = messageOutboxService;
+        this.outboxDispatcher = outboxDispatcher;
+        this.executor = executor;
+        this.pendingIds = new LinkedBlockingQueue<>(Math.max(1, outboxProperties.getFastPathQueueCapacity()));
+    }
+
+    @TransactionalEventListener
+    public void onEnqueued(OutboxEnqueuedEvent event) {
+        if (!outboxProperties.isFastPathEnabled() || event.outboxId() == null) {
+            return;
+        }
+        if (!pendingIds.offer(event.outboxId())) {
+            log.debug("Outbox 快速通道队列已满，交给 Relay 兜底 id={}", event.outboxId());
+            return;
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (Exception ex) {
+            draining.set(false);
+            log.warn("Outbox 快速通道提交失败，交给 Relay 兜底", ex);
+        }
+    }
+
+    void drain() {
+        try {
+            int batchSize = Math.max(1, outboxProperties.getBatchSize());
+            while (true) {
+                // 每批新建列表：claimByIds 拿到的参数可能被下游持有，不能复用后 clear
+                List<Long> batch = new ArrayList<>(batchSize);
+                if (pendingIds.drainTo(batch, batchSize) == 0) {
+                    break;
+                }
+                try {
+                    outboxDispatcher.dispatch(messageOutboxService.claimByIds(batch));
+                } catch (Exception ex) {
+                    log.warn("Outbox 快速通道投递失败，交给 Relay 兜底 ids={}", batch, ex);
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+        // 退出前有新 ID 进来但没抢到 draining 的，这里补一次
+        if (!pendingIds.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
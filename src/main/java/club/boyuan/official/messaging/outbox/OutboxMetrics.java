@@ -0,0 +1,84 @@
+package club.boyuan.official.messaging.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox 投递指标：
+ * <ul>
+ *   <li>{@code outbox.relay.lag}：最早一条待投递记录已等待的秒数，没有积压时为 0</li>
+ *   <li>{@code outbox.relay.throughput}：最近一个统计窗口内每秒确认投递的条数</li>
+ *   <li>{@code outbox.relay.sent}：确认投递的累计条数</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxMetrics {
+
+    private static final long THROUGHPUT_WINDOW_MS = 10_000L;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private Counter sentCounter;
+
+    private long windowStartMs = System.currentTimeMillis();
+    private long windowSent;
+    private double lastThroughput;
+
+    @PostConstruct
+    void register() {
+        Gauge.builder("outbox.relay.lag", lagMillis, v -> v.get() / 1000.0)
+                .baseUnit("seconds")
+                .description("最早一条待投递 Outbox 记录的等待时长")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.throughput", this, OutboxMetrics::throughput)
+                .baseUnit("messages/s")
+                .description("Outbox 每秒确认投递条数")
+                .register(meterRegistry);
+        sentCounter = Counter.builder("outbox.relay.sent")
+                .description("Outbox 确认投递累计条数")
+                .register(meterRegistry);
+    }
+
+    public void recordSent(int count) {
+        if (count <= 0) {
+            return;
+        }
+        sentCounter.increment(count);
+        synchronized (this) {
+            roll(System.currentTimeMillis());
+            windowSent += count;
+        }
+    }
+
+    /** @param oldestPendingCreatedAt 最早待投递记录的创建时间，null 表示没有积压 */
+    public void recordLag(LocalDateTime oldestPendingCreatedAt) {
+        long lag = oldestPendingCreatedAt == null
+                ? 0L
+                : Math.max(0L, Duration.between(oldestPendingCreatedAt, LocalDateTime.now()).toMillis());
+        lagMillis.set(lag);
+    }
+
+    synchronized double throughput() {
+        roll(System.currentTimeMillis());
+        return lastThroughput;
+    }
+
+    private void roll(long now) {
+        long elapsed = now - windowStartMs;
+        if (elapsed >= THROUGHPUT_WINDOW_MS) {
+            lastThroughput = windowSent * 1000.0 / elapsed;
+            windowStartMs = now;
+            windowSent = 0;
+        }
+    }
+}
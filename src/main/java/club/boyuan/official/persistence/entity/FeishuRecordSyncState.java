@@ -0,0 +1,49 @@
+package club.boyuan.official.persistence.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 面试安排 × 飞书表格 → 飞书 record_id 与上次写入内容的哈希。
+ *
+ * 增量推送据此判断一行是未变、需要更新、需要新建，还是已不再推送要从飞书删掉。
+ */
+@Data
+@Accessors(chain = true)
+@TableName("feishu_record_sync_state")
+public class FeishuRecordSyncState {
+
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    @TableField("cycle_id")
+    private Integer cycleId;
+
+    @TableField("schedule_id")
+    private Integer scheduleId;
+
+    /** app_token:table_id */
+    @TableField("table_key")
+    private String tableKey;
+
+    @TableField("table_url")
+    private String tableUrl;
+
+    @TableField("location")
+    private String location;
+
+    @TableField("record_id")
+    private String recordId;
+
+    @TableField("content_hash")
+    private String contentHash;
+
+    @TableField("synced_at")
+    private LocalDateTime syncedAt;
+}
@@ -33,6 +33,10 @@ public class MessageOutbox {
     @TableField("retry_count")
     private Integer retryCount;
 
+    /** 认领租约到期时间，到期前其它 Relay 实例不会再认领 */
+    @TableField("lease_until")
+    private LocalDateTime leaseUntil;
+
     @TableField("last_error")
     private String lastError;
 
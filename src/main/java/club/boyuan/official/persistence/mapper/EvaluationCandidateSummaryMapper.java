@@ -0,0 +1,43 @@
+package club.boyuan.official.persistence.mapper;
+
+import club.boyuan.official.domain.evaluation.dto.CandidateRow;
+import club.boyuan.official.persistence.entity.EvaluationSubmission;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 评测候选人汇总（evaluation_candidate_summary）：管理端候选人列表 / 排行榜的读模型。
+ */
+@Mapper
+public interface EvaluationCandidateSummaryMapper {
+
+    /**
+     * 一条新提交计入指定范围的汇总行（原子 upsert）。
+     *
+     * @param scopeCycleId 统计范围周期，0 表示全部周期
+     */
+    int upsertSubmission(@Param("scopeCycleId") int scopeCycleId, @Param("s") EvaluationSubmission submission);
+
+    /** 删除某 github 的全部汇总行；githubUsername 为 null 时清空整表 */
+    int deleteByGithub(@Param("githubUsername") String githubUsername);
+
+    /** 从提交表重算某 github 的汇总行；githubUsername 为 null 时重算全部 */
+    int rebuild(@Param("githubUsername") String githubUsername);
+
+    List<CandidateRow> selectCandidates(@Param("cycleId") Integer cycleId,
+                                        @Param("deptId") Integer deptId,
+                                        @Param("minScore") Integer minScore,
+                                        @Param("maxScore") Integer maxScore,
+                                        @Param("claimed") String claimed,
+                                        @Param("sortBy") String sortBy,
+                                        @Param("offset") int offset,
+                                        @Param("limit") int limit);
+
+    long countCandidates(@Param("cycleId") Integer cycleId,
+                         @Param("deptId") Integer deptId,
+                         @Param("minScore") Integer minScore,
+                         @Param("maxScore") Integer maxScore,
+                         @Param("claimed") String claimed);
+}
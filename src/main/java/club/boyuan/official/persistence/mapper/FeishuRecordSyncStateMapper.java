@@ -0,0 +1,15 @@
+package club.boyuan.official.persistence.mapper;
+
+import club.boyuan.official.persistence.entity.FeishuRecordSyncState;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+public interface FeishuRecordSyncStateMapper extends BaseMapper<FeishuRecordSyncState> {
+
+    /**
+     * 多行 upsert：按 (schedule_id, table_key) 唯一键，已有则覆盖 record_id 与内容哈希。
+     */
+    int upsertBatch(@Param("list") List<FeishuRecordSyncState> states);
+}
@@ -23,4 +23,10 @@ public interface InterviewResultMapper extends BaseMapper<InterviewResult> {
      * 过滤出确实属于该周期的 result_id，用于批量操作前的归属校验。
      */
     List<Integer> selectResultIdsInCycle(@Param("cycleId") Integer cycleId, @Param("resultIds") List<Integer> resultIds);
+
+    /**
+     * 按 schedule_id（uk_schedule）多行 upsert，供飞书拉回逐页落库。
+     * 已有结果时 decision / decision_at 覆盖，assigned_dept_id / decision_by 传 null 则保留原值。
+     */
+    int upsertBatch(@Param("list") List<InterviewResult> list);
 }
@@ -2,7 +2,9 @@ package club.boyuan.official.persistence.mapper;
 
 import club.boyuan.official.persistence.entity.InterviewSchedule;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -21,4 +23,17 @@ public interface InterviewScheduleMapper extends BaseMapper<InterviewSchedule> {
      * 一次 JOIN 聚合，避免 N+1。
      */
     List<Map<String, Object>> selectCandidateProfileRows();
+
+    /**
+     * 多行 INSERT 一次写入一批预约，自增主键回填到各实体的 scheduleId。
+     */
+    int insertBatch(@Param("list") List<InterviewSchedule> schedules);
+
+    /**
+     * 时间段内的生效预约里，还没发过指定类型通知的那些。对通知日志一次反连接，
+     * 走 uk_type_schedule 唯一索引，不再逐条 COUNT。
+     */
+    List<InterviewSchedule> selectActiveWithoutNotification(@Param("notificationType") String notificationType,
+                                                            @Param("from") LocalDateTime from,
+                                                            @Param("to") LocalDateTime to);
 }
@@ -5,6 +5,8 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Update;
 
+import java.util.List;
+
 /**
  * 面试场次 Mapper
  *
@@ -27,4 +29,19 @@ public interface InterviewSessionMapper extends BaseMapper<InterviewSession> {
     @Update("UPDATE interview_session SET current_occupied = GREATEST(current_occupied - 1, 0) " +
             "WHERE session_id = #{sessionId}")
     int releaseOne(@Param("sessionId") Integer sessionId);
+
+    /**
+     * 一条 CASE 语句回写多个场次的占用数（一键分配结束时使用）。
+     */
+    @Update("""
+            <script>
+            UPDATE interview_session
+            SET current_occupied = CASE session_id
+            <foreach collection="sessions" item="s">WHEN #{s.sessionId} THEN #{s.currentOccupied} </foreach>
+            ELSE current_occupied END
+            WHERE session_id IN
+            <foreach collection="sessions" item="s" open="(" separator="," close=")">#{s.sessionId}</foreach>
+            </script>
+            """)
+    int updateCurrentOccupiedBatch(@Param("sessions") List<InterviewSession> sessions);
 }
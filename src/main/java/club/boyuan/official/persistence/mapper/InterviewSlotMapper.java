@@ -4,6 +4,8 @@ import club.boyuan.official.persistence.entity.InterviewSlot;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
+
 /**
  * <p>
  * 面试时段配置表 Mapper 接口
@@ -22,6 +24,17 @@ public interface InterviewSlotMapper extends BaseMapper<InterviewSlot> {
      */
     int occupyOneIfAvailable(@Param("slotId") Integer slotId);
 
+    /**
+     * 批量落库用：剩余名额足够 {@code count} 个时一次占满，并同步刷新 status。
+     * @return 影响行数，1 表示成功；0 表示名额不足或时段已关闭
+     */
+    int occupyIfAvailable(@Param("slotId") Integer slotId, @Param("count") int count);
+
     /** 释放 1 个名额（不低于 0），并刷新 status */
     int releaseOne(@Param("slotId") Integer slotId);
+
+    /**
+     * 一键分配回写：一条 CASE 语句写入多个时段的占用数，并按新占用数刷新 status。
+     */
+    int updateOccupancyBatch(@Param("slots") List<InterviewSlot> slots);
 }
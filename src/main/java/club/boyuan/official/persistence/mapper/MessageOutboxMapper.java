@@ -7,6 +7,8 @@ import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -15,11 +17,29 @@ public interface MessageOutboxMapper extends BaseMapper<MessageOutbox> {
     @Select("""
             SELECT * FROM message_outbox
             WHERE status = 0 AND retry_count < #{maxRetries}
+              AND (lease_until IS NULL OR lease_until < NOW())
+              AND created_at < #{createdBefore}
             ORDER BY id ASC
             LIMIT #{limit}
             FOR UPDATE SKIP LOCKED
             """)
-    List<MessageOutbox> selectPendingForRelay(@Param("limit") int limit, @Param("maxRetries") int maxRetries);
+    List<MessageOutbox> selectPendingForRelay(@Param("limit") int limit,
+                                              @Param("maxRetries") int maxRetries,
+                                              @Param("createdBefore") LocalDateTime createdBefore);
+
+    /** 快速通道：按 ID 认领刚提交的记录，已被 Relay 认领或已发送的行自动跳过 */
+    @Select("""
+            <script>
+            SELECT * FROM message_outbox
+            WHERE status = 0 AND retry_count &lt; #{maxRetries}
+              AND (lease_until IS NULL OR lease_until &lt; NOW())
+              AND id IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">#{id}</foreach>
+            FOR UPDATE SKIP LOCKED
+            </script>
+            """)
+    List<MessageOutbox> selectPendingByIdsForRelay(@Param("ids") Collection<Long> ids,
+                                                   @Param("maxRetries") int maxRetries);
 
     @Update("""
             UPDATE message_outbox
@@ -28,6 +48,32 @@ public interface MessageOutboxMapper extends BaseMapper<MessageOutbox> {
             """)
     int markSent(@Param("id") Long id);
 
+    /** 认领：给选中的行写租约，认领事务提交后即释放行锁 */
+    @Update("""
+            <script>
+            UPDATE message_outbox
+            SET lease_until = DATE_ADD(NOW(), INTERVAL #{leaseSeconds} SECOND)
+            WHERE id IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">#{id}</foreach>
+            </script>
+            """)
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseSeconds") int leaseSeconds);
+
+    /** 一批投递确认后一条 UPDATE 标记 SENT */
+    @Update("""
+            <script>
+            UPDATE message_outbox
+            SET status = 1, sent_at = NOW(), last_error = NULL, lease_until = NULL
+            WHERE status = 0 AND id IN
+            <foreach collection="ids" item="id" open="(" separator="," close=")">#{id}</foreach>
+            </script>
+            """)
+    int markSentBatch(@Param("ids") Collection<Long> ids);
+
+    /** 最早一条待投递记录的创建时间，用于计算投递延迟；没有积压时返回 null */
+    @Select("SELECT MIN(created_at) FROM message_outbox WHERE status = 0")
+    LocalDateTime selectOldestPendingCreatedAt();
+
     @Update("""
             UPDATE message_outbox
             SET retry_count = retry_count + 1, last_error = #{error}
@@ -70,6 +70,13 @@ public interface UserMapper extends BaseMapper<User> {
      */
     int batchUpdateMembershipByIds(@Param("userIds") List<Integer> userIds, @Param("isMember") Boolean isMember);
 
+    /**
+     * CASE WHEN 单语句按用户分别写 dept_id（飞书拉回逐页回写录取部门）
+     * @param users 需带 userId 与 deptId，userId 不可重复
+     * @return 更新的记录数
+     */
+    int updateDeptIdBatch(@Param("users") List<User> users);
+
     /**
      * 管理端统计卡用的全库计数(不随分页/筛选变化)。
      */
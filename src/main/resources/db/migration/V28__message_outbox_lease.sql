@@ -0,0 +1,27 @@
+-- 发件箱认领租约：加 lease_until。
+--
+-- Relay 原先在一个事务里 SELECT ... FOR UPDATE SKIP LOCKED 后逐条投递 MQ，行锁一直持有到投递结束。
+-- 现在认领事务只负责写租约就提交，投递在事务外并发进行；租约未到期的行其它实例不会再认领，
+-- 实例宕机后租约到期自动回到待投递。投递失败的行也靠租约到期自然形成重试间隔。
+--
+-- 幂等守卫：沿用 V14/V20/V25/V26/V27 的写法，列/索引已存在时 no-op。
+
+SET @s = IF(
+    (SELECT COUNT(*) FROM information_schema.COLUMNS
+     WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'message_outbox'
+       AND COLUMN_NAME = 'lease_until') = 0,
+    'ALTER TABLE `message_outbox` ADD COLUMN `lease_until` datetime NULL COMMENT ''认领租约到期时间,NULL=未被认领'' AFTER `retry_count`',
+    'SELECT 1');
+PREPARE st FROM @s;
+EXECUTE st;
+DEALLOCATE PREPARE st;
+
+SET @s = IF(
+    (SELECT COUNT(*) FROM information_schema.STATISTICS
+     WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'message_outbox'
+       AND INDEX_NAME = 'idx_outbox_status_id') = 0,
+    'CREATE INDEX `idx_outbox_status_id` ON `message_outbox` (`status`, `id`)',
+    'SELECT 1');
+PREPARE st FROM @s;
+EXECUTE st;
+DEALLOCATE PREPARE st;
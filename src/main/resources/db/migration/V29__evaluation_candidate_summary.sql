@@ -0,0 +1,74 @@
+-- 评测候选人汇总（排行榜读模型）。
+--
+-- 管理端候选人列表原来每页对整张 evaluation_submission 做 GROUP BY github_username，
+-- 外加 user/department/resume/interview_preference 关联和逐组的「最新得分」相关子查询，且列表、计数各跑一遍。
+-- 现在按 (范围周期, github, 认领用户) 维护一行汇总：入库时原子 upsert，认领时按 github 重算，
+-- 排行榜三种排序都走 (scope_cycle_id, 排序列 DESC, github_username) 索引的范围扫描。
+--
+-- scope_cycle_id = 0 表示「全部周期」；每条提交同时计入所属周期行与全部周期行（未归周期的提交只计入后者）。
+-- user_key = COALESCE(user_id, 0)，与原 GROUP BY github_username, user_id 一致：同一 github 的已认领 / 未认领提交分两行。
+
+CREATE TABLE IF NOT EXISTS `evaluation_candidate_summary`
+(
+    `id`                 BIGINT       NOT NULL AUTO_INCREMENT COMMENT '主键',
+    `scope_cycle_id`     INT          NOT NULL COMMENT '统计范围周期,0=全部周期',
+    `github_username`    VARCHAR(100) NOT NULL COMMENT 'GitHub 登录名',
+    `user_key`           INT          NOT NULL DEFAULT 0 COMMENT 'COALESCE(user_id,0),唯一键用',
+    `user_id`            INT          NULL COMMENT '认领用户;NULL=未认领',
+    `user_name`          VARCHAR(100) NOT NULL COMMENT 'COALESCE(用户姓名, github)',
+    `dept_id`            INT          NULL COMMENT 'COALESCE(用户当前部门, 第一志愿部门)',
+    `dept_name`          VARCHAR(50)  NULL,
+    `latest_total_score` INT          NOT NULL COMMENT '最近一次提交总分',
+    `max_total_score`    INT          NOT NULL COMMENT '最高总分',
+    `submission_count`   INT          NOT NULL COMMENT '提交次数',
+    `last_evaluated_at`  DATETIME     NOT NULL COMMENT '最近评测时间',
+    `updated_at`         DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_scope_github_user` (`scope_cycle_id`, `github_username`, `user_key`),
+    KEY `idx_scope_latest` (`scope_cycle_id`, `latest_total_score` DESC, `github_username`),
+    KEY `idx_scope_max` (`scope_cycle_id`, `max_total_score` DESC, `github_username`),
+    KEY `idx_scope_count` (`scope_cycle_id`, `submission_count` DESC, `github_username`)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = '评测候选人汇总(排行榜读模型)';
+
+-- 回填：与 EvaluationCandidateSummaryMapper.rebuild 同口径；已有数据时唯一键冲突即跳过（可重复执行）
+INSERT IGNORE INTO `evaluation_candidate_summary`
+    (scope_cycle_id, github_username, user_key, user_id, user_name, dept_id, dept_name,
+     latest_total_score, max_total_score, submission_count, last_evaluated_at)
+SELECT g.scope_cycle_id,
+       g.github_username,
+       g.user_key,
+       u.user_id,
+       COALESCE(u.name, g.github_username),
+       COALESCE(u.dept_id, vd.dept_id),
+       COALESCE(d.dept_name, vd.dept_name),
+       (SELECT s2.total_score
+        FROM evaluation_submission s2
+        WHERE s2.github_username = g.github_username
+          AND COALESCE(s2.user_id, 0) = g.user_key
+          AND (g.scope_cycle_id = 0 OR s2.cycle_id = g.scope_cycle_id)
+        ORDER BY s2.evaluated_at DESC, s2.id DESC
+        LIMIT 1),
+       g.max_total_score,
+       g.submission_count,
+       g.last_evaluated_at
+FROM (SELECT s.cycle_id AS scope_cycle_id, s.github_username, COALESCE(s.user_id, 0) AS user_key,
+             MAX(s.total_score) AS max_total_score, COUNT(*) AS submission_count,
+             MAX(s.evaluated_at) AS last_evaluated_at
+      FROM evaluation_submission s
+      WHERE s.cycle_id IS NOT NULL
+      GROUP BY s.cycle_id, s.github_username, COALESCE(s.user_id, 0)
+      UNION ALL
+      SELECT 0, s.github_username, COALESCE(s.user_id, 0),
+             MAX(s.total_score), COUNT(*), MAX(s.evaluated_at)
+      FROM evaluation_submission s
+      GROUP BY s.github_username, COALESCE(s.user_id, 0)) g
+         LEFT JOIN user u ON u.user_id = NULLIF(g.user_key, 0)
+         LEFT JOIN department d ON d.dept_id = u.dept_id
+         LEFT JOIN department vd ON vd.dept_id = (
+             SELECT ip.first_dept_id
+             FROM resume r
+                      JOIN interview_preference ip ON ip.resume_id = r.resume_id
+             WHERE r.user_id = u.user_id
+               AND (g.scope_cycle_id = 0 OR r.cycle_id = g.scope_cycle_id)
+             ORDER BY r.cycle_id DESC
+             LIMIT 1);
@@ -0,0 +1,24 @@
+-- 平台 → 飞书推送的增量同步状态：每个 (面试安排, 目标表) 记一行，存飞书 record_id 与上次写入内容的哈希。
+--
+-- 原来每次推送都把周期内（或 forceUpdate 时全部）排期逐桶重写一遍，哪怕只改了几行；
+-- 而飞书行内容取自简历快照，改简历并不会把 sync_status 置回 0，靠 sync_status 也判断不出哪些行变了。
+-- 增量模式下逐行比对内容哈希：未变跳过、变了按 record_id 更新、没有记录则新建，
+-- 本表里有而本次不再推送的（排期取消 / 换了地点表）删掉飞书行。
+--
+-- table_key = app_token:table_id，同一张表的不同链接写法归一；table_url 留着给删除时调 API 用。
+
+CREATE TABLE IF NOT EXISTS `feishu_record_sync_state`
+(
+    `id`           bigint       NOT NULL AUTO_INCREMENT COMMENT '主键',
+    `cycle_id`     int          NOT NULL COMMENT '招募周期ID',
+    `schedule_id`  int          NOT NULL COMMENT '面试安排ID',
+    `table_key`    varchar(100) NOT NULL COMMENT 'app_token:table_id',
+    `table_url`    varchar(500) NOT NULL COMMENT '写入时使用的多维表格链接',
+    `location`     varchar(255) NULL COMMENT '写入时的地点分桶键',
+    `record_id`    varchar(64)  NOT NULL COMMENT '飞书 record_id',
+    `content_hash` char(64)     NOT NULL COMMENT '上次写入行内容的 SHA-256',
+    `synced_at`    datetime     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '最近一次写入时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_schedule_table` (`schedule_id`, `table_key`),
+    KEY `idx_frss_cycle` (`cycle_id`)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = '飞书推送增量同步状态';
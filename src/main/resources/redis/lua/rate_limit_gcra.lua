@@ -0,0 +1,34 @@
+-- GCRA 限流（固定内存：每个 key 只存一个理论到达时间 TAT）
+-- 支持一次租用多个许可，供本地令牌桶按块同步；上一块没用完的许可随下次调用归还
+-- KEYS[1] 限流 key
+-- ARGV[1] 当前时间戳（毫秒）  ARGV[2] 窗口大小（毫秒）  ARGV[3] 窗口内最大请求数  ARGV[4] 本次想租用的许可数
+-- ARGV[5] 归还的未用许可数
+-- 返回 {实际租到的许可数, 0 个时距下一个许可可用的毫秒数}
+local now = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local limit = tonumber(ARGV[3])
+local want = tonumber(ARGV[4])
+local refund = tonumber(ARGV[5] or '0')
+local interval = window / limit
+local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+-- 租约里没用掉的许可按同样的间隔把 TAT 往回拨
+if refund > 0 then
+    tat = tat - refund * interval
+end
+if tat < now then
+    tat = now
+end
+-- TAT 最多领先当前时间一个窗口，领先部分就是已用掉的额度
+local available = math.floor((now + window - tat) / interval)
+local granted = math.min(want, available)
+if granted <= 0 then
+    tat = math.ceil(tat)
+    if refund > 0 then
+        redis.call('SET', KEYS[1], tat, 'PX', tat - now)
+    end
+    return {0, math.ceil(tat + interval - now - window)}
+end
+tat = tat + granted * interval
+tat = math.ceil(tat)
+redis.call('SET', KEYS[1], tat, 'PX', tat - now)
+return {granted, 0}
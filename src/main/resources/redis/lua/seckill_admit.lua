@@ -0,0 +1,30 @@
+-- 秒杀受理：幂等查询 + 名额预扣 + 用户周期锁 + 请求状态 + 幂等结果，一次往返原子完成
+-- KEYS[1] remain key  KEYS[2] user cycle lock key  KEYS[3] request status key  KEYS[4] idempotent key
+-- ARGV[1] requestId  ARGV[2] lock ttl seconds  ARGV[3] pending status json  ARGV[4] status ttl seconds
+-- ARGV[5] idempotent result json（为空表示本次请求不带幂等键）
+-- 返回 {code} 或 {2, 已受理过的结果 json}；code 与 SeckillLuaResult 对应
+local useIdempotency = ARGV[5] ~= ''
+if useIdempotency then
+    local cached = redis.call('GET', KEYS[4])
+    if cached then
+        return {2, cached}
+    end
+end
+local remain = redis.call('GET', KEYS[1])
+if remain == false then
+    return {-1}
+end
+remain = tonumber(remain)
+if remain <= 0 then
+    return {0}
+end
+if redis.call('EXISTS', KEYS[2]) == 1 then
+    return {-2}
+end
+redis.call('DECRBY', KEYS[1], 1)
+redis.call('SET', KEYS[2], ARGV[1], 'EX', tonumber(ARGV[2]))
+redis.call('SET', KEYS[3], ARGV[3], 'EX', tonumber(ARGV[4]))
+if useIdempotency then
+    redis.call('SET', KEYS[4], ARGV[5], 'EX', tonumber(ARGV[4]))
+end
+return {1}
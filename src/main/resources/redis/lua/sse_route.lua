@@ -0,0 +1,15 @@
+-- SSE 定向投递：只发给持有该 key 订阅的节点，一次往返完成
+-- KEYS[1] 订阅归属有序集合（成员为节点 ID，score 为该节点归属的过期时间戳，毫秒）
+-- ARGV[1] 节点频道前缀  ARGV[2] 消息体  ARGV[3] 当前节点 ID（本机已直接投递，跳过）  ARGV[4] 当前时间戳（毫秒）
+-- 返回实际发布的节点数
+-- 先清掉过期成员：宕机节点不再续期，即使别的节点还在续整个 key 的 TTL 也会按自己的 score 过期
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', '(' .. ARGV[4])
+local nodes = redis.call('ZRANGE', KEYS[1], 0, -1)
+local sent = 0
+for _, node in ipairs(nodes) do
+    if node ~= ARGV[3] then
+        redis.call('PUBLISH', ARGV[1] .. node, ARGV[2])
+        sent = sent + 1
+    end
+end
+return sent
@@ -0,0 +1,55 @@
+package club.boyuan.official.common.utils;
+
+import club.boyuan.official.persistence.entity.User;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 流式导出：keyset 逐页取数，超过 SXSSF 行窗口的数据也完整写出。
+ */
+class ExcelExportUtilTest {
+
+    @Test
+    void exportUsers_streamsAllPagesBeyondRowWindow() throws Exception {
+        int total = 2 * StreamingExcelWriter.ROW_ACCESS_WINDOW + 50;
+        List<Integer> requestedAfterIds = new ArrayList<>();
+        KeysetPageIterator<User> pages = new KeysetPageIterator<>(100, (afterId, limit) -> {
+            requestedAfterIds.add(afterId);
+            return IntStream.rangeClosed(afterId + 1, Math.min(afterId + limit, total))
+                    .mapToObj(ExcelExportUtilTest::user)
+                    .toList();
+        }, User::getUserId);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int exported = ExcelExportUtil.exportUsersToExcel(pages, out);
+
+        assertEquals(total, exported);
+        // 最后一页不满 100 行，不再多查一次空页
+        assertEquals(List.of(0, 100, 200, 300, 400), requestedAfterIds);
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("用户列表");
+            assertEquals(total, sheet.getLastRowNum());
+            assertEquals("用户ID", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals(total, (int) sheet.getRow(total).getCell(0).getNumericCellValue());
+            assertEquals("u" + total, sheet.getRow(total).getCell(1).getStringCellValue());
+        }
+    }
+
+    private static User user(int userId) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setUsername("u" + userId);
+        user.setStatus(1);
+        return user;
+    }
+}
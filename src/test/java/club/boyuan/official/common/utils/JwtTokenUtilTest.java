@@ -3,13 +3,13 @@ package club.boyuan.official.common.utils;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import club.boyuan.official.infra.security.JwtRevocationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.security.Key;
@@ -24,7 +24,7 @@ import static org.mockito.Mockito.lenient;
 class JwtTokenUtilTest {
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
+    private JwtRevocationRegistry revocationRegistry;
 
     @InjectMocks
     private JwtTokenUtil jwtTokenUtil;
@@ -41,8 +41,8 @@ class JwtTokenUtilTest {
         
         signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
         
-        // 模拟Redis黑名单检查（仅部分用例会触发，使用 lenient 避免严格存根校验误报）
-        lenient().when(redisTemplate.hasKey(anyString())).thenReturn(false);
+        // 模拟黑名单检查（仅部分用例会触发，使用 lenient 避免严格存根校验误报）
+        lenient().when(revocationRegistry.isRevoked(anyString())).thenReturn(false);
     }
 
     @Test
@@ -3,6 +3,7 @@ package club.boyuan.official.domain.evaluation;
 import club.boyuan.official.common.exception.BusinessException;
 import club.boyuan.official.persistence.entity.EvaluationSubmission;
 import club.boyuan.official.persistence.entity.User;
+import club.boyuan.official.persistence.mapper.EvaluationCandidateSummaryMapper;
 import club.boyuan.official.persistence.mapper.EvaluationSubmissionMapper;
 import club.boyuan.official.persistence.mapper.UserMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,12 +30,16 @@ class EvaluationAdminServiceImplTest {
     private EvaluationSubmissionMapper submissionMapper;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private EvaluationCandidateSummaryMapper summaryMapper;
+    @Mock
+    private EvaluationCandidateSummaryUpdater summaryUpdater;
 
     private EvaluationAdminServiceImpl service;
 
     @BeforeEach
     void setUp() {
-        service = new EvaluationAdminServiceImpl(submissionMapper, userMapper);
+        service = new EvaluationAdminServiceImpl(submissionMapper, userMapper, summaryMapper, summaryUpdater);
     }
 
     @Test
@@ -61,6 +66,7 @@ class EvaluationAdminServiceImplTest {
     void claimValidSetsUserId() {
         EvaluationSubmission s = new EvaluationSubmission();
         s.setId(1L);
+        s.setGithubUsername("alice");
         when(submissionMapper.selectById(1L)).thenReturn(s);
         when(userMapper.selectById(7)).thenReturn(new User());
 
@@ -68,6 +74,8 @@ class EvaluationAdminServiceImplTest {
 
         assertEquals(7, result.getUserId());
         verify(submissionMapper).updateById(s);
+        // 认领会把提交从 github 分组挪到用户分组，按 github 重算汇总
+        verify(summaryUpdater).refresh("alice");
     }
 
     @Test
@@ -92,5 +100,17 @@ class EvaluationAdminServiceImplTest {
 
         assertThrows(BusinessException.class, () -> service.claim(1L, 7));
         verify(submissionMapper, never()).updateById(any(EvaluationSubmission.class));
+        verify(summaryUpdater, never()).refresh(anyString());
+    }
+
+    @Test
+    void candidatesReadFromSummary() {
+        when(summaryMapper.selectCandidates(any(), any(), any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(List.of());
+        when(summaryMapper.countCandidates(any(), any(), any(), any(), any())).thenReturn(0L);
+
+        service.candidates(3, null, null, null, null, null, 1, 20);
+
+        verify(summaryMapper).countCandidates(any(), any(), any(), any(), any());
     }
 }
\ No newline at end of file
@@ -36,12 +36,14 @@ class EvaluationIntakeServiceImplTest {
     private UserMapper userMapper;
     @Mock
     private RecruitmentCycleMapper cycleMapper;
+    @Mock
+    private EvaluationCandidateSummaryUpdater summaryUpdater;
 
     private EvaluationIntakeServiceImpl service;
 
     @BeforeEach
     void setUp() {
-        service = new EvaluationIntakeServiceImpl(submissionMapper, userMapper, cycleMapper);
+        service = new EvaluationIntakeServiceImpl(submissionMapper, userMapper, cycleMapper, summaryUpdater);
     }
 
     private EvaluationIntakeRequest validRequest() throws Exception {
@@ -84,6 +86,7 @@ class EvaluationIntakeServiceImplTest {
         assertEquals(64, s.getReportSha().length());
         assertEquals("alice", s.getAuthor());
         assertTrue(s.getReportJson().contains("\"total_score\":340"));
+        verify(summaryUpdater).onIngested(s);
     }
 
     @Test
@@ -111,6 +114,7 @@ class EvaluationIntakeServiceImplTest {
 
         assertEquals(99L, result.getId());
         verify(submissionMapper, never()).insert(any(EvaluationSubmission.class));
+        verify(summaryUpdater, never()).onIngested(any());
     }
 
     @Test
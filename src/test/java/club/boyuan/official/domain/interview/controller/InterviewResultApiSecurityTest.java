@@ -4,6 +4,8 @@ import club.boyuan.official.domain.interview.dto.BatchDecisionRequestDTO;
 import club.boyuan.official.domain.interview.dto.InterviewResultSaveDTO;
 import club.boyuan.official.domain.interview.dto.SendNotificationsRequestDTO;
 import club.boyuan.official.domain.interview.service.IInterviewResultService;
+import club.boyuan.official.infra.sse.AsyncTaskSseHub;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,7 +49,8 @@ class InterviewResultApiSecurityTest {
 
         @Bean
         InterviewResultController interviewResultController(IInterviewResultService service) {
-            return new InterviewResultController(service);
+            // SSE 推送与序列化和鉴权无关，直接给桩，不进容器
+            return new InterviewResultController(service, mock(AsyncTaskSseHub.class), new ObjectMapper());
         }
     }
 
@@ -0,0 +1,122 @@
+package club.boyuan.official.domain.interview.scheduling;
+
+import club.boyuan.official.domain.interview.scheduling.SessionAssignmentEngine.Candidate;
+import club.boyuan.official.domain.interview.scheduling.SessionAssignmentEngine.Placement;
+import club.boyuan.official.domain.interview.scheduling.SessionAssignmentEngine.SessionCapacity;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinCostFlowSessionAssignmentEngineTest {
+
+    private final MinCostFlowSessionAssignmentEngine engine = new MinCostFlowSessionAssignmentEngine();
+    private final GreedySessionAssignmentEngine greedy = new GreedySessionAssignmentEngine();
+
+    @Test
+    void solve_reroutesFlexibleCandidateSoEveryoneFits() {
+        List<Candidate> candidates = List.of(
+                new Candidate(1, 1, null, Set.of(10, 20)),
+                new Candidate(2, 1, null, Set.of(10, 30)));
+        List<SessionCapacity> sessions = List.of(
+                new SessionCapacity(100, 1, 10, 1),
+                new SessionCapacity(200, 1, 20, 1));
+
+        assertEquals(1, greedy.solve(candidates, sessions).size());
+
+        Map<Integer, Placement> placements = engine.solve(candidates, sessions);
+        assertEquals(new Placement(200, 1), placements.get(1));
+        assertEquals(new Placement(100, 1), placements.get(2));
+    }
+
+    @Test
+    void solve_keepsFirstChoiceOverLoadBalance() {
+        // 第一志愿场次只剩 1 个名额、第二志愿很空，仍应进第一志愿
+        List<Candidate> candidates = List.of(new Candidate(1, 1, 2, Set.of(10)));
+        List<SessionCapacity> sessions = List.of(
+                new SessionCapacity(100, 1, 10, 1),
+                new SessionCapacity(200, 2, 10, 50));
+
+        assertEquals(new Placement(100, 1), engine.solve(candidates, sessions).get(1));
+    }
+
+    @Test
+    void solve_spreadsLoadAcrossSessions() {
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            candidates.add(new Candidate(i, 1, null, Set.of(10, 20)));
+        }
+        List<SessionCapacity> sessions = List.of(
+                new SessionCapacity(100, 1, 10, 8),
+                new SessionCapacity(200, 1, 20, 8));
+
+        Map<Integer, Integer> load = countBySession(engine.solve(candidates, sessions));
+        assertEquals(4, load.get(100));
+        assertEquals(4, load.get(200));
+    }
+
+    @Test
+    void solve_largeInstanceRespectsCapacityAndBeatsGreedy() {
+        List<SessionCapacity> sessions = largeSessions();
+        List<Candidate> candidates = largeCandidates();
+
+        Map<Integer, Placement> placements = engine.solve(candidates, sessions);
+
+        Map<Integer, Integer> load = countBySession(placements);
+        sessions.forEach(s -> assertTrue(load.getOrDefault(s.sessionId(), 0) <= s.remaining()));
+        assertTrue(placements.size() >= greedy.solve(candidates, sessions).size());
+    }
+
+    /**
+     * 5000 人 × 500 场次要在 1 秒内排完。墙钟断言在负载高的 CI 上会随机失败，默认不跑：
+     * {@code mvn test -Dperf=true -Dtest=MinCostFlowSessionAssignmentEngineTest}
+     */
+    @Test
+    @Tag("performance")
+    @EnabledIfSystemProperty(named = "perf", matches = "true")
+    void solve_largeInstanceFinishesWithinOneSecond() {
+        List<SessionCapacity> sessions = largeSessions();
+        List<Candidate> candidates = largeCandidates();
+
+        assertTimeout(Duration.ofSeconds(1), () -> engine.solve(candidates, sessions));
+    }
+
+    private static List<SessionCapacity> largeSessions() {
+        Random random = new Random(42);
+        List<SessionCapacity> sessions = new ArrayList<>();
+        for (int s = 0; s < 500; s++) {
+            sessions.add(new SessionCapacity(s, s % 8, s % 20, 8 + random.nextInt(5)));
+        }
+        return sessions;
+    }
+
+    private static List<Candidate> largeCandidates() {
+        Random random = new Random(7);
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int first = random.nextInt(8);
+            // 三次抽取可能重复，Set.of 遇重复元素会抛异常
+            Set<Integer> accepted = new HashSet<>(List.of(random.nextInt(20), random.nextInt(20), random.nextInt(20)));
+            candidates.add(new Candidate(i, first, (first + 1 + random.nextInt(7)) % 8, accepted));
+        }
+        return candidates;
+    }
+
+    private static Map<Integer, Integer> countBySession(Map<Integer, Placement> placements) {
+        Map<Integer, Integer> load = new HashMap<>();
+        placements.values().forEach(p -> load.merge(p.sessionId(), 1, Integer::sum));
+        return load;
+    }
+}
@@ -0,0 +1,90 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+import club.boyuan.official.domain.interview.service.IInterviewScheduleService;
+import club.boyuan.official.domain.interview.service.IInterviewSlotService;
+import club.boyuan.official.domain.interview.service.InterviewFineSlotTimeService;
+import club.boyuan.official.domain.interview.service.InterviewSlotInventoryService;
+import club.boyuan.official.infra.seckill.InterviewBookingLuaInventoryService;
+import club.boyuan.official.messaging.BookingOperationType;
+import club.boyuan.official.messaging.InterviewBookingMessage;
+import club.boyuan.official.persistence.entity.InterviewSchedule;
+import club.boyuan.official.persistence.entity.InterviewSlot;
+import club.boyuan.official.persistence.mapper.InterviewScheduleMapper;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class InterviewBookingAsyncPersistenceServiceTest {
+
+    @Mock private InterviewSlotInventoryService slotInventoryService;
+    @Mock private IInterviewScheduleService interviewScheduleService;
+    @Mock private IInterviewSlotService interviewSlotService;
+    @Spy private InterviewFineSlotTimeService fineSlotTimeService = new InterviewFineSlotTimeService();
+    @Mock private InterviewScheduleMapper interviewScheduleMapper;
+    @Mock private InterviewBookingLuaInventoryService luaInventoryService;
+
+    @InjectMocks
+    private InterviewBookingAsyncPersistenceService service;
+
+    @BeforeEach
+    void setUp() {
+        // 查已有预约用的是 LambdaQueryWrapper，要用实体的 lambda 列缓存；单独跑本类时没有别的测试先初始化它
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), InterviewSchedule.class);
+    }
+
+    /**
+     * 场景：同一 slot 三个请求只剩两个名额。一条 UPDATE 部分占坑、一条 INSERT 写入两条，
+     * 第三个判失败；已有预约记录的简历交给逐条路径。
+     */
+    @Test
+    void persistBatch_groupsBySlotAndInsertsOnce() {
+        InterviewSchedule existing = new InterviewSchedule().setResumeId(104).setCycleId(1);
+        when(interviewScheduleService.list(any(Wrapper.class))).thenReturn(List.of(existing));
+        when(slotInventoryService.occupyDbOnly(7, 3)).thenReturn(2);
+        // 容量 4，本批占完后 current_occupied=4，本批对应第 3、4 个小时间段
+        when(interviewSlotService.getById(7)).thenReturn(new InterviewSlot()
+                .setSlotId(7).setMaxCapacity(4).setCurrentOccupied(4).setStatus(2)
+                .setInterviewDate(LocalDate.of(2026, 3, 1))
+                .setStartTime(LocalTime.of(9, 0)).setEndTime(LocalTime.of(11, 0)));
+
+        InterviewBookingAsyncPersistenceService.BatchResult result = service.persistBatch(List.of(
+                message("r1", 101, 7), message("r2", 102, 7), message("r3", 103, 7), message("r4", 104, 7)));
+
+        assertEquals(2, result.succeeded().size());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 10, 0), result.succeeded().get("r1").getInterviewTime());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 10, 30), result.succeeded().get("r2").getInterviewTime());
+        assertEquals(InterviewBookingAsyncPersistenceService.SLOT_FULL_MESSAGE, result.failed().get("r3"));
+        assertEquals(List.of("r4"), result.deferred().stream().map(InterviewBookingMessage::getRequestId).toList());
+        verify(slotInventoryService, times(1)).occupyDbOnly(7, 3);
+        verify(interviewScheduleMapper, times(1)).insertBatch(anyList());
+    }
+
+    private static InterviewBookingMessage message(String requestId, int resumeId, int slotId) {
+        return new InterviewBookingMessage(requestId, resumeId, resumeId, 1, slotId, null,
+                BookingOperationType.CREATE, null);
+    }
+}
@@ -0,0 +1,167 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+import club.boyuan.official.common.utils.MessageUtils;
+import club.boyuan.official.domain.interview.service.IInterviewScheduleService;
+import club.boyuan.official.domain.interview.service.IInterviewSlotService;
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
+import club.boyuan.official.domain.resume.service.IResumeService;
+import club.boyuan.official.domain.resume.service.ResumeProjectionService;
+import club.boyuan.official.domain.user.service.DepartmentService;
+import club.boyuan.official.domain.user.service.IUserService;
+import club.boyuan.official.infra.notification.InterviewNotificationType;
+import club.boyuan.official.infra.notification.MailDeliveryEngine;
+import club.boyuan.official.messaging.InterviewNotificationMessage;
+import club.boyuan.official.messaging.InterviewNotificationProducer;
+import club.boyuan.official.persistence.entity.InterviewNotificationLog;
+import club.boyuan.official.persistence.entity.InterviewSchedule;
+import club.boyuan.official.persistence.entity.InterviewSlot;
+import club.boyuan.official.persistence.entity.Resume;
+import club.boyuan.official.persistence.mapper.InterviewNotificationLogMapper;
+import club.boyuan.official.persistence.mapper.InterviewResultMapper;
+import club.boyuan.official.persistence.mapper.InterviewScheduleMapper;
+import club.boyuan.official.persistence.mapper.ResumeMapper;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 提醒派发：一次反连接 + 批量投影，消息预渲染；消费者拿到预渲染消息只点查一次发送日志防重投，不再读其他表。
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class InterviewNotificationServiceImplTest {
+
+    @Mock private InterviewNotificationProducer notificationProducer;
+    @Mock private InterviewNotificationLogMapper notificationLogMapper;
+    @Mock private IInterviewScheduleService interviewScheduleService;
+    @Mock private IInterviewSlotService interviewSlotService;
+    @Mock private IResumeService resumeService;
+    @Mock private IUserService userService;
+    @Mock private InterviewResultMapper interviewResultMapper;
+    @Mock private DepartmentService departmentService;
+    @Mock private ResumeProjectionService resumeProjectionService;
+    @Mock private MessageUtils messageUtils;
+    @Mock private MailDeliveryEngine mailDeliveryEngine;
+    @Mock private InterviewScheduleMapper interviewScheduleMapper;
+    @Mock private ResumeMapper resumeMapper;
+    @Mock private StringRedisTemplate stringRedisTemplate;
+    @Mock private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private InterviewNotificationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        // 发送日志点查用 LambdaQueryWrapper，需要实体的 lambda 列缓存
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), InterviewNotificationLog.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any())).thenReturn(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dispatchReminders_rendersMessagesFromBulkLookups() {
+        LocalDateTime time = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0);
+        when(interviewScheduleMapper.selectActiveWithoutNotification(eq("EVE_REMINDER"), any(), any()))
+                .thenReturn(List.of(schedule(1, 201, 7, time), schedule(2, 202, 7, time)));
+        when(resumeMapper.selectByIds(anyCollection())).thenReturn(List.of(resume(201), resume(202)));
+        // 202 没有邮箱，不投递
+        when(resumeProjectionService.project(eq(3), anyCollection())).thenReturn(Map.of(
+                201, new ResumeProjection(201, 11, 3, "张三", "a@example.com", "", "", List.of(), List.of()),
+                202, new ResumeProjection(202, 12, 3, "李四", "", "", "", List.of(), List.of())));
+        when(interviewSlotService.listByIds(anyCollection()))
+                .thenReturn(List.of(new InterviewSlot().setSlotId(7).setLocation("A101")));
+
+        service.dispatchReminders(InterviewNotificationType.EVE_REMINDER);
+
+        ArgumentCaptor<List<InterviewNotificationMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationProducer, times(1)).publishAll(captor.capture());
+        List<InterviewNotificationMessage> messages = captor.getValue();
+        assertEquals(1, messages.size());
+        assertEquals(1, messages.get(0).getScheduleId());
+        assertEquals("a@example.com", messages.get(0).getRecipientEmail());
+        assertTrue(messages.get(0).getBody().contains("A101"));
+        verify(notificationLogMapper, never()).selectCount(any());
+    }
+
+    @Test
+    void dispatchReminders_skipsWhenAnotherNodeClaimedTheDay() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any())).thenReturn(false);
+
+        service.dispatchReminders(InterviewNotificationType.EVE_REMINDER);
+
+        verifyNoInteractions(interviewScheduleMapper, notificationProducer);
+    }
+
+    @Test
+    void deliver_prerenderedReminderSendsWithOnlyTheSendLogLookup() {
+        when(notificationLogMapper.selectCount(any())).thenReturn(0L);
+        when(mailDeliveryEngine.submit(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        service.deliver(prerenderedReminder()).join();
+
+        verify(mailDeliveryEngine).submit("a@example.com", "subject", "body");
+        verify(notificationLogMapper).insert(any(InterviewNotificationLog.class));
+        verify(notificationLogMapper, times(1)).selectCount(any());
+        verify(interviewScheduleService, never()).getById(anyInt());
+        verifyNoInteractions(resumeService, resumeProjectionService);
+    }
+
+    @Test
+    void deliver_redeliveredPrerenderedReminderIsNotSentAgain() {
+        // 手动 ack 下通道断开会重投同一条消息，此时发送日志里已有记录
+        when(notificationLogMapper.selectCount(any())).thenReturn(1L);
+
+        service.deliver(prerenderedReminder()).join();
+
+        verifyNoInteractions(mailDeliveryEngine);
+        verify(notificationLogMapper, never()).insert(any(InterviewNotificationLog.class));
+    }
+
+    private static InterviewNotificationMessage prerenderedReminder() {
+        return new InterviewNotificationMessage(InterviewNotificationType.EVE_REMINDER, 1, null, null, null,
+                "a@example.com", "subject", "body");
+    }
+
+    private static InterviewSchedule schedule(int scheduleId, int resumeId, int slotId, LocalDateTime time) {
+        return new InterviewSchedule().setScheduleId(scheduleId).setResumeId(resumeId).setSlotId(slotId)
+                .setCycleId(3).setStatus(1).setInterviewTime(time);
+    }
+
+    private static Resume resume(int resumeId) {
+        Resume resume = new Resume();
+        resume.setResumeId(resumeId);
+        resume.setCycleId(3);
+        return resume;
+    }
+}
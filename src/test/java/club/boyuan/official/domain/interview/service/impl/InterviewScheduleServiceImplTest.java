@@ -0,0 +1,142 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+import club.boyuan.official.domain.interview.dto.AutoAssignInterviewResponseDTO;
+import club.boyuan.official.domain.interview.service.IInterviewSlotService;
+import club.boyuan.official.domain.interview.service.InterviewSlotOccupancyChangedEvent;
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
+import club.boyuan.official.domain.resume.service.IRecruitmentCycleService;
+import club.boyuan.official.domain.resume.service.IResumeService;
+import club.boyuan.official.domain.resume.service.ResumeDataService;
+import club.boyuan.official.domain.resume.service.ResumeProjectionService;
+import club.boyuan.official.domain.user.service.IUserService;
+import club.boyuan.official.persistence.entity.InterviewSlot;
+import club.boyuan.official.persistence.entity.RecruitmentCycle;
+import club.boyuan.official.persistence.entity.Resume;
+import club.boyuan.official.persistence.entity.ResumeFieldDefinition;
+import club.boyuan.official.persistence.entity.User;
+import club.boyuan.official.persistence.mapper.InterviewScheduleMapper;
+import club.boyuan.official.persistence.mapper.InterviewSlotMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 一键分配直接批量改 DB 占用数，必须通知刷新这些 slot 的 Redis 剩余名额，否则秒杀 Lua 仍按旧余量放人。
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class InterviewScheduleServiceImplTest {
+
+    private static final int CYCLE_ID = 3;
+
+    @Mock private IResumeService resumeService;
+    @Mock private IRecruitmentCycleService recruitmentCycleService;
+    @Mock private IUserService userService;
+    @Mock private IInterviewSlotService interviewSlotService;
+    @Mock private ResumeDataService resumeDataService;
+    @Mock private ResumeProjectionService resumeProjectionService;
+    @Mock private InterviewSlotMapper interviewSlotMapper;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private InterviewScheduleMapper scheduleMapper;
+
+    private InterviewScheduleServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new InterviewScheduleServiceImpl(resumeService, recruitmentCycleService, userService,
+                interviewSlotService, resumeDataService, resumeProjectionService, interviewSlotMapper, eventPublisher);
+        ReflectionTestUtils.setField(service, "baseMapper", scheduleMapper);
+
+        when(recruitmentCycleService.getRecruitmentCycleById(CYCLE_ID)).thenReturn(new RecruitmentCycle());
+        when(resumeDataService.getInterviewTimeFieldDefinition(CYCLE_ID)).thenReturn(new ResumeFieldDefinition());
+        when(resumeDataService.getExpectedDepartmentsFieldDefinition(CYCLE_ID)).thenReturn(new ResumeFieldDefinition());
+    }
+
+    @Test
+    void autoAssign_publishesTouchedSlotsAfterOccupancyWrite() {
+        // 时段 7 已占 2/10，两个人都选了这个时间
+        InterviewSlot slot = new InterviewSlot().setSlotId(7).setCycleId(CYCLE_ID)
+                .setInterviewDate(LocalDate.of(2026, 3, 23))
+                .setStartTime(LocalTime.of(9, 0)).setEndTime(LocalTime.of(11, 0))
+                .setMaxCapacity(10).setCurrentOccupied(2).setStatus(1);
+        when(interviewSlotService.getAvailableSlotsByCycleId(CYCLE_ID)).thenReturn(List.of(slot));
+        List<Resume> resumes = List.of(resume(101, 1), resume(102, 2));
+        when(resumeService.getAllResumesByCycleId(CYCLE_ID)).thenReturn(resumes);
+        when(resumeProjectionService.project(eq(CYCLE_ID), anyCollection())).thenReturn(Map.of(
+                101, projection(101, 1), 102, projection(102, 2)));
+        when(userService.listByIds(anyList())).thenReturn(List.of(user(1), user(2)));
+
+        AutoAssignInterviewResponseDTO response = service.autoAssignInterviews(CYCLE_ID);
+
+        assertEquals(2, response.getAssignedCount());
+        ArgumentCaptor<List<InterviewSlot>> written = slotListCaptor();
+        ArgumentCaptor<InterviewSlotOccupancyChangedEvent> event =
+                ArgumentCaptor.forClass(InterviewSlotOccupancyChangedEvent.class);
+        InOrder order = inOrder(interviewSlotMapper, eventPublisher);
+        order.verify(interviewSlotMapper).updateOccupancyBatch(written.capture());
+        order.verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(4, written.getValue().get(0).getCurrentOccupied());
+        assertEquals(List.of(7), List.copyOf(event.getValue().slotIds()));
+    }
+
+    @Test
+    void autoAssign_withNothingAssignedPublishesNothing() {
+        when(interviewSlotService.getAvailableSlotsByCycleId(CYCLE_ID)).thenReturn(List.of());
+        when(resumeService.getAllResumesByCycleId(CYCLE_ID)).thenReturn(List.of());
+        when(resumeProjectionService.project(eq(CYCLE_ID), anyCollection())).thenReturn(Map.of());
+
+        service.autoAssignInterviews(CYCLE_ID);
+
+        verify(interviewSlotMapper, never()).updateOccupancyBatch(anyList());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<InterviewSlot>> slotListCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static Resume resume(int resumeId, int userId) {
+        Resume resume = new Resume();
+        resume.setResumeId(resumeId);
+        resume.setUserId(userId);
+        resume.setCycleId(CYCLE_ID);
+        resume.setStatus(2);
+        return resume;
+    }
+
+    private static ResumeProjection projection(int resumeId, int userId) {
+        return new ResumeProjection(resumeId, userId, CYCLE_ID, "同学" + userId, userId + "@example.com",
+                "", "", List.of("技术部"), List.of("2026-03-23 09:00~11:00"));
+    }
+
+    private static User user(int userId) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setUsername("u" + userId);
+        return user;
+    }
+}
@@ -10,17 +10,26 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -103,4 +112,71 @@ class InterviewSlotInventoryServiceImplTest {
 
         verify(stringRedisTemplate).delete(REMAIN_KEY_PREFIX + 9);
     }
+
+    @Test
+    void syncRemainCacheFromDb_closedSlotCachedAsZero() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(interviewSlotMapper.selectById(7)).thenReturn(
+                new InterviewSlot().setMaxCapacity(10).setCurrentOccupied(1).setStatus(3));
+
+        inventoryService.syncRemainCacheFromDb(7);
+
+        verify(valueOperations).set(eq(REMAIN_KEY_PREFIX + 7), eq("0"), anyLong(), eq(TimeUnit.HOURS));
+    }
+
+    @Test
+    void warmRemainCacheForCycle_singleQueryAndSinglePipeline() {
+        when(interviewSlotMapper.selectList(any())).thenReturn(List.of(
+                new InterviewSlot().setSlotId(1).setMaxCapacity(5).setCurrentOccupied(0),
+                new InterviewSlot().setSlotId(2).setMaxCapacity(5).setCurrentOccupied(5)));
+
+        int warmed = inventoryService.warmRemainCacheForCycle(3, true);
+
+        assertEquals(2, warmed);
+        verify(interviewSlotMapper, times(1)).selectList(any());
+        verify(interviewSlotMapper, never()).selectById(any());
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void warmRemainCacheForCycle_onlyFillsMissingKeysUnlessOverwriting() {
+        when(interviewSlotMapper.selectList(any())).thenReturn(List.of(
+                new InterviewSlot().setSlotId(1).setMaxCapacity(5).setCurrentOccupied(2)));
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(inv -> {
+            ((RedisCallback<Object>) inv.getArgument(0)).doInRedis(connection);
+            return List.of();
+        });
+
+        // 启动预热：不能覆盖预约窗口里尚未落库的 Redis 预扣
+        inventoryService.warmRemainCacheForCycle(3, false);
+        verify(stringCommands).set(any(byte[].class), eq("3".getBytes(StandardCharsets.UTF_8)), any(Expiration.class),
+                eq(RedisStringCommands.SetOption.ifAbsent()));
+
+        // 周期开放：按 DB 重置
+        inventoryService.warmRemainCacheForCycle(3, true);
+        verify(stringCommands).set(any(byte[].class), eq("3".getBytes(StandardCharsets.UTF_8)), any(Expiration.class),
+                eq(RedisStringCommands.SetOption.upsert()));
+    }
+
+    @Test
+    void occupyDbOnly_wholeBatchInOneUpdate() {
+        when(interviewSlotMapper.occupyIfAvailable(4, 3)).thenReturn(1);
+
+        assertEquals(3, inventoryService.occupyDbOnly(4, 3));
+        verify(interviewSlotMapper, never()).selectByIdForUpdate(any());
+    }
+
+    @Test
+    void occupyDbOnly_partialWhenNotEnoughRemain() {
+        when(interviewSlotMapper.occupyIfAvailable(4, 5)).thenReturn(0);
+        when(interviewSlotMapper.selectByIdForUpdate(4)).thenReturn(
+                new InterviewSlot().setSlotId(4).setMaxCapacity(10).setCurrentOccupied(8).setStatus(1));
+        when(interviewSlotMapper.occupyIfAvailable(4, 2)).thenReturn(1);
+
+        assertEquals(2, inventoryService.occupyDbOnly(4, 5));
+    }
 }
@@ -0,0 +1,38 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+import club.boyuan.official.domain.interview.service.InterviewSlotInventoryService;
+import club.boyuan.official.domain.interview.service.InterviewSlotOccupancyChangedEvent;
+import club.boyuan.official.domain.resume.service.IRecruitmentCycleService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class InterviewSlotRemainCacheWarmerTest {
+
+    @Mock private InterviewSlotInventoryService slotInventoryService;
+    @Mock private IRecruitmentCycleService recruitmentCycleService;
+
+    @InjectMocks
+    private InterviewSlotRemainCacheWarmer warmer;
+
+    @Test
+    void occupancyChanged_resyncsEverySlotEvenIfOneFails() {
+        doThrow(new IllegalStateException("redis down")).when(slotInventoryService).syncRemainCacheFromDb(7);
+
+        warmer.onOccupancyChanged(new InterviewSlotOccupancyChangedEvent(List.of(7, 8)));
+
+        verify(slotInventoryService).syncRemainCacheFromDb(7);
+        verify(slotInventoryService).syncRemainCacheFromDb(8);
+    }
+}
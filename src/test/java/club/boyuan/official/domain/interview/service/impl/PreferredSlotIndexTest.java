@@ -0,0 +1,47 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+import club.boyuan.official.persistence.entity.InterviewSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PreferredSlotIndexTest {
+
+    private static InterviewSlot slot(int slotId, int hour) {
+        return new InterviewSlot().setSlotId(slotId)
+                .setInterviewDate(LocalDate.of(2026, 3, 23))
+                .setStartTime(LocalTime.of(hour, 0))
+                .setEndTime(LocalTime.of(hour + 2, 0));
+    }
+
+    @Test
+    void reserve_takesEarliestSlotWithCapacityThenMovesOn() {
+        // 同一时间窗两个教室：1 号余 1，2 号余 2
+        PreferredSlotIndex index = new PreferredSlotIndex(
+                List.of(slot(1, 9), slot(2, 9), slot(3, 14)), Map.of(1, 1, 2, 2, 3, 0));
+
+        assertEquals(2, index.availableSlotCount("2026-03-23 09:00~11:00"));
+        assertEquals(1, index.reserve("2026-03-23 09:00~11:00").getSlotId());
+        assertEquals(2, index.reserve("2026-03-23 09:00:00~11:00:00").getSlotId());
+        assertEquals(2, index.reserve("2026-03-23 9:00～11:00").getSlotId());
+        assertNull(index.reserve("2026-03-23 09:00~11:00"));
+        assertEquals(0, index.availableSlotCount("2026-03-23 09:00~11:00"));
+    }
+
+    @Test
+    void unmatchedOrMalformedPreferences_yieldNothing() {
+        PreferredSlotIndex index = new PreferredSlotIndex(List.of(slot(3, 14)), Map.of(3, 0));
+
+        assertNull(index.reserve("2026-03-23 14:00~16:00"));
+        assertNull(index.reserve("2026-03-24 14:00~16:00"));
+        assertNull(index.reserve("明天下午"));
+        assertNull(index.reserve(null));
+        assertEquals(0, index.availableSlotCount("2026-03-23 14:00~16:00"));
+    }
+}
@@ -0,0 +1,168 @@
+package club.boyuan.official.domain.interview.service.impl;
+
+import club.boyuan.official.domain.interview.dto.SendNotificationsRequestDTO;
+import club.boyuan.official.domain.interview.dto.SendNotificationsResponseDTO;
+import club.boyuan.official.domain.interview.service.InterviewNotificationService;
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
+import club.boyuan.official.domain.resume.service.ResumeProjectionService;
+import club.boyuan.official.domain.user.service.IUserService;
+import club.boyuan.official.infra.sse.AsyncTaskChannel;
+import club.boyuan.official.infra.sse.AsyncTaskSseHub;
+import club.boyuan.official.persistence.entity.InterviewResult;
+import club.boyuan.official.persistence.entity.InterviewSchedule;
+import club.boyuan.official.persistence.entity.Resume;
+import club.boyuan.official.persistence.entity.User;
+import club.boyuan.official.persistence.mapper.InterviewResultMapper;
+import club.boyuan.official.persistence.mapper.InterviewScheduleMapper;
+import club.boyuan.official.persistence.mapper.ResumeMapper;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 批量结果通知任务：一次预取、逐条入队、每批一条 notified_at UPDATE、终态推送。
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResultNotificationJobRunnerTest {
+
+    @Mock private InterviewResultMapper interviewResultMapper;
+    @Mock private IUserService userService;
+    @Mock private InterviewScheduleMapper interviewScheduleMapper;
+    @Mock private ResumeMapper resumeMapper;
+    @Mock private ResumeProjectionService resumeProjectionService;
+    @Mock private InterviewNotificationService interviewNotificationService;
+    @Mock private ResultNotificationJobStore jobStore;
+    @Mock private AsyncTaskSseHub asyncTaskSseHub;
+
+    private ResultNotificationJobRunner runner;
+    private SendNotificationsResponseDTO job;
+
+    @BeforeEach
+    void setUp() {
+        // 每批的 notified_at 更新用 LambdaUpdateWrapper，需要实体的 lambda 列缓存；
+        // 不在这里初始化的话，单独跑某个用例会因缓存缺失而失败
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), InterviewResult.class);
+        // 同步执行，方便断言
+        runner = new ResultNotificationJobRunner(interviewResultMapper, userService, interviewScheduleMapper,
+                resumeMapper, resumeProjectionService, interviewNotificationService, jobStore, asyncTaskSseHub,
+                Runnable::run);
+        job = new SendNotificationsResponseDTO();
+        job.setJobId(9L);
+        job.setStatus(ResultNotificationJobStatus.PENDING.name());
+        job.setProcessedCount(0);
+        job.setSentCount(0);
+        job.setFailedCount(0);
+        job.setFailedId(new ArrayList<>());
+        when(jobStore.create(anyInt())).thenReturn(job);
+        when(jobStore.requireById(9L)).thenReturn(job);
+    }
+
+    /**
+     * 1 可发；2 用户不存在；3 待定且无自定义正文；4 无邮箱；5 结果不存在。
+     */
+    @Test
+    void submit_prefetchesOnceAndUpdatesNotifiedAtInOneStatement() {
+        when(interviewResultMapper.selectByIds(anyCollection())).thenReturn(List.of(
+                result(1, 11, 101, 1), result(2, 12, 102, 2), result(3, 11, 103, 0), result(4, 14, 104, 2)));
+        when(userService.listByIds(anyCollection())).thenReturn(List.of(user(11, null), user(14, null)));
+        when(interviewScheduleMapper.selectByIds(anyCollection())).thenReturn(List.of(
+                new InterviewSchedule().setScheduleId(101).setResumeId(201)));
+        when(resumeMapper.selectByIds(anyCollection())).thenReturn(List.of(resume(201, 3)));
+        when(resumeProjectionService.project(eq(3), anyCollection()))
+                .thenReturn(Map.of(201, new ResumeProjection(201, 11, 3, "张三", "a@example.com", "", "", List.of(), List.of())));
+
+        SendNotificationsResponseDTO submitted = runner.submit(request(List.of(1, 2, 3, 4, 5), "email", null));
+
+        assertEquals(9L, submitted.getJobId());
+        assertEquals(ResultNotificationJobStatus.PARTIAL_SUCCESS.name(), job.getStatus());
+        assertEquals(1, job.getSentCount());
+        assertEquals(4, job.getFailedCount());
+        assertEquals(List.of(2, 3, 4, 5), job.getFailedId());
+        assertEquals(5, job.getProcessedCount());
+        verify(interviewNotificationService, times(1)).enqueueResultNotification(1, null);
+        verify(interviewResultMapper, times(1)).update(isNull(), any());
+        verify(userService, times(1)).listByIds(anyCollection());
+        verify(asyncTaskSseHub).publish(eq(AsyncTaskChannel.RESULT_NOTIFICATION), eq("9"), eq(job), eq(true));
+    }
+
+    @Test
+    void largeBatch_updatesOncePerChunk() {
+        List<Integer> ids = IntStream.rangeClosed(1, ResultNotificationJobRunner.CHUNK_SIZE + 1).boxed().toList();
+        when(interviewResultMapper.selectByIds(anyCollection()))
+                .thenReturn(ids.stream().map(id -> result(id, 11, null, 1)).toList());
+        when(userService.listByIds(anyCollection())).thenReturn(List.of(user(11, "u@example.com")));
+
+        runner.submit(request(ids, "email", null));
+
+        assertEquals(ResultNotificationJobStatus.SUCCESS.name(), job.getStatus());
+        assertEquals(ids.size(), job.getSentCount());
+        verify(interviewResultMapper, times(2)).update(isNull(), any());
+        verify(resumeMapper, never()).selectByIds(anyCollection());
+    }
+
+    @Test
+    void sms_failsWholeBatchWithoutTouchingDatabase() {
+        runner.submit(request(List.of(1, 2), "sms", "hi"));
+
+        assertEquals(ResultNotificationJobStatus.FAILED.name(), job.getStatus());
+        assertEquals(List.of(1, 2), job.getFailedId());
+        verify(interviewResultMapper, never()).selectByIds(anyCollection());
+        verify(interviewNotificationService, never()).enqueueResultNotification(anyInt(), anyString());
+    }
+
+    private static SendNotificationsRequestDTO request(List<Integer> ids, String type, String customMessage) {
+        SendNotificationsRequestDTO request = new SendNotificationsRequestDTO();
+        request.setResultIds(ids);
+        request.setNotificationType(type);
+        request.setCustomMessage(customMessage);
+        return request;
+    }
+
+    private static InterviewResult result(int resultId, int userId, Integer scheduleId, int decision) {
+        InterviewResult result = new InterviewResult();
+        result.setResultId(resultId);
+        result.setUserId(userId);
+        result.setScheduleId(scheduleId);
+        result.setDecision(decision);
+        return result;
+    }
+
+    private static User user(int userId, String email) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setEmail(email);
+        return user;
+    }
+
+    private static Resume resume(int resumeId, int cycleId) {
+        Resume resume = new Resume();
+        resume.setResumeId(resumeId);
+        resume.setCycleId(cycleId);
+        return resume;
+    }
+}
@@ -1,13 +1,17 @@
 package club.boyuan.official.domain.interview.service.impl;
 
 import club.boyuan.official.domain.interview.dto.SessionAssignmentResultDTO;
+import club.boyuan.official.domain.interview.scheduling.GreedySessionAssignmentEngine;
+import club.boyuan.official.domain.interview.scheduling.MinCostFlowSessionAssignmentEngine;
 import club.boyuan.official.domain.interview.service.IInterviewPreferenceService;
 import club.boyuan.official.domain.interview.service.IInterviewScheduleService;
 import club.boyuan.official.domain.interview.service.IInterviewSessionService;
 import club.boyuan.official.domain.interview.service.IInterviewTimeSlotService;
 import club.boyuan.official.domain.resume.service.IRecruitmentCycleService;
 import club.boyuan.official.domain.resume.service.IResumeService;
-import club.boyuan.official.domain.resume.service.ResumeDataService;
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
+import club.boyuan.official.domain.resume.service.ResumeProjectionService;
+import club.boyuan.official.infra.config.InterviewAssignmentProperties;
 import club.boyuan.official.persistence.entity.Department;
 import club.boyuan.official.persistence.entity.InterviewPreference;
 import club.boyuan.official.persistence.entity.InterviewPreferenceTime;
@@ -18,12 +22,15 @@ import club.boyuan.official.persistence.entity.RecruitmentCycle;
 import club.boyuan.official.persistence.entity.Resume;
 import club.boyuan.official.persistence.mapper.DepartmentMapper;
 import club.boyuan.official.persistence.mapper.InterviewPreferenceTimeMapper;
+import club.boyuan.official.persistence.mapper.InterviewScheduleMapper;
 import club.boyuan.official.persistence.mapper.InterviewSessionMapper;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -31,12 +38,21 @@ import org.mockito.quality.Strictness;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,10 +65,14 @@ class SessionAssignmentServiceImplTest {
     @Mock private IInterviewSessionService interviewSessionService;
     @Mock private InterviewSessionMapper interviewSessionMapper;
     @Mock private IInterviewScheduleService interviewScheduleService;
+    @Mock private InterviewScheduleMapper interviewScheduleMapper;
     @Mock private IInterviewTimeSlotService interviewTimeSlotService;
     @Mock private IResumeService resumeService;
-    @Mock private ResumeDataService resumeDataService;
+    @Mock private ResumeProjectionService resumeProjectionService;
     @Mock private DepartmentMapper departmentMapper;
+    @Spy private SessionAssignmentEngineSelector engineSelector = new SessionAssignmentEngineSelector(
+            List.of(new GreedySessionAssignmentEngine(), new MinCostFlowSessionAssignmentEngine()),
+            new InterviewAssignmentProperties());
 
     @InjectMocks
     private SessionAssignmentServiceImpl service;
@@ -63,13 +83,14 @@ class SessionAssignmentServiceImplTest {
      * 期望：前两人进技术部（09:00、09:10 细分），第三人自动降级到综合部（09:00）。
      */
     @Test
+    @SuppressWarnings("unchecked")
     void assign_fillsFirstChoiceThenDowngradesAndSubdividesTime() {
         Integer cycleId = 1;
         when(recruitmentCycleService.getRecruitmentCycleById(cycleId)).thenReturn(new RecruitmentCycle());
 
         when(resumeService.getAllResumesByCycleId(cycleId)).thenReturn(List.of(
                 resume(101, 1), resume(102, 2), resume(103, 3)));
-        when(resumeDataService.getResumeName(any(Resume.class))).thenReturn("学生");
+        stubProjectedNames("学生");
 
         when(interviewScheduleService.list(any(Wrapper.class))).thenReturn(List.of());
         when(interviewPreferenceService.list(any(Wrapper.class))).thenReturn(List.of(
@@ -90,6 +111,14 @@ class SessionAssignmentServiceImplTest {
 
         when(departmentMapper.selectList(nullable(Wrapper.class))).thenReturn(List.of(
                 dept(1, "技术部"), dept(2, "综合部")));
+        // 模拟自增主键回填
+        when(interviewScheduleMapper.insertBatch(anyList())).thenAnswer(inv -> {
+            List<InterviewSchedule> rows = inv.getArgument(0);
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).setScheduleId(7001 + i);
+            }
+            return rows.size();
+        });
 
         SessionAssignmentResultDTO result = service.assign(cycleId);
 
@@ -113,6 +142,18 @@ class SessionAssignmentServiceImplTest {
         assertEquals(2, a103.getDeptId());
         assertEquals(2, a103.getMatchedChoice());
         assertEquals(LocalDateTime.of(2026, 3, 1, 9, 0), a103.getInterviewStartTime());
+
+        // 三条安排一条多行 INSERT，两个场次的占用数一条 CASE UPDATE
+        ArgumentCaptor<List<InterviewSchedule>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(interviewScheduleMapper, times(1)).insertBatch(inserted.capture());
+        assertEquals(List.of(101, 102, 103),
+                inserted.getValue().stream().map(InterviewSchedule::getResumeId).collect(Collectors.toList()));
+        assertEquals(7001, a101.getScheduleId());
+        ArgumentCaptor<List<InterviewSession>> occupancy = ArgumentCaptor.forClass(List.class);
+        verify(interviewSessionMapper, times(1)).updateCurrentOccupiedBatch(occupancy.capture());
+        assertEquals(List.of(2, 1),
+                occupancy.getValue().stream().map(InterviewSession::getCurrentOccupied).collect(Collectors.toList()));
+        verify(interviewScheduleService, never()).save(any(InterviewSchedule.class));
     }
 
     /**
@@ -123,7 +164,7 @@ class SessionAssignmentServiceImplTest {
         Integer cycleId = 1;
         when(recruitmentCycleService.getRecruitmentCycleById(cycleId)).thenReturn(new RecruitmentCycle());
         when(resumeService.getAllResumesByCycleId(cycleId)).thenReturn(List.of(resume(201, 9)));
-        when(resumeDataService.getResumeName(any(Resume.class))).thenReturn("学生");
+        stubProjectedNames("学生");
         when(interviewScheduleService.list(any(Wrapper.class))).thenReturn(List.of());
         when(interviewPreferenceService.list(any(Wrapper.class))).thenReturn(List.of(pref(201, cycleId, 1, null)));
         // 候选人勾选时间窗 10，但技术部场次挂在时间窗 20 上 → 无匹配
@@ -142,8 +183,65 @@ class SessionAssignmentServiceImplTest {
         assertEquals(201, result.getUnassigned().get(0).getResumeId());
     }
 
+    /**
+     * 场景：技术部 09:00 / 14:00 各 1 个名额；101 两个时间窗都可以，102 只能上午。
+     * 贪心先放 101 进上午场导致 102 落空；最小费用流把 101 让到下午，两人都能分配。
+     * 试算不写安排、不改占用。
+     */
+    @Test
+    void assign_dryRunReturnsOptimalPlanWithoutPersisting() {
+        Integer cycleId = 1;
+        when(recruitmentCycleService.getRecruitmentCycleById(cycleId)).thenReturn(new RecruitmentCycle());
+        when(resumeService.getAllResumesByCycleId(cycleId)).thenReturn(List.of(resume(101, 1), resume(102, 2)));
+        stubProjectedNames("学生");
+        when(interviewScheduleService.list(any(Wrapper.class))).thenReturn(List.of());
+        when(interviewPreferenceService.list(any(Wrapper.class))).thenReturn(List.of(
+                pref(101, cycleId, 1, null), pref(102, cycleId, 1, null)));
+        when(preferenceTimeMapper.selectList(any())).thenReturn(List.of(
+                prefTime(101, 10), prefTime(101, 20), prefTime(102, 10), prefTime(102, 30)));
+        InterviewTimeSlot morning = new InterviewTimeSlot().setTimeSlotId(10).setCycleId(cycleId)
+                .setInterviewDate(LocalDate.of(2026, 3, 1)).setStartTime(LocalTime.of(9, 0))
+                .setEndTime(LocalTime.of(12, 0)).setStatus(1);
+        InterviewTimeSlot afternoon = new InterviewTimeSlot().setTimeSlotId(20).setCycleId(cycleId)
+                .setInterviewDate(LocalDate.of(2026, 3, 1)).setStartTime(LocalTime.of(14, 0))
+                .setEndTime(LocalTime.of(17, 0)).setStatus(1);
+        when(interviewTimeSlotService.listByIds(any())).thenReturn(List.of(morning, afternoon));
+        when(interviewSessionService.list(any(Wrapper.class))).thenReturn(List.of(
+                session(2001, cycleId, 20, 1, "302", 1), session(2000, cycleId, 10, 1, "301", 1)));
+        when(departmentMapper.selectList(nullable(Wrapper.class))).thenReturn(List.of(dept(1, "技术部")));
+
+        SessionAssignmentResultDTO greedy = service.assign(cycleId, true, "greedy");
+        assertEquals(1, greedy.getAssignedCount());
+
+        SessionAssignmentResultDTO result = service.assign(cycleId, true, null);
+
+        assertTrue(result.isDryRun());
+        assertEquals("min-cost-flow", result.getEngine());
+        assertEquals(2, result.getAssignedCount());
+        assertEquals(2001, find(result, 101).getSessionId());
+        assertEquals(2000, find(result, 102).getSessionId());
+        assertNull(find(result, 102).getScheduleId());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 9, 0), find(result, 102).getInterviewStartTime());
+        verify(interviewScheduleMapper, never()).insertBatch(anyList());
+        verify(interviewSessionMapper, never()).updateCurrentOccupiedBatch(anyList());
+    }
+
     // --------------------------------------------------------------- helpers
 
+    private void stubProjectedNames(String name) {
+        when(resumeProjectionService.project(any(), anyCollection())).thenAnswer(inv -> {
+            Collection<Resume> resumes = inv.getArgument(1);
+            return resumes.stream().collect(Collectors.toMap(Resume::getResumeId,
+                    r -> new ResumeProjection(r.getResumeId(), r.getUserId(), r.getCycleId(), name, "", "", "",
+                            List.of(), List.of())));
+        });
+        when(resumeProjectionService.project(any(Resume.class))).thenAnswer(inv -> {
+            Resume r = inv.getArgument(0);
+            return new ResumeProjection(r.getResumeId(), r.getUserId(), r.getCycleId(), name, "", "", "",
+                    List.of(), List.of());
+        });
+    }
+
     private static SessionAssignmentResultDTO.AssignedItem find(SessionAssignmentResultDTO result, int resumeId) {
         SessionAssignmentResultDTO.AssignedItem item = result.getAssigned().stream()
                 .filter(a -> a.getResumeId() == resumeId).findFirst().orElse(null);
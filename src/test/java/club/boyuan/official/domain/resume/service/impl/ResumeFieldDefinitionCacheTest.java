@@ -0,0 +1,84 @@
+package club.boyuan.official.domain.resume.service.impl;
+
+import club.boyuan.official.persistence.entity.ResumeFieldDefinition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResumeFieldDefinitionCacheTest {
+
+    @Mock private StringRedisTemplate stringRedisTemplate;
+    @Mock private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @InjectMocks
+    private ResumeFieldDefinitionCache cache;
+
+    @Test
+    void get_loadsOncePerCycleAndIndexesLabels() {
+        AtomicInteger loads = new AtomicInteger();
+        List<ResumeFieldDefinition> defs = List.of(def(11, "name", "姓名"), def(12, "name2", "姓名"));
+
+        cache.get(1, id -> { loads.incrementAndGet(); return defs; });
+        ResumeFieldDefinitionCache.CycleFieldDefinitions snapshot =
+                cache.get(1, id -> { loads.incrementAndGet(); return defs; });
+
+        assertEquals(1, loads.get());
+        assertEquals(11, snapshot.fieldIdByLabel("姓名"));
+        assertEquals(12, snapshot.byKey("name2").getFieldId());
+        assertNull(snapshot.byLabel("邮箱"));
+    }
+
+    @Test
+    void evictField_dropsOwningCycleAndBroadcasts() {
+        AtomicInteger loads = new AtomicInteger();
+        List<ResumeFieldDefinition> defs = List.of(def(11, "name", "姓名"));
+        cache.get(1, id -> { loads.incrementAndGet(); return defs; });
+
+        cache.evictField(11);
+        cache.get(1, id -> { loads.incrementAndGet(); return defs; });
+
+        assertEquals(2, loads.get());
+        verify(stringRedisTemplate).convertAndSend(eq(ResumeFieldDefinitionCache.REDIS_TOPIC), eq("field:11"));
+    }
+
+    @Test
+    void evictDuringLoad_doesNotCacheStaleResult() {
+        AtomicInteger loads = new AtomicInteger();
+        List<ResumeFieldDefinition> defs = List.of(def(11, "name", "姓名"));
+
+        // 加载过程中另一实例广播了失效，这次加载结果不能留在缓存里
+        cache.get(1, id -> {
+            loads.incrementAndGet();
+            cache.evictLocal("cycle:1");
+            return defs;
+        });
+        cache.get(1, id -> { loads.incrementAndGet(); return defs; });
+
+        assertEquals(2, loads.get());
+    }
+
+    private static ResumeFieldDefinition def(int fieldId, String key, String label) {
+        ResumeFieldDefinition d = new ResumeFieldDefinition();
+        d.setFieldId(fieldId);
+        d.setCycleId(1);
+        d.setFieldKey(key);
+        d.setFieldLabel(label);
+        return d;
+    }
+}
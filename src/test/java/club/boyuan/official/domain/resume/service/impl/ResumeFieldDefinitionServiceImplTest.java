@@ -0,0 +1,91 @@
+package club.boyuan.official.domain.resume.service.impl;
+
+import club.boyuan.official.common.exception.BusinessException;
+import club.boyuan.official.persistence.entity.ResumeFieldDefinition;
+import club.boyuan.official.persistence.mapper.ResumeFieldDefinitionMapper;
+import club.boyuan.official.persistence.mapper.ResumeFieldValueMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 批量更新字段定义：手动 SqlSession 不受 Spring 事务管理，缓存必须在 commit 之后才失效。
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResumeFieldDefinitionServiceImplTest {
+
+    @Mock private ResumeFieldDefinitionMapper resumeFieldDefinitionMapper;
+    @Mock private ResumeFieldValueMapper resumeFieldValueMapper;
+    @Mock private SqlSessionFactory sqlSessionFactory;
+    @Mock private RedisTemplate<String, Object> redisTemplate;
+    @Mock private ResumeFieldDefinitionCache fieldDefinitionCache;
+    @Mock private SqlSession sqlSession;
+    /** 手动 SqlSession 取到的批量 mapper，与注入的 resumeFieldDefinitionMapper 不是同一个 */
+    @Mock private ResumeFieldDefinitionMapper batchMapper;
+
+    private ResumeFieldDefinitionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        // 两个同类型 mock，@InjectMocks 注入哪个不确定，显式构造
+        service = new ResumeFieldDefinitionServiceImpl(resumeFieldDefinitionMapper, resumeFieldValueMapper,
+                sqlSessionFactory, redisTemplate, fieldDefinitionCache);
+        when(sqlSessionFactory.openSession()).thenReturn(sqlSession);
+        when(sqlSession.getMapper(ResumeFieldDefinitionMapper.class)).thenReturn(batchMapper);
+        when(resumeFieldDefinitionMapper.selectById(1)).thenReturn(definition(1, "name"));
+        when(resumeFieldDefinitionMapper.selectById(2)).thenReturn(definition(2, "email"));
+    }
+
+    @Test
+    void batchUpdate_evictsOnlyAfterCommit() {
+        service.batchUpdateFieldDefinitions(List.of(definition(1, "name"), definition(2, "email")));
+
+        InOrder order = inOrder(batchMapper, sqlSession, fieldDefinitionCache);
+        order.verify(batchMapper, times(2)).updateById(any(ResumeFieldDefinition.class));
+        order.verify(sqlSession).commit();
+        order.verify(fieldDefinitionCache).evictField(1);
+        order.verify(fieldDefinitionCache).evictField(2);
+    }
+
+    @Test
+    void batchUpdate_commitFailureLeavesCacheUntouched() {
+        doThrow(new RuntimeException("db down")).when(sqlSession).commit();
+
+        assertThrows(BusinessException.class,
+                () -> service.batchUpdateFieldDefinitions(List.of(definition(1, "name"))));
+
+        // 确实走到了批量写和 commit，失败发生在 commit 而不是前置校验
+        verify(batchMapper).updateById(any(ResumeFieldDefinition.class));
+        verify(sqlSession).commit();
+        verify(fieldDefinitionCache, never()).evictField(anyInt());
+    }
+
+    private static ResumeFieldDefinition definition(int fieldId, String key) {
+        ResumeFieldDefinition definition = new ResumeFieldDefinition();
+        definition.setFieldId(fieldId);
+        definition.setCycleId(3);
+        definition.setFieldKey(key);
+        return definition;
+    }
+}
@@ -0,0 +1,125 @@
+package club.boyuan.official.domain.resume.service.impl;
+
+import club.boyuan.official.domain.resume.dto.ResumeProjection;
+import club.boyuan.official.domain.resume.service.IResumeFieldDefinitionService;
+import club.boyuan.official.domain.user.service.IUserService;
+import club.boyuan.official.persistence.entity.Resume;
+import club.boyuan.official.persistence.entity.ResumeFieldDefinition;
+import club.boyuan.official.persistence.entity.ResumeFieldValue;
+import club.boyuan.official.persistence.entity.User;
+import club.boyuan.official.persistence.mapper.ResumeFieldValueMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResumeProjectionServiceImplTest {
+
+    @Mock private ResumeFieldValueMapper resumeFieldValueMapper;
+    @Mock private IResumeFieldDefinitionService resumeFieldDefinitionService;
+    @Mock private IUserService userService;
+    @Spy private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ResumeProjectionServiceImpl service;
+
+    /**
+     * 场景：两份简历一次投影，字段定义只查一次，字段值只走一次 IN 查询，各属性按标签解析。
+     */
+    @Test
+    void project_resolvesAllLabelsWithSingleBatchQuery() {
+        when(resumeFieldDefinitionService.getFieldDefinitionsByCycleId(1)).thenReturn(List.of(
+                def(11, "姓名"), def(12, "邮箱"), def(13, "专业"), def(14, "大几"),
+                def(15, "期望部门"), def(16, "期望的面试时间")));
+        when(resumeFieldValueMapper.findByResumeIdsAndFieldIds(anyCollection(), anyCollection())).thenReturn(List.of(
+                new ResumeFieldValue(101, 11, "张三"),
+                new ResumeFieldValue(101, 12, "zs@example.com"),
+                new ResumeFieldValue(101, 13, "软件工程"),
+                new ResumeFieldValue(101, 14, "大二"),
+                new ResumeFieldValue(101, 15, "[\"技术部\",\"综合部\"]"),
+                new ResumeFieldValue(101, 16, "{\"first\":\"上午\",\"second\":\"下午\"}"),
+                new ResumeFieldValue(102, 11, "李四"),
+                new ResumeFieldValue(102, 12, "ls@example.com"),
+                new ResumeFieldValue(102, 16, "[\"晚上\"]")));
+
+        Map<Integer, ResumeProjection> result = service.project(1, List.of(resume(101, 1), resume(102, 2)));
+
+        ResumeProjection first = result.get(101);
+        assertEquals("张三", first.name());
+        assertEquals("zs@example.com", first.email());
+        assertEquals("软件工程", first.major());
+        assertEquals("大二", first.grade());
+        assertEquals(List.of("技术部", "综合部"), first.expectedDepartments());
+        assertEquals("技术部", first.firstDepartment());
+        assertEquals(List.of("上午", "下午"), first.preferredTimes());
+
+        ResumeProjection second = result.get(102);
+        assertEquals("", second.major());
+        assertTrue(second.expectedDepartments().isEmpty());
+        assertEquals(List.of("晚上"), second.preferredTimes());
+
+        verify(resumeFieldDefinitionService, times(1)).getFieldDefinitionsByCycleId(1);
+        verify(resumeFieldValueMapper, times(1)).findByResumeIdsAndFieldIds(anyCollection(), anyCollection());
+        verify(userService, never()).listByIds(any());
+    }
+
+    /**
+     * 场景：简历没填姓名/邮箱，回退到用户表，且只批量查一次用户。
+     */
+    @Test
+    void project_fallsBackToUserTableForMissingNameAndEmail() {
+        when(resumeFieldDefinitionService.getFieldDefinitionsByCycleId(1)).thenReturn(List.of(
+                def(11, "姓名"), def(12, "邮箱")));
+        when(resumeFieldValueMapper.findByResumeIdsAndFieldIds(anyCollection(), anyCollection())).thenReturn(List.of(
+                new ResumeFieldValue(101, 11, "张三")));
+        User user = new User();
+        user.setUserId(1);
+        user.setName("账号名");
+        user.setEmail("account@example.com");
+        when(userService.listByIds(anyCollection())).thenReturn(List.of(user));
+
+        ResumeProjection projection = service.project(1, List.of(resume(101, 1))).get(101);
+
+        assertEquals("张三", projection.name());
+        assertEquals("account@example.com", projection.email());
+        verify(userService, times(1)).listByIds(anyCollection());
+    }
+
+    // --------------------------------------------------------------- helpers
+
+    private static ResumeFieldDefinition def(int fieldId, String label) {
+        ResumeFieldDefinition d = new ResumeFieldDefinition();
+        d.setFieldId(fieldId);
+        d.setCycleId(1);
+        d.setFieldLabel(label);
+        return d;
+    }
+
+    private static Resume resume(int resumeId, int userId) {
+        Resume r = new Resume();
+        r.setResumeId(resumeId);
+        r.setUserId(userId);
+        r.setCycleId(1);
+        r.setStatus(2);
+        return r;
+    }
+}
@@ -0,0 +1,91 @@
+package club.boyuan.official.domain.user.service.impl;
+
+import club.boyuan.official.persistence.entity.Permission;
+import club.boyuan.official.persistence.entity.Role;
+import club.boyuan.official.persistence.entity.RolePermission;
+import club.boyuan.official.persistence.mapper.PermissionMapper;
+import club.boyuan.official.persistence.mapper.RoleMapper;
+import club.boyuan.official.persistence.mapper.RolePermissionMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RolePermissionSnapshotCacheTest {
+
+    @Mock private RoleMapper roleMapper;
+    @Mock private PermissionMapper permissionMapper;
+    @Mock private RolePermissionMapper rolePermissionMapper;
+    @Mock private StringRedisTemplate stringRedisTemplate;
+    @Mock private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @InjectMocks
+    private RolePermissionSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(roleMapper.selectList(any())).thenReturn(List.of(role(1, "ADMIN"), role(2, "INTERVIEWER")));
+        when(permissionMapper.selectList(any())).thenReturn(List.of(
+                permission(10, "user:read"), permission(11, "user:write"), permission(12, "interview:score")));
+        when(rolePermissionMapper.selectList(any())).thenReturn(List.of(
+                relation(1, 10), relation(1, 11), relation(2, 10), relation(2, 12), relation(2, 99)));
+    }
+
+    @Test
+    void resolve_deduplicatesCodesAcrossRoles_andSkipsDanglingRows() {
+        RolePermissionSnapshotCache.RoleGrants grants = cache.resolve(List.of(1, 2, 3));
+
+        assertEquals(List.of("ADMIN", "INTERVIEWER"), grants.roleNames());
+        assertEquals(List.of("user:read", "user:write", "interview:score"), grants.permissionCodes());
+    }
+
+    @Test
+    void snapshotIsReused_untilInvalidated() {
+        cache.resolve(List.of(1));
+        cache.resolve(List.of(2));
+        verify(roleMapper, times(1)).selectList(any());
+
+        cache.invalidate();
+        cache.resolve(List.of(1));
+
+        verify(roleMapper, times(2)).selectList(any());
+        verify(stringRedisTemplate).convertAndSend(eq(RolePermissionSnapshotCache.REDIS_TOPIC), anyString());
+    }
+
+    private static Role role(int id, String name) {
+        Role role = new Role(name, name.toLowerCase());
+        role.setRoleId(id);
+        return role;
+    }
+
+    private static Permission permission(int id, String code) {
+        Permission permission = new Permission(code, code);
+        permission.setPermissionId(id);
+        return permission;
+    }
+
+    private static RolePermission relation(int roleId, int permissionId) {
+        RolePermission relation = new RolePermission();
+        relation.setRoleId(roleId);
+        relation.setPermissionId(permissionId);
+        return relation;
+    }
+}
@@ -2,6 +2,7 @@ package club.boyuan.official.domain.user.service.impl;
 
 import club.boyuan.official.common.converter.UserConverter;
 import club.boyuan.official.common.utils.JwtTokenUtil;
+import club.boyuan.official.domain.evaluation.EvaluationCandidateSummaryUpdater;
 import club.boyuan.official.domain.user.dto.UserDTO;
 import club.boyuan.official.persistence.entity.EvaluationSubmission;
 import club.boyuan.official.persistence.entity.User;
@@ -18,7 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import club.boyuan.official.infra.security.PasswordHasher;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
@@ -34,20 +35,23 @@ class UserServiceImplGithubBackfillTest {
     @Mock private UserRoleMapper userRoleMapper;
     @Mock private RoleMapper roleMapper;
     @Mock private EvaluationSubmissionMapper evaluationSubmissionMapper;
-    @Mock private BCryptPasswordEncoder passwordEncoder;
+    @Mock private EvaluationCandidateSummaryUpdater summaryUpdater;
+    @Mock private PasswordHasher passwordHasher;
     @Mock private JwtTokenUtil jwtTokenUtil;
     @Mock private UserConverter userConverter;
 
     @Test
     void githubBindBackfillsUnclaimedSubmissions() {
         UserServiceImpl service = new UserServiceImpl(userMapper, awardExperienceMapper, resumeMapper,
-                resumeFieldValueMapper, userRoleMapper, roleMapper, evaluationSubmissionMapper,
-                passwordEncoder, jwtTokenUtil, userConverter);
+                resumeFieldValueMapper, userRoleMapper, roleMapper, evaluationSubmissionMapper, summaryUpdater,
+                passwordHasher, jwtTokenUtil, userConverter);
 
         User user = new User();
         user.setUserId(7);
         when(userMapper.selectById(7)).thenReturn(user);
         when(userMapper.selectCount(any())).thenReturn(0L);
+        when(evaluationSubmissionMapper.update(any(EvaluationSubmission.class), any(LambdaUpdateWrapper.class)))
+                .thenReturn(2);
 
         UserDTO dto = new UserDTO();
         dto.setUserId(7);
@@ -57,13 +61,35 @@ class UserServiceImplGithubBackfillTest {
 
         // 归一化后回填:update submission set user_id=7 where github_username='alice' and user_id is null
         verify(evaluationSubmissionMapper).update(any(EvaluationSubmission.class), any(LambdaUpdateWrapper.class));
+        // 回填后汇总行从「未认领」挪到用户名下,否则后续入库会另起一行把计数拆开
+        verify(summaryUpdater).refresh("alice");
+    }
+
+    @Test
+    void githubBindWithNothingToClaimLeavesSummaryAlone() {
+        UserServiceImpl service = new UserServiceImpl(userMapper, awardExperienceMapper, resumeMapper,
+                resumeFieldValueMapper, userRoleMapper, roleMapper, evaluationSubmissionMapper, summaryUpdater,
+                passwordHasher, jwtTokenUtil, userConverter);
+
+        User user = new User();
+        user.setUserId(7);
+        when(userMapper.selectById(7)).thenReturn(user);
+        when(userMapper.selectCount(any())).thenReturn(0L);
+
+        UserDTO dto = new UserDTO();
+        dto.setUserId(7);
+        dto.setGithub("alice");
+
+        service.edit(dto);
+
+        verify(summaryUpdater, org.mockito.Mockito.never()).refresh(any());
     }
 
     @Test
     void githubUnbindWritesExplicitNullInsteadOfIgnoring() {
         UserServiceImpl service = new UserServiceImpl(userMapper, awardExperienceMapper, resumeMapper,
-                resumeFieldValueMapper, userRoleMapper, roleMapper, evaluationSubmissionMapper,
-                passwordEncoder, jwtTokenUtil, userConverter);
+                resumeFieldValueMapper, userRoleMapper, roleMapper, evaluationSubmissionMapper, summaryUpdater,
+                passwordHasher, jwtTokenUtil, userConverter);
 
         User user = new User();
         user.setUserId(7);
@@ -80,5 +106,6 @@ class UserServiceImplGithubBackfillTest {
         // 解绑不触发回填认领
         verify(evaluationSubmissionMapper, org.mockito.Mockito.never())
                 .update(any(EvaluationSubmission.class), any(LambdaUpdateWrapper.class));
+        verify(summaryUpdater, org.mockito.Mockito.never()).refresh(any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package club.boyuan.official.infra.notification;
+
+import club.boyuan.official.infra.config.MailDeliveryProperties;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.calls;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 投递引擎：单连接连发到上限后重连、临时错误退避重试、永久错误直接失败；
+ * future 在服务器接收后才完成（消费者据此确认消息）。
+ */
+class MailDeliveryEngineTest {
+
+    private final JavaMailSenderImpl mailSender = mock(JavaMailSenderImpl.class);
+    private final Transport transport = mock(Transport.class);
+    private final AtomicBoolean connected = new AtomicBoolean();
+    private final MailDeliveryProperties properties = new MailDeliveryProperties();
+
+    private MailDeliveryEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Session realSession = Session.getInstance(new Properties());
+        Session session = mock(Session.class);
+        when(session.getTransport()).thenReturn(transport);
+        when(mailSender.getSession()).thenReturn(session);
+        when(mailSender.createMimeMessage()).thenAnswer(inv -> new MimeMessage(realSession));
+        when(mailSender.getHost()).thenReturn("smtp.example.com");
+        when(mailSender.getPort()).thenReturn(465);
+        when(mailSender.getUsername()).thenReturn("noreply@example.com");
+        doAnswer(inv -> {
+            connected.set(true);
+            return null;
+        }).when(transport).connect(anyString(), anyInt(), anyString(), any());
+        doAnswer(inv -> {
+            connected.set(false);
+            return null;
+        }).when(transport).close();
+        when(transport.isConnected()).thenAnswer(inv -> connected.get());
+
+        // 单线程、不限速、短退避，便于断言顺序
+        properties.setPoolSize(1);
+        properties.setRatePerSecond(0);
+        properties.setMaxMessagesPerConnection(2);
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoffMs(10);
+        engine = new MailDeliveryEngine(mailSender, properties);
+        engine.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    @Test
+    void batch_reusesConnectionUntilLimitThenReconnects() throws Exception {
+        List<CompletableFuture<Void>> futures = List.of(
+                engine.submit("a@example.com", "s", "b"),
+                engine.submit("b@example.com", "s", "b"),
+                engine.submit("c@example.com", "s", "b"));
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // 上限 2 封：前两封共用一条连接，发满后断开，第三封重新建连
+        InOrder order = inOrder(transport);
+        order.verify(transport).connect(anyString(), anyInt(), anyString(), any());
+        order.verify(transport, calls(2)).sendMessage(any(Message.class), any(Address[].class));
+        order.verify(transport).close();
+        order.verify(transport).connect(anyString(), anyInt(), anyString(), any());
+        order.verify(transport).sendMessage(any(Message.class), any(Address[].class));
+    }
+
+    @Test
+    void transientFailure_isRetriedOnFreshConnectionThenCompletes() throws Exception {
+        doThrow(new MessagingException("connection reset"))
+                .doNothing()
+                .when(transport).sendMessage(any(Message.class), any(Address[].class));
+
+        engine.submit("a@example.com", "s", "b").get(5, TimeUnit.SECONDS);
+
+        verify(transport, times(2)).sendMessage(any(Message.class), any(Address[].class));
+        verify(transport, times(2)).connect(anyString(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    void permanentFailure_failsWithoutRetry() throws Exception {
+        Address invalid = new InternetAddress("nobody@example.com");
+        doThrow(new SendFailedException("550 no such user", null, null, null, new Address[]{invalid}))
+                .when(transport).sendMessage(any(Message.class), any(Address[].class));
+
+        CompletableFuture<Void> future = engine.submit("nobody@example.com", "s", "b");
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SendFailedException.class, ex.getCause());
+        verify(transport, times(1)).sendMessage(any(Message.class), any(Address[].class));
+    }
+
+    @Test
+    void exhaustedRetries_failTheFuture() throws Exception {
+        doThrow(new MessagingException("421 try later"))
+                .when(transport).sendMessage(any(Message.class), any(Address[].class));
+
+        CompletableFuture<Void> future = engine.submit("a@example.com", "s", "b");
+
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        verify(transport, times(properties.getMaxAttempts())).sendMessage(any(Message.class), any(Address[].class));
+    }
+}
@@ -0,0 +1,61 @@
+package club.boyuan.official.infra.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitRuleMatcherTest {
+
+    private static RateLimitRuleConfig rule(String name, String method, String pattern) {
+        RateLimitRuleConfig rule = new RateLimitRuleConfig();
+        rule.setName(name);
+        rule.setMethod(method);
+        rule.setPattern(pattern);
+        return rule;
+    }
+
+    private final RateLimitRuleMatcher matcher = RateLimitRuleMatcher.compile(List.of(
+            rule("booking-seckill", "POST", "/api/interview/booking/seckill"),
+            rule("booking-create", "POST", "/api/interview/booking"),
+            rule("booking-list-segments", "GET", "/api/interview/booking/cycles/*/segments"),
+            rule("api-all", "GET", "/api/**")));
+
+    @Test
+    void exactAndWildcardPatterns() {
+        assertEquals(0, matcher.match("POST", "/api/interview/booking/seckill"));
+        assertEquals(1, matcher.match("POST", "/api/interview/booking"));
+        assertEquals(2, matcher.match("GET", "/api/interview/booking/cycles/12/segments"));
+    }
+
+    @Test
+    void methodMustMatch_caseInsensitive() {
+        assertEquals(-1, matcher.match("PUT", "/api/interview/booking/seckill"));
+        assertEquals(-1, matcher.match("DELETE", "/api/interview/booking"));
+        assertEquals(1, matcher.match("post", "/api/interview/booking"));
+    }
+
+    @Test
+    void earlierRuleWinsWhenSeveralMatch() {
+        // 两条都匹配时取配置顺序靠前的
+        assertEquals(2, matcher.match("GET", "/api/interview/booking/cycles/3/segments"));
+        assertEquals(3, matcher.match("GET", "/api/user/me"));
+        assertEquals(3, matcher.match("GET", "/api"));
+    }
+
+    @Test
+    void nonMatchingPaths() {
+        assertEquals(-1, matcher.match("POST", "/api/interview/booking/other"));
+        assertEquals(-1, matcher.match("GET", "/actuator/prometheus"));
+        assertEquals(-1, matcher.match("POST", "/static/app.js"));
+    }
+
+    @Test
+    void literalPrefix_stopsBeforeWildcardSegment() {
+        assertEquals("/api", RateLimitRuleMatcher.literalPrefix("/api/**"));
+        assertEquals("/api/interview/booking/cycles",
+                RateLimitRuleMatcher.literalPrefix("/api/interview/booking/cycles/*/segments"));
+        assertEquals("/api/auth/login", RateLimitRuleMatcher.literalPrefix("/api/auth/login"));
+    }
+}
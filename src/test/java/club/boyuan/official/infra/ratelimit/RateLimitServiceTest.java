@@ -0,0 +1,121 @@
+package club.boyuan.official.infra.ratelimit;
+
+import club.boyuan.official.infra.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RateLimitServiceTest {
+
+    @Mock private StringRedisTemplate stringRedisTemplate;
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private RateLimitService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setLocalLeaseTtlMs(60_000L);
+        service = new RateLimitService(stringRedisTemplate, properties);
+        service.init();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void isolatedRequest_leasesSinglePermit() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), eq("1"), any()))
+                .thenReturn(List.of(1L, 0L));
+
+        assertTrue(service.tryAcquire("evaluation-intake", "remote:1.2.3.4", 300, 60).allowed());
+
+        // 零散请求只占 1 个许可，不整块租
+        verify(stringRedisTemplate).execute(any(RedisScript.class), anyList(), any(), any(), any(), eq("1"), eq("0"));
+        verify(stringRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any(), any(), any(), eq("20"), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void burst_leasesChunkAndServesFollowingRequestsLocally() {
+        // 300/min -> 突发时一次租 20 个
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), eq("1"), any()))
+                .thenReturn(List.of(1L, 0L));
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), eq("20"), any()))
+                .thenReturn(List.of(20L, 0L));
+
+        for (int i = 0; i < 21; i++) {
+            assertTrue(service.tryAcquire("evaluation-intake", "remote:1.2.3.4", 300, 60).allowed());
+        }
+
+        verify(stringRedisTemplate, times(2))
+                .execute(any(RedisScript.class), anyList(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void expiredLease_returnsUnusedPermitsOnNextCall() throws InterruptedException {
+        properties.setLocalLeaseTtlMs(50L);
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), eq("1"), any()))
+                .thenReturn(List.of(1L, 0L));
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), eq("20"), any()))
+                .thenReturn(List.of(20L, 0L));
+
+        service.tryAcquire("evaluation-intake", "remote:1.2.3.4", 300, 60);
+        service.tryAcquire("evaluation-intake", "remote:1.2.3.4", 300, 60);
+        Thread.sleep(80L);
+        service.tryAcquire("evaluation-intake", "remote:1.2.3.4", 300, 60);
+
+        // 第二次整块租了 20 个只用掉 1 个，租约过期后剩下的 19 个随下一次调用归还
+        verify(stringRedisTemplate).execute(any(RedisScript.class), anyList(), any(), any(), any(), eq("1"), eq("19"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void denial_isCachedUntilRetryAfter() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(0L, 30_000L));
+
+        RateLimitDecision first = service.tryAcquire("auth-register", "ip:1.2.3.4", 3, 3600);
+        RateLimitDecision second = service.tryAcquire("auth-register", "ip:1.2.3.4", 3, 3600);
+
+        assertFalse(first.allowed());
+        assertFalse(second.allowed());
+        // Retry-After 取 GCRA 给出的等待时长，不是整个窗口
+        assertEquals(30L, first.retryAfterSeconds());
+        assertTrue(second.retryAfterMs() <= 30_000L);
+        verify(stringRedisTemplate, times(1))
+                .execute(any(RedisScript.class), anyList(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void smallLimit_leasesOnePermitAtATime() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), eq("1"), any()))
+                .thenReturn(List.of(1L, 0L));
+
+        assertTrue(service.tryAcquire("auth-send-email", "ip:1.2.3.4", 5, 60).allowed());
+        assertTrue(service.tryAcquire("auth-send-email", "ip:1.2.3.4", 5, 60).allowed());
+
+        verify(stringRedisTemplate, times(2))
+                .execute(any(RedisScript.class), anyList(), any(), any(), any(), eq("1"), any());
+    }
+}
@@ -12,6 +12,7 @@ class SeckillLuaResultTest {
         assertEquals(SeckillLuaResult.FULL, SeckillLuaResult.fromCode(0));
         assertEquals(SeckillLuaResult.CACHE_MISS, SeckillLuaResult.fromCode(-1));
         assertEquals(SeckillLuaResult.USER_LOCKED, SeckillLuaResult.fromCode(-2));
+        assertEquals(SeckillLuaResult.DUPLICATE, SeckillLuaResult.fromCode(2));
     }
 
     @Test
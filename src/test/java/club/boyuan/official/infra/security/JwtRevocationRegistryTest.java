@@ -0,0 +1,71 @@
+package club.boyuan.official.infra.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class JwtRevocationRegistryTest {
+
+    @Mock private StringRedisTemplate stringRedisTemplate;
+    @Mock private RedisMessageListenerContainer redisMessageListenerContainer;
+    @Mock private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private JwtRevocationRegistry registry;
+
+    @Test
+    void revoke_writesBlacklistAndTakesEffectLocally() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        long expiresAt = System.currentTimeMillis() + 60_000L;
+
+        registry.revoke("abc", expiresAt);
+
+        assertTrue(registry.isRevoked("abc"));
+        assertFalse(registry.isRevoked("other"));
+        verify(valueOperations).set(eq("jwt:blacklist:abc"), eq(String.valueOf(expiresAt)), anyLong(), eq(TimeUnit.MILLISECONDS));
+        verify(stringRedisTemplate).convertAndSend(JwtRevocationRegistry.REDIS_TOPIC, "abc:" + expiresAt);
+    }
+
+    @Test
+    void broadcastFromOtherInstance_isAppliedWithoutRedisLookup() {
+        long expiresAt = System.currentTimeMillis() + 60_000L;
+        byte[] body = ("abc:" + expiresAt).getBytes(StandardCharsets.UTF_8);
+
+        registry.onMessage(new DefaultMessage(JwtRevocationRegistry.REDIS_TOPIC.getBytes(StandardCharsets.UTF_8), body), null);
+
+        assertTrue(registry.isRevoked("abc"));
+        verify(stringRedisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void expiredToken_isNotRevokedAnyMore() {
+        long expiresAt = System.currentTimeMillis() - 1L;
+        byte[] body = ("abc:" + expiresAt).getBytes(StandardCharsets.UTF_8);
+
+        registry.onMessage(new DefaultMessage(JwtRevocationRegistry.REDIS_TOPIC.getBytes(StandardCharsets.UTF_8), body), null);
+
+        assertFalse(registry.isRevoked("abc"));
+    }
+}
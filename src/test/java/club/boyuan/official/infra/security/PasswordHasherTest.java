@@ -0,0 +1,52 @@
+package club.boyuan.official.infra.security;
+
+import club.boyuan.official.infra.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(2);
+        properties.setBcryptStrength(5);
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(5), properties, meterRegistry);
+        hasher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    void encodeAndMatch_runOnPoolAndAreTimed() {
+        String encoded = hasher.encode("Secret#123");
+
+        assertTrue(hasher.matches("Secret#123", encoded));
+        assertFalse(hasher.matches("wrong", encoded));
+        assertEquals(1, meterRegistry.get("password.hash.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hash.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void lowerCostHash_needsUpgrade() {
+        String weak = new BCryptPasswordEncoder(4).encode("Secret#123");
+        String current = hasher.encode("Secret#123");
+
+        assertTrue(hasher.needsUpgrade(weak));
+        assertFalse(hasher.needsUpgrade(current));
+        assertTrue(hasher.matches("Secret#123", hasher.encodeAsync("Secret#123").join()));
+    }
+}
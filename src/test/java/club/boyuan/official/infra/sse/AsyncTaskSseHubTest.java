@@ -0,0 +1,83 @@
+package club.boyuan.official.infra.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AsyncTaskSseHubTest {
+
+    @Mock private StringRedisTemplate stringRedisTemplate;
+    @Mock private RedisMessageListenerContainer redisMessageListenerContainer;
+    @Mock private ZSetOperations<String, String> zSetOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AsyncTaskSseHub hub;
+
+    @BeforeEach
+    void setUp() {
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        hub = new AsyncTaskSseHub(stringRedisTemplate, new ObjectMapper(), redisMessageListenerContainer, meterRegistry);
+        hub.init();
+    }
+
+    @Test
+    void register_claimsOwnershipAndCountsEmitter() {
+        long before = System.currentTimeMillis();
+        hub.register(AsyncTaskChannel.BOOKING, "req-1");
+
+        // 归属按成员过期：score 是本节点归属的过期时间戳
+        ArgumentCaptor<Double> expiresAt = ArgumentCaptor.forClass(Double.class);
+        verify(zSetOperations).add(eq("official:async-task:sse:owners:z:BOOKING:req-1"), anyString(), expiresAt.capture());
+        assertTrue(expiresAt.getValue() >= before + 60_000);
+        assertEquals(1.0, meterRegistry.get("sse.emitters.open").tag("channel", "BOOKING").gauge().value());
+        assertEquals(0.0, meterRegistry.get("sse.emitters.open").tag("channel", "FEISHU").gauge().value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publish_routesThroughOwnerSetOnly() {
+        hub.publish(AsyncTaskChannel.FEISHU, "42", Map.of("status", "RUNNING"), false);
+
+        verify(stringRedisTemplate).execute(any(RedisScript.class),
+                eq(List.of("official:async-task:sse:owners:z:FEISHU:42")),
+                eq(AsyncTaskSseHub.NODE_CHANNEL_PREFIX), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void envelope_roundTripsWithoutReescapingPayload() {
+        String payload = "{\"status\":\"SUCCESS\",\"message\":\"a\\nb\"}";
+        String wire = new AsyncTaskSseEnvelope(AsyncTaskChannel.BOOKING, "req-1", payload, true).encode();
+
+        AsyncTaskSseEnvelope decoded = AsyncTaskSseEnvelope.decode(wire);
+
+        assertEquals(AsyncTaskChannel.BOOKING, decoded.getChannel());
+        assertEquals("req-1", decoded.getKey());
+        assertEquals(payload, decoded.getPayloadJson());
+        assertTrue(decoded.isTerminal());
+        assertTrue(wire.endsWith(payload));
+    }
+}
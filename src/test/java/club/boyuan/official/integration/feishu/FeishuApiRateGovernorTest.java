@@ -0,0 +1,76 @@
+package club.boyuan.official.integration.feishu;
+
+import club.boyuan.official.infra.config.FeishuProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 全局限速器：突发额度内不等待，超出按速率排队；限流后减半并顺延，成功后逐步回升。
+ */
+class FeishuApiRateGovernorTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private SimpleMeterRegistry registry;
+    private FeishuApiRateGovernor governor;
+
+    @BeforeEach
+    void setUp() {
+        FeishuProperties properties = new FeishuProperties();
+        properties.setApiQpsLimit(10);
+        properties.setApiQpsFloor(2);
+        properties.setApiQpsBurst(2);
+        registry = new SimpleMeterRegistry();
+        governor = new FeishuApiRateGovernor(properties, new FeishuApiMetrics(registry));
+        governor.register();
+    }
+
+    @Test
+    void burstPassesThenCallsAreSpacedByRate() {
+        long now = System.nanoTime();
+        assertEquals(0L, governor.reserve(now));
+        assertEquals(0L, governor.reserve(now));
+        // 10 次/秒：第三、四个令牌分别要等 0.1s、0.2s
+        assertEquals(SECOND / 10, governor.reserve(now), SECOND / 1000);
+        assertEquals(SECOND / 5, governor.reserve(now), SECOND / 1000);
+    }
+
+    @Test
+    void throttleHalvesRateAndSuccessRecoversIt() {
+        governor.onThrottled(0);
+        assertEquals(5.0, governor.currentRate(), 1e-9);
+        governor.onThrottled(0);
+        governor.onThrottled(0);
+        assertEquals(2.0, governor.currentRate(), 1e-9); // 不低于下限
+
+        for (int i = 0; i < 100; i++) {
+            governor.onSuccess();
+        }
+        assertEquals(10.0, governor.currentRate(), 1e-9); // 不超过上限
+        assertEquals(10.0, registry.get("feishu.api.governor.rate").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void throttlePausePushesNextReservation() {
+        governor.onThrottled(1000);
+        // 降到 5 次/秒后再顺延 1s：下一次预约至少要等 1s
+        long wait = governor.reserve(System.nanoTime());
+        assertTrue(wait >= SECOND, "wait=" + wait);
+    }
+
+    @Test
+    void concurrentThrottlesPauseOnceNotNTimes() {
+        // 三个并发请求同时 429、各带 Retry-After 1s：降到下限 2 次/秒后只顺延一次 1s
+        governor.onThrottled(1000);
+        governor.onThrottled(1000);
+        governor.onThrottled(1000);
+        long wait = governor.reserve(System.nanoTime());
+        assertTrue(wait >= SECOND && wait < 2 * SECOND, "wait=" + wait);
+    }
+}
@@ -0,0 +1,94 @@
+package club.boyuan.official.integration.feishu;
+
+import club.boyuan.official.common.exception.BusinessException;
+import club.boyuan.official.infra.config.FeishuProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 分块写：某块失败时其它块照常写完，返回按位置对齐的部分结果；全部失败才抛异常。
+ */
+class FeishuBitableClientTest {
+
+    private static final String TABLE_URL = "https://x.feishu.cn/base/AppTok?table=tblA";
+
+    private final FeishuApiInvoker invoker = mock(FeishuApiInvoker.class);
+    private FeishuBitableClient client;
+
+    @BeforeEach
+    void setUp() {
+        FeishuProperties properties = new FeishuProperties();
+        properties.setAppId("app");
+        properties.setAppSecret("secret");
+        properties.setBatchSize(2);
+        client = new FeishuBitableClient(properties, new ObjectMapper(), invoker,
+                new FeishuApiMetrics(new SimpleMeterRegistry()), Runnable::run);
+        when(invoker.postJson(contains("tenant_access_token"), isNull(), any()))
+                .thenReturn("{\"code\":0,\"tenant_access_token\":\"t\",\"expire\":7200}");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedChunk_doesNotDropRecordIdsOfOtherChunks() {
+        // 每块 2 行，第二块（含 "bad"）返回错误
+        when(invoker.postJson(contains("batch_create"), any(), any())).thenAnswer(inv -> {
+            Map<String, Object> body = inv.getArgument(2);
+            List<Map<String, Object>> records = (List<Map<String, Object>>) body.get("records");
+            List<String> names = new ArrayList<>();
+            for (Map<String, Object> record : records) {
+                names.add((String) ((Map<String, Object>) record.get("fields")).get("name"));
+            }
+            if (names.contains("bad")) {
+                return "{\"code\":1254060,\"msg\":\"TextFieldConvFail\"}";
+            }
+            StringBuilder items = new StringBuilder();
+            for (String name : names) {
+                items.append(items.length() == 0 ? "" : ",").append("{\"record_id\":\"rec-").append(name).append("\"}");
+            }
+            return "{\"code\":0,\"data\":{\"records\":[" + items + "]}}";
+        });
+
+        FeishuBatchWriteResult result = client.batchCreateRecords(TABLE_URL, rows("a", "b", "bad", "c", "d"));
+
+        assertTrue(result.partiallyFailed());
+        assertEquals(3, result.count());
+        assertEquals(Arrays.asList("rec-a", "rec-b", null, null, "rec-d"), result.recordIds());
+        assertEquals(Set.of(2, 3), result.failedIndexes());
+        assertFalse(result.succeeded(3));
+        assertEquals("TextFieldConvFail", result.failureMessage());
+    }
+
+    @Test
+    void allChunksFailing_throws() {
+        when(invoker.postJson(contains("batch_create"), any(), any()))
+                .thenReturn("{\"code\":1254060,\"msg\":\"TextFieldConvFail\"}");
+
+        assertThrows(BusinessException.class, () -> client.batchCreateRecords(TABLE_URL, rows("a", "b", "c")));
+    }
+
+    private static List<Map<String, Object>> rows(String... names) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (String name : names) {
+            rows.add(Map.of("name", name));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,184 @@
+package club.boyuan.official.integration.feishu;
+
+import club.boyuan.official.domain.interview.service.IInterviewScheduleService;
+import club.boyuan.official.domain.interview.service.IInterviewSlotService;
+import club.boyuan.official.domain.interview.service.ILocationTableService;
+import club.boyuan.official.infra.config.FeishuProperties;
+import club.boyuan.official.integration.feishu.dto.ImportFeishuRequestDTO;
+import club.boyuan.official.integration.feishu.dto.ImportFeishuResponseDTO;
+import club.boyuan.official.persistence.entity.FeishuRecordSyncState;
+import club.boyuan.official.persistence.entity.InterviewSchedule;
+import club.boyuan.official.persistence.entity.InterviewSession;
+import club.boyuan.official.persistence.mapper.FeishuRecordSyncStateMapper;
+import club.boyuan.official.persistence.mapper.InterviewSessionMapper;
+import club.boyuan.official.persistence.mapper.ResumeMapper;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.conditions.update.LambdaUpdateChainWrapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 增量推送：首推记下内容哈希，内容未变的重推不调任何飞书写接口；排期取消后删掉飞书行。
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FeishuImportExecutorDeltaTest {
+
+    private static final String TABLE_URL = "https://x.feishu.cn/base/AppTok?table=tblA";
+
+    @Mock private IInterviewScheduleService interviewScheduleService;
+    @Mock private IInterviewSlotService interviewSlotService;
+    @Mock private InterviewSessionMapper interviewSessionMapper;
+    @Mock private ILocationTableService locationTableService;
+    @Mock private ResumeMapper resumeMapper;
+    @Mock private ResumeFieldReader resumeFieldReader;
+    @Mock private FeishuBitableClient feishuBitableClient;
+    @Mock private FeishuRecordSyncStateMapper syncStateMapper;
+
+    private FeishuImportExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        // deleteStaleRecords 里直接 new LambdaUpdateWrapper，要用实体的 lambda 列缓存；
+        // 单独跑本类时没有别的测试先把它初始化好
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), InterviewSchedule.class);
+        executor = new FeishuImportExecutor(interviewScheduleService, interviewSlotService, interviewSessionMapper,
+                locationTableService, resumeMapper, resumeFieldReader, feishuBitableClient, syncStateMapper,
+                new FeishuProperties(), Runnable::run);
+        InterviewSession session = new InterviewSession();
+        session.setSessionId(5);
+        session.setLocation("A101");
+        when(interviewSessionMapper.selectBatchIds(anyCollection())).thenReturn(List.of(session));
+        when(locationTableService.urlMapOf(3)).thenReturn(Map.of("A101", TABLE_URL));
+        when(resumeFieldReader.readSnapshots(anyCollection(), eq(3))).thenReturn(Map.of());
+        when(interviewScheduleService.lambdaUpdate())
+                .thenAnswer(inv -> selfReturning(LambdaUpdateChainWrapper.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unchangedResync_makesNoWriteCalls() {
+        when(interviewScheduleService.list(any(Wrapper.class))).thenReturn(List.of(schedule(1), schedule(2)));
+        when(syncStateMapper.selectList(any())).thenReturn(List.of());
+        when(feishuBitableClient.ensureFieldsExist(anyString(), anyCollection())).thenReturn(Map.of());
+        when(feishuBitableClient.batchCreateRecords(anyString(), anyList()))
+                .thenReturn(new FeishuBatchWriteResult(2, List.of("rec1", "rec2")));
+
+        ImportFeishuResponseDTO first = executor.execute(request());
+
+        assertEquals(2, first.getCreatedCount());
+        ArgumentCaptor<List<FeishuRecordSyncState>> captor = ArgumentCaptor.forClass(List.class);
+        verify(syncStateMapper).upsertBatch(captor.capture());
+        List<FeishuRecordSyncState> states = captor.getValue();
+        assertEquals(2, states.size());
+
+        FeishuBitableClient client = mock(FeishuBitableClient.class);
+        executor = new FeishuImportExecutor(interviewScheduleService, interviewSlotService, interviewSessionMapper,
+                locationTableService, resumeMapper, resumeFieldReader, client, syncStateMapper,
+                new FeishuProperties(), Runnable::run);
+        when(syncStateMapper.selectList(any())).thenReturn(states);
+
+        ImportFeishuResponseDTO second = executor.execute(request());
+
+        assertEquals(2, second.getUnchangedCount());
+        assertEquals(0, second.getCreatedCount() + second.getUpdatedCount() + second.getDeletedCount());
+        verify(client, never()).ensureFieldsExist(anyString(), anyCollection());
+        verify(client, never()).batchCreateRecords(anyString(), anyList());
+        verify(client, never()).batchUpdateRecords(anyString(), anyList());
+        verify(client, never()).batchDeleteRecords(anyString(), anyList());
+    }
+
+    @Test
+    void cancelledSchedule_isDeletedFromTable() {
+        // 排期 1 内容有变需要更新；排期 2 已取消，不在生效列表里
+        when(interviewScheduleService.list(any(Wrapper.class))).thenReturn(List.of(schedule(1)));
+        when(syncStateMapper.selectList(any())).thenReturn(List.of(
+                state(10L, 1, "rec1", "outdated"), state(11L, 2, "rec2", "outdated")));
+        when(feishuBitableClient.ensureFieldsExist(anyString(), anyCollection())).thenReturn(Map.of());
+        when(feishuBitableClient.batchUpdateRecords(anyString(), anyList()))
+                .thenReturn(new FeishuBatchWriteResult(1, List.of("rec1")));
+        when(feishuBitableClient.batchDeleteRecords(TABLE_URL, List.of("rec2")))
+                .thenReturn(new FeishuBatchWriteResult(1, List.of("rec2")));
+
+        ImportFeishuResponseDTO response = executor.execute(request());
+
+        assertEquals(1, response.getDeletedCount());
+        assertEquals(1, response.getUpdatedCount());
+        assertEquals(1, response.getLocations().size());
+        verify(syncStateMapper).deleteByIds(List.of(11L));
+        verify(interviewScheduleService).update(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void partiallyFailedCreate_persistsOnlyRowsThatWereWritten() {
+        when(interviewScheduleService.list(any(Wrapper.class)))
+                .thenReturn(List.of(schedule(1), schedule(2), schedule(3)));
+        when(syncStateMapper.selectList(any())).thenReturn(List.of());
+        when(feishuBitableClient.ensureFieldsExist(anyString(), anyCollection())).thenReturn(Map.of());
+        // 第二块（排期 3）写失败，前两行已进飞书
+        when(feishuBitableClient.batchCreateRecords(anyString(), anyList()))
+                .thenReturn(new FeishuBatchWriteResult(2, java.util.Arrays.asList("rec1", "rec2", null),
+                        java.util.Set.of(2), "TextFieldConvFail"));
+
+        ImportFeishuResponseDTO response = executor.execute(request());
+
+        assertEquals(2, response.getCreatedCount());
+        assertEquals(1, response.getLocations().get(0).getFailedCount());
+        ArgumentCaptor<List<FeishuRecordSyncState>> captor = ArgumentCaptor.forClass(List.class);
+        verify(syncStateMapper).upsertBatch(captor.capture());
+        assertEquals(List.of(1, 2), captor.getValue().stream().map(FeishuRecordSyncState::getScheduleId).toList());
+        assertEquals(List.of("rec1", "rec2"), captor.getValue().stream().map(FeishuRecordSyncState::getRecordId).toList());
+    }
+
+    /**
+     * 链式条件方法都返回 mock 自身。不能用 RETURNS_SELF：eq/set 等的返回类型是泛型 Children，
+     * 擦除后是 Object，RETURNS_SELF 会返回 null。
+     */
+    private static <T> T selfReturning(Class<T> type) {
+        return mock(type, inv -> inv.getMethod().getReturnType().isAssignableFrom(type)
+                ? inv.getMock() : RETURNS_DEFAULTS.answer(inv));
+    }
+
+    private static ImportFeishuRequestDTO request() {
+        ImportFeishuRequestDTO request = new ImportFeishuRequestDTO();
+        request.setCycleId(3);
+        request.setDeltaSync(true);
+        return request;
+    }
+
+    private static InterviewSchedule schedule(int scheduleId) {
+        return new InterviewSchedule().setScheduleId(scheduleId).setCycleId(3).setSessionId(5)
+                .setResumeId(100 + scheduleId).setStatus(1).setSyncStatus(1);
+    }
+
+    private static FeishuRecordSyncState state(Long id, int scheduleId, String recordId, String hash) {
+        return new FeishuRecordSyncState().setId(id).setCycleId(3).setScheduleId(scheduleId)
+                .setTableKey("AppTok:tblA").setTableUrl(TABLE_URL).setLocation("A101")
+                .setRecordId(recordId).setContentHash(hash);
+    }
+}
@@ -0,0 +1,162 @@
+package club.boyuan.official.integration.feishu;
+
+import club.boyuan.official.domain.interview.service.IInterviewScheduleService;
+import club.boyuan.official.domain.resume.service.IRecruitmentCycleService;
+import club.boyuan.official.domain.user.service.DepartmentService;
+import club.boyuan.official.domain.user.service.IUserService;
+import club.boyuan.official.integration.feishu.dto.ImportFromFeishuTableRequestDTO;
+import club.boyuan.official.integration.feishu.dto.ImportFromFeishuTableResponseDTO;
+import club.boyuan.official.persistence.entity.Department;
+import club.boyuan.official.persistence.entity.InterviewResult;
+import club.boyuan.official.persistence.entity.InterviewSchedule;
+import club.boyuan.official.persistence.entity.RecruitmentCycle;
+import club.boyuan.official.persistence.entity.Resume;
+import club.boyuan.official.persistence.entity.User;
+import club.boyuan.official.persistence.mapper.ResumeMapper;
+import com.baomidou.mybatisplus.extension.conditions.query.LambdaQueryChainWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 飞书拉回：逐页读取、每页一次批量查询 + 一次落库、每页产生检查点，可从检查点续跑。
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FeishuTablePullImportExecutorTest {
+
+    private static final String TABLE_URL = "https://x.feishu.cn/base/AppTok?table=tblA";
+
+    @Mock private FeishuBitableClient feishuBitableClient;
+    @Mock private IUserService userService;
+    @Mock private ResumeMapper resumeMapper;
+    @Mock private IInterviewScheduleService interviewScheduleService;
+    @Mock private DepartmentService departmentService;
+    @Mock private IRecruitmentCycleService recruitmentCycleService;
+    @Mock private FeishuPullPageWriter pageWriter;
+
+    @InjectMocks
+    private FeishuTablePullImportExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        when(recruitmentCycleService.getRecruitmentCycleById(3)).thenReturn(new RecruitmentCycle());
+        Department dept = new Department();
+        dept.setDeptId(5);
+        dept.setDeptName("技术部");
+        when(departmentService.lambdaQuery()).thenAnswer(inv -> chain(List.of(dept)));
+        when(userService.lambdaQuery()).thenAnswer(inv -> chain(List.of(user(11, "张三"), user(12, "李四"))));
+        when(resumeMapper.selectList(any())).thenReturn(List.of(resume(201, 11), resume(202, 12)));
+        when(interviewScheduleService.lambdaQuery()).thenAnswer(inv -> chain(List.of(
+                new InterviewSchedule().setScheduleId(101).setResumeId(201),
+                new InterviewSchedule().setScheduleId(102).setResumeId(202))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pagesAreWrittenOneByOneWithCheckpoints() {
+        when(feishuBitableClient.listRecordsPage(TABLE_URL, null)).thenReturn(
+                new FeishuBitableClient.RecordPage(List.of(row("r1", "张三"), row("r2", "")), 3, "p2"));
+        when(feishuBitableClient.listRecordsPage(TABLE_URL, "p2")).thenReturn(
+                new FeishuBitableClient.RecordPage(List.of(row("r3", "李四")), 3, null));
+        List<String> tokens = new ArrayList<>();
+
+        ImportFromFeishuTableResponseDTO response = executor.execute(request(), 1, null,
+                checkpoint -> tokens.add(checkpoint.nextPageToken()));
+
+        assertEquals(3, response.getTotalRows());
+        assertEquals(2, response.getSuccessCount());
+        assertEquals(1, response.getSkippedCount());
+        // 成功行不留明细
+        assertEquals(1, response.getRows().size());
+        assertEquals(2, tokens.size());
+        assertEquals("p2", tokens.get(0));
+        assertNull(tokens.get(1));
+
+        ArgumentCaptor<List<InterviewResult>> results = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<User>> deptUpdates = ArgumentCaptor.forClass(List.class);
+        verify(pageWriter, times(2)).write(deptUpdates.capture(), results.capture());
+        assertEquals(101, results.getAllValues().get(0).get(0).getScheduleId());
+        assertEquals(5, results.getAllValues().get(0).get(0).getAssignedDeptId());
+        assertEquals(102, results.getAllValues().get(1).get(0).getScheduleId());
+        assertEquals(12, deptUpdates.getAllValues().get(1).get(0).getUserId());
+        verify(resumeMapper, times(2)).selectList(any());
+    }
+
+    @Test
+    void resumeStartsFromCheckpointAndKeepsCounts() {
+        ImportFromFeishuTableResponseDTO carried = new ImportFromFeishuTableResponseDTO()
+                .setTotalRows(3).setSuccessCount(1).setSkippedCount(1);
+        when(feishuBitableClient.listRecordsPage(TABLE_URL, "p2")).thenReturn(
+                new FeishuBitableClient.RecordPage(List.of(row("r3", "李四")), 3, null));
+
+        ImportFromFeishuTableResponseDTO response = executor.execute(request(), 1,
+                new FeishuTablePullImportExecutor.PullCheckpoint("p2", carried), null);
+
+        assertEquals(2, response.getSuccessCount());
+        assertEquals(1, response.getSkippedCount());
+        assertEquals(3, response.getTotalRows());
+        verify(feishuBitableClient, never()).listRecordsPage(any(), isNull());
+        verify(pageWriter, times(1)).write(anyList(), anyList());
+    }
+
+    /**
+     * 链式条件方法都返回 mock 自身，list() 返回给定结果。不能用 RETURNS_SELF：eq/in 等的返回类型是泛型
+     * Children，擦除后是 Object，RETURNS_SELF 会返回 null。
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> LambdaQueryChainWrapper<T> chain(List<T> list) {
+        LambdaQueryChainWrapper<T> wrapper = mock(LambdaQueryChainWrapper.class,
+                inv -> inv.getMethod().getReturnType().isAssignableFrom(LambdaQueryChainWrapper.class)
+                        ? inv.getMock() : RETURNS_DEFAULTS.answer(inv));
+        when(wrapper.list()).thenReturn(list);
+        return wrapper;
+    }
+
+    private static ImportFromFeishuTableRequestDTO request() {
+        ImportFromFeishuTableRequestDTO request = new ImportFromFeishuTableRequestDTO();
+        request.setCycleId(3);
+        request.setFeishuTableUrl(TABLE_URL);
+        return request;
+    }
+
+    private static FeishuBitableRecord row(String recordId, String name) {
+        return new FeishuBitableRecord(recordId, null, name, "技术部", true, null, null, null);
+    }
+
+    private static User user(int userId, String name) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setName(name);
+        return user;
+    }
+
+    private static Resume resume(int resumeId, int userId) {
+        Resume resume = new Resume();
+        resume.setResumeId(resumeId);
+        resume.setUserId(userId);
+        resume.setCycleId(3);
+        return resume;
+    }
+}
@@ -0,0 +1,76 @@
+package club.boyuan.official.messaging;
+
+import club.boyuan.official.domain.interview.service.impl.InterviewNotificationServiceImpl;
+import club.boyuan.official.infra.notification.InterviewNotificationType;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 手动确认：邮件被接收或重试用尽后才 ack（不回队列），组装阶段出错才 nack 重新入队。
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class InterviewNotificationConsumerTest {
+
+    private static final long TAG = 42L;
+
+    @Mock private InterviewNotificationServiceImpl notificationService;
+    @Mock private Channel channel;
+
+    @InjectMocks
+    private InterviewNotificationConsumer consumer;
+
+    @Test
+    void ackIsDeferredUntilMailIsAccepted() throws Exception {
+        CompletableFuture<Void> delivery = new CompletableFuture<>();
+        when(notificationService.deliver(message())).thenReturn(delivery);
+
+        consumer.handle(message(), channel, TAG);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+
+        // 投递线程完成 future 时确认
+        delivery.complete(null);
+        verify(channel).basicAck(TAG, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void failedDeliveryIsAckedNotRequeued() throws Exception {
+        when(notificationService.deliver(message()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("retries exhausted")));
+
+        consumer.handle(message(), channel, TAG);
+
+        verify(channel).basicAck(TAG, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void assemblyErrorIsNackedAndRequeued() throws Exception {
+        when(notificationService.deliver(message())).thenThrow(new IllegalStateException("db down"));
+
+        consumer.handle(message(), channel, TAG);
+
+        verify(channel).basicNack(TAG, false, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    private static InterviewNotificationMessage message() {
+        return new InterviewNotificationMessage(InterviewNotificationType.EVE_REMINDER, 1, null, null, null,
+                "a@example.com", "subject", "body");
+    }
+}
@@ -3,11 +3,6 @@ package club.boyuan.official.messaging.outbox;
 import club.boyuan.official.infra.config.OutboxProperties;
 import club.boyuan.official.persistence.entity.MessageOutbox;
 import club.boyuan.official.persistence.mapper.MessageOutboxMapper;
-import club.boyuan.official.messaging.FeishuSyncMessage;
-import club.boyuan.official.messaging.FeishuSyncProducer;
-import club.boyuan.official.messaging.InterviewBookingMessage;
-import club.boyuan.official.messaging.InterviewBookingProducer;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -18,9 +13,9 @@ import org.mockito.quality.Strictness;
 
 import java.util.List;
 
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,19 +24,15 @@ import static org.mockito.Mockito.when;
 class MessageOutboxRelayTest {
 
     @Mock private OutboxProperties outboxProperties;
+    @Mock private MessageOutboxService messageOutboxService;
     @Mock private MessageOutboxMapper messageOutboxMapper;
-    @Mock private ObjectMapper objectMapper;
-    @Mock private InterviewBookingProducer bookingProducer;
-    @Mock private FeishuSyncProducer feishuSyncProducer;
+    @Mock private OutboxDispatcher outboxDispatcher;
+    @Mock private OutboxMetrics outboxMetrics;
 
     @InjectMocks private MessageOutboxRelay relay;
 
-    private MessageOutbox row(long id, OutboxEventType type, int retryCount) {
-        return new MessageOutbox()
-                .setId(id)
-                .setEventType(type.name())
-                .setPayload("{}")
-                .setRetryCount(retryCount);
+    private MessageOutbox row(long id) {
+        return new MessageOutbox().setId(id).setEventType(OutboxEventType.INTERVIEW_BOOKING_PERSIST.name());
     }
 
     @Test
@@ -50,78 +41,39 @@ class MessageOutboxRelayTest {
 
         relay.relayPending();
 
-        verify(messageOutboxMapper, never()).selectPendingForRelay(org.mockito.ArgumentMatchers.anyInt(),
-                org.mockito.ArgumentMatchers.anyInt());
+        verify(messageOutboxService, never()).claimPending(anyInt());
     }
 
     @Test
-    void bookingEvent_publishesAndMarksSent() throws Exception {
-        enable();
-        MessageOutbox r = row(1L, OutboxEventType.INTERVIEW_BOOKING_PERSIST, 0);
-        when(messageOutboxMapper.selectPendingForRelay(10, 5)).thenReturn(List.of(r));
-        InterviewBookingMessage msg = new InterviewBookingMessage();
-        when(objectMapper.readValue(anyString(), eq(InterviewBookingMessage.class))).thenReturn(msg);
-        when(messageOutboxMapper.markSent(1L)).thenReturn(1);
+    void fullBatch_drainsAgainImmediately() {
+        enable(2);
+        List<MessageOutbox> full = List.of(row(1L), row(2L));
+        List<MessageOutbox> tail = List.of(row(3L));
+        when(messageOutboxService.claimPending(2)).thenReturn(full, tail);
 
         relay.relayPending();
 
-        verify(bookingProducer).publishPersist(msg);
-        verify(messageOutboxMapper).markSent(1L);
-        verify(messageOutboxMapper, never()).incrementRetry(eq(1L), anyString());
-        verify(messageOutboxMapper, never()).markFailed(eq(1L), anyString());
+        verify(messageOutboxService, times(2)).claimPending(2);
+        verify(outboxDispatcher).dispatch(full);
+        verify(outboxDispatcher).dispatch(tail);
     }
 
     @Test
-    void feishuEvent_publishesTaskId() throws Exception {
-        enable();
-        MessageOutbox r = row(2L, OutboxEventType.FEISHU_SYNC, 0);
-        when(messageOutboxMapper.selectPendingForRelay(10, 5)).thenReturn(List.of(r));
-        FeishuSyncMessage msg = new FeishuSyncMessage();
-        msg.setTaskId(99L);
-        when(objectMapper.readValue(anyString(), eq(FeishuSyncMessage.class))).thenReturn(msg);
+    void idle_backsOffBeforeNextPoll() {
+        enable(10);
+        when(messageOutboxService.claimPending(10)).thenReturn(List.of());
 
         relay.relayPending();
-
-        verify(feishuSyncProducer).publish(99L);
-        verify(messageOutboxMapper).markSent(2L);
-    }
-
-    @Test
-    void dispatchFailure_withRetriesLeft_incrementsRetryOnly() throws Exception {
-        enable();
-        MessageOutbox r = row(3L, OutboxEventType.INTERVIEW_BOOKING_PERSIST, 0);
-        when(messageOutboxMapper.selectPendingForRelay(10, 5)).thenReturn(List.of(r));
-        when(objectMapper.readValue(anyString(), eq(InterviewBookingMessage.class)))
-                .thenReturn(new InterviewBookingMessage());
-        org.mockito.Mockito.doThrow(new RuntimeException("mq down"))
-                .when(bookingProducer).publishPersist(org.mockito.ArgumentMatchers.any());
-
-        relay.relayPending();
-
-        verify(messageOutboxMapper).incrementRetry(eq(3L), anyString());
-        verify(messageOutboxMapper, never()).markFailed(eq(3L), anyString());
-    }
-
-    @Test
-    void dispatchFailure_whenRetriesExhausted_marksFailed() throws Exception {
-        enable();
-        // retryCount=4, maxRetries=5 -> 4+1 >= 5 触发永久失败
-        MessageOutbox r = row(4L, OutboxEventType.INTERVIEW_BOOKING_PERSIST, 4);
-        when(messageOutboxMapper.selectPendingForRelay(10, 5)).thenReturn(List.of(r));
-        when(objectMapper.readValue(anyString(), eq(InterviewBookingMessage.class)))
-                .thenReturn(new InterviewBookingMessage());
-        org.mockito.Mockito.doThrow(new RuntimeException("mq down"))
-                .when(bookingProducer).publishPersist(org.mockito.ArgumentMatchers.any());
-
         relay.relayPending();
 
-        verify(messageOutboxMapper).incrementRetry(eq(4L), anyString());
-        verify(messageOutboxMapper).markFailed(eq(4L), anyString());
+        // 第一次空轮询后退避，紧接着的 tick 不再查库
+        verify(messageOutboxService, times(1)).claimPending(10);
     }
 
-    private void enable() {
+    private void enable(int batchSize) {
         when(outboxProperties.isEnabled()).thenReturn(true);
-        when(outboxProperties.getBatchSize()).thenReturn(10);
-        when(outboxProperties.getMaxRetries()).thenReturn(5);
+        when(outboxProperties.getBatchSize()).thenReturn(batchSize);
+        when(outboxProperties.getRelayIntervalMs()).thenReturn(1000L);
+        when(outboxProperties.getRelayMinIntervalMs()).thenReturn(20L);
     }
 }
@@ -0,0 +1,143 @@
+package club.boyuan.official.messaging.outbox;
+
+import club.boyuan.official.infra.config.OutboxProperties;
+import club.boyuan.official.persistence.entity.MessageOutbox;
+import club.boyuan.official.persistence.mapper.MessageOutboxMapper;
+import club.boyuan.official.messaging.FeishuSyncMessage;
+import club.boyuan.official.messaging.FeishuSyncProducer;
+import club.boyuan.official.messaging.InterviewBookingMessage;
+import club.boyuan.official.messaging.InterviewBookingProducer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxDispatcherTest {
+
+    @Mock private OutboxProperties outboxProperties;
+    @Mock private MessageOutboxMapper messageOutboxMapper;
+    @Mock private ObjectMapper objectMapper;
+    @Mock private InterviewBookingProducer bookingProducer;
+    @Mock private FeishuSyncProducer feishuSyncProducer;
+    @Mock private ConnectionFactory rabbitConnectionFactory;
+    @Mock private OutboxMetrics outboxMetrics;
+
+    @InjectMocks private OutboxDispatcher dispatcher;
+
+    private MessageOutbox row(long id, OutboxEventType type, int retryCount) {
+        return new MessageOutbox()
+                .setId(id)
+                .setEventType(type.name())
+                .setPayload("{}")
+                .setRetryCount(retryCount);
+    }
+
+    @Test
+    void bookingEvent_publishesAndMarksSentInOneUpdate() throws Exception {
+        enable(false);
+        InterviewBookingMessage msg = new InterviewBookingMessage();
+        when(objectMapper.readValue(anyString(), eq(InterviewBookingMessage.class))).thenReturn(msg);
+        when(messageOutboxMapper.markSentBatch(anyCollection())).thenReturn(2);
+
+        int sent = dispatcher.dispatch(List.of(
+                row(1L, OutboxEventType.INTERVIEW_BOOKING_PERSIST, 0),
+                row(2L, OutboxEventType.INTERVIEW_BOOKING_PERSIST, 0)));
+
+        assertEquals(2, sent);
+        verify(bookingProducer, org.mockito.Mockito.times(2)).publishPersist(eq(msg), any(CorrelationData.class));
+        verify(messageOutboxMapper).markSentBatch(List.of(1L, 2L));
+        verify(messageOutboxMapper, never()).incrementRetry(any(), anyString());
+        verify(messageOutboxMapper, never()).markFailed(any(), anyString());
+    }
+
+    @Test
+    void feishuEvent_publishesTaskId() throws Exception {
+        enable(false);
+        FeishuSyncMessage msg = new FeishuSyncMessage();
+        msg.setTaskId(99L);
+        when(objectMapper.readValue(anyString(), eq(FeishuSyncMessage.class))).thenReturn(msg);
+
+        dispatcher.dispatch(List.of(row(2L, OutboxEventType.FEISHU_SYNC, 0)));
+
+        verify(feishuSyncProducer).publish(eq(99L), any(CorrelationData.class));
+        verify(messageOutboxMapper).markSentBatch(List.of(2L));
+    }
+
+    @Test
+    void confirms_onlyAckedRowsMarkedSent() throws Exception {
+        enable(true);
+        when(objectMapper.readValue(anyString(), eq(InterviewBookingMessage.class)))
+                .thenReturn(new InterviewBookingMessage());
+        doAnswer(inv -> {
+            CorrelationData correlation = inv.getArgument(1);
+            boolean ack = !"6".equals(correlation.getId());
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "queue full"));
+            return null;
+        }).when(bookingProducer).publishPersist(any(), any(CorrelationData.class));
+
+        int sent = dispatcher.dispatch(List.of(
+                row(5L, OutboxEventType.INTERVIEW_BOOKING_PERSIST, 0),
+                row(6L, OutboxEventType.INTERVIEW_BOOKING_PERSIST, 0)));
+
+        assertEquals(1, sent);
+        verify(messageOutboxMapper).markSentBatch(List.of(5L));
+        verify(messageOutboxMapper).incrementRetry(eq(6L), anyString());
+    }
+
+    @Test
+    void dispatchFailure_withRetriesLeft_incrementsRetryOnly() throws Exception {
+        enable(false);
+        when(objectMapper.readValue(anyString(), eq(InterviewBookingMessage.class)))
+                .thenReturn(new InterviewBookingMessage());
+        doThrow(new RuntimeException("mq down"))
+                .when(bookingProducer).publishPersist(any(), any(CorrelationData.class));
+
+        dispatcher.dispatch(List.of(row(3L, OutboxEventType.INTERVIEW_BOOKING_PERSIST, 0)));
+
+        verify(messageOutboxMapper).incrementRetry(eq(3L), anyString());
+        verify(messageOutboxMapper, never()).markFailed(eq(3L), anyString());
+        verify(messageOutboxMapper, never()).markSentBatch(anyCollection());
+    }
+
+    @Test
+    void dispatchFailure_whenRetriesExhausted_marksFailed() throws Exception {
+        enable(false);
+        when(objectMapper.readValue(anyString(), eq(InterviewBookingMessage.class)))
+                .thenReturn(new InterviewBookingMessage());
+        doThrow(new RuntimeException("mq down"))
+                .when(bookingProducer).publishPersist(any(), any(CorrelationData.class));
+
+        // retryCount=4, maxRetries=5 -> 4+1 >= 5 触发永久失败
+        dispatcher.dispatch(List.of(row(4L, OutboxEventType.INTERVIEW_BOOKING_PERSIST, 4)));
+
+        verify(messageOutboxMapper).incrementRetry(eq(4L), anyString());
+        verify(messageOutboxMapper).markFailed(eq(4L), anyString());
+    }
+
+    private void enable(boolean confirms) {
+        when(outboxProperties.getMaxRetries()).thenReturn(5);
+        when(outboxProperties.getConfirmTimeoutMs()).thenReturn(1000L);
+        when(rabbitConnectionFactory.isPublisherConfirms()).thenReturn(confirms);
+    }
+}
@@ -0,0 +1,55 @@
+package club.boyuan.official.messaging.outbox;
+
+import club.boyuan.official.infra.config.OutboxProperties;
+import club.boyuan.official.persistence.entity.MessageOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxFastPathTest {
+
+    @Mock private MessageOutboxService messageOutboxService;
+    @Mock private OutboxDispatcher outboxDispatcher;
+
+    private final OutboxProperties outboxProperties = new OutboxProperties();
+    private OutboxFastPath fastPath;
+
+    @BeforeEach
+    void setUp() {
+        // 同步执行器：提交即在当前线程抽取队列
+        fastPath = new OutboxFastPath(outboxProperties, messageOutboxService, outboxDispatcher, Runnable::run);
+    }
+
+    @Test
+    void committedRow_isClaimedByIdAndDispatchedImmediately() {
+        List<MessageOutbox> claimed = List.of(new MessageOutbox().setId(7L));
+        when(messageOutboxService.claimByIds(List.of(7L))).thenReturn(claimed);
+
+        fastPath.onEnqueued(new OutboxEnqueuedEvent(7L));
+
+        verify(messageOutboxService).claimByIds(List.of(7L));
+        verify(outboxDispatcher).dispatch(claimed);
+    }
+
+    @Test
+    void disabled_leavesRowToRelay() {
+        outboxProperties.setFastPathEnabled(false);
+
+        fastPath.onEnqueued(new OutboxEnqueuedEvent(8L));
+
+        verify(messageOutboxService, never()).claimByIds(anyCollection());
+    }
+}
@@ -0,0 +1,79 @@
+package club.boyuan.official.persistence;
+
+import club.boyuan.official.persistence.entity.InterviewSlot;
+import club.boyuan.official.persistence.entity.RecruitmentCycle;
+import club.boyuan.official.persistence.mapper.InterviewSlotMapper;
+import club.boyuan.official.persistence.mapper.RecruitmentCycleMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 回归保护:批量占坑时 status 必须按加完之后的占用数判断。
+ *
+ * MySQL 从左到右求值 SET,CASE 里读到的 current_occupied 已经加过 count,
+ * 原先再加一次 count 会把「5+3=8/10」误标成已满,可预约列表随之不再给出该时段。
+ */
+@SpringBootTest
+class SlotOccupancyIntegrationTest {
+
+    private static final int STATUS_AVAILABLE = 1;
+    private static final int STATUS_FULL = 2;
+
+    @Autowired
+    private InterviewSlotMapper slotMapper;
+
+    @Autowired
+    private RecruitmentCycleMapper cycleMapper;
+
+    @Test
+    @DisplayName("部分占用的时段批量占坑后未满仍为可用,恰好占满才标记已满,超额整条不生效")
+    void occupyIfAvailableKeepsPartiallyOccupiedSlotAvailable() {
+        RecruitmentCycle cycle = new RecruitmentCycle();
+        cycle.setCycleName("测试-批量占坑");
+        cycle.setAcademicYear("2099-2100");
+        cycle.setStartDate(LocalDate.now());
+        cycle.setEndDate(LocalDate.now().plusDays(7));
+        cycle.setIsActive(0);
+        cycle.setStatus(1);
+        cycleMapper.insert(cycle);
+        Integer slotId = null;
+        try {
+            InterviewSlot slot = new InterviewSlot();
+            slot.setCycleId(cycle.getCycleId());
+            slot.setInterviewDate(LocalDate.now().plusDays(1));
+            slot.setStartTime(LocalTime.of(10, 0));
+            slot.setEndTime(LocalTime.of(11, 0));
+            slot.setInterviewType(1);
+            slot.setMaxCapacity(10);
+            slot.setCurrentOccupied(5);
+            slot.setStatus(STATUS_AVAILABLE);
+            slotMapper.insert(slot);
+            slotId = slot.getSlotId();
+
+            assertEquals(1, slotMapper.occupyIfAvailable(slotId, 3));
+            InterviewSlot partial = slotMapper.selectById(slotId);
+            assertEquals(8, partial.getCurrentOccupied());
+            assertEquals(STATUS_AVAILABLE, partial.getStatus(), "8/10 还有名额,不能标成已满");
+
+            assertEquals(1, slotMapper.occupyIfAvailable(slotId, 2));
+            InterviewSlot full = slotMapper.selectById(slotId);
+            assertEquals(10, full.getCurrentOccupied());
+            assertEquals(STATUS_FULL, full.getStatus(), "恰好占满时标记已满");
+
+            assertEquals(0, slotMapper.occupyIfAvailable(slotId, 1), "名额不足时整条不生效");
+            assertEquals(10, slotMapper.selectById(slotId).getCurrentOccupied());
+        } finally {
+            if (slotId != null) {
+                slotMapper.deleteById(slotId);
+            }
+            cycleMapper.deleteById(cycle.getCycleId());
+        }
+    }
+}